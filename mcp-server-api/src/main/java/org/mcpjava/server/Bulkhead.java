@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits how many calls of a feature method may run at the same time.
+ * <p>
+ * Calls beyond {@link #maxConcurrent()} wait for a running call to complete, up to
+ * {@link #maxWaiting()} of them. Further calls are rejected immediately: a tool call is answered
+ * with a {@linkplain org.mcpjava.server.tools.ToolResponse#ofError(String) tool error}, so that the
+ * model can try again later, and other calls fail with an error. This isolates expensive features
+ * from the rest of the server without a semaphore in each method.
+ * </p>
+ * <p>
+ * The limit applies separately to each {@linkplain McpServer server configuration} the feature is
+ * bound to. A limit may be declared for a single configuration with {@link #server()}, which
+ * takes precedence over a limit declared without one.
+ * </p>
+ * <p>
+ * Example:
+ * </p>
+ * <pre>
+ * &#64;Bulkhead(maxConcurrent = 2, maxWaiting = 10)
+ * &#64;Bulkhead(server = "internal", maxConcurrent = 8)
+ * &#64;Tool(description = "Renders a report")
+ * public byte[] render(String query) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @see org.mcpjava.server.spi.execution.FeatureBulkheads
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Repeatable(Bulkhead.Bulkheads.class)
+public @interface Bulkhead {
+
+    /**
+     * The maximum number of calls which may run at the same time, at least 1
+     *
+     * @return the maximum number of concurrent calls
+     */
+    int maxConcurrent();
+
+    /**
+     * The maximum number of calls which may wait for a running call to complete. When this many
+     * calls are waiting, further calls are rejected.
+     * <p>
+     * By default, no calls wait.
+     * </p>
+     *
+     * @return the maximum number of waiting calls
+     */
+    int maxWaiting() default 0;
+
+    /**
+     * The name of the server configuration the limit applies to, which must be one the feature is
+     * bound to.
+     * <p>
+     * If not specified, the limit applies to every server configuration which doesn't declare its
+     * own.
+     * </p>
+     *
+     * @return the server configuration name, or an empty string for all server configurations
+     */
+    String server() default "";
+
+    /**
+     * Container annotation for {@link Bulkhead}
+     */
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Documented
+    @interface Bulkheads {
+        Bulkhead[] value();
+    }
+}
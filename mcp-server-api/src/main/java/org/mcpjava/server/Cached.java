@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Allows the responses of a {@link org.mcpjava.server.resources.Resource @Resource} or
+ * {@link org.mcpjava.server.resources.ResourceTemplate @ResourceTemplate} method to be cached by URI,
+ * or the results of a {@link org.mcpjava.server.tools.Tool @Tool} method to be cached by arguments.
+ * <p>
+ * Implementations which support caching serve repeated reads of the same URI from memory instead
+ * of calling the method again, until the cached response expires, is evicted, or is invalidated.
+ * The method must therefore return the same response for the same URI, and the response must be
+ * immutable.
+ * </p>
+ * <p>
+ * Likewise, repeated calls of a cached tool with the same arguments are answered with the cached
+ * result, without calling the method. Only tools declared with
+ * {@link org.mcpjava.server.tools.Tool.Annotations#readOnlyHint() readOnlyHint} and
+ * {@link org.mcpjava.server.tools.Tool.Annotations#idempotentHint() idempotentHint} may be cached,
+ * and error results are never cached. Results may be shared by all sessions, or cached
+ * separately for each session with {@link Scope#SESSION}, for tools whose results depend on who
+ * calls them.
+ * </p>
+ * <p>
+ * Example:
+ * </p>
+ * <pre>
+ * &#64;Cached(ttl = "PT5M")
+ * &#64;Resource(uri = "config://settings")
+ * public String settings() {
+ *     return loadSettings();
+ * }
+ * </pre>
+ *
+ * @see org.mcpjava.server.spi.cache.ResourceCache
+ * @see org.mcpjava.server.spi.cache.ToolResultCache
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Cached {
+
+    /**
+     * How long a response may be cached, as an ISO 8601 duration accepted by
+     * {@link java.time.Duration#parse(CharSequence)}, for example {@code "PT30S"} or {@code "PT1H"}.
+     * <p>
+     * By default, responses are cached until they are evicted or invalidated.
+     * </p>
+     *
+     * @return the time to live, or an empty string for no expiry
+     */
+    String ttl() default "";
+
+    /**
+     * Which calls may share a cached tool result.
+     * <p>
+     * Resource responses are always shared, so only {@link Scope#SHARED} is allowed for resources
+     * and resource templates.
+     * </p>
+     *
+     * @return the scope, by default {@link Scope#SHARED}
+     */
+    Scope scope() default Scope.SHARED;
+
+    /**
+     * Which calls may share a cached result
+     */
+    enum Scope {
+        /**
+         * The result is shared by all sessions
+         */
+        SHARED,
+
+        /**
+         * The result is only shared by calls in the same session
+         */
+        SESSION
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server;
+
+/**
+ * How an implementation runs a feature method, declared with the {@code executionModel}
+ * attribute of {@link org.mcpjava.server.tools.Tool @Tool},
+ * {@link org.mcpjava.server.prompts.Prompt @Prompt},
+ * {@link org.mcpjava.server.resources.Resource @Resource} and
+ * {@link org.mcpjava.server.resources.ResourceTemplate @ResourceTemplate}.
+ */
+public enum ExecutionModel {
+
+    /**
+     * The implementation chooses. Methods which return a
+     * {@link java.util.concurrent.CompletionStage CompletionStage} are usually called directly,
+     * and other methods on a worker thread.
+     */
+    DEFAULT,
+
+    /**
+     * The method may block, for example on JDBC or HTTP calls, so it is called on a worker thread
+     * from a bounded pool.
+     */
+    BLOCKING,
+
+    /**
+     * The method may block, and is called on a new virtual thread, so that many concurrent calls
+     * don't exhaust a pool of platform threads.
+     * <p>
+     * Implementations running on a Java version without virtual threads call the method as if it
+     * were {@link #BLOCKING}. Methods which hold a monitor while they block may pin the carrier
+     * thread, depending on the Java version.
+     */
+    VIRTUAL_THREAD,
+
+    /**
+     * The method never blocks, so it may be called directly on the thread which handles the
+     * request, such as an event loop thread.
+     */
+    NON_BLOCKING
+}
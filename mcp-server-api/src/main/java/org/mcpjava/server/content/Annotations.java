@@ -62,6 +62,17 @@ public interface Annotations {
         return getSPI().annotationsBuilder();
     }
 
+    /**
+     * Returns {@code Annotations} with only an audience. Implementations return shared
+     * instances, so this doesn't allocate.
+     * 
+     * @param roles the audience roles
+     * @return the annotations
+     */
+    static Annotations forAudience(Role... roles) {
+        return getSPI().newAudienceAnnotations(roles);
+    }
+
     /**
      * Builder for resource annotations
      */
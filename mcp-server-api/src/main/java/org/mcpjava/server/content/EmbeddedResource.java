@@ -17,6 +17,8 @@ package org.mcpjava.server.content;
 
 import static org.mcpjava.server.spi.McpServerSPILoader.getSPI;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Optional;
 
 import org.mcpjava.server.MetaCarrier;
@@ -69,6 +71,50 @@ public non-sealed interface EmbeddedResource extends ContentBlock {
         return getSPI().blobEmbeddedResourceBuilder(data, uri);
     }
 
+    /**
+     * Creates a new builder for an {@code EmbeddedResource} with {@link BlobResourceContents}
+     * which uses the buffer's data without copying it.
+     * <p>
+     * The data is the remaining content of the buffer, which may be a direct buffer. The buffer's
+     * content must not be modified afterwards, but its position and limit may be.
+     * 
+     * @param data the data for the embedded resource
+     * @param uri the URI of the resource
+     * @return the embedded resource builder
+     */
+    static EmbeddedResource.Builder builder(ByteBuffer data, String uri) {
+        return getSPI().blobEmbeddedResourceBuilder(data, uri);
+    }
+
+    /**
+     * Creates a new builder for an {@code EmbeddedResource} with {@link BlobResourceContents}
+     * containing a file, which is memory-mapped rather than read onto the heap.
+     * <p>
+     * The file is mapped when this method is called and must not be modified while the resource
+     * is in use. Files larger than {@link Integer#MAX_VALUE} bytes are not supported.
+     * 
+     * @param file the file containing the data for the embedded resource
+     * @param uri the URI of the resource
+     * @return the embedded resource builder
+     * @throws java.io.UncheckedIOException if the file cannot be mapped
+     */
+    static EmbeddedResource.Builder builder(Path file, String uri) {
+        return getSPI().blobEmbeddedResourceBuilder(file, uri);
+    }
+
+    /**
+     * Creates a new builder for an {@code EmbeddedResource} with {@link BlobResourceContents}
+     * from data which is already encoded as base64, for example encoded at startup or shared
+     * between responses, so that it isn't encoded again when it's sent.
+     * 
+     * @param base64 the base64 encoded data for the embedded resource
+     * @param uri the URI of the resource
+     * @return the embedded resource builder
+     */
+    static EmbeddedResource.Builder builderFromBase64(String base64, String uri) {
+        return getSPI().blobEmbeddedResourceBuilderFromBase64(base64, uri);
+    }
+
     /**
      * Builder for an embedded resource
      */
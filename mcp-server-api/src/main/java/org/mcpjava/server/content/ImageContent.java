@@ -17,6 +17,8 @@ package org.mcpjava.server.content;
 
 import static org.mcpjava.server.spi.McpServerSPILoader.getSPI;
 
+import java.nio.ByteBuffer;
+import java.util.Base64;
 import java.util.Optional;
 
 import org.mcpjava.server.MetaCarrier;
@@ -27,12 +29,51 @@ import org.mcpjava.server.MetaCarrier;
 public non-sealed interface ImageContent extends ContentBlock {
 
     /**
-     * Returns the image data
+     * Returns the image data.
+     * <p>
+     * If the content was created from a {@link ByteBuffer}, this copies the data. Use
+     * {@link #dataBuffer()} to read the data without copying.
      * 
      * @return the image data as a byte array
      */
     byte[] data();
 
+    /**
+     * Returns a read-only view of the image data, from its position to its limit.
+     * <p>
+     * The returned buffer has its own position and limit, so it may be read without affecting
+     * other readers. The default implementation wraps {@link #data()}.
+     *
+     * @return the image data as a read-only buffer
+     */
+    default ByteBuffer dataBuffer() {
+        return ByteBuffer.wrap(data()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the length of the image data, without reading or decoding it.
+     * <p>
+     * The default implementation returns the remaining length of {@link #dataBuffer()}.
+     *
+     * @return the length in bytes
+     */
+    default int dataLength() {
+        return dataBuffer().remaining();
+    }
+
+    /**
+     * Returns the image data encoded as base64.
+     * <p>
+     * Content created with {@link #fromBase64(String, String)} returns the given encoding, and
+     * content built with {@link Builder#setCacheBase64(boolean)} encodes the data once. Otherwise
+     * the data may be encoded on every call.
+     *
+     * @return the base64 encoded image data
+     */
+    default String base64() {
+        return Base64.getEncoder().encodeToString(data());
+    }
+
     /**
      * Returns the MIME type of the image data
      * 
@@ -69,6 +110,60 @@ public non-sealed interface ImageContent extends ContentBlock {
         return getSPI().newImageContent(data, mimeType);
     }
 
+    /**
+     * Creates a new builder for an {@link ImageContent} which uses the buffer's data without
+     * copying it.
+     * <p>
+     * The data is the remaining content of the buffer, which may be a direct buffer. The buffer's
+     * content must not be modified afterwards, but its position and limit may be.
+     * 
+     * @param data the image data
+     * @param mimeType the MIME type of the image data
+     * @return the image content builder
+     */
+    static ImageContent.Builder builder(ByteBuffer data, String mimeType) {
+        return getSPI().imageContentBuilder(data, mimeType);
+    }
+
+    /**
+     * Creates a new {@code ImageContent} which uses the buffer's data without copying it.
+     * <p>
+     * The data is the remaining content of the buffer, which may be a direct buffer. The buffer's
+     * content must not be modified afterwards, but its position and limit may be.
+     * 
+     * @param data the image data
+     * @param mimeType the MIME type of the image data
+     * @return the new image content
+     */
+    static ImageContent of(ByteBuffer data, String mimeType) {
+        return getSPI().newImageContent(data, mimeType);
+    }
+
+    /**
+     * Creates a new builder for an {@link ImageContent} from data which is already encoded as
+     * base64, for example encoded at startup or read from disk, so that it isn't encoded again
+     * when it's sent.
+     * 
+     * @param base64 the base64 encoded image data
+     * @param mimeType the MIME type of the image data
+     * @return the image content builder
+     */
+    static ImageContent.Builder builderFromBase64(String base64, String mimeType) {
+        return getSPI().imageContentBuilderFromBase64(base64, mimeType);
+    }
+
+    /**
+     * Creates a new {@code ImageContent} from data which is already encoded as base64, for
+     * example encoded at startup or read from disk, so that it isn't encoded again when it's sent.
+     * 
+     * @param base64 the base64 encoded image data
+     * @param mimeType the MIME type of the image data
+     * @return the new image content
+     */
+    static ImageContent fromBase64(String base64, String mimeType) {
+        return getSPI().imageContentBuilderFromBase64(base64, mimeType).build();
+    }
+
     /**
      * Builder for creating image contents
      */
@@ -82,6 +177,20 @@ public non-sealed interface ImageContent extends ContentBlock {
          */
         Builder setAnnotations(Annotations annotations);
 
+        /**
+         * Sets whether the built image content memoizes its base64 encoding, so that content which is
+         * sent repeatedly is only encoded once. The encoding is then held in memory for as long as
+         * the image content is.
+         * <p>
+         * Implementations which don't memoize the encoding ignore this setting.
+         * 
+         * @param cacheBase64 whether to memoize the base64 encoding
+         * @return this builder
+         */
+        default Builder setCacheBase64(boolean cacheBase64) {
+            return this;
+        }
+
         /**
          * Builds the image content
          * 
@@ -17,9 +17,15 @@ package org.mcpjava.server.content;
 
 import static org.mcpjava.server.spi.McpServerSPILoader.getSPI;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import org.mcpjava.server.MetaCarrier;
+import org.mcpjava.server.spi.json.JsonStrings;
 
 /**
  * Text content
@@ -28,11 +34,67 @@ public non-sealed interface TextContent extends ContentBlock {
 
     /**
      * Returns the text
+     * <p>
+     * If the content was created from a {@link CharSequence}, UTF-8 bytes or a
+     * {@link TextSource}, this creates a {@code String} of all the text on every call. Use
+     * {@link #writeJsonString(Appendable)} or {@link #textReader()} to read large text without
+     * holding all of it in memory.
      *
      * @return the text
      */
     String text();
 
+    /**
+     * Returns a new reader of the text, which the caller closes.
+     * <p>
+     * The default implementation wraps {@link #text()}.
+     *
+     * @return the reader
+     * @throws IOException if the text cannot be read
+     */
+    default Reader textReader() throws IOException {
+        return new StringReader(text());
+    }
+
+    /**
+     * Writes the text as a quoted and escaped JSON string, without creating a {@code String} of
+     * all of it first.
+     * <p>
+     * The default implementation escapes {@link #textReader()} in fixed size chunks.
+     *
+     * @param out the output, which is not closed
+     * @throws IOException if the text cannot be read or writing to the output fails
+     */
+    default void writeJsonString(Appendable out) throws IOException {
+        try (Reader reader = textReader()) {
+            JsonStrings.write(reader, out);
+        }
+    }
+
+    /**
+     * Returns the length of the text encoded as UTF-8, if it is known without reading the
+     * text, for example because it was created from UTF-8 bytes.
+     * <p>
+     * The default implementation returns an empty {@code OptionalLong}.
+     *
+     * @return the length in bytes, or an empty {@code OptionalLong} if it is not known
+     */
+    default OptionalLong knownUtf8Length() {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Returns the approximate memory held by the text, without reading it. Text which is read
+     * from a {@link TextSource} when it is written holds none.
+     * <p>
+     * The default implementation counts two bytes per character of {@link #text()}.
+     *
+     * @return the weight in bytes
+     */
+    default long textWeight() {
+        return 2L * text().length();
+    }
+
     /**
      * Optional annotations for the client
      * 
@@ -60,6 +122,81 @@ public non-sealed interface TextContent extends ContentBlock {
         return getSPI().newTextContent(text);
     }
 
+    /**
+     * Creates a new {@code TextContent} which uses a character sequence without copying it into a
+     * {@code String}, for example a large {@code StringBuilder}.
+     * <p>
+     * The sequence must not be modified afterwards.
+     *
+     * @param text the text
+     * @return the new text content object
+     */
+    static TextContent of(CharSequence text) {
+        return getSPI().textContentBuilder(text).build();
+    }
+
+    /**
+     * Creates a new builder for a {@code TextContent} which uses a character sequence without
+     * copying it into a {@code String}.
+     * <p>
+     * The sequence must not be modified afterwards.
+     *
+     * @param text the text
+     * @return the text content builder
+     */
+    static TextContent.Builder builder(CharSequence text) {
+        return getSPI().textContentBuilder(text);
+    }
+
+    /**
+     * Creates a new {@code TextContent} from text which is already encoded as UTF-8, which is
+     * decoded as it is written rather than into a {@code String}.
+     * <p>
+     * The text is the remaining content of the buffer, which is not copied. The buffer's content
+     * must not be modified afterwards, but its position and limit may be.
+     *
+     * @param utf8 the UTF-8 encoded text
+     * @return the new text content object
+     */
+    static TextContent ofUtf8(ByteBuffer utf8) {
+        return getSPI().utf8TextContentBuilder(utf8).build();
+    }
+
+    /**
+     * Creates a new builder for a {@code TextContent} from text which is already encoded as UTF-8.
+     * <p>
+     * The text is the remaining content of the buffer, which is not copied. The buffer's content
+     * must not be modified afterwards, but its position and limit may be.
+     *
+     * @param utf8 the UTF-8 encoded text
+     * @return the text content builder
+     */
+    static TextContent.Builder builderUtf8(ByteBuffer utf8) {
+        return getSPI().utf8TextContentBuilder(utf8);
+    }
+
+    /**
+     * Creates a new {@code TextContent} whose text is read from a source each time it is written,
+     * for example from a large file.
+     *
+     * @param source opens a reader of the text
+     * @return the new text content object
+     */
+    static TextContent of(TextSource source) {
+        return getSPI().textContentBuilder(source).build();
+    }
+
+    /**
+     * Creates a new builder for a {@code TextContent} whose text is read from a source each time
+     * it is written.
+     *
+     * @param source opens a reader of the text
+     * @return the text content builder
+     */
+    static TextContent.Builder builder(TextSource source) {
+        return getSPI().textContentBuilder(source);
+    }
+
     /**
      * Builder for creating text contents
      */
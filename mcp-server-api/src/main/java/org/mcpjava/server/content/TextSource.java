@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.content;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Opens a reader of text which is not held in memory, for example the text of a file, so that
+ * large text content can be sent without reading all of it into a {@code String}.
+ * <p>
+ * A new reader is opened every time the text is read, for example when a cached response is sent
+ * again, so each reader must return the same text.
+ *
+ * @see TextContent#of(TextSource)
+ * @see org.mcpjava.server.resources.TextResourceContents#of(String, TextSource)
+ */
+@FunctionalInterface
+public interface TextSource {
+
+    /**
+     * Opens a new reader of the text, which the caller closes
+     *
+     * @return the reader
+     * @throws IOException if the text cannot be read
+     */
+    Reader open() throws IOException;
+}
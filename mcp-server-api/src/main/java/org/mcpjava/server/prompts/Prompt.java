@@ -22,10 +22,12 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.ExecutionModel;
 import org.mcpjava.server.McpRequest;
 import org.mcpjava.server.McpServer;
 import org.mcpjava.server.Role;
 import org.mcpjava.server.progress.Progress;
+import org.mcpjava.server.resources.ResourceUpdatePublisher;
 
 /**
  * Marks a method as providing an MCP prompt template.
@@ -41,6 +43,7 @@ import org.mcpjava.server.progress.Progress;
  * <li>{@link McpRequest} - to access information about the request
  * <li>{@link Cancellation} - to allow processing to be stopped if the client cancels the prompt request
  * <li>{@link Progress} - to send progress reports back to the client
+ * <li>{@link ResourceUpdatePublisher} - to notify subscribed clients of resource changes
  * <li>Implementations may define additional types that can be used as parameters
  * </ul>
  * 
@@ -53,6 +56,9 @@ import org.mcpjava.server.progress.Progress;
  * <li>{@link PromptMessage} - Single message in the response</li>
  * <li>List of {@link PromptMessage} - Multiple messages in the response</li>
  * <li>{@link PromptResponse} - Full response with description and messages</li>
+ * <li>{@link java.util.concurrent.CompletionStage CompletionStage} of any of these types - The method
+ * completes asynchronously, and the response is sent when the stage completes, without a thread
+ * waiting for it</li>
  * <li>Other types - Encoded according to framework-specific rules</li>
  * </ul>
  *
@@ -104,4 +110,12 @@ public @interface Prompt {
      * @return the prompt description
      */
     String description() default "";
+
+    /**
+     * How the implementation runs the method. By default, the implementation chooses.
+     *
+     * @return the execution model
+     * @see ExecutionModel
+     */
+    ExecutionModel executionModel() default ExecutionModel.DEFAULT;
 }
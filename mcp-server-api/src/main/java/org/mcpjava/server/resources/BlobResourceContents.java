@@ -17,6 +17,12 @@ package org.mcpjava.server.resources;
 
 import static org.mcpjava.server.spi.McpServerSPILoader.getSPI;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Base64;
+
 import org.mcpjava.server.MetaCarrier;
 
 /**
@@ -26,10 +32,78 @@ public non-sealed interface BlobResourceContents extends MetaCarrier, ResourceCo
 
     /**
      * The binary data of the resource.
+     * <p>
+     * If the resource was created from a {@link ByteBuffer}, this copies the data. Use
+     * {@link #blobBuffer()} to read the data without copying.
      * 
      * @return the data
      */
     byte[] blob();
+
+    /**
+     * Returns a read-only view of the binary data, from its position to its limit.
+     * <p>
+     * The returned buffer has its own position and limit, so it may be read without affecting
+     * other readers. The default implementation wraps {@link #blob()}.
+     *
+     * @return the data as a read-only buffer
+     */
+    default ByteBuffer blobBuffer() {
+        return ByteBuffer.wrap(blob()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the length of the binary data, without reading or decoding it.
+     * <p>
+     * The default implementation returns the remaining length of {@link #blobBuffer()}.
+     *
+     * @return the length in bytes
+     */
+    default int blobLength() {
+        return blobBuffer().remaining();
+    }
+
+    /**
+     * Returns the binary data encoded as base64.
+     * <p>
+     * Resources created with {@link #fromBase64(String, String)} return the given encoding, and
+     * resources built with {@link Builder#setCacheBase64(boolean)} encode the data once. Otherwise
+     * the data may be encoded on every call, and {@link #writeBase64(OutputStream)} should be
+     * preferred for large data.
+     *
+     * @return the base64 encoded data
+     */
+    default String base64() {
+        return Base64.getEncoder().encodeToString(blob());
+    }
+
+    /**
+     * Writes the binary data to a stream as base64, without encoding all of it in memory first.
+     * <p>
+     * The default implementation encodes {@link #blobBuffer()} in fixed size chunks, so that data
+     * backed by a memory-mapped file is streamed from the mapping.
+     *
+     * @param out the stream to write to, which is not closed
+     * @throws IOException if writing to the stream fails
+     */
+    default void writeBase64(OutputStream out) throws IOException {
+        Base64.Encoder encoder = Base64.getEncoder();
+        ByteBuffer data = blobBuffer();
+        // a multiple of 3 bytes, so that only the last chunk is padded
+        byte[] chunk = new byte[Math.min(data.remaining(), 48 * 1024)];
+        byte[] encoded = new byte[4 * ((chunk.length + 2) / 3)];
+        while (data.remaining() >= chunk.length && chunk.length > 0) {
+            data.get(chunk);
+            int length = encoder.encode(chunk, encoded);
+            out.write(encoded, 0, length);
+        }
+        if (data.hasRemaining()) {
+            byte[] last = new byte[data.remaining()];
+            data.get(last);
+            int length = encoder.encode(last, encoded);
+            out.write(encoded, 0, length);
+        }
+    }
     
     /**
      * Creates a new {@code BlobResourceContents} with a URI and data.
@@ -53,12 +127,113 @@ public non-sealed interface BlobResourceContents extends MetaCarrier, ResourceCo
         return getSPI().blobResourceContentsBuilder(uri, data);
     }
 
+    /**
+     * Creates a new {@code BlobResourceContents} which uses the buffer's data without copying it.
+     * <p>
+     * The data is the remaining content of the buffer, which may be a direct buffer. The buffer's
+     * content must not be modified afterwards, but its position and limit may be.
+     * 
+     * @param uri the resource URI
+     * @param data the binary content
+     * @return the new blob resource
+     */
+    static BlobResourceContents of(String uri, ByteBuffer data) {
+        return getSPI().newBlobResourceContent(uri, data);
+    }
+
+    /**
+     * Creates a builder for a {@code BlobResourceContents} which uses the buffer's data without
+     * copying it.
+     * <p>
+     * The data is the remaining content of the buffer, which may be a direct buffer. The buffer's
+     * content must not be modified afterwards, but its position and limit may be.
+     * 
+     * @param uri the resource URI
+     * @param data the binary content
+     * @return the new blob resource builder
+     */
+    static BlobResourceContents.Builder builder(String uri, ByteBuffer data) {
+        return getSPI().blobResourceContentsBuilder(uri, data);
+    }
+
+    /**
+     * Creates a new {@code BlobResourceContents} containing a file, which is memory-mapped rather
+     * than read onto the heap.
+     * <p>
+     * The file is mapped when this method is called and must not be modified while the resource
+     * is in use. Files larger than {@link Integer#MAX_VALUE} bytes are not supported.
+     * 
+     * @param uri the resource URI
+     * @param file the file containing the binary content
+     * @return the new blob resource
+     * @throws java.io.UncheckedIOException if the file cannot be mapped
+     */
+    static BlobResourceContents of(String uri, Path file) {
+        return getSPI().newBlobResourceContent(uri, file);
+    }
+
+    /**
+     * Creates a builder for a {@code BlobResourceContents} containing a file, which is
+     * memory-mapped rather than read onto the heap.
+     * <p>
+     * The file is mapped when this method is called and must not be modified while the resource
+     * is in use. Files larger than {@link Integer#MAX_VALUE} bytes are not supported.
+     * 
+     * @param uri the resource URI
+     * @param file the file containing the binary content
+     * @return the new blob resource builder
+     * @throws java.io.UncheckedIOException if the file cannot be mapped
+     */
+    static BlobResourceContents.Builder builder(String uri, Path file) {
+        return getSPI().blobResourceContentsBuilder(uri, file);
+    }
+
+    /**
+     * Creates a new {@code BlobResourceContents} from data which is already encoded as base64,
+     * for example encoded at startup or read from disk, so that it isn't encoded again when it's
+     * sent.
+     * 
+     * @param uri the resource URI
+     * @param base64 the base64 encoded binary content
+     * @return the new blob resource
+     */
+    static BlobResourceContents fromBase64(String uri, String base64) {
+        return getSPI().blobResourceContentsBuilderFromBase64(uri, base64).build();
+    }
+
+    /**
+     * Creates a builder for a {@code BlobResourceContents} from data which is already encoded as
+     * base64, for example encoded at startup or read from disk, so that it isn't encoded again
+     * when it's sent.
+     * 
+     * @param uri the resource URI
+     * @param base64 the base64 encoded binary content
+     * @return the new blob resource builder
+     */
+    static BlobResourceContents.Builder builderFromBase64(String uri, String base64) {
+        return getSPI().blobResourceContentsBuilderFromBase64(uri, base64);
+    }
+
 
     /**
      * Builder for creating binary resource contents.
      */
     interface Builder extends ResourceContents.Builder<Builder> {
 
+        /**
+         * Sets whether the built resource memoizes its base64 encoding, so that content which is
+         * sent repeatedly is only encoded once. The encoding is then held in memory for as long as
+         * the resource is.
+         * <p>
+         * Implementations which don't memoize the encoding ignore this setting.
+         * 
+         * @param cacheBase64 whether to memoize the base64 encoding
+         * @return this builder
+         */
+        default Builder setCacheBase64(boolean cacheBase64) {
+            return this;
+        }
+
         /**
          * Builds the resource content object.
          * 
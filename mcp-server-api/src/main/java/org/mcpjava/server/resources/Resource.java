@@ -22,6 +22,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.ExecutionModel;
 import org.mcpjava.server.McpRequest;
 import org.mcpjava.server.Role;
 import org.mcpjava.server.progress.Progress;
@@ -36,6 +37,7 @@ import org.mcpjava.server.progress.Progress;
  * <li>{@link McpRequest} - to access information about the request
  * <li>{@link Cancellation} - to allow processing to be stopped if the client cancels the resource fetch request
  * <li>{@link Progress} - to send progress reports back to the client
+ * <li>{@link ResourceUpdatePublisher} - to notify subscribed clients of resource changes
  * <li>Implementations may define additional types that can be used as parameters
  * </ul>
  * 
@@ -51,6 +53,9 @@ import org.mcpjava.server.progress.Progress;
  * <li>{@link ResourceContents} implementations - Used directly in the response</li>
  * <li>List of {@link ResourceContents} - Multiple content items in the response</li>
  * <li>{@link ResourceResponse} - Used directly as the response</li>
+ * <li>{@link java.util.concurrent.CompletionStage CompletionStage} of any of these types - The method
+ * completes asynchronously, and the response is sent when the stage completes, without a thread
+ * waiting for it</li>
  * <li>Other types - Encoded according to framework-specific rules (typically as JSON)</li>
  * </ul>
  *
@@ -99,6 +104,14 @@ public @interface Resource {
      */
     String description() default "";
 
+    /**
+     * How the implementation runs the method. By default, the implementation chooses.
+     *
+     * @return the execution model
+     * @see ExecutionModel
+     */
+    ExecutionModel executionModel() default ExecutionModel.DEFAULT;
+
     /**
      * The URI of this resource.
      * <p>
@@ -127,6 +140,35 @@ public @interface Resource {
      */
     int size() default -1;
 
+    /**
+     * Whether the implementation may compute the {@link #size()} of this resource, if it is not
+     * declared.
+     * <p>
+     * Implementations which support this compute the size from the response of the first read of
+     * the resource, or of a read made in the background when the server starts, and report it in
+     * resource listings and resource links from then on. The resource must always return content
+     * of the same size, until it is reported to have changed.
+     * </p>
+     *
+     * @return {@code true} if the size may be computed
+     */
+    boolean computeSize() default false;
+
+    /**
+     * Whether this resource is read when the server starts, before the server reports that it is
+     * ready.
+     * <p>
+     * Implementations which support this read the resource during a warm-up phase, so that the
+     * classes it uses are loaded and compiled, and keep the response in their caches if the
+     * resource is {@link org.mcpjava.server.Cached @Cached}. This avoids slow first reads of
+     * resources which are expensive to produce. The method should not have side effects, since it
+     * is called without a request.
+     * </p>
+     *
+     * @return {@code true} if the resource is read when the server starts
+     */
+    boolean warmUp() default false;
+
     /**
      * Optional annotations for the client.
      * <p>
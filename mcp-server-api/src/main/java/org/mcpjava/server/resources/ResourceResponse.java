@@ -17,9 +17,13 @@ package org.mcpjava.server.resources;
 
 import static org.mcpjava.server.spi.McpServerSPILoader.getSPI;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 import org.mcpjava.server.MetaCarrier;
+import org.mcpjava.server.spi.flow.Publishers;
 
 /**
  * The result of a {@code resources/read} request.
@@ -32,11 +36,54 @@ public interface ResourceResponse extends MetaCarrier {
 
     /**
      * The resource contents. Usually a response will contain a single content object.
+     * <p>
+     * For a {@linkplain #isStreaming() streaming} response, this waits for all the contents to be
+     * published and holds them in memory, so implementations should use
+     * {@link #contentsPublisher()} instead.
      * 
      * @return the list of resource contents
      */
     List<ResourceContents> getContents();
 
+    /**
+     * Whether the contents of this response are produced while the response is written, rather
+     * than held in a list
+     *
+     * @return {@code true} for a response created by {@link #streaming(Flow.Publisher)}
+     */
+    default boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * The resource contents, as a publisher which produces each content object when it is
+     * requested.
+     * <p>
+     * Implementations can serialize and write each content object as it is published, requesting
+     * more as the output can accept them, so that a response with many parts need not be held in
+     * memory. The default implementation publishes {@link #getContents()}.
+     *
+     * @return the publisher of the resource contents
+     */
+    default Flow.Publisher<ResourceContents> contentsPublisher() {
+        return Publishers.fromList(getContents());
+    }
+
+    /**
+     * Creates a new streaming {@code ResourceResponse}, whose contents are produced by a publisher
+     * while the response is written.
+     * <p>
+     * This suits resources which expand into many parts, such as a directory listing or a log
+     * tail. The publisher must honour the demand of its subscriber, and is usually subscribed to
+     * once, by the implementation which writes the response.
+     *
+     * @param contents the publisher of the resource contents
+     * @return the new resource response
+     */
+    static ResourceResponse streaming(Flow.Publisher<? extends ResourceContents> contents) {
+        return getSPI().streamingResourceResponse(contents);
+    }
+
     /**
      * Create a builder for a {@code ResourceResponse}
      *
@@ -92,6 +139,39 @@ public interface ResourceResponse extends MetaCarrier {
         return getSPI().resourceBlobResponse(uri, data, mimeType);
     }
 
+    /**
+     * Creates a new {@code ResourceResponse} with binary content and MIME type, which uses the
+     * buffer's data without copying it.
+     * <p>
+     * The data is the remaining content of the buffer, which may be a direct buffer. The buffer's
+     * content must not be modified afterwards, but its position and limit may be.
+     *
+     * @param uri the resource URI
+     * @param data the binary content
+     * @param mimeType the MIME type
+     * @return the new resource response
+     */
+    static ResourceResponse of(String uri, ByteBuffer data, String mimeType) {
+        return getSPI().resourceBlobResponse(uri, data, mimeType);
+    }
+
+    /**
+     * Creates a new {@code ResourceResponse} with the content of a file and MIME type. The file is
+     * memory-mapped rather than read onto the heap.
+     * <p>
+     * The file is mapped when this method is called and must not be modified while the response
+     * is in use. Files larger than {@link Integer#MAX_VALUE} bytes are not supported.
+     *
+     * @param uri the resource URI
+     * @param file the file containing the binary content
+     * @param mimeType the MIME type
+     * @return the new resource response
+     * @throws java.io.UncheckedIOException if the file cannot be mapped
+     */
+    static ResourceResponse of(String uri, Path file, String mimeType) {
+        return getSPI().resourceBlobResponse(uri, file, mimeType);
+    }
+
     /**
      * Builder for creating resource read responses.
      */
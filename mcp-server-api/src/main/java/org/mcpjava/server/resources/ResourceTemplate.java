@@ -22,6 +22,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.ExecutionModel;
 import org.mcpjava.server.McpRequest;
 import org.mcpjava.server.McpServer;
 import org.mcpjava.server.progress.Progress;
@@ -41,6 +42,7 @@ import org.mcpjava.server.resources.Resource.Annotations;
  * <li>{@link McpRequest} - to access information about the request
  * <li>{@link Cancellation} - to allow processing to be stopped if the client cancels the tool call
  * <li>{@link Progress} - to send progress reports back to the client
+ * <li>{@link ResourceUpdatePublisher} - to notify subscribed clients of resource changes
  * <li>Implementations may define additional types that can be used as parameters
  * </ul>
  * 
@@ -56,6 +58,9 @@ import org.mcpjava.server.resources.Resource.Annotations;
  * <li>{@link ResourceContents} implementations - Used directly in the response</li>
  * <li>List of {@link ResourceContents} - Multiple content items in the response</li>
  * <li>{@link ResourceResponse} - Used directly as the response</li>
+ * <li>{@link java.util.concurrent.CompletionStage CompletionStage} of any of these types - The method
+ * completes asynchronously, and the response is sent when the stage completes, without a thread
+ * waiting for it</li>
  * <li>Other types - Encoded according to framework-specific rules (typically as JSON)</li>
  * </ul>
  * <p>
@@ -113,6 +118,14 @@ public @interface ResourceTemplate {
      */
     String description() default "";
 
+    /**
+     * How the implementation runs the method. By default, the implementation chooses.
+     *
+     * @return the execution model
+     * @see ExecutionModel
+     */
+    ExecutionModel executionModel() default ExecutionModel.DEFAULT;
+
     /**
      * The Level 1 URI template that can be used to construct resource URIs.
      * <p>
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.resources;
+
+/**
+ * Notifies clients which have subscribed to a resource that it has changed.
+ * <p>
+ * Each published change causes a {@code notifications/resources/updated} message to be sent to the
+ * sessions which have subscribed to the resource URI, after which clients usually read the resource
+ * again. Implementations may coalesce changes to the same URI which are published in quick
+ * succession into a single notification per subscriber, so server code can publish every change
+ * without flooding clients.
+ * </p>
+ * <p>
+ * Tool, prompt and resource methods may declare a parameter of this type to have it injected.
+ * Implementations may also make it available in other ways, for example for dependency injection.
+ * </p>
+ * <p>
+ * Example:
+ * </p>
+ * <pre>
+ * &#64;Tool
+ * public String setTheme(String theme, ResourceUpdatePublisher updates) {
+ *     settings.setTheme(theme);
+ *     updates.publish("config://settings");
+ *     return "Theme changed";
+ * }
+ * </pre>
+ *
+ * @see <a href="https://modelcontextprotocol.io/specification/2025-11-25/server/resources#subscriptions">MCP Specification - Resource Subscriptions</a>
+ */
+public interface ResourceUpdatePublisher {
+
+    /**
+     * Publishes a change to a resource.
+     * <p>
+     * This method does not block while notifications are sent, and sends no notification if no
+     * session has subscribed to the URI. Implementations which cache resource responses invalidate
+     * the cached response for the URI whether or not any session has subscribed.
+     * </p>
+     *
+     * @param uri the URI of the resource which changed
+     */
+    void publish(String uri);
+
+    /**
+     * Returns whether any session has subscribed to a resource
+     *
+     * @param uri the URI of the resource
+     * @return {@code true} if at least one session has subscribed to the URI
+     */
+    boolean hasSubscribers(String uri);
+}
@@ -17,6 +17,15 @@ package org.mcpjava.server.resources;
 
 import static org.mcpjava.server.spi.McpServerSPILoader.getSPI;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.OptionalLong;
+
+import org.mcpjava.server.content.TextSource;
+import org.mcpjava.server.spi.json.JsonStrings;
+
 /**
  * The content of a resource which contains text data.
  */
@@ -24,11 +33,67 @@ public non-sealed interface TextResourceContents extends ResourceContents {
 
     /**
      * The text data in the resource.
+     * <p>
+     * If the resource was created from a {@link CharSequence}, UTF-8 bytes or a
+     * {@link TextSource}, this creates a {@code String} of all the text on every call. Use
+     * {@link #writeJsonString(Appendable)} or {@link #textReader()} to read large text without
+     * holding all of it in memory.
      * 
      * @return the data
      */
     String text();
 
+    /**
+     * Returns a new reader of the text data, which the caller closes.
+     * <p>
+     * The default implementation wraps {@link #text()}.
+     *
+     * @return the reader
+     * @throws IOException if the text cannot be read
+     */
+    default Reader textReader() throws IOException {
+        return new StringReader(text());
+    }
+
+    /**
+     * Writes the text data as a quoted and escaped JSON string, without creating a
+     * {@code String} of all of it first.
+     * <p>
+     * The default implementation escapes {@link #textReader()} in fixed size chunks.
+     *
+     * @param out the output, which is not closed
+     * @throws IOException if the text cannot be read or writing to the output fails
+     */
+    default void writeJsonString(Appendable out) throws IOException {
+        try (Reader reader = textReader()) {
+            JsonStrings.write(reader, out);
+        }
+    }
+
+    /**
+     * Returns the length of the text data encoded as UTF-8, if it is known without reading the
+     * text data, for example because it was created from UTF-8 bytes.
+     * <p>
+     * The default implementation returns an empty {@code OptionalLong}.
+     *
+     * @return the length in bytes, or an empty {@code OptionalLong} if it is not known
+     */
+    default OptionalLong knownUtf8Length() {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Returns the approximate memory held by the text data, without reading it. Text data
+     * which is read from a {@link TextSource} when it is written holds none.
+     * <p>
+     * The default implementation counts two bytes per character of {@link #text()}.
+     *
+     * @return the weight in bytes
+     */
+    default long textWeight() {
+        return 2L * text().length();
+    }
+
     /**
      * Creates a new {@code TextResourceContents} with a URI and text.
      * 
@@ -51,6 +116,88 @@ public non-sealed interface TextResourceContents extends ResourceContents {
         return getSPI().textResourceContentsBuilder(uri, text);
     }
 
+    /**
+     * Creates a new {@code TextResourceContents} which uses a character sequence without copying
+     * it into a {@code String}.
+     * <p>
+     * The sequence must not be modified afterwards.
+     * 
+     * @param uri the resource URI
+     * @param text the text content
+     * @return the new text resource
+     */
+    static TextResourceContents of(String uri, CharSequence text) {
+        return getSPI().textResourceContentsBuilder(uri, text).build();
+    }
+
+    /**
+     * Creates a builder for a {@code TextResourceContents} which uses a character sequence
+     * without copying it into a {@code String}.
+     * <p>
+     * The sequence must not be modified afterwards.
+     * 
+     * @param uri the resource URI
+     * @param text the text content
+     * @return the new text resource builder
+     */
+    static TextResourceContents.Builder builder(String uri, CharSequence text) {
+        return getSPI().textResourceContentsBuilder(uri, text);
+    }
+
+    /**
+     * Creates a new {@code TextResourceContents} from text which is already encoded as UTF-8,
+     * which is decoded as it is written rather than into a {@code String}.
+     * <p>
+     * The text is the remaining content of the buffer, which is not copied. The buffer's content
+     * must not be modified afterwards, but its position and limit may be.
+     * 
+     * @param uri the resource URI
+     * @param utf8 the UTF-8 encoded text content
+     * @return the new text resource
+     */
+    static TextResourceContents ofUtf8(String uri, ByteBuffer utf8) {
+        return getSPI().utf8TextResourceContentsBuilder(uri, utf8).build();
+    }
+
+    /**
+     * Creates a builder for a {@code TextResourceContents} from text which is already encoded as
+     * UTF-8.
+     * <p>
+     * The text is the remaining content of the buffer, which is not copied. The buffer's content
+     * must not be modified afterwards, but its position and limit may be.
+     * 
+     * @param uri the resource URI
+     * @param utf8 the UTF-8 encoded text content
+     * @return the new text resource builder
+     */
+    static TextResourceContents.Builder builderUtf8(String uri, ByteBuffer utf8) {
+        return getSPI().utf8TextResourceContentsBuilder(uri, utf8);
+    }
+
+    /**
+     * Creates a new {@code TextResourceContents} whose text is read from a source each time it is
+     * written, for example from a large log file.
+     * 
+     * @param uri the resource URI
+     * @param source opens a reader of the text content
+     * @return the new text resource
+     */
+    static TextResourceContents of(String uri, TextSource source) {
+        return getSPI().textResourceContentsBuilder(uri, source).build();
+    }
+
+    /**
+     * Creates a builder for a {@code TextResourceContents} whose text is read from a source each
+     * time it is written.
+     * 
+     * @param uri the resource URI
+     * @param source opens a reader of the text content
+     * @return the new text resource builder
+     */
+    static TextResourceContents.Builder builder(String uri, TextSource source) {
+        return getSPI().textResourceContentsBuilder(uri, source);
+    }
+
     /**
      * Builder for creating text resource contents.
      */
@@ -16,8 +16,18 @@
 
 package org.mcpjava.server.spi;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.Flow;
 
 import org.mcpjava.server.Icon;
 import org.mcpjava.server.Role;
@@ -30,10 +40,13 @@ import org.mcpjava.server.content.EmbeddedResource;
 import org.mcpjava.server.content.ImageContent;
 import org.mcpjava.server.content.ResourceLink;
 import org.mcpjava.server.content.TextContent;
+import org.mcpjava.server.content.TextSource;
 import org.mcpjava.server.prompts.PromptResponse;
 import org.mcpjava.server.resources.BlobResourceContents;
+import org.mcpjava.server.resources.ResourceContents;
 import org.mcpjava.server.resources.ResourceResponse;
 import org.mcpjava.server.resources.TextResourceContents;
+import org.mcpjava.server.spi.flow.Publishers;
 import org.mcpjava.server.tools.ToolResponse;
 
 /**
@@ -44,6 +57,10 @@ import org.mcpjava.server.tools.ToolResponse;
  * <p>
  * Users should use static constructor methods, for example {@link TextContent#of(String)}, rather
  * than this interface and must not implement this interface.
+ * <p>
+ * The objects created by implementations must be immutable and safe to share between threads, so
+ * that users can create constant responses once and return them from every call. Implementations
+ * may return the same instance for equal constant values.
  */
 public interface McpServerSPI {
 
@@ -118,6 +135,46 @@ public interface McpServerSPI {
         return textContentBuilder(text).build();
     }
 
+    /**
+     * Creates a new builder for a {@link TextContent} which uses a character sequence without
+     * copying it.
+     * <p>
+     * The default implementation copies the sequence into a {@code String}.
+     *
+     * @param text the text
+     * @return the text content builder
+     */
+    default TextContent.Builder textContentBuilder(CharSequence text) {
+        return textContentBuilder(text.toString());
+    }
+
+    /**
+     * Creates a new builder for a {@link TextContent} from text encoded as UTF-8, using the
+     * remaining content of the buffer without copying it.
+     * <p>
+     * The default implementation decodes the text into a {@code String}.
+     *
+     * @param utf8 the UTF-8 encoded text
+     * @return the text content builder
+     */
+    default TextContent.Builder utf8TextContentBuilder(ByteBuffer utf8) {
+        return textContentBuilder(StandardCharsets.UTF_8.decode(utf8.duplicate()).toString());
+    }
+
+    /**
+     * Creates a new builder for a {@link TextContent} whose text is read from a source each time
+     * it is written.
+     * <p>
+     * The default implementation reads the text into a {@code String}.
+     *
+     * @param source opens a reader of the text
+     * @return the text content builder
+     * @throws UncheckedIOException if the default implementation cannot read the text
+     */
+    default TextContent.Builder textContentBuilder(TextSource source) {
+        return textContentBuilder(readText(source));
+    }
+
     /**
      * Creates a new builder for an {@link AudioContent}
      * 
@@ -138,6 +195,49 @@ public interface McpServerSPI {
         return audioContentBuilder(data, mimeType).build();
     }
 
+    /**
+     * Creates a builder for a new {@link AudioContent} from a buffer
+     * <p>
+     * Implementations should use the remaining content of the buffer without copying it. The
+     * default implementation copies it to an array.
+     *
+     * @param data the audio data
+     * @param mimeType the MIME type of the audio data
+     * @return the new {@code AudioContent} builder
+     */
+    default AudioContent.Builder audioContentBuilder(ByteBuffer data, String mimeType) {
+        return audioContentBuilder(toArray(data), mimeType);
+    }
+
+    /**
+     * Creates a new {@link AudioContent} from a buffer
+     * <p>
+     * Implementations should use the remaining content of the buffer without copying it. The
+     * default implementation copies it to an array.
+     *
+     * @param data the audio data
+     * @param mimeType the MIME type of the audio data
+     * @return the new {@code AudioContent}
+     */
+    default AudioContent newAudioContent(ByteBuffer data, String mimeType) {
+        return audioContentBuilder(data, mimeType).build();
+    }
+
+    /**
+     * Creates a builder for a new {@link AudioContent} from base64 encoded data
+     * <p>
+     * Implementations should keep the encoded data so that it isn't encoded again when it's sent.
+     * The default implementation decodes it.
+     *
+     * @param base64 the base64 encoded audio data
+     * @param mimeType the MIME type of the audio data
+     * @return the new {@code AudioContent} builder
+     * @throws IllegalArgumentException if {@code base64} is not valid base64
+     */
+    default AudioContent.Builder audioContentBuilderFromBase64(String base64, String mimeType) {
+        return audioContentBuilder(Base64.getDecoder().decode(base64), mimeType);
+    }
+
     /**
      * Creates a new builder for an {@link ImageContent}
      * 
@@ -158,6 +258,49 @@ public interface McpServerSPI {
         return imageContentBuilder(data, mimeType).build();
     }
 
+    /**
+     * Creates a builder for a new {@link ImageContent} from a buffer
+     * <p>
+     * Implementations should use the remaining content of the buffer without copying it. The
+     * default implementation copies it to an array.
+     *
+     * @param data the image data
+     * @param mimeType the MIME type of the image data
+     * @return the new {@code ImageContent} builder
+     */
+    default ImageContent.Builder imageContentBuilder(ByteBuffer data, String mimeType) {
+        return imageContentBuilder(toArray(data), mimeType);
+    }
+
+    /**
+     * Creates a new {@link ImageContent} from a buffer
+     * <p>
+     * Implementations should use the remaining content of the buffer without copying it. The
+     * default implementation copies it to an array.
+     *
+     * @param data the image data
+     * @param mimeType the MIME type of the image data
+     * @return the new {@code ImageContent}
+     */
+    default ImageContent newImageContent(ByteBuffer data, String mimeType) {
+        return imageContentBuilder(data, mimeType).build();
+    }
+
+    /**
+     * Creates a builder for a new {@link ImageContent} from base64 encoded data
+     * <p>
+     * Implementations should keep the encoded data so that it isn't encoded again when it's sent.
+     * The default implementation decodes it.
+     *
+     * @param base64 the base64 encoded image data
+     * @param mimeType the MIME type of the image data
+     * @return the new {@code ImageContent} builder
+     * @throws IllegalArgumentException if {@code base64} is not valid base64
+     */
+    default ImageContent.Builder imageContentBuilderFromBase64(String base64, String mimeType) {
+        return imageContentBuilder(Base64.getDecoder().decode(base64), mimeType);
+    }
+
     /**
      * Creates a new builder for an {@link EmbeddedResource} with {@link TextResourceContents}
      * 
@@ -176,6 +319,53 @@ public interface McpServerSPI {
      */
     EmbeddedResource.Builder blobEmbeddedResourceBuilder(byte[] data, String uri);
 
+    /**
+     * Creates a builder for a new {@link EmbeddedResource} containing a
+     * {@link BlobResourceContents} from a buffer
+     * <p>
+     * Implementations should use the remaining content of the buffer without copying it. The
+     * default implementation copies it to an array.
+     * 
+     * @param data the blob data
+     * @param uri the resource URI
+     * @return the new {@code EmbeddedResource} builder
+     */
+    default EmbeddedResource.Builder blobEmbeddedResourceBuilder(ByteBuffer data, String uri) {
+        return blobEmbeddedResourceBuilder(toArray(data), uri);
+    }
+
+    /**
+     * Creates a builder for a new {@link EmbeddedResource} containing a
+     * {@link BlobResourceContents} backed by a memory-mapped file
+     * <p>
+     * The default implementation maps the file read-only and passes the mapping to the
+     * {@code ByteBuffer} variant of this method.
+     * 
+     * @param file the file
+     * @param uri the resource URI
+     * @return the new {@code EmbeddedResource} builder
+     * @throws UncheckedIOException if the file cannot be mapped
+     */
+    default EmbeddedResource.Builder blobEmbeddedResourceBuilder(Path file, String uri) {
+        return blobEmbeddedResourceBuilder(map(file), uri);
+    }
+
+    /**
+     * Creates a builder for a new {@link EmbeddedResource} containing a
+     * {@link BlobResourceContents} from base64 encoded data
+     * <p>
+     * Implementations should keep the encoding, so that it isn't encoded again when it's sent.
+     * The default implementation decodes it.
+     * 
+     * @param base64 the base64 encoded blob data
+     * @param uri the resource URI
+     * @return the new {@code EmbeddedResource} builder
+     * @throws IllegalArgumentException if {@code base64} is not valid base64
+     */
+    default EmbeddedResource.Builder blobEmbeddedResourceBuilderFromBase64(String base64, String uri) {
+        return blobEmbeddedResourceBuilder(Base64.getDecoder().decode(base64), uri);
+    }
+
     /**
      * Creates a new builder for a {@link ResourceLink}
      * 
@@ -192,6 +382,19 @@ public interface McpServerSPI {
      */
     Annotations.Builder annotationsBuilder();
 
+    /**
+     * Creates {@link Annotations} with only an audience.
+     * <p>
+     * There are few distinct audiences, so implementations should return shared instances.
+     *
+     * @param roles the audience roles
+     * @return the annotations
+     */
+    default Annotations newAudienceAnnotations(Role... roles) {
+        return annotationsBuilder().setAudience(roles)
+                                   .build();
+    }
+
     /**
      * Create a builder for a new {@link PromptResponse}
      * 
@@ -270,6 +473,55 @@ public interface McpServerSPI {
                                         .build();
     }
 
+    /**
+     * Creates a new {@link ResourceResponse} with binary content from a buffer and the given
+     * MIME type
+     * 
+     * @param uri the resource URI
+     * @param data the binary content
+     * @param mimeType the MIME type
+     * @return the new resource response
+     */
+    default ResourceResponse resourceBlobResponse(String uri, ByteBuffer data, String mimeType) {
+        return resourceResponseBuilder().addContents(blobResourceContentsBuilder(uri, data).setMimeType(mimeType)
+                                                                                           .build())
+                                        .build();
+    }
+
+    /**
+     * Creates a new {@link ResourceResponse} with binary content backed by a memory-mapped file
+     * and the given MIME type
+     * <p>
+     * The default implementation maps the file read-only and passes the mapping to the
+     * {@code ByteBuffer} variant of this method.
+     * 
+     * @param uri the resource URI
+     * @param file the file
+     * @param mimeType the MIME type
+     * @return the new resource response
+     * @throws UncheckedIOException if the file cannot be mapped
+     */
+    default ResourceResponse resourceBlobResponse(String uri, Path file, String mimeType) {
+        return resourceBlobResponse(uri, map(file), mimeType);
+    }
+
+    /**
+     * Creates a new streaming {@link ResourceResponse}, whose contents are produced by a publisher
+     * <p>
+     * The default implementation waits for all the contents to be published and passes them to a
+     * {@link #resourceResponseBuilder() builder}. Implementations which write responses
+     * incrementally should override it to return a response whose
+     * {@link ResourceResponse#contentsPublisher()} is the given publisher.
+     *
+     * @param contents the publisher of the resource contents
+     * @return the new resource response
+     */
+    default ResourceResponse streamingResourceResponse(Flow.Publisher<? extends ResourceContents> contents) {
+        ResourceResponse.Builder builder = resourceResponseBuilder();
+        Publishers.collect(contents).toCompletableFuture().join().forEach(builder::addContents);
+        return builder.build();
+    }
+
     /**
      * Creates a new {@link TextResourceContents} with a URI and text.
      *
@@ -290,6 +542,49 @@ public interface McpServerSPI {
      */
     TextResourceContents.Builder textResourceContentsBuilder(String uri, String text);
 
+    /**
+     * Creates a builder for a {@link TextResourceContents} which uses a character sequence without
+     * copying it.
+     * <p>
+     * The default implementation copies the sequence into a {@code String}.
+     * 
+     * @param uri the resource URI
+     * @param text the text content
+     * @return the new text resource builder
+     */
+    default TextResourceContents.Builder textResourceContentsBuilder(String uri, CharSequence text) {
+        return textResourceContentsBuilder(uri, text.toString());
+    }
+
+    /**
+     * Creates a builder for a {@link TextResourceContents} from text encoded as UTF-8, using the
+     * remaining content of the buffer without copying it.
+     * <p>
+     * The default implementation decodes the text into a {@code String}.
+     * 
+     * @param uri the resource URI
+     * @param utf8 the UTF-8 encoded text content
+     * @return the new text resource builder
+     */
+    default TextResourceContents.Builder utf8TextResourceContentsBuilder(String uri, ByteBuffer utf8) {
+        return textResourceContentsBuilder(uri, StandardCharsets.UTF_8.decode(utf8.duplicate()).toString());
+    }
+
+    /**
+     * Creates a builder for a {@link TextResourceContents} whose text is read from a source each
+     * time it is written.
+     * <p>
+     * The default implementation reads the text into a {@code String}.
+     * 
+     * @param uri the resource URI
+     * @param source opens a reader of the text content
+     * @return the new text resource builder
+     * @throws UncheckedIOException if the default implementation cannot read the text
+     */
+    default TextResourceContents.Builder textResourceContentsBuilder(String uri, TextSource source) {
+        return textResourceContentsBuilder(uri, readText(source));
+    }
+
     /**
      * Creates a new {@link BlobResourceContents} with a URI and data.
      * 
@@ -310,6 +605,80 @@ public interface McpServerSPI {
      */
     BlobResourceContents.Builder blobResourceContentsBuilder(String uri, byte[] data);
 
+    /**
+     * Creates a new {@link BlobResourceContents} with a URI and data from a buffer.
+     * <p>
+     * Implementations should use the remaining content of the buffer without copying it. The
+     * default implementation copies it to an array.
+     * 
+     * @param uri the resource URI
+     * @param data the binary content
+     * @return the new blob resource
+     */
+    default BlobResourceContents newBlobResourceContent(String uri, ByteBuffer data) {
+        return blobResourceContentsBuilder(uri, data).build();
+    }
+
+    /**
+     * Creates a builder for a {@link BlobResourceContents} from a buffer
+     * <p>
+     * Implementations should use the remaining content of the buffer without copying it. The
+     * default implementation copies it to an array.
+     * 
+     * @param uri the resource URI
+     * @param data the binary content
+     * @return the new blob resource builder
+     */
+    default BlobResourceContents.Builder blobResourceContentsBuilder(String uri, ByteBuffer data) {
+        return blobResourceContentsBuilder(uri, toArray(data));
+    }
+
+    /**
+     * Creates a new {@link BlobResourceContents} with a URI and data backed by a memory-mapped
+     * file.
+     * <p>
+     * The default implementation maps the file read-only and passes the mapping to the
+     * {@code ByteBuffer} variant of this method.
+     * 
+     * @param uri the resource URI
+     * @param file the file
+     * @return the new blob resource
+     * @throws UncheckedIOException if the file cannot be mapped
+     */
+    default BlobResourceContents newBlobResourceContent(String uri, Path file) {
+        return newBlobResourceContent(uri, map(file));
+    }
+
+    /**
+     * Creates a builder for a {@link BlobResourceContents} backed by a memory-mapped file
+     * <p>
+     * The default implementation maps the file read-only and passes the mapping to the
+     * {@code ByteBuffer} variant of this method.
+     * 
+     * @param uri the resource URI
+     * @param file the file
+     * @return the new blob resource builder
+     * @throws UncheckedIOException if the file cannot be mapped
+     */
+    default BlobResourceContents.Builder blobResourceContentsBuilder(String uri, Path file) {
+        return blobResourceContentsBuilder(uri, map(file));
+    }
+
+    /**
+     * Creates a builder for a {@link BlobResourceContents} from base64 encoded data
+     * <p>
+     * Implementations should keep the encoded data so that it isn't encoded again when it's sent.
+     * The default implementation decodes it.
+     * 
+     * @param uri the resource URI
+     * @param base64 the base64 encoded binary content
+     * @return the new blob resource builder
+     * @throws IllegalArgumentException if {@code base64} is not valid base64
+     */
+    default BlobResourceContents.Builder blobResourceContentsBuilderFromBase64(String uri, String base64) {
+        return blobResourceContentsBuilder(uri, Base64.getDecoder().decode(base64));
+    }
+
     /**
      * Create a builder for a new {@link ToolResponse}
      *
@@ -317,6 +686,18 @@ public interface McpServerSPI {
      */
     ToolResponse.Builder toolResponseBuilder();
 
+    /**
+     * Returns a successful {@link ToolResponse} with no content.
+     * <p>
+     * Implementations should return a shared instance.
+     *
+     * @return the empty tool response
+     */
+    default ToolResponse emptyToolResponse() {
+        return toolResponseBuilder().setError(false)
+                                    .build();
+    }
+
     /**
      * Creates a new successful {@link ToolResponse} with a single text content block.
      *
@@ -354,6 +735,24 @@ public interface McpServerSPI {
                                     .build();
     }
 
+    /**
+     * Creates a new successful streaming {@link ToolResponse}, whose content is produced by a
+     * publisher
+     * <p>
+     * The default implementation waits for all the content to be published and passes it to a
+     * {@link #toolResponseBuilder() builder}. Implementations which write responses incrementally
+     * should override it to return a response whose {@link ToolResponse#contentPublisher()} is the
+     * given publisher.
+     *
+     * @param content the publisher of the content blocks
+     * @return the new tool response
+     */
+    default ToolResponse streamingToolResponse(Flow.Publisher<? extends ContentBlock> content) {
+        ToolResponse.Builder builder = toolResponseBuilder().setError(false);
+        Publishers.collect(content).toCompletableFuture().join().forEach(builder::addContent);
+        return builder.build();
+    }
+
     /**
      * Creates a builder for a new {@link Icon}
      * 
@@ -374,4 +773,44 @@ public interface McpServerSPI {
                                .build();
     }
 
+    /**
+     * Copies the remaining content of a buffer, without changing its position
+     */
+    private static byte[] toArray(ByteBuffer data) {
+        byte[] array = new byte[data.remaining()];
+        data.duplicate().get(array);
+        return array;
+    }
+
+    /**
+     * Reads all the text of a source
+     */
+    private static String readText(TextSource source) {
+        StringBuilder text = new StringBuilder();
+        char[] chunk = new char[8192];
+        try (Reader reader = source.open()) {
+            int length;
+            while ((length = reader.read(chunk)) != -1) {
+                text.append(chunk, 0, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read text", e);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Maps a file read-only. The mapping remains valid after the channel is closed.
+     */
+    private static ByteBuffer map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("File too large to map: " + file + " (" + size + " bytes)");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map " + file, e);
+        }
+    }
 }
@@ -13,12 +13,18 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.mcpjava.server.spi;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Iterator;
+import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Provides access to the {@link McpServerSPI} implementation.
@@ -26,13 +32,49 @@ import java.util.ServiceLoader;
  * Static constructor methods use {@link #getSPI()} to obtain the {@code McpServerSPI} to create the
  * object.
  * <p>
- * Users should use static constructor methods, for example 
+ * Users should use static constructor methods, for example
  * {@link org.mcpjava.server.content.TextContent#of(String)}, rather than this
  * interface.
+ * <p>
+ * The implementation is resolved separately for each thread context classloader, so that
+ * deployments in the same runtime can use different implementations, and the result is cached
+ * until the classloader is garbage collected. Implementations may also be
+ * {@linkplain #register(ClassLoader, McpServerSPI) registered} explicitly, which avoids
+ * {@link ServiceLoader} entirely.
+ * <p>
+ * Cached implementations which are loaded by the classloader they were resolved for keep that
+ * classloader reachable. Deployments which package their own implementation should call
+ * {@link #unregister(ClassLoader)} when they are stopped.
  */
 public final class McpServerSPILoader {
 
-    private static volatile McpServerSPI instance;
+    /**
+     * Resolved implementations, by thread context classloader
+     */
+    private static final ConcurrentMap<LoaderKey, McpServerSPI> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Registered implementations, by classloader
+     */
+    private static final ConcurrentMap<LoaderKey, McpServerSPI> registered = new ConcurrentHashMap<>();
+
+    private static final ReferenceQueue<ClassLoader> queue = new ReferenceQueue<>();
+
+    /**
+     * The most recently resolved implementation, checked before {@link #resolved}
+     */
+    private static volatile LastResolved last;
+
+    /**
+     * The implementation registered for all classloaders
+     */
+    private static volatile McpServerSPI registeredDefault;
+
+    /**
+     * Incremented by every registration change, so that resolutions which race with a change are
+     * not cached
+     */
+    private static volatile int generation;
 
     // No default constructor
     private McpServerSPILoader() {}
@@ -40,33 +82,212 @@ public final class McpServerSPILoader {
     /**
      * Returns {@link McpServerSPI}, loading it if necessary.
      * <p>
-     * The implementation is loaded using Java's {@link ServiceLoader} mechanism and the classloader
-     * of {@code McpServerSPI}.
+     * The implementation is chosen for the thread context classloader, or the classloader of
+     * {@code McpServerSPI} if there is no context classloader, in this order:
+     * <ol>
+     * <li>an implementation {@linkplain #register(ClassLoader, McpServerSPI) registered} for the
+     * classloader or one of its parents</li>
+     * <li>an implementation {@linkplain #register(McpServerSPI) registered} for all classloaders</li>
+     * <li>the first implementation found by Java's {@link ServiceLoader} mechanism using the
+     * classloader</li>
+     * <li>the first implementation found by {@code ServiceLoader} using the classloader of
+     * {@code McpServerSPI}</li>
+     * </ol>
+     * <p>
+     * The result is cached per classloader. Reads of the cache do not lock.
      *
      * @return the McpServerSPI instance
      * @throws IllegalStateException if no SPI implementation is found
      */
     public static McpServerSPI getSPI() {
-        McpServerSPI ret = instance;
-        if (ret != null) {
-            return ret;
+        ClassLoader loader = contextClassLoader();
+        int gen = generation;
+        LastResolved l = last;
+        if (l != null && l.get() == loader && l.generation == gen) {
+            return l.spi;
         }
-        synchronized (McpServerSPILoader.class) {
-            if (instance == null) {
-                instance = loadSPI();
+        McpServerSPI spi = resolved.get(new LoaderKey(loader));
+        if (spi == null) {
+            spi = resolve(loader, gen);
+        }
+        // Also after a hit, so that the fast path recovers when classloaders alternate or the
+        // registrations have changed
+        last = new LastResolved(loader, spi, gen);
+        return spi;
+    }
+
+    /**
+     * Registers the implementation to use for all classloaders which don't have an implementation
+     * registered with {@link #register(ClassLoader, McpServerSPI)}.
+     * <p>
+     * This is intended for embedded use, where the implementation is known and
+     * {@link ServiceLoader} lookup is unnecessary.
+     *
+     * @param spi the implementation
+     */
+    public static void register(McpServerSPI spi) {
+        registeredDefault = Objects.requireNonNull(spi, "spi");
+        invalidate();
+    }
+
+    /**
+     * Registers the implementation to use when the thread context classloader is the given
+     * classloader or one of its descendants.
+     * <p>
+     * The registration is removed when the classloader is garbage collected. If the implementation
+     * is loaded by the classloader itself, the registration keeps the classloader reachable, so
+     * the deployment must call {@link #unregister(ClassLoader)} when it is stopped.
+     *
+     * @param loader the classloader
+     * @param spi the implementation
+     */
+    public static void register(ClassLoader loader, McpServerSPI spi) {
+        registered.put(new LoaderKey(Objects.requireNonNull(loader, "loader"), queue), Objects.requireNonNull(spi, "spi"));
+        invalidate();
+    }
+
+    /**
+     * Removes the implementation registered for a classloader, and any implementation cached for it
+     *
+     * @param loader the classloader
+     */
+    public static void unregister(ClassLoader loader) {
+        registered.remove(new LoaderKey(Objects.requireNonNull(loader, "loader")));
+        invalidate();
+    }
+
+    private static synchronized void invalidate() {
+        generation++;
+        last = null;
+        resolved.clear();
+        expungeStaleEntries();
+    }
+
+    private static McpServerSPI resolve(ClassLoader loader, int gen) {
+        McpServerSPI spi = findRegistered(loader);
+        if (spi == null) {
+            spi = registeredDefault;
+        }
+        if (spi == null) {
+            spi = loadSPI(loader);
+        }
+
+        expungeStaleEntries();
+        LoaderKey key = new LoaderKey(loader, queue);
+        McpServerSPI existing = resolved.putIfAbsent(key, spi);
+        if (existing != null) {
+            return existing;
+        }
+        if (generation != gen) {
+            // registrations changed while resolving, don't keep a result that may be stale
+            resolved.remove(key, spi);
+        }
+        return spi;
+    }
+
+    private static McpServerSPI findRegistered(ClassLoader loader) {
+        if (registered.isEmpty()) {
+            return null;
+        }
+        for (ClassLoader cl = loader; cl != null; cl = cl.getParent()) {
+            McpServerSPI spi = registered.get(new LoaderKey(cl));
+            if (spi != null) {
+                return spi;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("removal") // SecurityManager deprecated but still available until Java 24
+    private static McpServerSPI loadSPI(ClassLoader loader) {
+        ClassLoader apiLoader = McpServerSPI.class.getClassLoader();
+        PrivilegedAction<McpServerSPI> loadSpi = () -> {
+            McpServerSPI spi = first(ServiceLoader.load(McpServerSPI.class, loader));
+            if (spi == null && loader != apiLoader) {
+                spi = first(ServiceLoader.load(McpServerSPI.class, apiLoader));
             }
+            return spi;
+        };
+        McpServerSPI spi = AccessController.doPrivileged(loadSpi);
+        if (spi == null) {
+            throw new IllegalStateException("No McpServerSPI implementation found.");
         }
-        return instance;
+        return spi;
+    }
+
+    private static McpServerSPI first(ServiceLoader<McpServerSPI> loader) {
+        Iterator<McpServerSPI> it = loader.iterator();
+        return it.hasNext() ? it.next() : null; // Return the first available implementation
     }
 
     @SuppressWarnings("removal") // SecurityManager deprecated but still available until Java 24
-    private static McpServerSPI loadSPI() {
-        PrivilegedAction<ServiceLoader<McpServerSPI>> loadSpi = () -> ServiceLoader.load(McpServerSPI.class,
-                                                                                         McpServerSPI.class.getClassLoader());
-        ServiceLoader<McpServerSPI> loader = AccessController.doPrivileged(loadSpi);
-        for (McpServerSPI spi : loader) {
-            return spi; // Return the first available implementation
-        }
-        throw new IllegalStateException("No McpServerSPI implementation found.");
+    private static ClassLoader contextClassLoader() {
+        ClassLoader loader;
+        if (System.getSecurityManager() == null) {
+            loader = Thread.currentThread().getContextClassLoader();
+        } else {
+            PrivilegedAction<ClassLoader> getLoader = () -> Thread.currentThread().getContextClassLoader();
+            loader = AccessController.doPrivileged(getLoader);
+        }
+        if (loader == null) {
+            loader = McpServerSPI.class.getClassLoader();
+        }
+        return loader == null ? ClassLoader.getSystemClassLoader() : loader;
+    }
+
+    private static void expungeStaleEntries() {
+        Reference<? extends ClassLoader> stale;
+        while ((stale = queue.poll()) != null) {
+            resolved.remove(stale);
+            registered.remove(stale);
+        }
+    }
+
+    /**
+     * Weak classloader key compared by identity. Keys used for lookups are not enqueued.
+     */
+    private static final class LoaderKey extends WeakReference<ClassLoader> {
+        private final int hash;
+
+        LoaderKey(ClassLoader loader) {
+            super(loader);
+            this.hash = System.identityHashCode(loader);
+        }
+
+        LoaderKey(ClassLoader loader, ReferenceQueue<ClassLoader> queue) {
+            super(loader, queue);
+            this.hash = System.identityHashCode(loader);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof LoaderKey)) {
+                return false;
+            }
+            ClassLoader loader = get();
+            return loader != null && loader == ((LoaderKey) obj).get();
+        }
+    }
+
+    /**
+     * The most recently resolved implementation, which doesn't keep its classloader reachable
+     */
+    private static final class LastResolved extends WeakReference<ClassLoader> {
+        private final McpServerSPI spi;
+        private final int generation;
+
+        LastResolved(ClassLoader loader, McpServerSPI spi, int generation) {
+            super(loader);
+            this.spi = spi;
+            this.generation = generation;
+        }
     }
 }
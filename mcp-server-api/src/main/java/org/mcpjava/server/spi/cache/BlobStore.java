@@ -0,0 +1,405 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.cache;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.mcpjava.server.content.AudioContent;
+import org.mcpjava.server.content.EmbeddedResource;
+import org.mcpjava.server.content.ImageContent;
+import org.mcpjava.server.resources.BlobResourceContents;
+
+/**
+ * A content-addressed store of binary data which is embedded in many responses, such as logos and
+ * shared attachments, keyed by the SHA-256 hash of the data.
+ * <p>
+ * Identical data which is {@linkplain #intern(ByteBuffer) interned} is stored once, as its base64
+ * encoding, and the content objects created from a {@link Blob} use that encoding as it is, so
+ * that however many responses embed the data, it is held in memory and encoded only once.
+ * <p>
+ * Blobs are reference counted: each {@code intern} or {@link #acquire(String)} must be balanced by
+ * a {@link Blob#release()} when the response which uses the blob has been sent. Blobs which are
+ * in use are never evicted. Blobs which are no longer in use are kept, so that later responses can
+ * share them, until the total {@linkplain Builder#setMaximumWeight(long) weight} of the store is
+ * exceeded, when the least recently used are evicted. If the blobs in use alone exceed the
+ * maximum weight, new data is returned as a blob which is not stored, so the store never grows
+ * beyond its bound.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class BlobStore {
+
+    /**
+     * The approximate memory used by a stored blob in addition to its encoding
+     */
+    private static final long ENTRY_OVERHEAD = 160;
+
+    private final long maximumWeight;
+
+    /**
+     * All stored blobs, by hash
+     */
+    private final Map<String, Blob> blobs = new HashMap<>();
+
+    /**
+     * Stored blobs which are not in use, least recently released first
+     */
+    private final LinkedHashMap<String, Blob> idle = new LinkedHashMap<>();
+
+    private long weight;
+
+    private BlobStore(Builder builder) {
+        this.maximumWeight = builder.maximumWeight;
+    }
+
+    /**
+     * Creates a new builder for a {@code BlobStore}
+     *
+     * @return the new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The SHA-256 hash of data, which is the key of the data in a store
+     *
+     * @param data the data, from its position to its limit. The position is not changed.
+     * @return the hash as lower case hexadecimal
+     */
+    public static String hash(ByteBuffer data) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        digest.update(data.duplicate());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Returns the stored blob of identical data, or stores the data, and marks the blob as in use
+     *
+     * @param data the data, which is copied if it is stored
+     * @return the blob, which must be {@linkplain Blob#release() released} when it is no longer
+     * in use
+     */
+    public Blob intern(byte[] data) {
+        return intern(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Returns the stored blob of identical data, or stores the data, and marks the blob as in use
+     *
+     * @param data the data, from its position to its limit, which is encoded if it is stored. The
+     * position is not changed.
+     * @return the blob, which must be {@linkplain Blob#release() released} when it is no longer
+     * in use
+     */
+    public Blob intern(ByteBuffer data) {
+        String hash = hash(data);
+        Blob blob = acquire(hash, data.remaining());
+        if (blob != null) {
+            return blob;
+        }
+        // Encode outside the lock, a concurrent intern of the same data may encode it too
+        Blob created = new Blob(this, hash, data.remaining(), Base64.getEncoder().encodeToString(toArray(data)));
+        synchronized (this) {
+            blob = blobs.get(hash);
+            if (blob != null) {
+                if (blob.size == created.size) {
+                    use(blob);
+                    return blob;
+                }
+                // Different data with the same hash, which must not replace the stored blob
+                return created.detached();
+            }
+            evict(created.weight());
+            if (weight + created.weight() > maximumWeight) {
+                // Everything which could be evicted has been, don't grow beyond the bound
+                return created.detached();
+            }
+            created.references = 1;
+            blobs.put(hash, created);
+            weight += created.weight();
+            return created;
+        }
+    }
+
+    /**
+     * Returns the stored blob with a hash, and marks it as in use
+     *
+     * @param hash the {@linkplain #hash(ByteBuffer) hash} of the data
+     * @return the blob, which must be {@linkplain Blob#release() released} when it is no longer
+     * in use, or an empty {@code Optional} if no data with the hash is stored
+     */
+    public Optional<Blob> acquire(String hash) {
+        return Optional.ofNullable(acquire(hash, -1));
+    }
+
+    /**
+     * The number of stored blobs
+     *
+     * @return the number of blobs
+     */
+    public synchronized int size() {
+        return blobs.size();
+    }
+
+    /**
+     * The number of stored blobs which are in use
+     *
+     * @return the number of blobs
+     */
+    public synchronized int inUse() {
+        return blobs.size() - idle.size();
+    }
+
+    /**
+     * The total weight of the stored blobs, which approximates the memory they use
+     *
+     * @return the weight in bytes
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    private synchronized Blob acquire(String hash, int size) {
+        Blob blob = blobs.get(hash);
+        if (blob == null || (size != -1 && blob.size != size)) {
+            return null;
+        }
+        use(blob);
+        return blob;
+    }
+
+    /**
+     * Called with the lock held
+     */
+    private void use(Blob blob) {
+        if (blob.references++ == 0) {
+            idle.remove(blob.hash);
+        }
+    }
+
+    private synchronized void release(Blob blob) {
+        if (blob.references <= 0) {
+            throw new IllegalStateException("Blob " + blob.hash + " released more often than it was acquired");
+        }
+        if (--blob.references == 0) {
+            idle.put(blob.hash, blob);
+            evict(0);
+        }
+    }
+
+    /**
+     * Evicts the least recently used blobs which are not in use, until there is room for the
+     * given weight. Called with the lock held.
+     */
+    private void evict(long required) {
+        Iterator<Blob> it = idle.values().iterator();
+        while (weight + required > maximumWeight && it.hasNext()) {
+            Blob blob = it.next();
+            it.remove();
+            blobs.remove(blob.hash);
+            weight -= blob.weight();
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer data) {
+        byte[] array = new byte[data.remaining()];
+        data.duplicate().get(array);
+        return array;
+    }
+
+    /**
+     * Binary data in a store, held as its base64 encoding
+     */
+    public static final class Blob {
+        private final BlobStore store;
+        private final String hash;
+        private final int size;
+        private final String base64;
+
+        /**
+         * The number of uses, guarded by the store. Detached blobs have no store.
+         */
+        private int references;
+
+        private Blob(BlobStore store, String hash, int size, String base64) {
+            this.store = store;
+            this.hash = hash;
+            this.size = size;
+            this.base64 = base64;
+        }
+
+        private Blob detached() {
+            return new Blob(null, hash, size, base64);
+        }
+
+        /**
+         * The SHA-256 hash of the data
+         *
+         * @return the hash as lower case hexadecimal
+         */
+        public String hash() {
+            return hash;
+        }
+
+        /**
+         * The size of the data
+         *
+         * @return the size in bytes
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * The data encoded as base64, which is shared by all uses of the blob
+         *
+         * @return the base64 encoded data
+         */
+        public String base64() {
+            return base64;
+        }
+
+        /**
+         * Decodes the data
+         *
+         * @return a new array of the data
+         */
+        public byte[] data() {
+            return Base64.getDecoder().decode(base64);
+        }
+
+        /**
+         * Whether the blob is stored, and so shared with other uses of the same data
+         *
+         * @return {@code false} if the blob was not stored because the store was full
+         */
+        public boolean isStored() {
+            return store != null;
+        }
+
+        /**
+         * Creates image content which uses the shared encoding of the data
+         *
+         * @param mimeType the MIME type of the image
+         * @return the image content builder
+         */
+        public ImageContent.Builder imageContent(String mimeType) {
+            return ImageContent.builderFromBase64(base64, mimeType);
+        }
+
+        /**
+         * Creates audio content which uses the shared encoding of the data
+         *
+         * @param mimeType the MIME type of the audio
+         * @return the audio content builder
+         */
+        public AudioContent.Builder audioContent(String mimeType) {
+            return AudioContent.builderFromBase64(base64, mimeType);
+        }
+
+        /**
+         * Creates an embedded resource which uses the shared encoding of the data
+         *
+         * @param uri the URI of the resource
+         * @return the embedded resource builder
+         */
+        public EmbeddedResource.Builder embeddedResource(String uri) {
+            return EmbeddedResource.builderFromBase64(base64, uri);
+        }
+
+        /**
+         * Creates blob resource contents which use the shared encoding of the data
+         *
+         * @param uri the URI of the resource
+         * @return the resource contents builder
+         */
+        public BlobResourceContents.Builder resourceContents(String uri) {
+            return BlobResourceContents.builderFromBase64(uri, base64);
+        }
+
+        /**
+         * Marks one use of the blob as finished, after which the blob may be evicted if it has no
+         * other uses. Each {@link BlobStore#intern(ByteBuffer) intern} or
+         * {@link BlobStore#acquire(String) acquire} must be balanced by one release.
+         *
+         * @throws IllegalStateException if the blob is released more often than it was acquired
+         */
+        public void release() {
+            if (store != null) {
+                store.release(this);
+            }
+        }
+
+        private long weight() {
+            return base64.length() + ENTRY_OVERHEAD;
+        }
+
+        @Override
+        public String toString() {
+            return "Blob[" + hash + ", " + size + " bytes]";
+        }
+    }
+
+    /**
+     * Builder for creating a blob store
+     */
+    public static final class Builder {
+        private long maximumWeight = 64L * 1024 * 1024;
+
+        private Builder() {}
+
+        /**
+         * Sets the maximum total weight of the stored blobs, which is approximately the memory
+         * used by their base64 encoding. The default is 64 MiB.
+         *
+         * @param maximumWeight the maximum weight in bytes
+         * @return this builder
+         */
+        public Builder setMaximumWeight(long maximumWeight) {
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("Negative maximum weight " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Builds the blob store
+         *
+         * @return the new blob store
+         */
+        public BlobStore build() {
+            return new BlobStore(this);
+        }
+    }
+}
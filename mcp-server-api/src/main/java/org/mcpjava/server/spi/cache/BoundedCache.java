@@ -0,0 +1,333 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A cache bounded by the number of values and by their total weight, whose values may expire
+ * after a time to live. This is the storage of {@link ResourceCache} and {@link ToolResultCache}.
+ * <p>
+ * When a bound is exceeded, values which have not been read since the last eviction pass are
+ * evicted first, in the order they were cached. Values loaded while their key is invalidated are
+ * not kept, since they may have been read before the change which caused the invalidation. Loads
+ * are tracked per key, so invalidating a key does not affect loads of other keys.
+ * <p>
+ * Reads do not lock. The bounds are enforced after each value is cached, so they may be exceeded
+ * briefly when values are cached concurrently.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class BoundedCache<K, V> {
+
+    /**
+     * Durations at least this long are treated as no expiry, since they cannot be counted in
+     * nanoseconds
+     */
+    private static final Duration MAXIMUM_TTL = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final ConcurrentMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Cached entries in eviction order. Entries which have been replaced or removed stay in the
+     * queue until they are polled or the queue is compacted.
+     */
+    private final ConcurrentLinkedQueue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong weight = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * Loads in progress, by key. Invalidating a key advances the generation of its loads, so that
+     * values loaded while it is invalidated are not kept, without affecting loads of other keys.
+     */
+    private final ConcurrentMap<K, Loads> loads = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented when all values are invalidated, so that no value loaded meanwhile is kept
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final int maximumSize;
+    private final long maximumWeight;
+    private final ToLongFunction<? super V> weigher;
+
+    BoundedCache(int maximumSize, long maximumWeight, ToLongFunction<? super V> weigher) {
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the cached value for a key
+     *
+     * @return the value, or {@code null} if none is cached or it has expired
+     */
+    V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            remove(entry);
+            return null;
+        }
+        if (!entry.referenced) {
+            // Avoid writing the shared entry on every read
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Starts loading the value of a key, which must be followed by {@link #finishLoad(Object)}
+     *
+     * @return the load, to pass to {@link #put(Object, Object, Duration, Load)}
+     */
+    Load startLoad(K key) {
+        Loads keyLoads = loads.compute(key, (k, existing) -> {
+            Loads result = existing == null ? new Loads() : existing;
+            result.count++;
+            return result;
+        });
+        return new Load(keyLoads, keyLoads.generation, invalidations.get(), System.currentTimeMillis());
+    }
+
+    void finishLoad(K key) {
+        loads.computeIfPresent(key, (k, existing) -> --existing.count == 0 ? null : existing);
+    }
+
+    /**
+     * Caches a value, replacing any value cached for the same key.
+     * <p>
+     * A value which is heavier than the maximum weight is not cached, and removes any value cached
+     * for the key. A loaded value is not cached if its key was invalidated since the load started.
+     *
+     * @param ttl how long the value may be cached, or {@code null} for no expiry
+     * @param load the load which produced the value, or {@code null} if it was not loaded
+     */
+    void put(K key, V value, Duration ttl, Load load) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        long entryWeight = weigher.applyAsLong(value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Negative weight " + entryWeight + " for " + key);
+        }
+        if (entryWeight > maximumWeight) {
+            Entry<K, V> existing = entries.get(key);
+            if (existing != null) {
+                remove(existing);
+            }
+            return;
+        }
+
+        long loadedAt = load == null ? System.currentTimeMillis() : load.loadedAt();
+        Entry<K, V> entry = new Entry<>(key, value, entryWeight, ttl, loadedAt);
+        Entry<K, V> previous = entries.put(key, entry);
+        weight.addAndGet(previous == null ? entryWeight : entryWeight - previous.weight);
+        if (load != null && load.isStale(invalidations.get())) {
+            remove(entry);
+            return;
+        }
+        clock.offer(entry);
+        queued.incrementAndGet();
+        evict();
+    }
+
+    /**
+     * Removes the value cached for a key, and discards values of the key which are being loaded
+     *
+     * @return {@code true} if a value was removed
+     */
+    boolean invalidate(K key) {
+        advance(key);
+        Entry<K, V> entry = entries.get(key);
+        return entry != null && remove(entry);
+    }
+
+    /**
+     * Removes the value cached for a key if it was loaded before a time, and discards values of the
+     * key which started loading before that time
+     *
+     * @param loadedBefore the time in milliseconds since the epoch
+     * @return {@code true} if a value was removed
+     */
+    boolean invalidate(K key, long loadedBefore) {
+        loads.computeIfPresent(key, (k, existing) -> {
+            if (loadedBefore > existing.loadedBefore) {
+                existing.loadedBefore = loadedBefore;
+            }
+            return existing;
+        });
+        Entry<K, V> entry = entries.get(key);
+        return entry != null && entry.loadedAt < loadedBefore && remove(entry);
+    }
+
+    /**
+     * Removes the values cached for the keys which match a filter, and discards values of those
+     * keys which are being loaded
+     *
+     * @return the number of values removed
+     */
+    int invalidateIf(Predicate<? super K> filter) {
+        for (K key : loads.keySet()) {
+            if (filter.test(key)) {
+                advance(key);
+            }
+        }
+        int removed = 0;
+        for (Entry<K, V> entry : entries.values()) {
+            if (filter.test(entry.key) && remove(entry)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all cached values, and discards all values which are being loaded
+     */
+    void invalidateAll() {
+        invalidations.incrementAndGet();
+        for (Entry<K, V> entry : entries.values()) {
+            remove(entry);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long weight() {
+        return weight.get();
+    }
+
+    private void advance(K key) {
+        loads.computeIfPresent(key, (k, existing) -> {
+            existing.generation++;
+            return existing;
+        });
+    }
+
+    private boolean remove(Entry<K, V> entry) {
+        if (entries.remove(entry.key, entry)) {
+            weight.addAndGet(-entry.weight);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean exceedsBounds() {
+        return entries.size() > maximumSize || weight.get() > maximumWeight;
+    }
+
+    private void evict() {
+        boolean compact = queued.get() > 2 * entries.size() + 64;
+        if ((!compact && !exceedsBounds()) || !evictionLock.tryLock()) {
+            // Another thread which is evicting will also restore the bounds
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            while (exceedsBounds()) {
+                Entry<K, V> entry = clock.poll();
+                if (entry == null) {
+                    break;
+                }
+                if (entries.get(entry.key) == entry && entry.referenced && !entry.isExpired(now)) {
+                    // Second chance for entries read since the last pass
+                    entry.referenced = false;
+                    clock.offer(entry);
+                } else {
+                    queued.decrementAndGet();
+                    remove(entry);
+                }
+            }
+            if (compact) {
+                clock.removeIf(e -> entries.get(e.key) != e);
+                queued.set(clock.size());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * The loads in progress for a key. Only updated while computing its mapping in {@code loads}.
+     */
+    private static final class Loads {
+        private int count;
+        private volatile long generation;
+
+        /**
+         * Loads which started before this time, in milliseconds since the epoch, are discarded
+         */
+        private volatile long loadedBefore;
+    }
+
+    /**
+     * A load in progress, with the generations it started in
+     *
+     * @param loads the loads of its key
+     * @param generation the generation of the loads of its key
+     * @param invalidations the number of times all values had been invalidated
+     * @param loadedAt when the load started, in milliseconds since the epoch
+     */
+    record Load(Loads loads, long generation, long invalidations, long loadedAt) {
+        boolean isStale(long currentInvalidations) {
+            return loads.generation != generation || loadedAt < loads.loadedBefore
+                    || currentInvalidations != invalidations;
+        }
+    }
+
+    /**
+     * A cached value
+     */
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long weight;
+        private final long loadedAt;
+        private final boolean expires;
+        private final long expiresAt;
+        private volatile boolean referenced;
+
+        Entry(K key, V value, long weight, Duration ttl, long loadedAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.loadedAt = loadedAt;
+            this.expires = ttl != null && ttl.compareTo(MAXIMUM_TTL) < 0;
+            this.expiresAt = expires ? System.nanoTime() + ttl.toNanos() : 0;
+        }
+
+        boolean isExpired(long now) {
+            return expires && now - expiresAt >= 0;
+        }
+    }
+}
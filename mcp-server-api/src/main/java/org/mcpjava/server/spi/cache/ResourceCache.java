@@ -0,0 +1,283 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.ToLongFunction;
+
+import org.mcpjava.server.Cached;
+import org.mcpjava.server.resources.BlobResourceContents;
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.resources.TextResourceContents;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+
+/**
+ * A bounded cache of resource read responses, keyed by URI.
+ * <p>
+ * Implementations can use it to serve reads of {@link Cached @Cached} resources without calling
+ * the resource method again. The cache is bounded both by the number of responses and by their
+ * total {@linkplain Builder#setWeigher(ToLongFunction) weight}, which by default approximates the
+ * memory used by their text and binary data. When a bound is exceeded, responses which have not
+ * been read since the last eviction pass are evicted first, in the order they were cached.
+ * Responses may also expire after a time to live, and may be invalidated when a resource changes,
+ * by URI or by last modified time. {@linkplain ResourceResponse#isStreaming() Streaming} responses
+ * are never cached, since their contents are only produced while they are written.
+ * <p>
+ * Reads do not lock. The bounds are enforced after each response is cached, so they may be
+ * exceeded briefly when responses are cached concurrently.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class ResourceCache {
+
+    private final BoundedCache<String, ResourceResponse> cache;
+
+    private ResourceCache(Builder builder) {
+        this.cache = new BoundedCache<>(builder.maximumSize, builder.maximumWeight, builder.weigher);
+    }
+
+    /**
+     * Creates a new builder for a {@code ResourceCache}
+     *
+     * @return the new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The default weight of a response: the {@linkplain TextResourceContents#textWeight() memory
+     * held} by the text of its text contents and the data of its blob contents, plus a fixed
+     * overhead per response and per contents. Text is not read to weigh it.
+     *
+     * @param response the response
+     * @return the approximate weight in bytes
+     */
+    public static long defaultWeight(ResourceResponse response) {
+        long result = 64;
+        for (ResourceContents contents : response.getContents()) {
+            result += 64 + 2L * contents.uri().length();
+            if (contents instanceof TextResourceContents text) {
+                result += text.textWeight();
+            } else if (contents instanceof BlobResourceContents blob) {
+                result += blob.blobLength();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached response for a URI
+     *
+     * @param uri the URI of the resource
+     * @return the cached response, or an empty {@code Optional} if none is cached or it has
+     * expired
+     */
+    public Optional<ResourceResponse> get(String uri) {
+        return Optional.ofNullable(cache.get(uri));
+    }
+
+    /**
+     * Returns the cached response for a URI, or loads and caches it.
+     * <p>
+     * Concurrent calls for the same URI which find no cached response may each call the loader.
+     * A response loaded while its URI, or the whole cache, is invalidated is returned but not
+     * cached, since it may have been read before the change which caused the invalidation.
+     *
+     * @param uri the URI of the resource
+     * @param ttl how long the response may be cached, or {@code null} for no expiry
+     * @param loader reads the resource, for example by calling the resource method
+     * @return the cached or loaded response
+     * @throws Exception if the loader fails, in which case nothing is cached
+     */
+    public ResourceResponse getOrLoad(String uri, Duration ttl, Callable<? extends ResourceResponse> loader) throws Exception {
+        ResourceResponse result = cache.get(uri);
+        if (result == null) {
+            BoundedCache.Load load = cache.startLoad(uri);
+            try {
+                result = Objects.requireNonNull(loader.call(), "loader returned null");
+                store(uri, result, ttl, load);
+            } finally {
+                cache.finishLoad(uri);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached response of a resource or resource template read, or loads it and
+     * caches it according to the {@linkplain FeatureMetadata#cache() cache settings} of the
+     * feature.
+     * <p>
+     * If the feature is not {@link Cached @Cached}, the loader is always called and nothing is
+     * cached.
+     *
+     * @param feature the resource or resource template
+     * @param uri the URI which was read
+     * @param loader reads the resource, for example by calling the resource method
+     * @return the cached or loaded response
+     * @throws Exception if the loader fails, in which case nothing is cached
+     * @see #getOrLoad(String, Duration, Callable)
+     */
+    public ResourceResponse getOrLoad(FeatureMetadata feature, String uri, Callable<? extends ResourceResponse> loader) throws Exception {
+        Optional<FeatureMetadata.CacheSettings> settings = feature.cache();
+        if (settings.isEmpty()) {
+            return loader.call();
+        }
+        return getOrLoad(uri, settings.get().ttl().orElse(null), loader);
+    }
+
+    /**
+     * Caches a response, replacing any response cached for the same URI.
+     * <p>
+     * A response which is heavier than the maximum weight is not cached, and removes any response
+     * cached for the URI.
+     *
+     * @param uri the URI of the resource
+     * @param response the response
+     * @param ttl how long the response may be cached, or {@code null} for no expiry
+     */
+    public void put(String uri, ResourceResponse response, Duration ttl) {
+        store(uri, response, ttl, null);
+    }
+
+    /**
+     * Removes the response cached for a URI
+     *
+     * @param uri the URI of the resource
+     * @return {@code true} if a response was removed
+     */
+    public boolean invalidate(String uri) {
+        return cache.invalidate(uri);
+    }
+
+    /**
+     * Removes the response cached for a URI if it was loaded before the resource was last modified.
+     * Responses which are being loaded are only discarded if their load started before then, so a
+     * late notification of an older change does not discard a fresh read.
+     * <p>
+     * This is intended to be called when a resource changes, with the {@code lastModified}
+     * timestamp of its {@linkplain org.mcpjava.server.resources.Resource.Annotations annotations},
+     * for example when sending a resource updated notification.
+     *
+     * @param uri the URI of the resource
+     * @param lastModified when the resource was last modified
+     * @return {@code true} if a response was removed
+     */
+    public boolean invalidate(String uri, Instant lastModified) {
+        return cache.invalidate(uri, lastModified.toEpochMilli());
+    }
+
+    /**
+     * Removes all cached responses
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * The number of cached responses, including responses which have expired but have not yet
+     * been removed
+     *
+     * @return the number of responses
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * The total weight of the cached responses
+     *
+     * @return the weight
+     */
+    public long weight() {
+        return cache.weight();
+    }
+
+    private void store(String uri, ResourceResponse response, Duration ttl, BoundedCache.Load load) {
+        Objects.requireNonNull(uri, "uri");
+        Objects.requireNonNull(response, "response");
+        if (!response.isStreaming()) {
+            cache.put(uri, response, ttl, load);
+        }
+    }
+
+    /**
+     * Builder for creating a resource cache
+     */
+    public static final class Builder {
+        private int maximumSize = 1000;
+        private long maximumWeight = Long.MAX_VALUE;
+        private ToLongFunction<ResourceResponse> weigher = ResourceCache::defaultWeight;
+
+        private Builder() {}
+
+        /**
+         * Sets the maximum number of cached responses. The default is 1000.
+         *
+         * @param maximumSize the maximum number of responses
+         * @return this builder
+         */
+        public Builder setMaximumSize(int maximumSize) {
+            if (maximumSize < 0) {
+                throw new IllegalArgumentException("Negative maximum size " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the cached responses. By default, the weight is not
+         * bounded.
+         *
+         * @param maximumWeight the maximum weight
+         * @return this builder
+         */
+        public Builder setMaximumWeight(long maximumWeight) {
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("Negative maximum weight " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Sets the function which computes the weight of a response. The default is
+         * {@link ResourceCache#defaultWeight(ResourceResponse)}.
+         *
+         * @param weigher the weigher, which must return a non-negative weight
+         * @return this builder
+         */
+        public Builder setWeigher(ToLongFunction<ResourceResponse> weigher) {
+            this.weigher = Objects.requireNonNull(weigher, "weigher");
+            return this;
+        }
+
+        /**
+         * Builds the resource cache
+         *
+         * @return the new resource cache
+         */
+        public ResourceCache build() {
+            return new ResourceCache(this);
+        }
+    }
+}
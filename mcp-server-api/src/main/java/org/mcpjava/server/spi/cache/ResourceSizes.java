@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import org.mcpjava.server.resources.BlobResourceContents;
+import org.mcpjava.server.resources.Resource;
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.resources.TextResourceContents;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+
+/**
+ * The computed sizes of resources which allow their size to be
+ * {@linkplain Resource#computeSize() computed}, keyed by URI.
+ * <p>
+ * Implementations {@linkplain #record(FeatureMetadata, ResourceResponse) record} the response of the
+ * first read of each such resource, or {@linkplain #warmUp(Collection, Reader, Executor) read them
+ * in the background} when the server starts, and report {@link #size(FeatureMetadata)} in resource
+ * listings, for example with
+ * {@link org.mcpjava.server.spi.index.PagedFeatureList.Builder#setSizes(java.util.function.ToLongFunction)},
+ * and in {@link org.mcpjava.server.content.ResourceLink#size() resource links}. Once a size is known,
+ * later reads do not compute it again until it is {@linkplain #invalidate(String) invalidated}.
+ * <p>
+ * The size is the number of bytes of the raw content: the UTF-8 encoding of text contents and the
+ * data of blob contents, before base64 encoding.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class ResourceSizes {
+
+    private final ConcurrentMap<String, Long> sizes = new ConcurrentHashMap<>();
+
+    /**
+     * Reads a resource, for example by calling its resource method
+     */
+    @FunctionalInterface
+    public interface Reader {
+
+        /**
+         * Reads a resource
+         *
+         * @param resource the resource
+         * @return the response
+         * @throws Exception if the resource cannot be read
+         */
+        ResourceResponse read(FeatureMetadata resource) throws Exception;
+    }
+
+    /**
+     * Creates an empty {@code ResourceSizes}
+     */
+    public ResourceSizes() {}
+
+    /**
+     * The size of the raw content of a resource response.
+     * <p>
+     * The UTF-8 length of text is used if it is {@linkplain TextResourceContents#knownUtf8Length()
+     * known}, and is otherwise counted from its {@linkplain TextResourceContents#textReader()
+     * reader}, so text is never held in memory to size it.
+     *
+     * @param response the response
+     * @return the size in bytes
+     * @throws UncheckedIOException if text cannot be read
+     */
+    public static long sizeOf(ResourceResponse response) {
+        long result = 0;
+        for (ResourceContents contents : response.getContents()) {
+            if (contents instanceof TextResourceContents text) {
+                result += utf8Length(text);
+            } else if (contents instanceof BlobResourceContents blob) {
+                result += blob.blobLength();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the size of a resource, which is its declared size, or its computed size if it
+     * allows its size to be computed and it is known
+     *
+     * @param feature the resource
+     * @return the size in bytes, or -1 if it is unknown
+     */
+    public long size(FeatureMetadata feature) {
+        if (feature.size() != -1 || !computable(feature)) {
+            return feature.size();
+        }
+        Long size = sizes.get(feature.uri().orElseThrow());
+        return size == null ? -1 : size;
+    }
+
+    /**
+     * Records the size of a resource from a response of a read, if it allows its size to be
+     * computed and the size is not yet known.
+     * <p>
+     * {@linkplain ResourceResponse#isStreaming() Streaming} responses are ignored, since reading
+     * their contents would consume them. If text of the response cannot be read, the size remains
+     * unknown.
+     *
+     * @param feature the resource which was read
+     * @param response the response
+     * @return the size of the resource in bytes, or -1 if it is unknown
+     */
+    public long record(FeatureMetadata feature, ResourceResponse response) {
+        if (needsSize(feature) && !response.isStreaming()) {
+            try {
+                sizes.putIfAbsent(feature.uri().orElseThrow(), sizeOf(response));
+            } catch (UncheckedIOException e) {
+                // The size is computed on the next read instead
+            }
+        }
+        return size(feature);
+    }
+
+    /**
+     * Reads each resource which allows its size to be computed and whose size is not yet known,
+     * and records its size.
+     * <p>
+     * A resource which cannot be read keeps an unknown size, and its size is computed on its next
+     * read instead.
+     *
+     * @param features the features, features which are not resources are ignored
+     * @param reader reads a resource
+     * @param executor runs the reads
+     * @return a future which completes when all reads have completed
+     */
+    public CompletableFuture<Void> warmUp(Collection<FeatureMetadata> features, Reader reader, Executor executor) {
+        List<CompletableFuture<Void>> reads = new ArrayList<>();
+        for (FeatureMetadata feature : features) {
+            if (needsSize(feature)) {
+                reads.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        record(feature, reader.read(feature));
+                    } catch (Exception e) {
+                        // The size is computed on the next read instead
+                    }
+                }, executor));
+            }
+        }
+        return CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Forgets the computed size of a resource, for example because it changed
+     *
+     * @param uri the URI of the resource
+     */
+    public void invalidate(String uri) {
+        sizes.remove(uri);
+    }
+
+    private boolean needsSize(FeatureMetadata feature) {
+        return feature.size() == -1 && computable(feature) && !sizes.containsKey(feature.uri().orElseThrow());
+    }
+
+    private static boolean computable(FeatureMetadata feature) {
+        return feature.computeSize() && feature.kind() == FeatureMetadata.Kind.RESOURCE && feature.uri().isPresent();
+    }
+
+    private static long utf8Length(TextResourceContents text) {
+        OptionalLong known = text.knownUtf8Length();
+        if (known.isPresent()) {
+            return known.getAsLong();
+        }
+        long result = 0;
+        char[] chunk = new char[8192];
+        boolean highSurrogate = false;
+        try (java.io.Reader reader = text.textReader()) {
+            int length;
+            while ((length = reader.read(chunk)) != -1) {
+                for (int i = 0; i < length; i++) {
+                    char c = chunk[i];
+                    if (highSurrogate) {
+                        highSurrogate = false;
+                        if (Character.isLowSurrogate(c)) {
+                            // Four bytes for the pair, one of which was counted for the high surrogate
+                            result += 3;
+                            continue;
+                        }
+                    }
+                    if (c < 0x80) {
+                        result += 1;
+                    } else if (c < 0x800) {
+                        result += 2;
+                    } else if (Character.isHighSurrogate(c)) {
+                        // A single replacement byte, unless it is followed by a low surrogate
+                        result += 1;
+                        highSurrogate = true;
+                    } else if (Character.isSurrogate(c)) {
+                        // Unpaired surrogates are encoded as a single replacement byte
+                        result += 1;
+                    } else {
+                        result += 3;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read text of " + text.uri(), e);
+        }
+        return result;
+    }
+}
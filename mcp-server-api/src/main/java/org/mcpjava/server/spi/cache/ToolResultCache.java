@@ -0,0 +1,386 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.cache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.mcpjava.server.Cached;
+import org.mcpjava.server.content.AudioContent;
+import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.content.EmbeddedResource;
+import org.mcpjava.server.content.ImageContent;
+import org.mcpjava.server.content.TextContent;
+import org.mcpjava.server.resources.BlobResourceContents;
+import org.mcpjava.server.resources.TextResourceContents;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.ParameterMetadata;
+import org.mcpjava.server.spi.json.CanonicalJson;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * A bounded cache of tool results, keyed by tool and {@linkplain #canonicalArguments(FeatureMetadata,
+ * Map) canonical arguments}.
+ * <p>
+ * Implementations can use it to answer repeated calls of {@link Cached @Cached} tools, which are
+ * declared read-only and idempotent, without calling the tool method again. Results of tools with
+ * the {@link Cached.Scope#SESSION SESSION} scope are cached separately for each session, and are
+ * not cached for calls outside a session. Error results and {@linkplain ToolResponse#isStreaming()
+ * streaming} results are never cached.
+ * <p>
+ * Like {@link ResourceCache}, the cache is bounded both by the number of results and by their
+ * total {@linkplain Builder#setWeigher(ToLongFunction) weight}. When a bound is exceeded, results
+ * which have not been read since the last eviction pass are evicted first, in the order they were
+ * cached. Results expire after the time to live of the tool, if it has one, and may be
+ * invalidated by tool or by session, for example when a session ends.
+ * <p>
+ * Reads do not lock. The bounds are enforced after each result is cached, so they may be exceeded
+ * briefly when results are cached concurrently.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class ToolResultCache {
+
+    private final BoundedCache<Key, ToolResponse> cache;
+
+    private ToolResultCache(Builder builder) {
+        this.cache = new BoundedCache<>(builder.maximumSize, builder.maximumWeight, builder.weigher);
+    }
+
+    /**
+     * Creates a new builder for a {@code ToolResultCache}
+     *
+     * @return the new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The default weight of a result: the {@linkplain TextContent#textWeight() memory held} by the
+     * text and binary data of its content, plus a fixed overhead per result and per content block,
+     * and a fixed estimate for structured content. Text is not read to weigh it.
+     *
+     * @param response the result
+     * @return the approximate weight in bytes
+     */
+    public static long defaultWeight(ToolResponse response) {
+        long result = 64;
+        for (ContentBlock block : response.content()) {
+            result += 64;
+            if (block instanceof TextContent text) {
+                result += text.textWeight();
+            } else if (block instanceof ImageContent image) {
+                result += image.dataLength();
+            } else if (block instanceof AudioContent audio) {
+                result += audio.dataLength();
+            } else if (block instanceof EmbeddedResource embedded) {
+                if (embedded.resource() instanceof TextResourceContents text) {
+                    result += text.textWeight();
+                } else if (embedded.resource() instanceof BlobResourceContents blob) {
+                    result += blob.blobLength();
+                }
+            }
+        }
+        if (response.structuredContent().isPresent()) {
+            result += 256;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the canonical form of the arguments of a tool call, which is the same for all calls
+     * with equivalent arguments: arguments are ordered by name, arguments which are {@code null}
+     * or equal to the {@linkplain ParameterMetadata#defaultValue() default value} of their
+     * parameter are omitted, and values are written as {@linkplain CanonicalJson canonical JSON}.
+     *
+     * @param tool the tool
+     * @param arguments the arguments of the call, as decoded JSON values
+     * @return the canonical arguments
+     * @throws IllegalArgumentException if an argument is not a JSON value
+     */
+    public static String canonicalArguments(FeatureMetadata tool, Map<String, ?> arguments) {
+        Map<String, Object> significant = new HashMap<>(arguments);
+        for (ParameterMetadata parameter : tool.parameters()) {
+            Object value = significant.get(parameter.name());
+            if (value != null && parameter.defaultValue().isPresent() && isDefault(value, parameter.defaultValue().get())) {
+                significant.remove(parameter.name());
+            }
+        }
+        return CanonicalJson.toString(significant);
+    }
+
+    private static boolean isDefault(Object value, String defaultValue) {
+        if (value instanceof Number number) {
+            try {
+                return new BigDecimal(CanonicalJson.toString(number)).compareTo(new BigDecimal(defaultValue)) == 0;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        if (value instanceof CharSequence || value instanceof Boolean || value instanceof Enum<?>) {
+            return defaultValue.equals(value instanceof Enum<?> e ? e.name() : value.toString());
+        }
+        return false;
+    }
+
+    /**
+     * Returns the cached result of a tool call
+     *
+     * @param tool the tool
+     * @param sessionId the session the call is part of, or {@code null} if it is not part of a
+     * session
+     * @param arguments the arguments of the call, as decoded JSON values
+     * @return the cached result, or an empty {@code Optional} if none is cached, it has expired, or
+     * the tool is not {@link Cached @Cached}
+     */
+    public Optional<ToolResponse> get(FeatureMetadata tool, String sessionId, Map<String, ?> arguments) {
+        Key key = key(tool, sessionId, arguments);
+        return key == null ? Optional.empty() : Optional.ofNullable(cache.get(key));
+    }
+
+    /**
+     * Returns the cached result of a tool call, or makes the call and caches its result according
+     * to the {@linkplain FeatureMetadata#cache() cache settings} of the tool.
+     * <p>
+     * If the tool is not {@link Cached @Cached}, the call is always made and nothing is cached.
+     * Concurrent calls with the same key which find no cached result may each be made. A result
+     * computed while its tool or session, or the whole cache, is invalidated is returned but not
+     * cached.
+     *
+     * @param tool the tool
+     * @param sessionId the session the call is part of, or {@code null} if it is not part of a
+     * session
+     * @param arguments the arguments of the call, as decoded JSON values
+     * @param call makes the call, for example by calling the tool method and converting its result
+     * @return a stage which completes with the cached or computed result, or exceptionally if the
+     * call fails, in which case nothing is cached
+     * @throws NullPointerException if the call returns {@code null}
+     */
+    public CompletionStage<ToolResponse> getOrCall(FeatureMetadata tool, String sessionId, Map<String, ?> arguments,
+                                                   Supplier<? extends CompletionStage<ToolResponse>> call) {
+        Key key = key(tool, sessionId, arguments);
+        if (key == null) {
+            return call.get();
+        }
+        ToolResponse cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        Duration ttl = tool.cache().orElseThrow().ttl().orElse(null);
+        BoundedCache.Load load = cache.startLoad(key);
+        CompletionStage<ToolResponse> result;
+        try {
+            result = Objects.requireNonNull(call.get(), "call returned null");
+        } catch (RuntimeException | Error e) {
+            cache.finishLoad(key);
+            throw e;
+        }
+        return result.whenComplete((response, failure) -> {
+            try {
+                if (failure == null) {
+                    store(key, response, ttl, load);
+                }
+            } finally {
+                cache.finishLoad(key);
+            }
+        });
+    }
+
+    /**
+     * Caches the result of a tool call, replacing any result cached for the same key.
+     * <p>
+     * Nothing is cached if the tool is not {@link Cached @Cached}, the result is an error or is
+     * streaming, or the result is heavier than the maximum weight, in which case any result cached
+     * for the key is removed.
+     *
+     * @param tool the tool
+     * @param sessionId the session the call is part of, or {@code null} if it is not part of a
+     * session
+     * @param arguments the arguments of the call, as decoded JSON values
+     * @param response the result
+     */
+    public void put(FeatureMetadata tool, String sessionId, Map<String, ?> arguments, ToolResponse response) {
+        Key key = key(tool, sessionId, arguments);
+        if (key != null) {
+            store(key, response, tool.cache().orElseThrow().ttl().orElse(null), null);
+        }
+    }
+
+    /**
+     * Removes all results cached for a tool
+     *
+     * @param tool the tool
+     * @return the number of results removed
+     */
+    public int invalidate(FeatureMetadata tool) {
+        return cache.invalidateIf(key -> key.isOf(tool));
+    }
+
+    /**
+     * Removes all results cached for the tools with a name, in any server configuration
+     *
+     * @param toolName the name of the tool
+     * @return the number of results removed
+     */
+    public int invalidate(String toolName) {
+        return cache.invalidateIf(key -> key.tool().equals(toolName));
+    }
+
+    /**
+     * Removes all results cached for a session, for example when it ends
+     *
+     * @param sessionId the session
+     * @return the number of results removed
+     */
+    public int invalidateSession(String sessionId) {
+        return cache.invalidateIf(key -> sessionId.equals(key.session()));
+    }
+
+    /**
+     * Removes all cached results
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * The number of cached results, including results which have expired but have not yet been
+     * removed
+     *
+     * @return the number of results
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * The total weight of the cached results
+     *
+     * @return the weight
+     */
+    public long weight() {
+        return cache.weight();
+    }
+
+    private static Key key(FeatureMetadata tool, String sessionId, Map<String, ?> arguments) {
+        Optional<FeatureMetadata.CacheSettings> settings = tool.cache();
+        if (tool.kind() != FeatureMetadata.Kind.TOOL || settings.isEmpty()) {
+            return null;
+        }
+        String session = null;
+        if (settings.get().scope() == Cached.Scope.SESSION) {
+            if (sessionId == null) {
+                return null;
+            }
+            session = sessionId;
+        }
+        return new Key(tool.declaringClass(), tool.methodName(), tool.name(), session, canonicalArguments(tool, arguments));
+    }
+
+    private void store(Key key, ToolResponse response, Duration ttl, BoundedCache.Load load) {
+        Objects.requireNonNull(response, "response");
+        if (!response.isError() && !response.isStreaming()) {
+            cache.put(key, response, ttl, load);
+        }
+    }
+
+    /**
+     * Identifies the calls which share a result. The tool is identified by its method as well as
+     * its name, since tools of different server configurations may have the same name.
+     *
+     * @param declaringClass the class which declares the tool method
+     * @param methodName the name of the tool method
+     * @param tool the tool name
+     * @param session the session, or {@code null} for results shared by all sessions
+     * @param arguments the canonical arguments
+     */
+    private record Key(String declaringClass, String methodName, String tool, String session, String arguments) {
+        boolean isOf(FeatureMetadata feature) {
+            return declaringClass.equals(feature.declaringClass()) && methodName.equals(feature.methodName())
+                    && tool.equals(feature.name());
+        }
+    }
+
+    /**
+     * Builder for creating a tool result cache
+     */
+    public static final class Builder {
+        private int maximumSize = 1000;
+        private long maximumWeight = Long.MAX_VALUE;
+        private ToLongFunction<ToolResponse> weigher = ToolResultCache::defaultWeight;
+
+        private Builder() {}
+
+        /**
+         * Sets the maximum number of cached results. The default is 1000.
+         *
+         * @param maximumSize the maximum number of results
+         * @return this builder
+         */
+        public Builder setMaximumSize(int maximumSize) {
+            if (maximumSize < 0) {
+                throw new IllegalArgumentException("Negative maximum size " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the cached results. By default, the weight is not
+         * bounded.
+         *
+         * @param maximumWeight the maximum weight
+         * @return this builder
+         */
+        public Builder setMaximumWeight(long maximumWeight) {
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("Negative maximum weight " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Sets the function which computes the weight of a result. The default is
+         * {@link ToolResultCache#defaultWeight(ToolResponse)}.
+         *
+         * @param weigher the weigher, which must return a non-negative weight
+         * @return this builder
+         */
+        public Builder setWeigher(ToLongFunction<ToolResponse> weigher) {
+            this.weigher = Objects.requireNonNull(weigher, "weigher");
+            return this;
+        }
+
+        /**
+         * Builds the tool result cache
+         *
+         * @return the new tool result cache
+         */
+        public ToolResultCache build() {
+            return new ToolResultCache(this);
+        }
+    }
+}
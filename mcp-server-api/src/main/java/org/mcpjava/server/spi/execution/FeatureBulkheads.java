@@ -0,0 +1,352 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.execution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.mcpjava.server.Bulkhead;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.BulkheadSettings;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * Enforces the {@link Bulkhead @Bulkhead} concurrency limits of feature methods.
+ * <p>
+ * Each feature has a separate limit for each server configuration it is called through. A call
+ * {@linkplain #call(FeatureMetadata, String, Supplier) made through} a feature's bulkhead starts
+ * immediately if fewer than {@code maxConcurrent} calls are running, waits in a bounded FIFO queue
+ * if fewer than {@code maxWaiting} calls are waiting, and is rejected otherwise without calling
+ * the method. Rejected tool calls complete with a {@linkplain ToolResponse#ofError(String) tool
+ * error}, so that the model sees an {@code isError} result it can act on, while other rejected
+ * calls complete exceptionally with a {@link RejectedExecutionException}.
+ * <p>
+ * Calls of features without a limit are not tracked. The limits declared on a feature may be
+ * replaced for a deployment with {@link Builder#addLimit(Kind, String, BulkheadSettings)}.
+ * <p>
+ * A bulkhead only limits how many calls are in progress. It is usually combined with
+ * {@link FeatureExecutors}, which chooses the thread each call runs on:
+ * </p>
+ * <pre>
+ * bulkheads.call(feature, server, () -&gt; executors.invoke(feature, instance, context))
+ * </pre>
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class FeatureBulkheads {
+
+    private final Map<Kind, Map<String, List<BulkheadSettings>>> limits;
+    private final ConcurrentMap<Key, Limiter> limiters = new ConcurrentHashMap<>();
+
+    private FeatureBulkheads(Builder builder) {
+        Map<Kind, Map<String, List<BulkheadSettings>>> copy = new HashMap<>();
+        builder.limits.forEach((kind, byName) -> {
+            Map<String, List<BulkheadSettings>> names = new HashMap<>();
+            byName.forEach((name, settings) -> names.put(name, List.copyOf(settings)));
+            copy.put(kind, Map.copyOf(names));
+        });
+        this.limits = Map.copyOf(copy);
+    }
+
+    /**
+     * Creates a new builder for {@code FeatureBulkheads}
+     *
+     * @return the new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the limit which applies to calls of a feature through a server configuration: the
+     * limit added to the builder for that configuration or for all configurations, or else the
+     * limit {@linkplain FeatureMetadata#bulkhead(String) declared on the feature}
+     *
+     * @param feature the feature
+     * @param server the server configuration name
+     * @return the limit, if calls are limited
+     */
+    public Optional<BulkheadSettings> limit(FeatureMetadata feature, String server) {
+        Map<String, List<BulkheadSettings>> byName = limits.get(feature.kind());
+        List<BulkheadSettings> configured = byName == null ? null : byName.get(feature.name());
+        if (configured == null) {
+            return feature.bulkhead(server);
+        }
+        BulkheadSettings any = null;
+        for (BulkheadSettings settings : configured) {
+            if (settings.server().equals(server)) {
+                return Optional.of(settings);
+            }
+            if (settings.server().isEmpty()) {
+                any = settings;
+            }
+        }
+        return any == null ? feature.bulkhead(server) : Optional.of(any);
+    }
+
+    /**
+     * Makes a call of a feature method through its bulkhead.
+     * <p>
+     * The call starts on the calling thread if it is admitted immediately, or on the thread which
+     * completes the previous call if it waited. If the returned stage is cancelled while the call
+     * is waiting, the call is removed from the queue and never started.
+     *
+     * @param feature the feature
+     * @param server the name of the server configuration the call was received through
+     * @param call starts the call, for example with
+     * {@link FeatureExecutors#invoke(FeatureMetadata, Object, org.mcpjava.server.spi.index.InvocationContext)}
+     * @return a stage which completes with the result of the call, or with the rejection if the
+     * call was rejected
+     */
+    public CompletionStage<Object> call(FeatureMetadata feature, String server, Supplier<? extends CompletionStage<Object>> call) {
+        Objects.requireNonNull(call, "call");
+        Optional<BulkheadSettings> limit = limit(feature, server);
+        if (limit.isEmpty()) {
+            return start(call);
+        }
+        Limiter limiter = limiters.computeIfAbsent(new Key(feature, server), k -> new Limiter(limit.get()));
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Runnable waiter = () -> run(limiter, call, result);
+        switch (limiter.admit(waiter)) {
+        case STARTED:
+            waiter.run();
+            break;
+        case WAITING:
+            result.whenComplete((value, failure) -> {
+                if (result.isCancelled()) {
+                    limiter.cancel(waiter);
+                }
+            });
+            break;
+        default:
+            return rejected(feature, server);
+        }
+        return result;
+    }
+
+    /**
+     * The number of calls of a feature currently running through a server configuration
+     *
+     * @param feature the feature
+     * @param server the server configuration name
+     * @return the number of running calls, always 0 for features without a limit
+     */
+    public int running(FeatureMetadata feature, String server) {
+        Limiter limiter = limiters.get(new Key(feature, server));
+        return limiter == null ? 0 : limiter.running();
+    }
+
+    /**
+     * The number of calls of a feature currently waiting to run through a server configuration
+     *
+     * @param feature the feature
+     * @param server the server configuration name
+     * @return the number of waiting calls
+     */
+    public int waiting(FeatureMetadata feature, String server) {
+        Limiter limiter = limiters.get(new Key(feature, server));
+        return limiter == null ? 0 : limiter.waiting();
+    }
+
+    private static void run(Limiter limiter, Supplier<? extends CompletionStage<Object>> call, CompletableFuture<Object> result) {
+        if (result.isDone()) {
+            // cancelled after it was dequeued
+            limiter.release();
+            return;
+        }
+        CompletionStage<Object> stage;
+        try {
+            stage = start(call);
+        } catch (Throwable e) {
+            // Only a VirtualMachineError, which must not leak the permit either
+            limiter.release();
+            result.completeExceptionally(e);
+            throw e;
+        }
+        stage.whenComplete((value, failure) -> {
+            limiter.release();
+            if (failure == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        });
+    }
+
+    private static CompletionStage<Object> start(Supplier<? extends CompletionStage<Object>> call) {
+        try {
+            return Objects.requireNonNull(call.get(), "call returned null");
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static CompletionStage<Object> rejected(FeatureMetadata feature, String server) {
+        if (feature.kind() == Kind.TOOL) {
+            return CompletableFuture.completedFuture(ToolResponse.ofError("Tool " + feature.name()
+                    + " is busy, try again later"));
+        }
+        return CompletableFuture.failedFuture(new RejectedExecutionException("Too many concurrent calls of " + feature
+                + " through server " + server));
+    }
+
+    private enum Admission {
+        STARTED,
+        WAITING,
+        REJECTED
+    }
+
+    private record Key(FeatureMetadata feature, String server) {
+    }
+
+    /**
+     * The running and waiting calls of one feature through one server configuration
+     */
+    private static final class Limiter {
+
+        /**
+         * Waiting calls to start on the current thread, while it is handing off a permit
+         */
+        private static final ThreadLocal<ArrayDeque<Runnable>> HAND_OFFS = new ThreadLocal<>();
+
+        private final int maxConcurrent;
+        private final int maxWaiting;
+        private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+
+        Limiter(BulkheadSettings settings) {
+            this.maxConcurrent = settings.maxConcurrent();
+            this.maxWaiting = settings.maxWaiting();
+        }
+
+        synchronized Admission admit(Runnable waiter) {
+            if (running < maxConcurrent) {
+                running++;
+                return Admission.STARTED;
+            }
+            if (waiting.size() < maxWaiting) {
+                waiting.add(waiter);
+                return Admission.WAITING;
+            }
+            return Admission.REJECTED;
+        }
+
+        synchronized void cancel(Runnable waiter) {
+            waiting.remove(waiter);
+        }
+
+        /**
+         * Ends a running call, passing its permit to the first waiting call if there is one
+         */
+        void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                }
+            }
+            if (next != null) {
+                handOff(next);
+            }
+        }
+
+        /**
+         * Starts a waiting call. A call which completes while it starts releases its permit to the
+         * next waiting call, which is started by the loop of the outermost hand-off on the thread
+         * rather than by a nested one, so that the stack does not grow with the number of waiting
+         * calls.
+         */
+        private static void handOff(Runnable waiter) {
+            ArrayDeque<Runnable> handOffs = HAND_OFFS.get();
+            if (handOffs != null) {
+                handOffs.add(waiter);
+                return;
+            }
+            handOffs = new ArrayDeque<>();
+            HAND_OFFS.set(handOffs);
+            try {
+                Runnable next = waiter;
+                do {
+                    next.run();
+                } while ((next = handOffs.poll()) != null);
+            } finally {
+                HAND_OFFS.remove();
+            }
+        }
+
+        synchronized int running() {
+            return running;
+        }
+
+        synchronized int waiting() {
+            return waiting.size();
+        }
+    }
+
+    /**
+     * Builder for creating feature bulkheads
+     */
+    public static final class Builder {
+        private final Map<Kind, Map<String, List<BulkheadSettings>>> limits = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a limit for a feature which replaces the limits declared with
+         * {@link Bulkhead @Bulkhead} for the same server configuration, or for all server
+         * configurations if the limit has no {@linkplain BulkheadSettings#server() server}. This
+         * allows the limits of a deployment to be configured without changing the code.
+         *
+         * @param kind the kind of feature
+         * @param name the name of the feature
+         * @param limit the limit
+         * @return this builder
+         */
+        public Builder addLimit(Kind kind, String name, BulkheadSettings limit) {
+            Objects.requireNonNull(limit, "limit");
+            List<BulkheadSettings> settings = limits.computeIfAbsent(Objects.requireNonNull(kind, "kind"), k -> new HashMap<>())
+                                                    .computeIfAbsent(Objects.requireNonNull(name, "name"), n -> new ArrayList<>());
+            settings.removeIf(s -> s.server().equals(limit.server()));
+            settings.add(limit);
+            return this;
+        }
+
+        /**
+         * Builds the feature bulkheads
+         *
+         * @return the new feature bulkheads
+         */
+        public FeatureBulkheads build() {
+            return new FeatureBulkheads(this);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.execution;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.mcpjava.server.ExecutionModel;
+import org.mcpjava.server.spi.index.FeatureInvoker;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.InvocationContext;
+
+/**
+ * Chooses the executor which runs each feature method, according to its declared
+ * {@linkplain FeatureMetadata#executionModel() execution model}:
+ * <ul>
+ * <li>{@link ExecutionModel#NON_BLOCKING NON_BLOCKING} methods are called directly on the calling
+ * thread</li>
+ * <li>{@link ExecutionModel#BLOCKING BLOCKING} methods are called on the blocking executor</li>
+ * <li>{@link ExecutionModel#VIRTUAL_THREAD VIRTUAL_THREAD} methods are called on a new virtual
+ * thread, or on the blocking executor if {@linkplain #virtualThreadsSupported() virtual threads
+ * are not supported}</li>
+ * <li>{@link ExecutionModel#DEFAULT DEFAULT} methods are called directly if they are
+ * {@linkplain FeatureMetadata#asynchronous() asynchronous}, and on the blocking executor
+ * otherwise</li>
+ * </ul>
+ * <p>
+ * Virtual threads are available when this library runs on Java 21 or later: the jar is a
+ * multi-release jar, whose Java 21 classes start virtual threads while the Java 17 classes fall
+ * back to the blocking executor.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class FeatureExecutors {
+
+    private static final Executor VIRTUAL_THREADS = VirtualThreads.executor("mcp-feature-");
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final Executor blocking;
+    private final Executor virtual;
+
+    private FeatureExecutors(Builder builder) {
+        this.blocking = builder.blocking;
+        Executor v = builder.virtualThreads ? builder.virtual : null;
+        this.virtual = v == null ? blocking : v;
+    }
+
+    /**
+     * Creates a new builder for {@code FeatureExecutors}
+     *
+     * @param blocking the executor which runs blocking methods, usually a bounded pool of
+     * platform threads
+     * @return the new builder
+     */
+    public static Builder builder(Executor blocking) {
+        return new Builder(blocking);
+    }
+
+    /**
+     * Whether the Java runtime supports virtual threads, so that
+     * {@link ExecutionModel#VIRTUAL_THREAD VIRTUAL_THREAD} methods run on them
+     *
+     * @return {@code true} on Java 21 or later
+     */
+    public static boolean virtualThreadsSupported() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * Returns the executor which runs a feature method
+     *
+     * @param feature the feature
+     * @return the executor, which runs tasks on the calling thread for methods which are called
+     * directly
+     */
+    public Executor executor(FeatureMetadata feature) {
+        switch (feature.executionModel()) {
+        case NON_BLOCKING:
+            return DIRECT;
+        case BLOCKING:
+            return blocking;
+        case VIRTUAL_THREAD:
+            return virtual;
+        default:
+            return feature.asynchronous() ? DIRECT : blocking;
+        }
+    }
+
+    /**
+     * Calls a feature method with its generated {@linkplain FeatureMetadata#invoker() invoker}, on
+     * the executor chosen for it
+     *
+     * @param feature the feature
+     * @param instance the object to call the method on, ignored if the method is static
+     * @param context supplies the parameter values
+     * @return a stage which completes with the result of the method, or exceptionally with the
+     * exception thrown by the method, or with a {@link RejectedExecutionException} if the
+     * executor rejected the call
+     * @throws IllegalStateException if no invoker was generated for the method
+     */
+    public CompletionStage<Object> invoke(FeatureMetadata feature, Object instance, InvocationContext context) {
+        FeatureInvoker invoker = feature.invoker()
+                                        .orElseThrow(() -> new IllegalStateException("No invoker was generated for " + feature));
+        Executor executor = executor(feature);
+        if (executor == DIRECT) {
+            return invoker.invokeAsync(instance, context);
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> invoker.invokeAsync(instance, context).whenComplete((value, failure) -> {
+                if (failure == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(failure);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Builder for creating feature executors
+     */
+    public static final class Builder {
+        private final Executor blocking;
+        private Executor virtual = VIRTUAL_THREADS;
+        private boolean virtualThreads = true;
+
+        private Builder(Executor blocking) {
+            this.blocking = Objects.requireNonNull(blocking, "blocking");
+        }
+
+        /**
+         * Sets whether {@link ExecutionModel#VIRTUAL_THREAD VIRTUAL_THREAD} methods run on virtual
+         * threads when they are supported. The default is {@code true}. When disabled, they run
+         * on the blocking executor.
+         *
+         * @param virtualThreads {@code true} to use virtual threads
+         * @return this builder
+         */
+        public Builder setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Sets the executor which runs {@link ExecutionModel#VIRTUAL_THREAD VIRTUAL_THREAD}
+         * methods, for example one which names or limits its virtual threads. By default, each
+         * call runs on a new virtual thread if they are supported.
+         *
+         * @param virtual the executor
+         * @return this builder
+         */
+        public Builder setVirtualThreadExecutor(Executor virtual) {
+            this.virtual = Objects.requireNonNull(virtual, "virtual");
+            return this;
+        }
+
+        /**
+         * Builds the feature executors
+         *
+         * @return the new feature executors
+         */
+        public FeatureExecutors build() {
+            return new FeatureExecutors(this);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.mcpjava.server.Cached;
+import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.spi.cache.ToolResultCache;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * Coalesces concurrent identical calls of idempotent tools, so that they share one execution.
+ * <p>
+ * Calls of a tool declared with {@link org.mcpjava.server.tools.Tool.Annotations#idempotentHint()
+ * idempotentHint} whose {@linkplain ToolResultCache#canonicalArguments(FeatureMetadata, Map)
+ * canonical arguments} equal those of a call which is still in progress are not made again: they
+ * wait for the call in progress and complete with the same {@link ToolResponse}. This avoids a
+ * stampede of identical calls to an expensive backend, for example when a cached result expires.
+ * <p>
+ * Calls are only shared within a session, since the result of a tool may depend on who calls it,
+ * and are not coalesced outside a session. Tools declared {@link Cached @Cached} with the
+ * {@link Cached.Scope#SHARED SHARED} scope, whose results are shared by all sessions anyway, also
+ * share their calls across sessions.
+ * <p>
+ * The shared execution is given a {@link Cancellation} which is only requested once every caller
+ * waiting for it has cancelled, either by cancelling the stage returned to it or through its own
+ * {@code Cancellation}. A caller which cancels its stage stops waiting immediately, and the next
+ * identical call starts a new execution if all the callers of the previous one have cancelled.
+ * <p>
+ * Combined with {@link ToolResultCache}, calls are first answered from the cache, and the calls
+ * which miss it are coalesced:
+ * </p>
+ * <pre>
+ * cache.getOrCall(tool, session, arguments,
+ *                 () -&gt; singleFlight.call(tool, session, arguments, cancellation, this::invoke))
+ * </pre>
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class SingleFlight {
+
+    private static final Cancellation.Result NOT_REQUESTED = new CancellationResult(false, Optional.empty());
+
+    private static final Cancellation.Result ALL_CANCELLED = new CancellationResult(true, Optional.of("All callers cancelled"));
+
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    private SingleFlight() {
+    }
+
+    /**
+     * Creates a new {@code SingleFlight} with no calls in progress
+     *
+     * @return the new instance
+     */
+    public static SingleFlight create() {
+        return new SingleFlight();
+    }
+
+    /**
+     * Whether calls of a feature are coalesced, which is the case for tools declared with
+     * {@link org.mcpjava.server.tools.Tool.Annotations#idempotentHint() idempotentHint}, except
+     * tools which {@linkplain FeatureMetadata#streaming() stream their content}, since streamed
+     * content can only be written once
+     *
+     * @param feature the feature
+     * @return {@code true} if concurrent identical calls share one execution
+     */
+    public static boolean isCoalesced(FeatureMetadata feature) {
+        return feature.kind() == Kind.TOOL
+                && !feature.streaming()
+                && feature.toolAnnotations().map(FeatureMetadata.ToolAnnotations::idempotentHint).orElse(false);
+    }
+
+    /**
+     * Makes a tool call, or joins an identical call which is in progress.
+     * <p>
+     * If the tool is not {@linkplain #isCoalesced(FeatureMetadata) coalesced}, or if the call is
+     * not part of a session and the tool does not share its results across sessions, the call is
+     * always made, with the caller's cancellation.
+     *
+     * @param tool the tool
+     * @param sessionId the session the call is part of, or {@code null} if it is not part of a
+     * session
+     * @param arguments the arguments of the call, as decoded JSON values
+     * @param cancellation the cancellation of the caller
+     * @param call makes the call with the given cancellation, for example by calling the tool method
+     * and converting its result
+     * @return a stage which completes with the result of the shared call, or exceptionally if it
+     * fails, including when the call throws
+     */
+    public CompletionStage<ToolResponse> call(FeatureMetadata tool, String sessionId, Map<String, ?> arguments,
+                                              Cancellation cancellation,
+                                              Function<Cancellation, ? extends CompletionStage<ToolResponse>> call) {
+        Objects.requireNonNull(cancellation, "cancellation");
+        boolean shared = tool.cache().map(c -> c.scope() == Cached.Scope.SHARED).orElse(false);
+        if (!isCoalesced(tool) || (!shared && sessionId == null)) {
+            return start(call, cancellation);
+        }
+        Key key = new Key(tool.declaringClass(), tool.methodName(), tool.name(), shared ? null : sessionId,
+                          ToolResultCache.canonicalArguments(tool, arguments));
+
+        CompletableFuture<ToolResponse> result = new CompletableFuture<>();
+        Waiter waiter = new Waiter(cancellation, result);
+        Flight[] created = new Flight[1];
+        Flight flight = flights.compute(key, (k, existing) -> {
+            if (existing != null && existing.join(waiter)) {
+                return existing;
+            }
+            created[0] = new Flight(k, waiter);
+            return created[0];
+        });
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                flight.leave(waiter);
+            }
+        });
+        if (flight == created[0]) {
+            CompletionStage<ToolResponse> stage;
+            try {
+                stage = start(call, flight);
+            } catch (Throwable e) {
+                // Only a VirtualMachineError, which must not leave the flight to be joined either
+                flights.remove(key, flight);
+                flight.complete(null, e);
+                throw e;
+            }
+            stage.whenComplete((value, failure) -> {
+                flights.remove(key, flight);
+                flight.complete(value, failure);
+            });
+        }
+        return result;
+    }
+
+    /**
+     * The number of distinct calls in progress
+     *
+     * @return the number of shared executions
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private static CompletionStage<ToolResponse> start(Function<Cancellation, ? extends CompletionStage<ToolResponse>> call,
+                                                       Cancellation cancellation) {
+        try {
+            return Objects.requireNonNull(call.apply(cancellation), "call returned null");
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Identifies identical calls
+     *
+     * @param declaringClass the class which declares the tool method
+     * @param methodName the name of the tool method
+     * @param tool the name of the tool
+     * @param session the session, or {@code null} for calls shared by all sessions
+     * @param arguments the canonical arguments
+     */
+    private record Key(String declaringClass, String methodName, String tool, String session, String arguments) {
+    }
+
+    private record Waiter(Cancellation cancellation, CompletableFuture<ToolResponse> result) {
+    }
+
+    private record CancellationResult(boolean isRequested, Optional<String> reason) implements Cancellation.Result {
+    }
+
+    /**
+     * A shared execution and the callers waiting for it
+     */
+    private final class Flight implements Cancellation {
+        private final Key key;
+        private final List<Waiter> waiters = new ArrayList<>();
+        private long joins;
+        private boolean cancelled;
+
+        Flight(Key key, Waiter first) {
+            this.key = key;
+            waiters.add(first);
+        }
+
+        synchronized boolean join(Waiter waiter) {
+            if (cancelled) {
+                return false;
+            }
+            waiters.add(waiter);
+            joins++;
+            return true;
+        }
+
+        void leave(Waiter waiter) {
+            synchronized (this) {
+                waiters.remove(waiter);
+                if (!waiters.isEmpty() || cancelled) {
+                    return;
+                }
+                cancelled = true;
+            }
+            // Later identical calls start a new execution
+            flights.remove(key, this);
+        }
+
+        @Override
+        public Result check() {
+            while (true) {
+                List<Waiter> current;
+                long checkedJoins;
+                synchronized (this) {
+                    if (cancelled) {
+                        return ALL_CANCELLED;
+                    }
+                    current = List.copyOf(waiters);
+                    checkedJoins = joins;
+                }
+                // Checked without the lock, since the callers' cancellations are not ours
+                for (Waiter waiter : current) {
+                    if (!waiter.result().isCancelled() && !waiter.cancellation().check().isRequested()) {
+                        return NOT_REQUESTED;
+                    }
+                }
+                synchronized (this) {
+                    if (joins != checkedJoins) {
+                        // Callers joined while checking, and may not have cancelled
+                        continue;
+                    }
+                    cancelled = true;
+                }
+                // The execution is being aborted, so later identical calls start a new one
+                flights.remove(key, this);
+                return ALL_CANCELLED;
+            }
+        }
+
+        void complete(ToolResponse value, Throwable failure) {
+            List<Waiter> completed;
+            synchronized (this) {
+                completed = List.copyOf(waiters);
+                waiters.clear();
+            }
+            for (Waiter waiter : completed) {
+                if (failure == null) {
+                    waiter.result().complete(value);
+                } else {
+                    waiter.result().completeExceptionally(failure);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.execution;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Virtual threads, which are not available on the Java 17 baseline. The Java 21 version of this
+ * class in the multi-release jar starts virtual threads.
+ */
+final class VirtualThreads {
+
+    // No default constructor
+    private VirtualThreads() {}
+
+    /**
+     * Returns an executor which runs each task on a new virtual thread
+     *
+     * @param namePrefix the prefix of the thread names
+     * @return the executor, or {@code null} if virtual threads are not available
+     */
+    static Executor executor(String namePrefix) {
+        return null;
+    }
+}
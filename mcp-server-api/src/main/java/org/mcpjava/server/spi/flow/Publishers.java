@@ -0,0 +1,363 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.flow;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Adapters between {@link Flow.Publisher} and materialized lists, iterators and streams.
+ */
+public final class Publishers {
+
+    // No default constructor
+    private Publishers() {}
+
+    /**
+     * Returns a publisher of the elements of a list.
+     * <p>
+     * The publisher honours the demand of its subscribers, and may be subscribed to any number of
+     * times. Elements are published on the thread which calls {@link Flow.Subscription#request(long)}.
+     *
+     * @param <T> the element type
+     * @param elements the elements, which must not be modified while they are published
+     * @return the publisher
+     */
+    public static <T> Flow.Publisher<T> fromList(List<? extends T> elements) {
+        Objects.requireNonNull(elements, "elements");
+        return subscriber -> {
+            ListSubscription<T> subscription = new ListSubscription<>(Objects.requireNonNull(subscriber, "subscriber"), elements);
+            subscriber.onSubscribe(subscription);
+            // Complete an empty list without waiting for demand
+            subscription.drain();
+        };
+    }
+
+    /**
+     * Returns a publisher of the elements of an iterator, which are only produced as they are
+     * requested.
+     * <p>
+     * The publisher honours the demand of its subscriber, and may only be subscribed to once; later
+     * subscribers receive an {@link IllegalStateException}. Elements are produced on the thread
+     * which calls {@link Flow.Subscription#request(long)}. If the iterator is
+     * {@link AutoCloseable}, it is closed when it is exhausted, when it throws, or when
+     * the subscription is cancelled.
+     *
+     * @param <T> the element type
+     * @param elements the iterator
+     * @return the publisher
+     */
+    public static <T> Flow.Publisher<T> fromIterator(Iterator<? extends T> elements) {
+        Objects.requireNonNull(elements, "elements");
+        return once(elements, elements instanceof AutoCloseable closeable ? closeable : null);
+    }
+
+    /**
+     * Returns a publisher of the elements of a stream, which are only produced as they are
+     * requested.
+     * <p>
+     * The publisher honours the demand of its subscriber, and may only be subscribed to once; later
+     * subscribers receive an {@link IllegalStateException}. Elements are produced on the thread
+     * which calls {@link Flow.Subscription#request(long)}. The stream is closed when it is
+     * exhausted, when it throws, or when the subscription is cancelled, which releases
+     * resources such as the file of {@link java.nio.file.Files#lines(java.nio.file.Path)}.
+     *
+     * @param <T> the element type
+     * @param elements the stream
+     * @return the publisher
+     */
+    public static <T> Flow.Publisher<T> fromStream(Stream<? extends T> elements) {
+        Objects.requireNonNull(elements, "elements");
+        // The iterator is created on subscription, since creating it starts the stream pipeline
+        AtomicBoolean subscribed = new AtomicBoolean();
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber");
+            if (!subscribed.compareAndSet(false, true)) {
+                rejectSubscriber(subscriber);
+                return;
+            }
+            Iterator<? extends T> iterator;
+            try {
+                iterator = elements.iterator();
+            } catch (RuntimeException e) {
+                elements.close();
+                rejectSubscriber(subscriber, e);
+                return;
+            }
+            Flow.Publisher<T> publisher = once(iterator, elements);
+            publisher.subscribe(subscriber);
+        };
+    }
+
+    private static <T> Flow.Publisher<T> once(Iterator<? extends T> elements, AutoCloseable resource) {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber");
+            if (!subscribed.compareAndSet(false, true)) {
+                rejectSubscriber(subscriber);
+                return;
+            }
+            subscriber.onSubscribe(new IteratorSubscription<>(subscriber, elements, resource));
+        };
+    }
+
+    private static void rejectSubscriber(Flow.Subscriber<?> subscriber) {
+        rejectSubscriber(subscriber, new IllegalStateException("The publisher only supports one subscriber"));
+    }
+
+    private static void rejectSubscriber(Flow.Subscriber<?> subscriber, Throwable failure) {
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onError(failure);
+    }
+
+    /**
+     * Subscribes to a publisher and collects all of its elements.
+     * <p>
+     * All elements are requested at once, so this should only be used where the elements need to
+     * be in memory together anyway.
+     *
+     * @param <T> the element type
+     * @param publisher the publisher
+     * @return a stage which completes with the elements in order when the publisher completes, or
+     * exceptionally if the publisher fails
+     */
+    public static <T> CompletionStage<List<T>> collect(Flow.Publisher<? extends T> publisher) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            private final List<T> elements = new ArrayList<>();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                elements.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(List.copyOf(elements));
+            }
+        });
+        return result;
+    }
+
+    private static final class IteratorSubscription<T> implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Iterator<? extends T> elements;
+        private final AutoCloseable resource;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        /**
+         * Serializes delivery when {@link #request(long)} is called concurrently or from
+         * {@code onNext}
+         */
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean done;
+
+        /**
+         * A failure to signal, which is signalled by the thread which is draining, so that it is
+         * never signalled concurrently with {@code onNext}
+         */
+        private volatile Throwable failure;
+
+        IteratorSubscription(Flow.Subscriber<? super T> subscriber, Iterator<? extends T> elements, AutoCloseable resource) {
+            this.subscriber = subscriber;
+            this.elements = elements;
+            this.resource = resource;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                failure = new IllegalArgumentException("Non-positive request " + n);
+                drain();
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            // Closes the iterator, or has the thread which is draining close it
+            drain();
+        }
+
+        /**
+         * Produces the requested elements. The iterator is not asked for more elements than were
+         * requested, since producing them may block.
+         */
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                long requested = demand.get();
+                long emitted = 0;
+                try {
+                    while (!done) {
+                        Throwable error = failure;
+                        if (error != null) {
+                            done = true;
+                            close();
+                            subscriber.onError(error);
+                            return;
+                        }
+                        if (emitted == requested) {
+                            break;
+                        }
+                        if (!elements.hasNext()) {
+                            done = true;
+                            close();
+                            subscriber.onComplete();
+                            return;
+                        }
+                        subscriber.onNext(elements.next());
+                        emitted++;
+                    }
+                } catch (Throwable e) {
+                    if (!done) {
+                        done = true;
+                        close();
+                        subscriber.onError(e);
+                    }
+                    if (e instanceof VirtualMachineError fatal) {
+                        throw fatal;
+                    }
+                    return;
+                }
+                if (done) {
+                    close();
+                    return;
+                }
+                demand.addAndGet(-emitted);
+            } while (work.decrementAndGet() != 0);
+        }
+
+        private void close() {
+            if (resource != null && closed.compareAndSet(false, true)) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        }
+    }
+
+    private static final class ListSubscription<T> implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final List<? extends T> elements;
+        private final AtomicLong demand = new AtomicLong();
+
+        /**
+         * Serializes delivery when {@link #request(long)} is called concurrently or from
+         * {@code onNext}
+         */
+        private final AtomicInteger work = new AtomicInteger();
+        private int index;
+        private volatile boolean done;
+
+        /**
+         * A failure to signal, which is signalled by the thread which is draining, so that it is
+         * never signalled concurrently with {@code onNext}
+         */
+        private volatile Throwable failure;
+
+        ListSubscription(Flow.Subscriber<? super T> subscriber, List<? extends T> elements) {
+            this.subscriber = subscriber;
+            this.elements = elements;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                failure = new IllegalArgumentException("Non-positive request " + n);
+                drain();
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                long requested = demand.get();
+                long emitted = 0;
+                while (emitted < requested && index < elements.size() && !done && failure == null) {
+                    subscriber.onNext(elements.get(index++));
+                    emitted++;
+                }
+                if (done) {
+                    return;
+                }
+                Throwable error = failure;
+                if (error != null) {
+                    done = true;
+                    subscriber.onError(error);
+                    return;
+                }
+                if (index == elements.size()) {
+                    done = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                demand.addAndGet(-emitted);
+            } while (work.decrementAndGet() != 0);
+        }
+    }
+}
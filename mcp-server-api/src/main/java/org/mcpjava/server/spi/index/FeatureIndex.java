@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * A table of the features declared in a compiled module.
+ * <p>
+ * Implementations of this interface are generated by the {@code mcp-server-processor} annotation
+ * processor and registered to be loadable with {@link ServiceLoader}. Each generated index builds
+ * its whole feature table during its own class initialization, so reading the features of a module
+ * does not require scanning the classpath or reading annotations reflectively.
+ * <p>
+ * Users should not implement this interface.
+ */
+public interface FeatureIndex {
+
+    /**
+     * Returns the features declared in the module this index was generated for.
+     *
+     * @return the list of features, in a stable order
+     */
+    List<FeatureMetadata> features();
+
+    /**
+     * Loads every {@code FeatureIndex} visible from the given classloader and returns the features
+     * they contain.
+     *
+     * @param classLoader the classloader used to locate the generated indexes
+     * @return the combined list of features, may be empty if no index was found
+     */
+    static List<FeatureMetadata> loadFeatures(ClassLoader classLoader) {
+        List<FeatureMetadata> result = new ArrayList<>();
+        for (FeatureIndex index : ServiceLoader.load(FeatureIndex.class, classLoader)) {
+            result.addAll(index.features());
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Calls a feature method without reflection.
+ * <p>
+ * Invokers are generated by the {@code mcp-server-processor} annotation processor. Each generated
+ * invoker calls the feature method directly, reading each parameter from an
+ * {@link InvocationContext}, so no argument array is created and the call can be inlined by the JIT
+ * compiler.
+ * <p>
+ * Exceptions thrown by the feature method are propagated unchanged.
+ *
+ * @see FeatureMetadata#invoker()
+ */
+public interface FeatureInvoker {
+
+    /**
+     * Calls the feature method.
+     *
+     * @param instance the object to call the method on, ignored if the method is static
+     * @param context supplies the parameter values
+     * @return the value returned by the method, or {@code null} if the method is {@code void}
+     * @throws Exception if the feature method throws an exception
+     */
+    Object invoke(Object instance, InvocationContext context) throws Exception;
+
+    /**
+     * Calls the feature method, and returns a stage which completes with its result.
+     * <p>
+     * For {@linkplain FeatureMetadata#asynchronous() asynchronous} methods, this is the
+     * {@code CompletionStage} returned by the method, so implementations can send the response
+     * when it completes instead of waiting for it. Other methods are called on the current thread,
+     * so implementations should call methods which may block on a thread where blocking is
+     * allowed.
+     *
+     * @param instance the object to call the method on, ignored if the method is static
+     * @param context supplies the parameter values
+     * @return a stage which completes with the result of the method, or exceptionally with the
+     * exception thrown by the method
+     */
+    @SuppressWarnings("unchecked") // CompletionStage only produces values, so any result type can be read as Object
+    default CompletionStage<Object> invokeAsync(Object instance, InvocationContext context) {
+        Object result;
+        try {
+            result = invoke(instance, context);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (result instanceof CompletionStage) {
+            return (CompletionStage<Object>) result;
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    /**
+     * Creates the invokers of the features in a {@link FeatureIndex}.
+     * <p>
+     * Invokers are created on first use so that loading an index does not load the classes which
+     * declare the features.
+     */
+    interface Factory {
+
+        /**
+         * Creates an invoker
+         *
+         * @param id the id of the feature within the index, as passed to
+         * {@link FeatureMetadata.Builder#setInvoker(Factory, int)}
+         * @return the new invoker
+         */
+        FeatureInvoker create(int id);
+    }
+}
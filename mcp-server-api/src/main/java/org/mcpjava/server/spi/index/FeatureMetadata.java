@@ -0,0 +1,903 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.mcpjava.server.Bulkhead;
+import org.mcpjava.server.Cached;
+import org.mcpjava.server.ExecutionModel;
+import org.mcpjava.server.FeatureType;
+import org.mcpjava.server.Icons;
+import org.mcpjava.server.McpServer;
+import org.mcpjava.server.MetaField;
+import org.mcpjava.server.Role;
+import org.mcpjava.server.completion.CompletePrompt;
+import org.mcpjava.server.completion.CompleteResourceTemplate;
+import org.mcpjava.server.prompts.Prompt;
+import org.mcpjava.server.resources.Resource;
+import org.mcpjava.server.resources.ResourceTemplate;
+import org.mcpjava.server.tools.Tool;
+
+/**
+ * Describes a single feature method, as recorded in a {@link FeatureIndex}.
+ * <p>
+ * Types are referenced by name rather than by {@code Class} so that reading the index does not load
+ * the classes which declare the features.
+ * <p>
+ * Instances are immutable and thread-safe. They are usually created by code generated by the
+ * {@code mcp-server-processor} annotation processor.
+ */
+public final class FeatureMetadata {
+
+    /**
+     * The annotation a feature method was declared with.
+     */
+    public enum Kind {
+        /**
+         * A {@link Tool @Tool} method
+         */
+        TOOL(FeatureType.TOOL),
+        /**
+         * A {@link Prompt @Prompt} method
+         */
+        PROMPT(FeatureType.PROMPT),
+        /**
+         * A {@link Resource @Resource} method
+         */
+        RESOURCE(FeatureType.RESOURCE),
+        /**
+         * A {@link ResourceTemplate @ResourceTemplate} method
+         */
+        RESOURCE_TEMPLATE(FeatureType.RESOURCE_TEMPLATE),
+        /**
+         * A {@link CompletePrompt @CompletePrompt} method
+         */
+        COMPLETE_PROMPT(null),
+        /**
+         * A {@link CompleteResourceTemplate @CompleteResourceTemplate} method
+         */
+        COMPLETE_RESOURCE_TEMPLATE(null);
+
+        private final Optional<FeatureType> featureType;
+
+        Kind(FeatureType featureType) {
+            this.featureType = Optional.ofNullable(featureType);
+        }
+
+        /**
+         * Returns the feature type, if this kind of method declares a feature.
+         * <p>
+         * Completion methods do not declare a feature of their own, they provide completions for a
+         * prompt or resource template.
+         *
+         * @return the feature type, or an empty {@code Optional} for completion methods
+         */
+        public Optional<FeatureType> featureType() {
+            return featureType;
+        }
+    }
+
+    /**
+     * The values of an explicitly declared {@link Tool.Annotations}.
+     *
+     * @param title the title hint, may be empty
+     * @param readOnlyHint the read only hint
+     * @param destructiveHint the destructive hint
+     * @param idempotentHint the idempotent hint
+     * @param openWorldHint the open world hint
+     */
+    public record ToolAnnotations(String title,
+                                  boolean readOnlyHint,
+                                  boolean destructiveHint,
+                                  boolean idempotentHint,
+                                  boolean openWorldHint) {
+    }
+
+    /**
+     * The values of an explicitly declared {@link Resource.Annotations}.
+     *
+     * @param audience the intended audience, may be empty
+     * @param lastModified the last modified timestamp in ISO 8601 format, may be empty
+     * @param priority the priority, or -1 to indicate no value
+     */
+    public record ResourceAnnotations(List<Role> audience, String lastModified, double priority) {
+
+        /**
+         * Creates a new {@code ResourceAnnotations}
+         *
+         * @param audience the intended audience, may be empty
+         * @param lastModified the last modified timestamp in ISO 8601 format, may be empty
+         * @param priority the priority, or -1 to indicate no value
+         */
+        public ResourceAnnotations {
+            audience = List.copyOf(audience);
+        }
+    }
+
+    /**
+     * The values of a {@link Cached @Cached} annotation.
+     *
+     * @param ttl how long a response may be cached, or an empty {@code Optional} for no expiry
+     * @param scope which calls may share a cached result
+     */
+    public record CacheSettings(Optional<Duration> ttl, Cached.Scope scope) {
+
+        /**
+         * Creates a new {@code CacheSettings}
+         *
+         * @param ttl how long a response may be cached, or an empty {@code Optional} for no expiry
+         * @param scope which calls may share a cached result
+         */
+        public CacheSettings {
+            Objects.requireNonNull(ttl, "ttl");
+            Objects.requireNonNull(scope, "scope");
+        }
+
+        /**
+         * Creates a new {@code CacheSettings} with the {@link Cached.Scope#SHARED SHARED} scope
+         *
+         * @param ttl how long a response may be cached, or an empty {@code Optional} for no expiry
+         */
+        public CacheSettings(Optional<Duration> ttl) {
+            this(ttl, Cached.Scope.SHARED);
+        }
+    }
+
+    /**
+     * The values of a {@link Bulkhead @Bulkhead} annotation.
+     *
+     * @param server the server configuration the limit applies to, or an empty string for all
+     * server configurations
+     * @param maxConcurrent the maximum number of calls which may run at the same time
+     * @param maxWaiting the maximum number of calls which may wait for a running call to complete
+     */
+    public record BulkheadSettings(String server, int maxConcurrent, int maxWaiting) {
+
+        /**
+         * Creates a new {@code BulkheadSettings}
+         *
+         * @param server the server configuration the limit applies to, or an empty string for all
+         * server configurations
+         * @param maxConcurrent the maximum number of calls which may run at the same time
+         * @param maxWaiting the maximum number of calls which may wait for a running call to
+         * complete
+         * @throws IllegalArgumentException if {@code maxConcurrent} is less than 1, or
+         * {@code maxWaiting} is negative
+         */
+        public BulkheadSettings {
+            Objects.requireNonNull(server, "server");
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("Maximum concurrent calls must be at least 1: " + maxConcurrent);
+            }
+            if (maxWaiting < 0) {
+                throw new IllegalArgumentException("Negative maximum waiting calls " + maxWaiting);
+            }
+        }
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final Optional<String> title;
+    private final Optional<String> description;
+    private final Optional<String> uri;
+    private final Optional<String> mimeType;
+    private final long size;
+    private final boolean computeSize;
+    private final boolean warmUp;
+    private final ExecutionModel executionModel;
+    private final String declaringClass;
+    private final String methodName;
+    private final String returnType;
+    private final String resultType;
+    private final List<ParameterMetadata> parameters;
+    private final List<String> servers;
+    private final List<MetaFieldValue> metaFields;
+    private final Optional<String> iconProvider;
+    private final Optional<ToolAnnotations> toolAnnotations;
+    private final boolean structuredContent;
+    private final boolean streaming;
+    private final Optional<String> outputSchemaFrom;
+    private final Optional<ResourceAnnotations> resourceAnnotations;
+    private final Optional<CacheSettings> cache;
+    private final List<BulkheadSettings> bulkheads;
+    private final Optional<JsonSchema> inputSchema;
+    private final Optional<JsonSchema> outputSchema;
+    private final FeatureInvoker.Factory invokerFactory;
+    private final int invokerId;
+    private volatile FeatureInvoker invoker;
+
+    private FeatureMetadata(Builder builder) {
+        this.kind = builder.kind;
+        this.name = builder.name;
+        this.title = Optional.ofNullable(builder.title);
+        this.description = Optional.ofNullable(builder.description);
+        this.uri = Optional.ofNullable(builder.uri);
+        this.mimeType = Optional.ofNullable(builder.mimeType);
+        this.size = builder.size;
+        this.computeSize = builder.computeSize;
+        this.warmUp = builder.warmUp;
+        this.executionModel = builder.executionModel;
+        this.declaringClass = builder.declaringClass;
+        this.methodName = builder.methodName;
+        this.returnType = builder.returnType;
+        this.resultType = builder.resultType;
+        this.parameters = List.copyOf(builder.parameters);
+        this.servers = builder.servers.isEmpty() ? List.of(McpServer.DEFAULT) : List.copyOf(builder.servers);
+        this.metaFields = List.copyOf(builder.metaFields);
+        this.iconProvider = Optional.ofNullable(builder.iconProvider);
+        this.toolAnnotations = Optional.ofNullable(builder.toolAnnotations);
+        this.structuredContent = builder.structuredContent;
+        this.streaming = builder.streaming;
+        this.outputSchemaFrom = Optional.ofNullable(builder.outputSchemaFrom);
+        this.resourceAnnotations = Optional.ofNullable(builder.resourceAnnotations);
+        this.cache = Optional.ofNullable(builder.cache);
+        this.bulkheads = List.copyOf(builder.bulkheads);
+        this.inputSchema = Optional.ofNullable(builder.inputSchema);
+        this.outputSchema = Optional.ofNullable(builder.outputSchema);
+        this.invokerFactory = builder.invokerFactory;
+        this.invokerId = builder.invokerId;
+    }
+
+    /**
+     * Creates a new builder for a {@code FeatureMetadata}
+     *
+     * @param kind the annotation the method was declared with
+     * @param name the resolved name of the feature, or the name of the prompt or resource template
+     * for completion methods
+     * @param declaringClass the binary name of the class which declares the method
+     * @param methodName the name of the method
+     * @return the new builder
+     */
+    public static Builder builder(Kind kind, String name, String declaringClass, String methodName) {
+        return new Builder(kind, name, declaringClass, methodName);
+    }
+
+    /**
+     * The annotation the method was declared with
+     *
+     * @return the kind of feature method
+     */
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * The name of the feature.
+     * <p>
+     * For completion methods, this is the name of the prompt or resource template that completions
+     * are provided for.
+     *
+     * @return the resolved name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * The human-readable title of the feature
+     *
+     * @return the title, if declared
+     */
+    public Optional<String> title() {
+        return title;
+    }
+
+    /**
+     * The description of the feature
+     *
+     * @return the description, if declared
+     */
+    public Optional<String> description() {
+        return description;
+    }
+
+    /**
+     * The URI of a resource, or the URI template of a resource template
+     *
+     * @return the URI or URI template, or an empty {@code Optional} for other kinds of feature
+     */
+    public Optional<String> uri() {
+        return uri;
+    }
+
+    /**
+     * The MIME type of a resource or resource template
+     *
+     * @return the MIME type, if declared
+     */
+    public Optional<String> mimeType() {
+        return mimeType;
+    }
+
+    /**
+     * The declared size of a resource
+     *
+     * @return the size in bytes, or -1 if unknown
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Whether the size of a resource may be {@linkplain Resource#computeSize() computed} by the
+     * implementation, if it is not declared
+     *
+     * @return {@code true} if the size may be computed
+     */
+    public boolean computeSize() {
+        return computeSize;
+    }
+
+    /**
+     * Whether a resource is {@linkplain Resource#warmUp() read when the server starts}
+     *
+     * @return {@code true} if the resource is read when the server starts
+     */
+    public boolean warmUp() {
+        return warmUp;
+    }
+
+    /**
+     * How the implementation runs the feature method
+     *
+     * @return the declared execution model, {@link ExecutionModel#DEFAULT} if none was declared
+     */
+    public ExecutionModel executionModel() {
+        return executionModel;
+    }
+
+    /**
+     * The binary name of the class which declares the feature method
+     *
+     * @return the declaring class name
+     */
+    public String declaringClass() {
+        return declaringClass;
+    }
+
+    /**
+     * The name of the feature method
+     *
+     * @return the method name
+     */
+    public String methodName() {
+        return methodName;
+    }
+
+    /**
+     * The return type of the feature method, as a canonical type name including type arguments
+     *
+     * @return the return type
+     */
+    public String returnType() {
+        return returnType;
+    }
+
+    /**
+     * Whether the feature method completes asynchronously, because it returns a
+     * {@link java.util.concurrent.CompletionStage CompletionStage}
+     *
+     * @return {@code true} if the method returns a {@code CompletionStage}
+     */
+    public boolean asynchronous() {
+        return resultType != null;
+    }
+
+    /**
+     * The type of the result of the feature method, which is the type that an asynchronous method's
+     * {@code CompletionStage} completes with, or the {@linkplain #returnType() return type} of other
+     * methods
+     *
+     * @return the result type
+     */
+    public String resultType() {
+        return resultType == null ? returnType : resultType;
+    }
+
+    /**
+     * The parameters of the feature method, in declaration order
+     *
+     * @return the parameters
+     */
+    public List<ParameterMetadata> parameters() {
+        return parameters;
+    }
+
+    /**
+     * The names of the {@linkplain McpServer server configurations} the feature is bound to,
+     * including those declared on the declaring class.
+     *
+     * @return the server configuration names, never empty
+     */
+    public List<String> servers() {
+        return servers;
+    }
+
+    /**
+     * The {@link MetaField @MetaField} values declared on the feature method
+     *
+     * @return the metadata fields
+     */
+    public List<MetaFieldValue> metaFields() {
+        return metaFields;
+    }
+
+    /**
+     * The binary name of the {@link Icons#iconProvider() icon provider} declared on the feature
+     * method or its declaring class
+     *
+     * @return the icon provider class name, if declared
+     */
+    public Optional<String> iconProvider() {
+        return iconProvider;
+    }
+
+    /**
+     * The explicitly declared {@link Tool#annotations() annotations} of a tool
+     *
+     * @return the tool annotations, if declared
+     */
+    public Optional<ToolAnnotations> toolAnnotations() {
+        return toolAnnotations;
+    }
+
+    /**
+     * Whether a tool returns {@linkplain Tool#structuredContent() structured content}
+     *
+     * @return {@code true} if the tool returns structured content
+     */
+    public boolean structuredContent() {
+        return structuredContent;
+    }
+
+    /**
+     * Whether a tool streams its content, because its result type is a
+     * {@link java.util.concurrent.Flow.Publisher Flow.Publisher}, {@link java.util.stream.Stream
+     * Stream} or {@link java.util.Iterator Iterator} of content blocks
+     *
+     * @return {@code true} if the tool streams its content
+     */
+    public boolean streaming() {
+        return streaming;
+    }
+
+    /**
+     * The binary name of the class used to generate the output schema of a tool
+     *
+     * @return the class name, if {@link Tool#outputSchemaFrom()} was set
+     */
+    public Optional<String> outputSchemaFrom() {
+        return outputSchemaFrom;
+    }
+
+    /**
+     * The explicitly declared {@link Resource#annotations() annotations} of a resource or resource
+     * template
+     *
+     * @return the resource annotations, if declared
+     */
+    public Optional<ResourceAnnotations> resourceAnnotations() {
+        return resourceAnnotations;
+    }
+
+    /**
+     * The {@link Cached @Cached} settings of a resource, resource template or tool
+     *
+     * @return the cache settings, if the method allows its responses or results to be cached
+     */
+    public Optional<CacheSettings> cache() {
+        return cache;
+    }
+
+    /**
+     * The {@link Bulkhead @Bulkhead} limits declared on the feature method
+     *
+     * @return the concurrency limits, empty if calls are not limited
+     */
+    public List<BulkheadSettings> bulkheads() {
+        return bulkheads;
+    }
+
+    /**
+     * The {@link Bulkhead @Bulkhead} limit which applies to calls through a server configuration:
+     * the limit declared for that configuration, or else the limit declared for all of them
+     *
+     * @param server the server configuration name
+     * @return the concurrency limit, if calls are limited
+     */
+    public Optional<BulkheadSettings> bulkhead(String server) {
+        BulkheadSettings any = null;
+        for (BulkheadSettings bulkhead : bulkheads) {
+            if (bulkhead.server().equals(server)) {
+                return Optional.of(bulkhead);
+            }
+            if (bulkhead.server().isEmpty()) {
+                any = bulkhead;
+            }
+        }
+        return Optional.ofNullable(any);
+    }
+
+    /**
+     * The input schema of a tool, generated at build time from its arguments
+     *
+     * @return the input schema, or an empty {@code Optional} for other kinds of feature
+     */
+    public Optional<JsonSchema> inputSchema() {
+        return inputSchema;
+    }
+
+    /**
+     * The output schema of a tool, generated at build time from {@link Tool#outputSchemaFrom()}
+     * or, for tools which return structured content, from the return type
+     *
+     * @return the output schema, if the tool has one
+     */
+    public Optional<JsonSchema> outputSchema() {
+        return outputSchema;
+    }
+
+    /**
+     * The generated invoker for the feature method.
+     * <p>
+     * The invoker is created on first call. No invoker is generated for methods which cannot be
+     * called from code in the same package, such as private methods, in which case implementations
+     * must call the method some other way.
+     *
+     * @return the invoker, if one was generated
+     */
+    public Optional<FeatureInvoker> invoker() {
+        FeatureInvoker result = invoker;
+        if (result == null && invokerFactory != null) {
+            result = invokerFactory.create(invokerId);
+            invoker = result;
+        }
+        return Optional.ofNullable(result);
+    }
+
+    @Override
+    public String toString() {
+        return "FeatureMetadata[" + kind + " " + name + " " + declaringClass + "#" + methodName + "]";
+    }
+
+    /**
+     * Builder for creating feature metadata
+     */
+    public static final class Builder {
+        private final Kind kind;
+        private final String name;
+        private final String declaringClass;
+        private final String methodName;
+        private String title;
+        private String description;
+        private String uri;
+        private String mimeType;
+        private long size = -1;
+        private boolean computeSize;
+        private boolean warmUp;
+        private ExecutionModel executionModel = ExecutionModel.DEFAULT;
+        private String returnType = "void";
+        private String resultType;
+        private final List<ParameterMetadata> parameters = new ArrayList<>();
+        private final Set<String> servers = new LinkedHashSet<>();
+        private final List<MetaFieldValue> metaFields = new ArrayList<>();
+        private String iconProvider;
+        private ToolAnnotations toolAnnotations;
+        private boolean structuredContent;
+        private boolean streaming;
+        private String outputSchemaFrom;
+        private ResourceAnnotations resourceAnnotations;
+        private CacheSettings cache;
+        private final List<BulkheadSettings> bulkheads = new ArrayList<>();
+        private JsonSchema inputSchema;
+        private JsonSchema outputSchema;
+        private FeatureInvoker.Factory invokerFactory;
+        private int invokerId;
+
+        private Builder(Kind kind, String name, String declaringClass, String methodName) {
+            this.kind = Objects.requireNonNull(kind, "kind");
+            this.name = Objects.requireNonNull(name, "name");
+            this.declaringClass = Objects.requireNonNull(declaringClass, "declaringClass");
+            this.methodName = Objects.requireNonNull(methodName, "methodName");
+        }
+
+        /**
+         * Sets the human-readable title
+         *
+         * @param title the title
+         * @return this builder
+         */
+        public Builder setTitle(String title) {
+            this.title = title;
+            return this;
+        }
+
+        /**
+         * Sets the description
+         *
+         * @param description the description
+         * @return this builder
+         */
+        public Builder setDescription(String description) {
+            this.description = description;
+            return this;
+        }
+
+        /**
+         * Sets the URI of a resource or the URI template of a resource template
+         *
+         * @param uri the URI or URI template
+         * @return this builder
+         */
+        public Builder setUri(String uri) {
+            this.uri = uri;
+            return this;
+        }
+
+        /**
+         * Sets the MIME type
+         *
+         * @param mimeType the MIME type
+         * @return this builder
+         */
+        public Builder setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+            return this;
+        }
+
+        /**
+         * Sets the declared size of a resource
+         *
+         * @param size the size in bytes
+         * @return this builder
+         */
+        public Builder setSize(long size) {
+            this.size = size;
+            return this;
+        }
+
+        /**
+         * Sets whether the size of a resource may be computed by the implementation
+         *
+         * @param computeSize {@code true} if the size may be computed
+         * @return this builder
+         */
+        public Builder setComputeSize(boolean computeSize) {
+            this.computeSize = computeSize;
+            return this;
+        }
+
+        /**
+         * Sets whether a resource is read when the server starts
+         *
+         * @param warmUp {@code true} if the resource is read when the server starts
+         * @return this builder
+         */
+        public Builder setWarmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+            return this;
+        }
+
+        /**
+         * Sets how the implementation runs the feature method. The default is
+         * {@link ExecutionModel#DEFAULT}.
+         *
+         * @param executionModel the execution model
+         * @return this builder
+         */
+        public Builder setExecutionModel(ExecutionModel executionModel) {
+            this.executionModel = Objects.requireNonNull(executionModel, "executionModel");
+            return this;
+        }
+
+        /**
+         * Sets the return type of the method
+         *
+         * @param returnType the canonical name of the return type
+         * @return this builder
+         */
+        public Builder setReturnType(String returnType) {
+            this.returnType = Objects.requireNonNull(returnType, "returnType");
+            return this;
+        }
+
+        /**
+         * Sets the type that the {@code CompletionStage} returned by an asynchronous method
+         * completes with
+         *
+         * @param resultType the canonical name of the result type
+         * @return this builder
+         */
+        public Builder setResultType(String resultType) {
+            this.resultType = resultType;
+            return this;
+        }
+
+        /**
+         * Adds a method parameter. Parameters must be added in declaration order.
+         *
+         * @param parameter the parameter
+         * @return this builder
+         */
+        public Builder addParameter(ParameterMetadata parameter) {
+            this.parameters.add(Objects.requireNonNull(parameter, "parameter"));
+            return this;
+        }
+
+        /**
+         * Adds a server configuration that the feature is bound to
+         *
+         * @param server the server configuration name
+         * @return this builder
+         */
+        public Builder addServer(String server) {
+            this.servers.add(Objects.requireNonNull(server, "server"));
+            return this;
+        }
+
+        /**
+         * Adds a metadata field
+         *
+         * @param key the full metadata key
+         * @param type the type of the value
+         * @param value the value
+         * @return this builder
+         */
+        public Builder addMetaField(String key, MetaField.Type type, String value) {
+            this.metaFields.add(new MetaFieldValue(key, type, value));
+            return this;
+        }
+
+        /**
+         * Sets the icon provider
+         *
+         * @param iconProvider the binary name of the icon provider class
+         * @return this builder
+         */
+        public Builder setIconProvider(String iconProvider) {
+            this.iconProvider = iconProvider;
+            return this;
+        }
+
+        /**
+         * Sets the tool annotations
+         *
+         * @param toolAnnotations the tool annotations
+         * @return this builder
+         */
+        public Builder setToolAnnotations(ToolAnnotations toolAnnotations) {
+            this.toolAnnotations = toolAnnotations;
+            return this;
+        }
+
+        /**
+         * Sets whether a tool returns structured content
+         *
+         * @param structuredContent {@code true} if the tool returns structured content
+         * @return this builder
+         */
+        public Builder setStructuredContent(boolean structuredContent) {
+            this.structuredContent = structuredContent;
+            return this;
+        }
+
+        /**
+         * Sets whether a tool streams its content
+         *
+         * @param streaming {@code true} if the tool streams its content
+         * @return this builder
+         */
+        public Builder setStreaming(boolean streaming) {
+            this.streaming = streaming;
+            return this;
+        }
+
+        /**
+         * Sets the class used to generate the output schema of a tool
+         *
+         * @param outputSchemaFrom the binary name of the class
+         * @return this builder
+         */
+        public Builder setOutputSchemaFrom(String outputSchemaFrom) {
+            this.outputSchemaFrom = outputSchemaFrom;
+            return this;
+        }
+
+        /**
+         * Sets the resource annotations
+         *
+         * @param resourceAnnotations the resource annotations
+         * @return this builder
+         */
+        public Builder setResourceAnnotations(ResourceAnnotations resourceAnnotations) {
+            this.resourceAnnotations = resourceAnnotations;
+            return this;
+        }
+
+        /**
+         * Sets the cache settings
+         *
+         * @param cache the cache settings
+         * @return this builder
+         */
+        public Builder setCache(CacheSettings cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Adds a concurrency limit
+         *
+         * @param bulkhead the concurrency limit
+         * @return this builder
+         */
+        public Builder addBulkhead(BulkheadSettings bulkhead) {
+            this.bulkheads.add(Objects.requireNonNull(bulkhead, "bulkhead"));
+            return this;
+        }
+
+        /**
+         * Sets the input schema of a tool
+         *
+         * @param inputSchema the input schema
+         * @return this builder
+         */
+        public Builder setInputSchema(JsonSchema inputSchema) {
+            this.inputSchema = inputSchema;
+            return this;
+        }
+
+        /**
+         * Sets the output schema of a tool
+         *
+         * @param outputSchema the output schema
+         * @return this builder
+         */
+        public Builder setOutputSchema(JsonSchema outputSchema) {
+            this.outputSchema = outputSchema;
+            return this;
+        }
+
+        /**
+         * Sets the factory which creates the invoker for the feature method
+         *
+         * @param factory the invoker factory
+         * @param id the id to pass to {@link FeatureInvoker.Factory#create(int)}
+         * @return this builder
+         */
+        public Builder setInvoker(FeatureInvoker.Factory factory, int id) {
+            this.invokerFactory = Objects.requireNonNull(factory, "factory");
+            this.invokerId = id;
+            return this;
+        }
+
+        /**
+         * Builds the feature metadata
+         *
+         * @return the new feature metadata
+         */
+        public FeatureMetadata build() {
+            return new FeatureMetadata(this);
+        }
+    }
+}
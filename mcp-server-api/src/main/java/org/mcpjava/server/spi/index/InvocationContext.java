@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.McpRequest;
+import org.mcpjava.server.completion.CompletionContext;
+import org.mcpjava.server.progress.Progress;
+import org.mcpjava.server.resources.ResourceUpdatePublisher;
+
+/**
+ * Supplies the parameter values for a call made through a {@link FeatureInvoker}.
+ * <p>
+ * Implemented by the implementation of the API. Generated invokers read each parameter directly from
+ * this interface rather than from an array, so an implementation can store argument values however
+ * it likes and avoid boxing primitive values by overriding the primitive accessors.
+ * <p>
+ * Parameters are identified by their position in the method signature, which is also their index
+ * in {@link FeatureMetadata#parameters()}.
+ */
+public interface InvocationContext {
+
+    /**
+     * Returns the value for a parameter of kind {@link ParameterMetadata.Kind#ARGUMENT ARGUMENT} or
+     * {@link ParameterMetadata.Kind#OTHER OTHER}.
+     * <p>
+     * The value must already be converted to the {@linkplain ParameterMetadata#type() type of the
+     * parameter}.
+     *
+     * @param position the position of the parameter
+     * @return the parameter value, may be {@code null} unless the parameter type is primitive
+     */
+    Object argument(int position);
+
+    /**
+     * Returns the value for an {@code int} parameter
+     *
+     * @param position the position of the parameter
+     * @return the parameter value
+     */
+    default int intArgument(int position) {
+        return (Integer) argument(position);
+    }
+
+    /**
+     * Returns the value for a {@code long} parameter
+     *
+     * @param position the position of the parameter
+     * @return the parameter value
+     */
+    default long longArgument(int position) {
+        return (Long) argument(position);
+    }
+
+    /**
+     * Returns the value for a {@code double} parameter
+     *
+     * @param position the position of the parameter
+     * @return the parameter value
+     */
+    default double doubleArgument(int position) {
+        return (Double) argument(position);
+    }
+
+    /**
+     * Returns the value for a {@code boolean} parameter
+     *
+     * @param position the position of the parameter
+     * @return the parameter value
+     */
+    default boolean booleanArgument(int position) {
+        return (Boolean) argument(position);
+    }
+
+    /**
+     * Returns the request being processed, for parameters of kind
+     * {@link ParameterMetadata.Kind#REQUEST REQUEST}
+     *
+     * @return the request
+     */
+    McpRequest request();
+
+    /**
+     * Returns the cancellation for the request being processed, for parameters of kind
+     * {@link ParameterMetadata.Kind#CANCELLATION CANCELLATION}
+     *
+     * @return the cancellation
+     */
+    Cancellation cancellation();
+
+    /**
+     * Returns the progress for the request being processed, for parameters of kind
+     * {@link ParameterMetadata.Kind#PROGRESS PROGRESS}
+     *
+     * @return the progress
+     */
+    Progress progress();
+
+    /**
+     * Returns the completion context for the request being processed, for parameters of kind
+     * {@link ParameterMetadata.Kind#COMPLETION_CONTEXT COMPLETION_CONTEXT}
+     *
+     * @return the completion context
+     */
+    CompletionContext completionContext();
+
+    /**
+     * Returns the publisher of resource changes, for parameters of kind
+     * {@link ParameterMetadata.Kind#RESOURCE_UPDATES RESOURCE_UPDATES}
+     *
+     * @return the resource update publisher
+     * @throws UnsupportedOperationException if the implementation does not support resource
+     * subscriptions
+     */
+    default ResourceUpdatePublisher resourceUpdates() {
+        throw new UnsupportedOperationException("Resource subscriptions are not supported");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import java.util.List;
+
+/**
+ * A JSON schema generated at build time, loaded on first use.
+ * <p>
+ * Classes referenced by the schema are described in its {@code $defs} member and referenced with
+ * {@code {"$ref":"#/$defs/<key>"}}, where the key is the
+ * {@linkplain JsonSchemaResources#definitionKey(String) definition key} of the class.
+ *
+ * @see FeatureMetadata#inputSchema()
+ * @see FeatureMetadata#outputSchema()
+ */
+public final class JsonSchema {
+
+    private final JsonSchemaResources resources;
+    private final String name;
+    private final List<String> definitions;
+    private volatile String json;
+
+    JsonSchema(JsonSchemaResources resources, String name, List<String> definitions) {
+        this.resources = resources;
+        this.name = name;
+        this.definitions = definitions;
+    }
+
+    /**
+     * The keys of the definitions included in the schema
+     *
+     * @return the definition keys
+     */
+    public List<String> definitions() {
+        return definitions;
+    }
+
+    /**
+     * Returns the schema as minified JSON, including its {@code $defs}.
+     * <p>
+     * The resources are read on the first call and the result is cached. Implementations which
+     * only need the schema once should keep the result rather than the {@code JsonSchema}.
+     *
+     * @return the JSON schema
+     * @throws IllegalStateException if a schema resource is missing
+     * @throws java.io.UncheckedIOException if a schema resource cannot be read
+     */
+    public String json() {
+        String result = json;
+        if (result == null) {
+            result = load();
+            json = result;
+        }
+        return result;
+    }
+
+    private String load() {
+        String schema = resources.read(name);
+        if (definitions.isEmpty()) {
+            return schema;
+        }
+        // generated schemas are always minified objects, so $defs can be appended before the final brace
+        StringBuilder sb = new StringBuilder(schema.length() + 256);
+        sb.append(schema, 0, schema.length() - 1);
+        if (schema.length() > 2) {
+            sb.append(',');
+        }
+        sb.append("\"$defs\":{");
+        for (int i = 0; i < definitions.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            String key = definitions.get(i);
+            sb.append('"').append(key).append("\":").append(resources.definition(key));
+        }
+        return sb.append("}}").toString();
+    }
+
+    @Override
+    public String toString() {
+        return "JsonSchema[" + name + "]";
+    }
+}
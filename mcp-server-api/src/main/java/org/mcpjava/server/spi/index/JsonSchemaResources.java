@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The JSON schema resources generated for a {@link FeatureIndex}.
+ * <p>
+ * The {@code mcp-server-processor} annotation processor writes each schema as a minified JSON
+ * resource. Definitions of classes used by several schemas are written once, in the
+ * {@value #DEFINITIONS} subdirectory, and only combined with a schema when it is
+ * {@linkplain JsonSchema#json() loaded}. Each definition is read at most once.
+ * <p>
+ * Instances are created by generated code.
+ */
+public final class JsonSchemaResources {
+
+    /**
+     * The subdirectory containing the shared definitions
+     */
+    public static final String DEFINITIONS = "defs/";
+
+    private final Class<?> owner;
+    private final String path;
+    private final Map<String, String> definitions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@code JsonSchemaResources}
+     *
+     * @param owner the class whose {@link Class#getResourceAsStream(String)} is used to read the
+     * resources, usually the generated index
+     * @param path the absolute path of the directory containing the resources, ending with
+     * {@code /}
+     */
+    public JsonSchemaResources(Class<?> owner, String path) {
+        this.owner = Objects.requireNonNull(owner, "owner");
+        this.path = Objects.requireNonNull(path, "path");
+    }
+
+    /**
+     * Creates a handle for a schema resource. The resource is not read until
+     * {@link JsonSchema#json()} is called.
+     *
+     * @param name the name of the schema resource, relative to the directory
+     * @param definitions the keys of every definition the schema references, directly or
+     * indirectly
+     * @return the new schema
+     */
+    public JsonSchema schema(String name, String... definitions) {
+        return new JsonSchema(this, name, List.of(definitions));
+    }
+
+    /**
+     * Returns the key of the definition of a type, which is also the name of its resource in the
+     * {@value #DEFINITIONS} subdirectory without the {@code .json} extension
+     *
+     * @param typeName the canonical type name, including any type arguments
+     * @return the definition key
+     */
+    public static String definitionKey(String typeName) {
+        StringBuilder sb = new StringBuilder(typeName.length());
+        for (int i = 0; i < typeName.length(); i++) {
+            char c = typeName.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == '$') {
+                sb.append(c);
+            } else if (c != ' ') {
+                sb.append('_');
+            }
+        }
+        return sb.toString();
+    }
+
+    String read(String name) {
+        String resource = path + name;
+        try (InputStream in = owner.getResourceAsStream("/" + resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Schema resource " + resource + " not found");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read schema resource " + resource, e);
+        }
+    }
+
+    String definition(String key) {
+        return definitions.computeIfAbsent(key, k -> read(DEFINITIONS + k + ".json"));
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import org.mcpjava.server.MetaField;
+
+/**
+ * The value of a {@link MetaField @MetaField} declared on a feature method.
+ *
+ * @param key the full metadata key, including the {@linkplain MetaField#prefix() prefix}
+ * @param type the type of the value
+ * @param value the value, as declared in the annotation
+ */
+public record MetaFieldValue(String key, MetaField.Type type, String value) {
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.mcpjava.server.FeatureType;
+import org.mcpjava.server.MetaField;
+import org.mcpjava.server.spi.json.JsonStrings;
+import org.mcpjava.server.spi.json.JsonSyntax;
+
+/**
+ * The result of a list request, such as {@code resources/list} or {@code resources/templates/list},
+ * built once and split into pages.
+ * <p>
+ * Each page is serialized to JSON when the list is built, so that serving a list request is a
+ * lookup of the page for the request cursor, and writing bytes which were encoded in advance.
+ * Cursors are opaque strings which identify a page of a particular list. A list is only rebuilt
+ * by {@link #update(Collection)} when the set of features changes, after which cursors of the
+ * previous list are rejected, since the pages they refer to may have moved.
+ * <p>
+ * By default, the entries of resources and resource templates are serialized from their
+ * {@link FeatureMetadata}. {@linkplain org.mcpjava.server.Icons Icons} are provided at runtime, so
+ * implementations which support icons, and lists of tools and prompts, must set an
+ * {@linkplain Builder#setEntryWriter(Function) entry writer}.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class PagedFeatureList {
+
+    private static final AtomicLong generations = new AtomicLong();
+
+    private final FeatureType type;
+    private final int pageSize;
+    private final Function<FeatureMetadata, String> entryWriter;
+    private final ToLongFunction<FeatureMetadata> sizes;
+    private final List<FeatureMetadata> features;
+    private final List<Page> pages;
+    private final Map<String, Page> byCursor;
+
+    private PagedFeatureList(Builder builder, List<FeatureMetadata> features) {
+        this.type = builder.type;
+        this.pageSize = builder.pageSize;
+        this.entryWriter = builder.entryWriter;
+        this.sizes = builder.sizes;
+        this.features = features;
+
+        String arrayName = arrayName(type);
+        long generation = generations.incrementAndGet();
+        int pageCount = Math.max(1, (features.size() + pageSize - 1) / pageSize);
+        List<Page> pages = new ArrayList<>(pageCount);
+        Map<String, Page> byCursor = new HashMap<>();
+        String cursor = null;
+        for (int i = 0; i < pageCount; i++) {
+            int from = i * pageSize;
+            int to = Math.min(features.size(), from + pageSize);
+            String nextCursor = to < features.size() ? cursor(generation, to) : null;
+            Page page = new Page(features.subList(from, to), nextCursor, json(arrayName, features.subList(from, to), nextCursor));
+            pages.add(page);
+            if (cursor != null) {
+                byCursor.put(cursor, page);
+            }
+            cursor = nextCursor;
+        }
+        this.pages = List.copyOf(pages);
+        this.byCursor = Map.copyOf(byCursor);
+    }
+
+    /**
+     * Creates a new builder for a {@code PagedFeatureList}
+     *
+     * @param type the type of feature listed
+     * @return the new builder
+     */
+    public static Builder builder(FeatureType type) {
+        return new Builder(type);
+    }
+
+    /**
+     * The type of feature listed
+     *
+     * @return the feature type
+     */
+    public FeatureType type() {
+        return type;
+    }
+
+    /**
+     * The listed features, in list order
+     *
+     * @return the features
+     */
+    public List<FeatureMetadata> features() {
+        return features;
+    }
+
+    /**
+     * The number of pages, which is at least one
+     *
+     * @return the page count
+     */
+    public int pageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Returns the page for a list request
+     *
+     * @param cursor the cursor from the request, or {@code null} for the first page
+     * @return the page
+     * @throws IllegalArgumentException if the cursor does not identify a page of this list, which
+     * implementations should report as an invalid params error
+     */
+    public Page page(String cursor) {
+        if (cursor == null) {
+            return pages.get(0);
+        }
+        Page page = byCursor.get(cursor);
+        if (page == null) {
+            throw new IllegalArgumentException("Invalid or expired cursor: " + cursor);
+        }
+        return page;
+    }
+
+    /**
+     * Returns a list of the given features, with the same settings as this list.
+     * <p>
+     * Features of other types are ignored. If the features of the given type are the same
+     * instances in the same order as the features of this list, this list is returned unchanged
+     * and its cursors remain valid.
+     *
+     * @param features the features
+     * @return this list, or a new list if the features changed
+     */
+    public PagedFeatureList update(Collection<FeatureMetadata> features) {
+        List<FeatureMetadata> selected = select(type, features);
+        if (selected.size() == this.features.size()) {
+            boolean same = true;
+            for (int i = 0; i < selected.size() && same; i++) {
+                same = selected.get(i) == this.features.get(i);
+            }
+            if (same) {
+                return this;
+            }
+        }
+        return new PagedFeatureList(settings(), selected);
+    }
+
+    /**
+     * Returns a new list of the same features, serialized again.
+     * <p>
+     * This is intended for when the serialized entries change although the features do not, for
+     * example when resource sizes have been {@linkplain Builder#setSizes(ToLongFunction) computed}.
+     * Cursors of this list are not valid for the new list.
+     *
+     * @return the new list
+     */
+    public PagedFeatureList rebuild() {
+        return new PagedFeatureList(settings(), features);
+    }
+
+    private Builder settings() {
+        Builder builder = builder(type).setPageSize(pageSize).setSizes(sizes);
+        builder.entryWriter = entryWriter;
+        return builder;
+    }
+
+    private static List<FeatureMetadata> select(FeatureType type, Collection<FeatureMetadata> features) {
+        List<FeatureMetadata> result = new ArrayList<>(features.size());
+        for (FeatureMetadata feature : features) {
+            if (feature.kind().featureType().orElse(null) == type) {
+                result.add(feature);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static String cursor(long generation, int offset) {
+        return Base64.getUrlEncoder()
+                     .withoutPadding()
+                     .encodeToString((generation + ":" + offset).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String arrayName(FeatureType type) {
+        switch (type) {
+        case TOOL:
+            return "tools";
+        case PROMPT:
+            return "prompts";
+        case RESOURCE:
+            return "resources";
+        case RESOURCE_TEMPLATE:
+            return "resourceTemplates";
+        default:
+            throw new IllegalArgumentException("Unsupported feature type " + type);
+        }
+    }
+
+    private byte[] json(String arrayName, List<FeatureMetadata> features, String nextCursor) {
+        StringBuilder json = new StringBuilder(64 + 256 * features.size());
+        json.append("{\"").append(arrayName).append("\":[");
+        for (int i = 0; i < features.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            FeatureMetadata feature = features.get(i);
+            json.append(entryWriter == null ? resourceEntry(feature) : entryWriter.apply(feature));
+        }
+        json.append(']');
+        if (nextCursor != null) {
+            json.append(",\"nextCursor\":");
+            string(json, nextCursor);
+        }
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the entry of a resource or resource template
+     */
+    private String resourceEntry(FeatureMetadata feature) {
+        StringBuilder json = new StringBuilder(256);
+        json.append(feature.kind() == FeatureMetadata.Kind.RESOURCE ? "{\"uri\":" : "{\"uriTemplate\":");
+        string(json, feature.uri().orElseThrow());
+        json.append(",\"name\":");
+        string(json, feature.name());
+        feature.title().ifPresent(v -> string(json.append(",\"title\":"), v));
+        feature.description().ifPresent(v -> string(json.append(",\"description\":"), v));
+        feature.mimeType().ifPresent(v -> string(json.append(",\"mimeType\":"), v));
+        long size = sizes.applyAsLong(feature);
+        if (size != -1) {
+            json.append(",\"size\":").append(size);
+        }
+        feature.resourceAnnotations().ifPresent(a -> {
+            json.append(",\"annotations\":{");
+            int start = json.length();
+            if (!a.audience().isEmpty()) {
+                json.append("\"audience\":[");
+                for (int i = 0; i < a.audience().size(); i++) {
+                    string(json.append(i > 0 ? "," : ""), a.audience().get(i).name().toLowerCase(Locale.ROOT));
+                }
+                json.append(']');
+            }
+            if (a.priority() >= 0) {
+                if (a.priority() > 1) {
+                    throw new IllegalArgumentException("Invalid priority " + a.priority() + " of " + feature.name());
+                }
+                json.append(json.length() > start ? "," : "").append("\"priority\":").append(a.priority());
+            }
+            if (!a.lastModified().isEmpty()) {
+                string(json.append(json.length() > start ? "," : "").append("\"lastModified\":"), a.lastModified());
+            }
+            json.append('}');
+        });
+        if (!feature.metaFields().isEmpty()) {
+            json.append(",\"_meta\":{");
+            for (int i = 0; i < feature.metaFields().size(); i++) {
+                MetaFieldValue field = feature.metaFields().get(i);
+                string(json.append(i > 0 ? "," : ""), field.key());
+                json.append(':');
+                if (field.type() == MetaField.Type.STRING) {
+                    string(json, field.value());
+                } else {
+                    json.append(metaValue(feature, field));
+                }
+            }
+            json.append('}');
+        }
+        return json.append('}').toString();
+    }
+
+    private static StringBuilder string(StringBuilder json, String value) {
+        JsonStrings.write(value, json);
+        return json;
+    }
+
+    private static String metaValue(FeatureMetadata feature, MetaFieldValue field) {
+        boolean valid;
+        switch (field.type()) {
+        case INT:
+            valid = JsonSyntax.isInteger(field.value());
+            break;
+        case BOOLEAN:
+            valid = field.value().equals("true") || field.value().equals("false");
+            break;
+        default:
+            valid = JsonSyntax.isValue(field.value());
+        }
+        if (!valid) {
+            throw new IllegalArgumentException("Invalid " + field.type() + " value of metadata field " + field.key() + " of "
+                    + feature.name() + ": " + field.value());
+        }
+        return field.value();
+    }
+
+    /**
+     * A page of a list
+     */
+    public static final class Page {
+        private final List<FeatureMetadata> features;
+        private final Optional<String> nextCursor;
+        private final byte[] json;
+
+        private Page(List<FeatureMetadata> features, String nextCursor, byte[] json) {
+            this.features = features;
+            this.nextCursor = Optional.ofNullable(nextCursor);
+            this.json = json;
+        }
+
+        /**
+         * The features on this page
+         *
+         * @return the features
+         */
+        public List<FeatureMetadata> features() {
+            return features;
+        }
+
+        /**
+         * The cursor of the next page
+         *
+         * @return the cursor, or an empty {@code Optional} for the last page
+         */
+        public Optional<String> nextCursor() {
+            return nextCursor;
+        }
+
+        /**
+         * The serialized result of the list request, for example
+         * {@code {"resources":[...],"nextCursor":"..."}}, as UTF-8 encoded JSON
+         *
+         * @return a read-only buffer of the JSON bytes
+         */
+        public ByteBuffer jsonBuffer() {
+            return ByteBuffer.wrap(json).asReadOnlyBuffer();
+        }
+
+        /**
+         * The serialized result of the list request, decoded from {@link #jsonBuffer()}
+         *
+         * @return the JSON
+         */
+        public String json() {
+            return new String(json, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Builder for creating a paged feature list
+     */
+    public static final class Builder {
+        private final FeatureType type;
+        private int pageSize = 100;
+        private Function<FeatureMetadata, String> entryWriter;
+        private ToLongFunction<FeatureMetadata> sizes = FeatureMetadata::size;
+
+        private Builder(FeatureType type) {
+            this.type = Objects.requireNonNull(type, "type");
+            arrayName(type);
+        }
+
+        /**
+         * Sets the maximum number of features on a page. The default is 100.
+         *
+         * @param pageSize the page size
+         * @return this builder
+         */
+        public Builder setPageSize(int pageSize) {
+            if (pageSize < 1) {
+                throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Sets the function which serializes the JSON object of a list entry, such as a
+         * {@code Resource} object in a {@code resources/list} result
+         *
+         * @param entryWriter the entry writer
+         * @return this builder
+         */
+        public Builder setEntryWriter(Function<FeatureMetadata, String> entryWriter) {
+            this.entryWriter = Objects.requireNonNull(entryWriter, "entryWriter");
+            return this;
+        }
+
+        /**
+         * Sets the function which returns the size of a resource for the default entry writer. The
+         * default is {@link FeatureMetadata#size()}.
+         *
+         * @param sizes returns the size of a resource in bytes, or -1 if it is unknown
+         * @return this builder
+         */
+        public Builder setSizes(ToLongFunction<FeatureMetadata> sizes) {
+            this.sizes = Objects.requireNonNull(sizes, "sizes");
+            return this;
+        }
+
+        /**
+         * Builds a list of the features of the type of this builder, in the given order
+         *
+         * @param features the features, features of other types are ignored
+         * @return the new list
+         * @throws IllegalStateException if no entry writer is set for a list of tools or prompts
+         * @throws IllegalArgumentException if a resource has a priority greater than 1, or a
+         * metadata value which is not valid for its type
+         */
+        public PagedFeatureList build(Collection<FeatureMetadata> features) {
+            if (entryWriter == null && type != FeatureType.RESOURCE && type != FeatureType.RESOURCE_TEMPLATE) {
+                throw new IllegalStateException("An entry writer is required to list " + arrayName(type));
+            }
+            return new PagedFeatureList(this, select(type, features));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import java.util.Optional;
+
+import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.McpRequest;
+import org.mcpjava.server.completion.CompletionContext;
+import org.mcpjava.server.progress.Progress;
+import org.mcpjava.server.resources.ResourceUpdatePublisher;
+
+/**
+ * A parameter of a feature method.
+ *
+ * @param name the resolved name of the argument, or the parameter name if the parameter is not an
+ * argument
+ * @param type the type of the parameter, as a canonical type name including type arguments, e.g.
+ * {@code java.util.List<java.lang.String>} or {@code int}
+ * @param kind what the parameter is used for
+ * @param title the human-readable title of the argument, if declared
+ * @param description the description of the argument, if declared
+ * @param required whether the argument is required
+ * @param defaultValue the default value of the argument, if declared
+ */
+public record ParameterMetadata(String name,
+                                String type,
+                                Kind kind,
+                                Optional<String> title,
+                                Optional<String> description,
+                                boolean required,
+                                Optional<String> defaultValue) {
+
+    /**
+     * What a feature method parameter is used for.
+     */
+    public enum Kind {
+        /**
+         * An argument of the tool, prompt, resource template or completion
+         */
+        ARGUMENT,
+        /**
+         * An injected {@link McpRequest}
+         */
+        REQUEST,
+        /**
+         * An injected {@link Cancellation}
+         */
+        CANCELLATION,
+        /**
+         * An injected {@link Progress}
+         */
+        PROGRESS,
+        /**
+         * An injected {@link CompletionContext}
+         */
+        COMPLETION_CONTEXT,
+        /**
+         * An injected {@link ResourceUpdatePublisher}
+         */
+        RESOURCE_UPDATES,
+        /**
+         * A parameter of a type defined by the implementation
+         */
+        OTHER
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.index;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.mcpjava.server.resources.ResourceTemplate;
+
+/**
+ * Finds the {@link ResourceTemplate} which matches a URI.
+ * <p>
+ * All templates are compiled into a single trie of literal characters and variables, so the cost
+ * of a match depends on the length of the URI and the shape of the templates it could match, not
+ * on the number of templates in the index. When a URI matches more than one template, literal
+ * characters take precedence over variables, and a variable matches as many characters as
+ * possible.
+ * <p>
+ * Templates use Level 1 RFC 6570 syntax, in which a variable {@code {name}} expands to a value
+ * with every character other than unreserved characters percent-encoded. Variables therefore
+ * match one or more unreserved or percent-encoded characters, and never match {@code /},
+ * {@code ?}, {@code #} or other reserved characters. Matched values are percent-decoded.
+ * <p>
+ * Instances are immutable and thread-safe.
+ *
+ * @param <T> the type of the value associated with each template
+ */
+public final class UriTemplateIndex<T> {
+
+    private final Node<T> root;
+    private final int maxVariables;
+    private final int size;
+
+    private UriTemplateIndex(Node<T> root, int maxVariables, int size) {
+        this.root = root;
+        this.maxVariables = maxVariables;
+        this.size = size;
+    }
+
+    /**
+     * Creates a builder for an index
+     *
+     * @param <T> the type of the value associated with each template
+     * @return the new builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Creates an index of the {@link FeatureMetadata.Kind#RESOURCE_TEMPLATE resource template}
+     * features in a list of features, which binds each argument parameter to the template variable
+     * of the same name
+     *
+     * @param features the features, features of other kinds are ignored
+     * @return the index
+     * @throws IllegalArgumentException if a URI template is invalid, if two templates match the
+     * same URIs, or if an argument has no matching variable
+     */
+    public static UriTemplateIndex<FeatureMetadata> of(Collection<FeatureMetadata> features) {
+        Builder<FeatureMetadata> builder = builder();
+        for (FeatureMetadata feature : features) {
+            if (feature.kind() != FeatureMetadata.Kind.RESOURCE_TEMPLATE) {
+                continue;
+            }
+            List<String> argumentNames = new ArrayList<>(feature.parameters().size());
+            for (ParameterMetadata parameter : feature.parameters()) {
+                argumentNames.add(parameter.kind() == ParameterMetadata.Kind.ARGUMENT ? parameter.name() : null);
+            }
+            builder.add(feature.uri().orElseThrow(), feature, argumentNames);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Finds the template which matches a URI
+     *
+     * @param uri the URI
+     * @return the match, or an empty {@code Optional} if no template matches
+     */
+    public Optional<Match<T>> match(String uri) {
+        int[] bounds = new int[maxVariables * 2];
+        Template<T> template = match(root, uri, 0, 0, bounds);
+        return template == null ? Optional.empty() : Optional.of(new Match<>(template, uri, bounds));
+    }
+
+    /**
+     * Returns the number of templates in the index
+     *
+     * @return the number of templates
+     */
+    public int size() {
+        return size;
+    }
+
+    private static <T> Template<T> match(Node<T> node, String uri, int position, int variable, int[] bounds) {
+        if (position == uri.length()) {
+            return node.template;
+        }
+        Node<T> literal = node.literal(uri.charAt(position));
+        if (literal != null) {
+            Template<T> result = match(literal, uri, position + 1, variable, bounds);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (node.variable != null) {
+            int end = position;
+            while (end < uri.length() && isValueChar(uri.charAt(end))) {
+                end++;
+            }
+            for (int e = end; e > position; e--) {
+                bounds[variable * 2] = position;
+                bounds[variable * 2 + 1] = e;
+                Template<T> result = match(node.variable, uri, e, variable + 1, bounds);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether a character can appear in the expansion of a Level 1 variable, which are the
+     * unreserved characters and the {@code %} of a percent-encoded character
+     */
+    private static boolean isValueChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~' || c == '%';
+    }
+
+    /**
+     * A URI matched by a template, with the values of the template's variables
+     *
+     * @param <T> the type of the value associated with the template
+     */
+    public static final class Match<T> {
+        private final Template<T> template;
+        private final String uri;
+        private final int[] bounds;
+
+        private Match(Template<T> template, String uri, int[] bounds) {
+            this.template = template;
+            this.uri = uri;
+            this.bounds = bounds;
+        }
+
+        /**
+         * Returns the value associated with the matching template
+         *
+         * @return the value
+         */
+        public T value() {
+            return template.value;
+        }
+
+        /**
+         * Returns the matching URI template
+         *
+         * @return the URI template
+         */
+        public String uriTemplate() {
+            return template.uriTemplate;
+        }
+
+        /**
+         * Returns the number of variables in the template
+         *
+         * @return the number of variables
+         */
+        public int variableCount() {
+            return template.variableNames.length;
+        }
+
+        /**
+         * Returns the name of a variable, by its position in the template
+         *
+         * @param index the index of the variable in the template
+         * @return the variable name
+         */
+        public String variableName(int index) {
+            return template.variableNames[index];
+        }
+
+        /**
+         * Returns the percent-decoded value of a variable, by its position in the template
+         *
+         * @param index the index of the variable in the template
+         * @return the variable value
+         */
+        public String variable(int index) {
+            Objects.checkIndex(index, template.variableNames.length);
+            return decode(uri, bounds[index * 2], bounds[index * 2 + 1]);
+        }
+
+        /**
+         * Returns the percent-decoded value of a variable, by its name
+         *
+         * @param name the variable name
+         * @return the variable value, or an empty {@code Optional} if the template has no variable
+         * with that name
+         */
+        public Optional<String> variable(String name) {
+            String[] names = template.variableNames;
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return Optional.of(variable(i));
+                }
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Returns the value of the variable bound to a parameter, for use as the result of
+         * {@link InvocationContext#argument(int)}
+         *
+         * @param position the position of the parameter, which is its index in the argument names
+         * the template was {@linkplain Builder#add(String, Object, List) added} with
+         * @return the variable value, or {@code null} if the parameter is not bound to a variable
+         */
+        public String argument(int position) {
+            int[] slots = template.argumentSlots;
+            if (position >= slots.length || slots[position] < 0) {
+                return null;
+            }
+            return variable(slots[position]);
+        }
+
+        @Override
+        public String toString() {
+            return "Match[" + uri + " -> " + template.uriTemplate + "]";
+        }
+    }
+
+    /**
+     * Builder for a {@link UriTemplateIndex}
+     *
+     * @param <T> the type of the value associated with each template
+     */
+    public static final class Builder<T> {
+        private final List<Template<T>> templates = new ArrayList<>();
+
+        private Builder() {}
+
+        /**
+         * Adds a URI template
+         *
+         * @param uriTemplate the Level 1 URI template
+         * @param value the value to return when the template matches
+         * @return this builder
+         * @throws IllegalArgumentException if the URI template is invalid
+         */
+        public Builder<T> add(String uriTemplate, T value) {
+            return add(uriTemplate, value, List.of());
+        }
+
+        /**
+         * Adds a URI template, binding the parameters of a method to its variables
+         *
+         * @param uriTemplate the Level 1 URI template
+         * @param value the value to return when the template matches
+         * @param argumentNames the name of the variable bound to each parameter, by parameter
+         * position, or {@code null} for parameters which are not bound to a variable
+         * @return this builder
+         * @throws IllegalArgumentException if the URI template is invalid or an argument name is
+         * not a variable of the template
+         */
+        public Builder<T> add(String uriTemplate, T value, List<String> argumentNames) {
+            templates.add(Template.parse(uriTemplate, value, argumentNames));
+            return this;
+        }
+
+        /**
+         * Builds the index
+         *
+         * @return the index
+         * @throws IllegalArgumentException if two templates match the same URIs
+         */
+        public UriTemplateIndex<T> build() {
+            Node<T> root = new Node<>();
+            int maxVariables = 0;
+            for (Template<T> template : templates) {
+                Node<T> node = root;
+                for (Object part : template.parts) {
+                    if (part instanceof String) {
+                        String literal = (String) part;
+                        for (int i = 0; i < literal.length(); i++) {
+                            node = node.addLiteral(literal.charAt(i));
+                        }
+                    } else {
+                        if (node.variable == null) {
+                            node.variable = new Node<>();
+                        }
+                        node = node.variable;
+                    }
+                }
+                if (node.template != null) {
+                    throw new IllegalArgumentException("URI templates " + node.template.uriTemplate + " and "
+                            + template.uriTemplate + " match the same URIs");
+                }
+                node.template = template;
+                maxVariables = Math.max(maxVariables, template.variableNames.length);
+            }
+            return new UriTemplateIndex<>(root, maxVariables, templates.size());
+        }
+    }
+
+    /**
+     * A parsed URI template
+     */
+    private static final class Template<T> {
+        private static final Object VARIABLE = new Object();
+
+        private final String uriTemplate;
+        private final T value;
+        /**
+         * Literal strings and {@link #VARIABLE} markers, in order
+         */
+        private final List<Object> parts;
+        private final String[] variableNames;
+        /**
+         * The index of the variable bound to each parameter, or -1
+         */
+        private final int[] argumentSlots;
+
+        private Template(String uriTemplate, T value, List<Object> parts, String[] variableNames, int[] argumentSlots) {
+            this.uriTemplate = uriTemplate;
+            this.value = value;
+            this.parts = parts;
+            this.variableNames = variableNames;
+            this.argumentSlots = argumentSlots;
+        }
+
+        static <T> Template<T> parse(String uriTemplate, T value, List<String> argumentNames) {
+            List<Object> parts = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            int position = 0;
+            while (position < uriTemplate.length()) {
+                int open = uriTemplate.indexOf('{', position);
+                int close = uriTemplate.indexOf('}', position);
+                if (open < 0) {
+                    if (close >= 0) {
+                        throw invalid(uriTemplate, "unmatched '}'");
+                    }
+                    parts.add(uriTemplate.substring(position));
+                    break;
+                }
+                if (close < open) {
+                    throw invalid(uriTemplate, close < 0 ? "unclosed '{'" : "unmatched '}'");
+                }
+                if (open > position) {
+                    parts.add(uriTemplate.substring(position, open));
+                }
+                String name = uriTemplate.substring(open + 1, close);
+                if (name.isEmpty() || !isVariableName(name)) {
+                    throw invalid(uriTemplate, "'{" + name + "}' is not a Level 1 variable");
+                }
+                if (names.contains(name)) {
+                    throw invalid(uriTemplate, "variable '" + name + "' is repeated");
+                }
+                parts.add(VARIABLE);
+                names.add(name);
+                position = close + 1;
+            }
+
+            int[] slots = new int[argumentNames.size()];
+            for (int i = 0; i < slots.length; i++) {
+                String argument = argumentNames.get(i);
+                slots[i] = argument == null ? -1 : names.indexOf(argument);
+                if (argument != null && slots[i] < 0) {
+                    throw invalid(uriTemplate, "no variable for argument '" + argument + "'");
+                }
+            }
+            return new Template<>(uriTemplate, value, List.copyOf(parts), names.toArray(new String[0]), slots);
+        }
+
+        private static boolean isVariableName(String name) {
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                        || c == '_' || c == '%' || (c == '.' && i > 0 && i < name.length() - 1);
+                if (!valid) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static IllegalArgumentException invalid(String uriTemplate, String reason) {
+            return new IllegalArgumentException("Invalid URI template " + uriTemplate + ": " + reason);
+        }
+    }
+
+    /**
+     * A trie node. Literal transitions are held in parallel arrays sorted by character.
+     */
+    private static final class Node<T> {
+        private char[] chars = new char[0];
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private Node<T>[] next = new Node[0];
+        private Node<T> variable;
+        private Template<T> template;
+
+        Node<T> literal(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            return index >= 0 ? next[index] : null;
+        }
+
+        Node<T> addLiteral(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            if (index >= 0) {
+                return next[index];
+            }
+            int insert = -index - 1;
+            char[] newChars = new char[chars.length + 1];
+            Node<T>[] newNext = Arrays.copyOf(next, next.length + 1);
+            System.arraycopy(chars, 0, newChars, 0, insert);
+            System.arraycopy(chars, insert, newChars, insert + 1, chars.length - insert);
+            System.arraycopy(next, insert, newNext, insert + 1, next.length - insert);
+            newChars[insert] = c;
+            Node<T> node = new Node<>();
+            newNext[insert] = node;
+            chars = newChars;
+            next = newNext;
+            return node;
+        }
+    }
+
+    /**
+     * Percent-decodes part of a URI as UTF-8
+     */
+    private static String decode(String uri, int start, int end) {
+        int percent = uri.indexOf('%', start);
+        if (percent < 0 || percent >= end) {
+            return uri.substring(start, end);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(end - start);
+        for (int i = start; i < end; i++) {
+            char c = uri.charAt(i);
+            if (c == '%' && i + 2 < end) {
+                int high = Character.digit(uri.charAt(i + 1), 16);
+                int low = Character.digit(uri.charAt(i + 2), 16);
+                if (high >= 0 && low >= 0) {
+                    bytes.write((high << 4) | low);
+                    i += 2;
+                    continue;
+                }
+            }
+            bytes.write(c);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Build-time index of the features declared in an application.
+ * <p>
+ * The {@code mcp-server-processor} annotation processor generates an implementation of
+ * {@link org.mcpjava.server.spi.index.FeatureIndex} for each compiled module and registers it to be
+ * loadable via {@link java.util.ServiceLoader}. Implementations can use
+ * {@link org.mcpjava.server.spi.index.FeatureIndex#loadFeatures(ClassLoader)} to read the feature
+ * table without scanning the classpath or reading annotations reflectively.
+ * <p>
+ * Users should not use this package.
+ */
+package org.mcpjava.server.spi.index;
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes JSON values in a canonical form, so that equal values always produce the same text.
+ * <p>
+ * Values are the Java representation of decoded JSON: {@code null}, {@link Boolean},
+ * {@link Number}, {@link CharSequence}, {@link Map} with string keys, {@link Iterable} and arrays.
+ * Enum constants are written as their names. The canonical form has no whitespace, object members
+ * are sorted by key, members with a {@code null} value are omitted, and numbers are written
+ * without trailing zeros or a fractional part when they are integral, so that {@code 1},
+ * {@code 1L} and {@code 1.0} are all written as {@code 1}. Numbers which would need more than 32
+ * digits after the decimal point, or more than 32 trailing zeros, are written as their unscaled
+ * value and decimal exponent instead, such as {@code 15e-40}, so that a short number such as
+ * {@code 1e999999999} has a short canonical form. The non-finite numbers {@code NaN}, {@code Infinity} and {@code -Infinity}, which
+ * JSON cannot represent, are written as those bare words, which are not the canonical form of any
+ * JSON value.
+ * <p>
+ * Implementations can use the canonical form as a key for the arguments of a call, for example
+ * to cache or coalesce tool calls.
+ */
+public final class CanonicalJson {
+
+    /**
+     * Numbers whose decimal exponent is larger are written in scientific form, so that the length
+     * of the canonical form of a number does not depend on its magnitude
+     */
+    private static final int MAX_PLAIN_EXPONENT = 32;
+
+    // No default constructor
+    private CanonicalJson() {}
+
+    /**
+     * Returns the canonical form of a JSON value
+     *
+     * @param value the value
+     * @return the canonical JSON text
+     * @throws IllegalArgumentException if the value contains something other than a JSON value
+     */
+    public static String toString(Object value) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            write(value, sb);
+        } catch (IOException e) {
+            // Not thrown by StringBuilder
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the canonical form of a JSON value
+     *
+     * @param value the value
+     * @param out the output
+     * @throws IOException if writing to the output fails
+     * @throws IllegalArgumentException if the value contains something other than a JSON value
+     */
+    public static void write(Object value, Appendable out) throws IOException {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof CharSequence text) {
+            JsonStrings.write(text, out);
+        } else if (value instanceof Boolean) {
+            out.append(value.toString());
+        } else if (value instanceof Number number) {
+            out.append(number(number));
+        } else if (value instanceof Enum<?> constant) {
+            JsonStrings.write(constant.name(), out);
+        } else if (value instanceof Character c) {
+            JsonStrings.write(String.valueOf(c), out);
+        } else if (value instanceof Map<?, ?> map) {
+            writeObject(map, out);
+        } else if (value instanceof Iterable<?> iterable) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : iterable) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                write(element, out);
+            }
+            out.append(']');
+        } else if (value.getClass().isArray()) {
+            out.append('[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                write(Array.get(value, i), out);
+            }
+            out.append(']');
+        } else {
+            throw new IllegalArgumentException("Not a JSON value: " + value.getClass().getName());
+        }
+    }
+
+    private static void writeObject(Map<?, ?> map, Appendable out) throws IOException {
+        TreeMap<String, Object> sorted = new TreeMap<>();
+        for (Map.Entry<?, ?> member : map.entrySet()) {
+            if (!(member.getKey() instanceof CharSequence)) {
+                throw new IllegalArgumentException("Not a JSON object key: " + member.getKey());
+            }
+            if (member.getValue() != null) {
+                sorted.put(member.getKey().toString(), member.getValue());
+            }
+        }
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<String, Object> member : sorted.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            JsonStrings.write(member.getKey(), out);
+            out.append(':');
+            write(member.getValue(), out);
+        }
+        out.append('}');
+    }
+
+    /**
+     * Returns the canonical form of a number
+     *
+     * @param number the number
+     * @return the canonical text
+     */
+    private static String number(Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            // Never more than MAX_PLAIN_EXPONENT trailing zeros
+            return number.toString();
+        }
+        if (number instanceof Double || number instanceof Float) {
+            double value = number.doubleValue();
+            if (Double.isNaN(value)) {
+                return "NaN";
+            }
+            if (Double.isInfinite(value)) {
+                return value > 0 ? "Infinity" : "-Infinity";
+            }
+        }
+        BigDecimal decimal;
+        if (number instanceof BigDecimal d) {
+            decimal = d;
+        } else if (number instanceof BigInteger i) {
+            decimal = new BigDecimal(i);
+        } else {
+            decimal = new BigDecimal(number.toString());
+        }
+        if (decimal.signum() == 0) {
+            return "0";
+        }
+        decimal = decimal.stripTrailingZeros();
+        long exponent = -(long) decimal.scale();
+        if (Math.abs(exponent) <= MAX_PLAIN_EXPONENT) {
+            return decimal.toPlainString();
+        }
+        return decimal.unscaledValue() + "e" + exponent;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * Writes text as JSON strings, escaping it incrementally into the output.
+ * <p>
+ * Runs of characters which need no escaping are appended as ranges of the input, so text is
+ * neither copied into a {@code String} nor escaped into an intermediate buffer first. Text read
+ * from a {@link Reader} is escaped a fixed size chunk at a time, so the memory used does not
+ * depend on the length of the text.
+ */
+public final class JsonStrings {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // No default constructor
+    private JsonStrings() {}
+
+    /**
+     * Writes text as a quoted and escaped JSON string
+     *
+     * @param text the text
+     * @param out the output
+     * @throws IOException if writing to the output fails
+     */
+    public static void write(CharSequence text, Appendable out) throws IOException {
+        out.append('"');
+        escape(text, 0, text.length(), out);
+        out.append('"');
+    }
+
+    /**
+     * Writes text as a quoted and escaped JSON string to a {@code StringBuilder}, which cannot fail
+     *
+     * @param text the text
+     * @param out the output
+     */
+    public static void write(CharSequence text, StringBuilder out) {
+        try {
+            write(text, (Appendable) out);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw IOException", e);
+        }
+    }
+
+    /**
+     * Writes the text read from a reader as a quoted and escaped JSON string. The reader is read
+     * to its end, but not closed.
+     *
+     * @param text the reader
+     * @param out the output
+     * @throws IOException if reading the text or writing to the output fails
+     */
+    public static void write(Reader text, Appendable out) throws IOException {
+        out.append('"');
+        char[] chunk = new char[CHUNK_SIZE];
+        CharBuffer view = CharBuffer.wrap(chunk);
+        int length;
+        while ((length = text.read(chunk)) != -1) {
+            escape(view, 0, length, out);
+        }
+        out.append('"');
+    }
+
+    private static void escape(CharSequence text, int start, int end, Appendable out) throws IOException {
+        int run = start;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            if (run < i) {
+                out.append(text, run, i);
+            }
+            run = i + 1;
+            switch (c) {
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            default:
+                out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+            }
+        }
+        if (run < end) {
+            out.append(text, run, end);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.json;
+
+/**
+ * Checks the syntax of JSON text, so that declared JSON values can be written into pre-serialized
+ * output verbatim.
+ * <p>
+ * Only the syntax is checked, without building the value. Nesting is limited, so that a check
+ * never overflows the stack.
+ */
+public final class JsonSyntax {
+
+    private static final int MAX_DEPTH = 512;
+
+    private final CharSequence text;
+    private int position;
+
+    private JsonSyntax(CharSequence text) {
+        this.text = text;
+    }
+
+    /**
+     * Returns whether text is a single JSON value, optionally surrounded by whitespace
+     *
+     * @param text the text
+     * @return {@code true} if the text is a JSON value
+     */
+    public static boolean isValue(CharSequence text) {
+        JsonSyntax syntax = new JsonSyntax(text);
+        return syntax.value(0) && syntax.skipWhitespace() == text.length();
+    }
+
+    /**
+     * Returns whether text is a JSON integer, such as {@code -12}, with no surrounding whitespace
+     *
+     * @param text the text
+     * @return {@code true} if the text is a JSON integer
+     */
+    public static boolean isInteger(CharSequence text) {
+        JsonSyntax syntax = new JsonSyntax(text);
+        return syntax.integer() && syntax.position == text.length();
+    }
+
+    private boolean value(int depth) {
+        if (depth > MAX_DEPTH) {
+            return false;
+        }
+        skipWhitespace();
+        if (position == text.length()) {
+            return false;
+        }
+        switch (text.charAt(position)) {
+        case '{':
+            return object(depth);
+        case '[':
+            return array(depth);
+        case '"':
+            return string();
+        case 't':
+            return literal("true");
+        case 'f':
+            return literal("false");
+        case 'n':
+            return literal("null");
+        default:
+            return number();
+        }
+    }
+
+    private boolean object(int depth) {
+        position++;
+        if (skipWhitespace() < text.length() && text.charAt(position) == '}') {
+            position++;
+            return true;
+        }
+        do {
+            if (skipWhitespace() == text.length() || text.charAt(position) != '"' || !string()) {
+                return false;
+            }
+            if (!next(':') || !value(depth + 1)) {
+                return false;
+            }
+        } while (next(','));
+        return next('}');
+    }
+
+    private boolean array(int depth) {
+        position++;
+        if (skipWhitespace() < text.length() && text.charAt(position) == ']') {
+            position++;
+            return true;
+        }
+        do {
+            if (!value(depth + 1)) {
+                return false;
+            }
+        } while (next(','));
+        return next(']');
+    }
+
+    private boolean string() {
+        position++;
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return true;
+            }
+            if (c < 0x20) {
+                return false;
+            }
+            if (c == '\\') {
+                if (position == text.length()) {
+                    return false;
+                }
+                char escaped = text.charAt(position++);
+                if (escaped == 'u') {
+                    for (int i = 0; i < 4; i++) {
+                        if (position == text.length() || Character.digit(text.charAt(position++), 16) < 0) {
+                            return false;
+                        }
+                    }
+                } else if ("\"\\/bfnrt".indexOf(escaped) < 0) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean number() {
+        if (!integer()) {
+            return false;
+        }
+        if (position < text.length() && text.charAt(position) == '.') {
+            position++;
+            if (!digits()) {
+                return false;
+            }
+        }
+        if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            position++;
+            if (position < text.length() && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+                position++;
+            }
+            return digits();
+        }
+        return true;
+    }
+
+    private boolean integer() {
+        if (position < text.length() && text.charAt(position) == '-') {
+            position++;
+        }
+        if (position < text.length() && text.charAt(position) == '0') {
+            position++;
+            return true;
+        }
+        return digits();
+    }
+
+    private boolean digits() {
+        int start = position;
+        while (position < text.length() && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+            position++;
+        }
+        return position > start;
+    }
+
+    private boolean literal(String literal) {
+        int end = position + literal.length();
+        if (end > text.length() || !literal.contentEquals(text.subSequence(position, end))) {
+            return false;
+        }
+        position = end;
+        return true;
+    }
+
+    private boolean next(char c) {
+        if (skipWhitespace() < text.length() && text.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private int skipWhitespace() {
+        while (position < text.length()) {
+            char c = text.charAt(position);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.startup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.mcpjava.server.ContentEncoder;
+import org.mcpjava.server.resources.Resource;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.spi.cache.ResourceCache;
+import org.mcpjava.server.spi.cache.ResourceSizes;
+import org.mcpjava.server.spi.index.FeatureInvoker;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.InvocationContext;
+import org.mcpjava.server.spi.index.JsonSchema;
+
+/**
+ * The warm-up phase of a server, which runs when the server starts and marks it
+ * {@linkplain #isReady() ready} when it completes.
+ * <p>
+ * The warm-up:
+ * <ul>
+ * <li>creates the {@linkplain FeatureMetadata#invoker() invoker} and loads the JSON schemas of
+ * every feature</li>
+ * <li>reads every resource declared with {@link Resource#warmUp() @Resource(warmUp = true)}, and
+ * every resource whose size may be {@linkplain Resource#computeSize() computed} and is not yet
+ * known, keeping the response in the {@link ResourceCache} if the resource is
+ * {@link org.mcpjava.server.Cached @Cached} and recording its size in the
+ * {@link ResourceSizes}</li>
+ * <li>encodes a sample value with each {@linkplain Builder#addEncoder(ContentEncoder, Object)
+ * added} {@link ContentEncoder}</li>
+ * <li>makes the {@linkplain Builder#addSampleCall(FeatureMetadata, Object, InvocationContext,
+ * Consumer) added} sample calls of features through their invokers</li>
+ * <li>runs the {@linkplain Builder#addTask(Task) added} tasks of the implementation</li>
+ * </ul>
+ * <p>
+ * This loads and initializes the classes used by the first requests before the server accepts
+ * them, so that they don't see the latency of class loading and of reading expensive resources.
+ * Creating an invoker does not call the feature method, so unless a sample call is added for a
+ * tool, the first call of the tool still loads the classes used to decode its arguments, call its
+ * method and encode its result. Sample calls are opt-in, since only the server knows which calls
+ * are free of side effects.
+ * <p>
+ * The tasks run on the {@linkplain Builder#setExecutor(Executor) executor}, at most
+ * {@linkplain Builder#setParallelism(int) parallelism} at a time, so the warm-up does not occupy
+ * more threads of a shared executor than allowed. By default, they run one after the other on the
+ * thread which calls {@link #start()}. A task which fails, including with an error such as
+ * {@link ExceptionInInitializerError}, does not stop the warm-up: its exception is passed to the
+ * uncaught exception handler of the thread which ran it, and the work is done on first use
+ * instead. Only a {@link VirtualMachineError} stops the worker which runs the task, and the
+ * warm-up still completes.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class WarmUp {
+
+    private final List<Task> tasks;
+    private final Executor executor;
+    private final int parallelism;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    /**
+     * A unit of warm-up work
+     */
+    @FunctionalInterface
+    public interface Task {
+
+        /**
+         * Runs the task
+         *
+         * @throws Exception if the task fails
+         */
+        void run() throws Exception;
+    }
+
+    private WarmUp(Builder builder) {
+        this.tasks = List.copyOf(builder.tasks());
+        this.executor = builder.executor;
+        this.parallelism = builder.parallelism;
+    }
+
+    /**
+     * Creates a new builder for the warm-up of features
+     *
+     * @param features the features of the server
+     * @return the new builder
+     */
+    public static Builder builder(Collection<FeatureMetadata> features) {
+        return new Builder(features);
+    }
+
+    /**
+     * Starts the warm-up, if it has not already been started.
+     * <p>
+     * If no executor is set, the warm-up runs on the calling thread, and has completed when this
+     * method returns.
+     *
+     * @return a future which completes when all tasks have completed, whether or not they failed
+     */
+    public CompletableFuture<Void> start() {
+        if (!started.compareAndSet(false, true)) {
+            return completion;
+        }
+        if (tasks.isEmpty()) {
+            completion.complete(null);
+            return completion;
+        }
+        Queue<Task> queue = new ConcurrentLinkedQueue<>(tasks);
+        int workers = Math.min(parallelism, tasks.size());
+        AtomicInteger running = new AtomicInteger(workers);
+        Runnable worker = () -> {
+            try {
+                drain(queue);
+            } finally {
+                if (running.decrementAndGet() == 0) {
+                    completion.complete(null);
+                }
+            }
+        };
+        for (int i = 0; i < workers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // Don't leave the server unready if the executor is shut down or saturated
+                worker.run();
+            }
+        }
+        return completion;
+    }
+
+    /**
+     * Whether the warm-up has completed, so that the server can report that it is ready
+     *
+     * @return {@code true} if all tasks have completed
+     */
+    public boolean isReady() {
+        return completion.isDone();
+    }
+
+    /**
+     * The number of warm-up tasks
+     *
+     * @return the number of tasks
+     */
+    public int taskCount() {
+        return tasks.size();
+    }
+
+    private static void drain(Queue<Task> queue) {
+        Task task;
+        while ((task = queue.poll()) != null) {
+            try {
+                task.run();
+            } catch (VirtualMachineError e) {
+                throw e;
+            } catch (Throwable e) {
+                // Don't let one failed task stop the warm-up, the work is done on first use instead.
+                // Class initialization errors are expected here, since the warm-up runs it first.
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    /**
+     * Builder for creating a warm-up
+     */
+    public static final class Builder {
+        private final Collection<FeatureMetadata> features;
+        private final List<Task> extraTasks = new ArrayList<>();
+        private Executor executor = Runnable::run;
+        private int parallelism = 1;
+        private ResourceSizes.Reader reader;
+        private ResourceCache cache;
+        private ResourceSizes sizes;
+
+        private Builder(Collection<FeatureMetadata> features) {
+            this.features = List.copyOf(features);
+        }
+
+        /**
+         * Sets the executor which runs the tasks. By default, they run on the thread which calls
+         * {@link WarmUp#start()}.
+         *
+         * @param executor the executor
+         * @return this builder
+         */
+        public Builder setExecutor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tasks which run at the same time on the executor. The default
+         * is 1.
+         *
+         * @param parallelism the maximum number of concurrent tasks
+         * @return this builder
+         */
+        public Builder setParallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets how resources are read. Resources are only read if a reader is set.
+         *
+         * @param reader reads a resource, for example by calling its resource method
+         * @return this builder
+         */
+        public Builder setResourceReader(ResourceSizes.Reader reader) {
+            this.reader = reader;
+            return this;
+        }
+
+        /**
+         * Sets the cache which keeps the responses of {@code @Cached} resources which are read
+         *
+         * @param cache the cache
+         * @return this builder
+         */
+        public Builder setCache(ResourceCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Sets the sizes which record the size of resources which are read
+         *
+         * @param sizes the sizes
+         * @return this builder
+         */
+        public Builder setSizes(ResourceSizes sizes) {
+            this.sizes = sizes;
+            return this;
+        }
+
+        /**
+         * Adds an encoder, which encodes the sample value during the warm-up
+         *
+         * @param <T> the type encoded by the encoder
+         * @param encoder the encoder
+         * @param sample a value to encode, which should be typical of the values the encoder is
+         * used for
+         * @return this builder
+         */
+        public <T> Builder addEncoder(ContentEncoder<T> encoder, T sample) {
+            Objects.requireNonNull(encoder, "encoder");
+            extraTasks.add(() -> encoder.encode(sample));
+            return this;
+        }
+
+        /**
+         * Adds a sample call of a feature, which calls its method through its
+         * {@linkplain FeatureMetadata#invoker() invoker} during the warm-up, so that the invoker,
+         * the method and the classes they use are loaded before the first request. Nothing is
+         * called if no invoker was generated for the feature.
+         * <p>
+         * Only calls which have no side effects should be added, for example of tools declared with
+         * {@link org.mcpjava.server.tools.Tool.Annotations#readOnlyHint() readOnlyHint}. The
+         * implementation typically creates the context by decoding sample JSON arguments as it does
+         * for a request, and converts and encodes the result as it does for a response, so that
+         * those paths are loaded too. The warm-up waits for the result of an asynchronous method.
+         *
+         * @param feature the feature
+         * @param instance the object to call the method on, ignored if the method is static
+         * @param context supplies the sample arguments
+         * @param result receives the value returned by the method, or {@code null} if the method
+         * is {@code void}
+         * @return this builder
+         */
+        public Builder addSampleCall(FeatureMetadata feature, Object instance, InvocationContext context,
+                                     Consumer<Object> result) {
+            Objects.requireNonNull(feature, "feature");
+            Objects.requireNonNull(context, "context");
+            Objects.requireNonNull(result, "result");
+            extraTasks.add(() -> {
+                FeatureInvoker invoker = feature.invoker().orElse(null);
+                if (invoker == null) {
+                    return;
+                }
+                Object value;
+                try {
+                    value = invoker.invokeAsync(instance, context).toCompletableFuture().join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+                result.accept(value);
+            });
+            return this;
+        }
+
+        /**
+         * Adds a task of the implementation, for example to initialize its JSON serialization
+         *
+         * @param task the task
+         * @return this builder
+         */
+        public Builder addTask(Task task) {
+            extraTasks.add(Objects.requireNonNull(task, "task"));
+            return this;
+        }
+
+        /**
+         * Builds the warm-up
+         *
+         * @return the new warm-up
+         */
+        public WarmUp build() {
+            return new WarmUp(this);
+        }
+
+        private List<Task> tasks() {
+            List<Task> result = new ArrayList<>();
+            for (FeatureMetadata feature : features) {
+                result.add(() -> {
+                    feature.invoker();
+                    feature.inputSchema().ifPresent(JsonSchema::json);
+                    feature.outputSchema().ifPresent(JsonSchema::json);
+                });
+                if (reads(feature)) {
+                    ResourceSizes.Reader r = reader;
+                    ResourceCache c = cache;
+                    ResourceSizes s = sizes;
+                    result.add(() -> {
+                        ResourceResponse response = r.read(feature);
+                        if (c != null && feature.cache().isPresent()) {
+                            c.put(feature.uri().orElseThrow(), response, feature.cache().get().ttl().orElse(null));
+                        }
+                        if (s != null) {
+                            s.record(feature, response);
+                        }
+                    });
+                }
+            }
+            result.addAll(extraTasks);
+            return result;
+        }
+
+        private boolean reads(FeatureMetadata feature) {
+            if (reader == null || feature.kind() != FeatureMetadata.Kind.RESOURCE || feature.uri().isEmpty()) {
+                return false;
+            }
+            return feature.warmUp() || (sizes != null && feature.computeSize() && sizes.size(feature) == -1);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.subscription;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.mcpjava.server.resources.ResourceUpdatePublisher;
+import org.mcpjava.server.spi.cache.ResourceCache;
+
+/**
+ * The resource subscriptions of the sessions of a server, which sends resource updated
+ * notifications when changes are {@linkplain #publish(String) published}.
+ * <p>
+ * Changes to the same URI which are published within the
+ * {@linkplain Builder#setCoalescingWindow(Duration) coalescing window} are coalesced: the first
+ * change schedules a notification at the end of the window, and later changes within the window
+ * are absorbed by it. A resource which changes continuously therefore causes at most one
+ * notification per window to each subscriber, however often it changes. By default, the window is
+ * zero, and every change is sent immediately.
+ * <p>
+ * Publishing does not lock, and costs a single map lookup for URIs which have no subscribers.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @param <S> the type which identifies a session
+ */
+public final class ResourceSubscriptions<S> implements ResourceUpdatePublisher {
+
+    private final ConcurrentMap<String, Set<S>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * URIs which have a notification scheduled
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final BiConsumer<S, String> sender;
+    private final long windowNanos;
+    private final ScheduledExecutorService scheduler;
+    private final ResourceCache cache;
+
+    private ResourceSubscriptions(Builder<S> builder) {
+        this.sender = builder.sender;
+        this.windowNanos = builder.window.toNanos();
+        this.scheduler = builder.scheduler;
+        this.cache = builder.cache;
+    }
+
+    /**
+     * Creates a new builder for {@code ResourceSubscriptions}
+     *
+     * @param <S> the type which identifies a session
+     * @param sender sends a {@code notifications/resources/updated} message for a URI to a
+     * session. It is called on the thread which publishes the change, or on a thread of the
+     * scheduler if changes are coalesced, so it should not block.
+     * @return the new builder
+     */
+    public static <S> Builder<S> builder(BiConsumer<S, String> sender) {
+        return new Builder<>(sender);
+    }
+
+    /**
+     * Subscribes a session to a resource, in response to a {@code resources/subscribe} request
+     *
+     * @param uri the URI of the resource
+     * @param session the session
+     * @return {@code true} if the session was not already subscribed to the URI
+     */
+    public boolean subscribe(String uri, S session) {
+        Objects.requireNonNull(session, "session");
+        boolean[] added = new boolean[1];
+        subscribers.compute(Objects.requireNonNull(uri, "uri"), (u, sessions) -> {
+            Set<S> result = sessions == null ? ConcurrentHashMap.newKeySet() : sessions;
+            added[0] = result.add(session);
+            return result;
+        });
+        return added[0];
+    }
+
+    /**
+     * Unsubscribes a session from a resource, in response to a {@code resources/unsubscribe}
+     * request
+     *
+     * @param uri the URI of the resource
+     * @param session the session
+     * @return {@code true} if the session was subscribed to the URI
+     */
+    public boolean unsubscribe(String uri, S session) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(uri, (u, sessions) -> {
+            removed[0] = sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Unsubscribes a session from all resources, for example when the session is closed.
+     * <p>
+     * This visits every subscribed URI, so it is slower than {@link #unsubscribe(String, Object)}.
+     *
+     * @param session the session
+     */
+    public void unsubscribeAll(S session) {
+        for (String uri : subscribers.keySet()) {
+            unsubscribe(uri, session);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If a {@linkplain Builder#setCache(ResourceCache) resource cache} is set, the cached response
+     * for the URI is invalidated immediately, whether or not any session has subscribed to the URI
+     * and whether or not the notification is coalesced.
+     * <p>
+     * If the scheduler rejects the notification, for example because it is shut down, the
+     * notification is sent immediately instead.
+     */
+    @Override
+    public void publish(String uri) {
+        Objects.requireNonNull(uri, "uri");
+        if (cache != null) {
+            cache.invalidate(uri);
+        }
+        if (!subscribers.containsKey(uri)) {
+            return;
+        }
+        if (windowNanos == 0) {
+            send(uri);
+        } else if (pending.add(uri)) {
+            try {
+                scheduler.schedule(() -> flush(uri), windowNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // The scheduler is shut down or saturated, so don't coalesce this change
+                flush(uri);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasSubscribers(String uri) {
+        return subscribers.containsKey(uri);
+    }
+
+    /**
+     * The number of sessions which have subscribed to a resource
+     *
+     * @param uri the URI of the resource
+     * @return the number of sessions
+     */
+    public int subscriberCount(String uri) {
+        Set<S> sessions = subscribers.get(uri);
+        return sessions == null ? 0 : sessions.size();
+    }
+
+    private void flush(String uri) {
+        // Changes published from now on schedule another notification
+        pending.remove(uri);
+        send(uri);
+    }
+
+    private void send(String uri) {
+        Set<S> sessions = subscribers.get(uri);
+        if (sessions == null) {
+            return;
+        }
+        for (S session : sessions) {
+            try {
+                sender.accept(session, uri);
+            } catch (RuntimeException e) {
+                // Don't let one failed session stop the notification of the others
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    /**
+     * Builder for creating resource subscriptions
+     *
+     * @param <S> the type which identifies a session
+     */
+    public static final class Builder<S> {
+        private final BiConsumer<S, String> sender;
+        private Duration window = Duration.ZERO;
+        private ScheduledExecutorService scheduler;
+        private ResourceCache cache;
+
+        private Builder(BiConsumer<S, String> sender) {
+            this.sender = Objects.requireNonNull(sender, "sender");
+        }
+
+        /**
+         * Sets the window within which changes to the same URI are coalesced into one
+         * notification. A {@linkplain #setScheduler(ScheduledExecutorService) scheduler} must also
+         * be set if the window is not zero.
+         *
+         * @param window the coalescing window
+         * @return this builder
+         */
+        public Builder<S> setCoalescingWindow(Duration window) {
+            if (window.isNegative()) {
+                throw new IllegalArgumentException("Negative coalescing window " + window);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Sets the scheduler which sends coalesced notifications at the end of the coalescing
+         * window
+         *
+         * @param scheduler the scheduler
+         * @return this builder
+         */
+        public Builder<S> setScheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Sets a resource cache in which published changes invalidate the cached response
+         *
+         * @param cache the resource cache
+         * @return this builder
+         */
+        public Builder<S> setCache(ResourceCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Builds the resource subscriptions
+         *
+         * @return the new resource subscriptions
+         * @throws IllegalStateException if the coalescing window is not zero and no scheduler is set
+         */
+        public ResourceSubscriptions<S> build() {
+            if (!window.isZero() && scheduler == null) {
+                throw new IllegalStateException("A scheduler is required to coalesce notifications");
+            }
+            return new ResourceSubscriptions<>(this);
+        }
+    }
+}
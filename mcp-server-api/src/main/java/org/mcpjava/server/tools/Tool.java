@@ -22,10 +22,12 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.ExecutionModel;
 import org.mcpjava.server.McpRequest;
 import org.mcpjava.server.McpServer;
 import org.mcpjava.server.content.ContentBlock;
 import org.mcpjava.server.progress.Progress;
+import org.mcpjava.server.resources.ResourceUpdatePublisher;
 
 /**
  * Marks a method as an MCP tool that can be invoked by clients.
@@ -42,6 +44,7 @@ import org.mcpjava.server.progress.Progress;
  * <li>{@link McpRequest} - to access information about the request
  * <li>{@link Cancellation} - to allow processing to be stopped if the client cancels the tool call
  * <li>{@link Progress} - to send progress reports back to the client
+ * <li>{@link ResourceUpdatePublisher} - to notify subscribed clients of resource changes
  * <li>Implementations may define additional types that can be used as parameters
  * <li><strong>All other parameters</strong> are treated as arguments to the tool.
  * In most cases these parameters must be annotated with {@link ToolArg} with the
@@ -59,6 +62,15 @@ import org.mcpjava.server.progress.Progress;
  * <li>{@link ContentBlock} implementations - Used directly in the response</li>
  * <li>List of {@link ContentBlock} or String - Multiple content items in the response</li>
  * <li>{@link ToolResponse} - Used directly as the response</li>
+ * <li>{@link java.util.concurrent.Flow.Publisher Flow.Publisher}, {@link java.util.stream.Stream
+ * Stream} or {@link java.util.Iterator Iterator} of {@link ContentBlock} - The content blocks are
+ * encoded and written as they are produced, with backpressure, as by
+ * {@link ToolResponse#streaming(java.util.concurrent.Flow.Publisher)}. Streams, and iterators which
+ * are {@link AutoCloseable}, are closed when the response is complete or the client cancels the
+ * call. Such tools cannot return structured content.</li>
+ * <li>{@link java.util.concurrent.CompletionStage CompletionStage} of any of these types - The method
+ * completes asynchronously, and the response is sent when the stage completes, without a thread
+ * waiting for it</li>
  * <li>Other types - Encoded according to framework-specific rules (typically as JSON)</li>
  * </ul>
  *
@@ -111,6 +123,14 @@ public @interface Tool {
      */
     String description() default "";
 
+    /**
+     * How the implementation runs the method. By default, the implementation chooses.
+     *
+     * @return the execution model
+     * @see ExecutionModel
+     */
+    ExecutionModel executionModel() default ExecutionModel.DEFAULT;
+
     /**
      * Behavioral hints and annotations for this tool.
      * <p>
@@ -190,7 +210,7 @@ public @interface Tool {
          * If true, calling the tool repeatedly with the same arguments will have no
          * additional effect on its environment (safe to retry).
          * <p>
-         * Default is false.
+         * Default is false. Read-only, idempotent tools may also be {@link org.mcpjava.server.Cached @Cached}.
          * </p>
          *
          * @return true if idempotent
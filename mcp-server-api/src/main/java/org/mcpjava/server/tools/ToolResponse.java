@@ -17,11 +17,15 @@ package org.mcpjava.server.tools;
 
 import static org.mcpjava.server.spi.McpServerSPILoader.getSPI;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 import org.mcpjava.server.MetaCarrier;
 import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.spi.flow.Publishers;
 
 /**
  * The response to a tool call
@@ -31,6 +35,19 @@ import org.mcpjava.server.content.ContentBlock;
  * <p>
  * Returning a {@code ToolResponse} from a {@link Tool}-annotated method gives more control over the
  * response that's returned to the client.
+ * <p>
+ * Tool responses are immutable, so a tool which always returns the same response can create it
+ * once and return it from every call without allocating:
+ *
+ * <pre>{@code
+ * private static final ToolResponse DONE = ToolResponse.ofText("Done");
+ *
+ * @Tool(description = "Resets the counter")
+ * public ToolResponse reset() {
+ *     counter.set(0);
+ *     return DONE;
+ * }
+ * }</pre>
  */
 public interface ToolResponse extends MetaCarrier {
 
@@ -39,11 +56,39 @@ public interface ToolResponse extends MetaCarrier {
      * <p>
      * A tool call can return one or more unstructured {@link ContentBlock content} objects as the
      * result of a tool call.
+     * <p>
+     * For a {@linkplain #isStreaming() streaming} response, this waits for all the content to be
+     * published and holds it in memory, so implementations should use {@link #contentPublisher()}
+     * instead.
      * 
      * @return the result contents
      */
     List<ContentBlock> content();
 
+    /**
+     * Whether the content of this response is produced while the response is written, rather than
+     * held in a list
+     *
+     * @return {@code true} for a response created by {@link #streaming(Flow.Publisher)}
+     */
+    default boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * The unstructured result data, as a publisher which produces each content block when it is
+     * requested.
+     * <p>
+     * Implementations can encode and write each content block as it is published, requesting more
+     * as the output can accept them, and cancel the subscription if the client cancels the call.
+     * The default implementation publishes {@link #content()}.
+     *
+     * @return the publisher of the result contents
+     */
+    default Flow.Publisher<ContentBlock> contentPublisher() {
+        return Publishers.fromList(content());
+    }
+
     /**
      * The structured response data.
      * <p>
@@ -103,6 +148,58 @@ public interface ToolResponse extends MetaCarrier {
         return getSPI().newStructuredToolResponse(structuredContent);
     }
 
+    /**
+     * Creates a new successful streaming {@code ToolResponse}, whose content is produced by a
+     * publisher while the response is written.
+     * <p>
+     * This suits tools which produce many content blocks, such as search hits or log lines, so that
+     * the first blocks are sent before the last are produced. The publisher must honour the demand
+     * of its subscriber, and is usually subscribed to once, by the implementation which writes the
+     * response.
+     *
+     * @param content the publisher of the content blocks
+     * @return the new tool response
+     */
+    static ToolResponse streaming(Flow.Publisher<? extends ContentBlock> content) {
+        return getSPI().streamingToolResponse(content);
+    }
+
+    /**
+     * Creates a new successful streaming {@code ToolResponse}, whose content is produced by a
+     * stream while the response is written. The stream is closed when all of its content has been
+     * written, or when the call is cancelled.
+     *
+     * @param content the stream of content blocks
+     * @return the new tool response
+     * @see Publishers#fromStream(Stream)
+     */
+    static ToolResponse streaming(Stream<? extends ContentBlock> content) {
+        return streaming(Publishers.fromStream(content));
+    }
+
+    /**
+     * Creates a new successful streaming {@code ToolResponse}, whose content is produced by an
+     * iterator while the response is written. If the iterator is {@link AutoCloseable}, it is
+     * closed when all of its content has been written, or when the call is cancelled.
+     *
+     * @param content the iterator of content blocks
+     * @return the new tool response
+     * @see Publishers#fromIterator(Iterator)
+     */
+    static ToolResponse streaming(Iterator<? extends ContentBlock> content) {
+        return streaming(Publishers.fromIterator(content));
+    }
+
+    /**
+     * Returns a successful {@code ToolResponse} with no content. Implementations return a shared
+     * instance, so this doesn't allocate.
+     *
+     * @return the empty tool response
+     */
+    static ToolResponse empty() {
+        return getSPI().emptyToolResponse();
+    }
+
     /**
      * Builder for creating tool responses
      */
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.spi.execution;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads, used when running on Java 21 or later
+ */
+final class VirtualThreads {
+
+    // No default constructor
+    private VirtualThreads() {}
+
+    /**
+     * Returns an executor which runs each task on a new virtual thread
+     *
+     * @param namePrefix the prefix of the thread names
+     * @return the executor
+     */
+    static Executor executor(String namePrefix) {
+        ThreadFactory factory = Thread.ofVirtual().name(namePrefix, 0).factory();
+        return task -> factory.newThread(task).start();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.spi.cache.BlobStore;
+import org.mcpjava.server.spi.cache.BlobStore.Blob;
+
+/**
+ * Test {@link BlobStore} deduplication, reference counting and eviction
+ */
+public class TestBlobStore {
+
+    @Test
+    public void testDeduplication() {
+        BlobStore store = BlobStore.builder().build();
+        byte[] logo = "logo".getBytes(StandardCharsets.UTF_8);
+
+        Blob first = store.intern(logo);
+        ByteBuffer direct = ByteBuffer.allocateDirect(8).put(logo).flip();
+        Blob second = store.intern(direct);
+        assertSame(first, second);
+        assertEquals(0, direct.position());
+        assertEquals("bG9nbw==", first.base64());
+        assertArrayEquals(logo, first.data());
+        assertEquals(4, first.size());
+        assertEquals(64, first.hash().length());
+        assertEquals(first.hash(), BlobStore.hash(ByteBuffer.wrap(logo)));
+        assertEquals(1, store.size());
+        assertEquals(1, store.inUse());
+
+        assertSame(first, store.acquire(first.hash()).orElseThrow());
+        first.release();
+        first.release();
+        assertEquals(1, store.inUse());
+        second.release();
+        assertEquals(0, store.inUse());
+        // unused blobs stay stored until the store is full
+        assertEquals(1, store.size());
+        assertThrows(IllegalStateException.class, first::release);
+        assertSame(first, store.intern(logo));
+    }
+
+    @Test
+    public void testEviction() {
+        // room for two blobs of this size
+        BlobStore store = BlobStore.builder().setMaximumWeight(2 * (1400 + 160)).build();
+        Blob a = store.intern(data('a'));
+        Blob b = store.intern(data('b'));
+        a.release();
+        b.release();
+        assertEquals(2, store.size());
+
+        // a is the least recently used
+        store.intern(data('a')).release();
+        Blob c = store.intern(data('c'));
+        assertEquals(2, store.size());
+        assertTrue(store.acquire(b.hash()).isEmpty());
+        Blob storedA = store.acquire(a.hash()).orElseThrow();
+
+        // blobs in use are not evicted, and a full store doesn't grow
+        Blob d = store.intern(data('d'));
+        assertFalse(d.isStored());
+        assertTrue(c.isStored());
+        d.release();
+        assertEquals(2, store.size());
+        assertTrue(store.weight() <= 2 * (1400 + 160));
+        assertNotSame(d, store.intern(data('d')));
+
+        storedA.release();
+        c.release();
+    }
+
+    private static byte[] data(char c) {
+        byte[] data = new byte[1050];
+        Arrays.fill(data, (byte) c);
+        return data;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.spi.execution.FeatureBulkheads;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.BulkheadSettings;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+
+/**
+ * Test that {@link FeatureBulkheads} limits concurrent calls
+ */
+public class TestFeatureBulkheads {
+
+    private final List<CompletableFuture<Object>> started = new ArrayList<>();
+
+    @Test
+    public void testLimit() throws Exception {
+        FeatureMetadata report = FeatureMetadata.builder(Kind.PROMPT, "report", "com.example.Server", "report")
+                                                .addServer("public")
+                                                .addServer("internal")
+                                                .addBulkhead(new BulkheadSettings("", 1, 1))
+                                                .addBulkhead(new BulkheadSettings("internal", 2, 0))
+                                                .build();
+        assertEquals(Optional.of(new BulkheadSettings("", 1, 1)), report.bulkhead("public"));
+        assertEquals(2, report.bulkhead("internal").orElseThrow().maxConcurrent());
+
+        FeatureBulkheads bulkheads = FeatureBulkheads.builder().build();
+        CompletableFuture<Object> first = call(bulkheads, report, "public");
+        CompletableFuture<Object> second = call(bulkheads, report, "public");
+        assertEquals(1, started.size());
+        assertEquals(1, bulkheads.running(report, "public"));
+        assertEquals(1, bulkheads.waiting(report, "public"));
+
+        // the queue is full
+        CompletableFuture<Object> third = call(bulkheads, report, "public");
+        assertInstanceOf(RejectedExecutionException.class, assertThrows(ExecutionException.class, third::get).getCause());
+        assertEquals(1, started.size());
+
+        // each server has its own limit
+        call(bulkheads, report, "internal");
+        call(bulkheads, report, "internal");
+        assertEquals(3, started.size());
+        assertEquals(2, bulkheads.running(report, "internal"));
+
+        // the waiting call starts when the running call completes
+        started.get(0).complete("first");
+        assertEquals("first", first.get());
+        assertEquals(4, started.size());
+        assertFalse(second.isDone());
+        assertEquals(0, bulkheads.waiting(report, "public"));
+        started.get(3).complete("second");
+        assertEquals("second", second.get());
+        assertEquals(0, bulkheads.running(report, "public"));
+    }
+
+    @Test
+    public void testCancelWaiting() throws Exception {
+        FeatureMetadata report = FeatureMetadata.builder(Kind.PROMPT, "report", "com.example.Server", "report")
+                                                .addBulkhead(new BulkheadSettings("", 1, 2))
+                                                .build();
+        FeatureBulkheads bulkheads = FeatureBulkheads.builder().build();
+        call(bulkheads, report, "s");
+        CompletableFuture<Object> cancelled = call(bulkheads, report, "s");
+        CompletableFuture<Object> next = call(bulkheads, report, "s");
+        assertEquals(2, bulkheads.waiting(report, "s"));
+
+        cancelled.cancel(false);
+        assertEquals(1, bulkheads.waiting(report, "s"));
+        started.get(0).completeExceptionally(new IllegalStateException("failed"));
+        assertEquals(2, started.size());
+        started.get(1).complete("next");
+        assertEquals("next", next.get());
+        assertEquals(0, bulkheads.running(report, "s"));
+    }
+
+    @Test
+    public void testConfiguredLimit() {
+        FeatureMetadata unlimited = FeatureMetadata.builder(Kind.PROMPT, "unlimited", "com.example.Server", "unlimited")
+                                                   .build();
+        FeatureMetadata limited = FeatureMetadata.builder(Kind.PROMPT, "limited", "com.example.Server", "limited")
+                                                 .addBulkhead(new BulkheadSettings("", 4, 0))
+                                                 .build();
+        FeatureBulkheads bulkheads = FeatureBulkheads.builder()
+                                                     .addLimit(Kind.PROMPT, "limited", new BulkheadSettings("", 1, 0))
+                                                     .addLimit(Kind.TOOL, "unlimited", new BulkheadSettings("", 1, 0))
+                                                     .build();
+        assertEquals(1, bulkheads.limit(limited, "s").orElseThrow().maxConcurrent());
+        assertTrue(bulkheads.limit(unlimited, "s").isEmpty());
+
+        for (int i = 0; i < 3; i++) {
+            call(bulkheads, unlimited, "s");
+        }
+        assertEquals(3, started.size());
+        assertEquals(0, bulkheads.running(unlimited, "s"));
+
+        call(bulkheads, limited, "s");
+        assertTrue(call(bulkheads, limited, "s").isCompletedExceptionally());
+        assertEquals(4, started.size());
+    }
+
+    @Test
+    public void testSynchronousWaiters() throws Exception {
+        int waiters = 100_000;
+        FeatureMetadata report = FeatureMetadata.builder(Kind.PROMPT, "report", "com.example.Server", "report")
+                                                .addBulkhead(new BulkheadSettings("", 1, waiters))
+                                                .build();
+        FeatureBulkheads bulkheads = FeatureBulkheads.builder().build();
+        CompletableFuture<Object> first = call(bulkheads, report, "s");
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        for (int i = 0; i < waiters; i++) {
+            // Calls which complete while they start don't nest the start of the next call
+            results.add(bulkheads.call(report, "s", () -> CompletableFuture.completedFuture("done")).toCompletableFuture());
+        }
+        assertEquals(waiters, bulkheads.waiting(report, "s"));
+        started.get(0).complete("first");
+        assertEquals("first", first.get());
+        for (CompletableFuture<Object> result : results) {
+            assertEquals("done", result.get());
+        }
+        assertEquals(0, bulkheads.running(report, "s"));
+    }
+
+    @Test
+    public void testCallThrowsError() {
+        FeatureMetadata report = FeatureMetadata.builder(Kind.PROMPT, "report", "com.example.Server", "report")
+                                                .addBulkhead(new BulkheadSettings("", 1, 1))
+                                                .build();
+        FeatureBulkheads bulkheads = FeatureBulkheads.builder().build();
+        CompletableFuture<Object> result = bulkheads.call(report, "s", () -> {
+            throw new ExceptionInInitializerError();
+        }).toCompletableFuture();
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(ExceptionInInitializerError.class, e.getCause());
+        assertEquals(0, bulkheads.running(report, "s"));
+    }
+
+    private CompletableFuture<Object> call(FeatureBulkheads bulkheads, FeatureMetadata feature, String server) {
+        return bulkheads.call(feature, server, () -> {
+            CompletableFuture<Object> call = new CompletableFuture<>();
+            started.add(call);
+            return call;
+        }).toCompletableFuture();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.ExecutionModel;
+import org.mcpjava.server.spi.execution.FeatureExecutors;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+
+/**
+ * Test that {@link FeatureExecutors} runs features according to their execution model
+ */
+public class TestFeatureExecutors {
+
+    @Test
+    public void testExecutionModels() throws Exception {
+        ExecutorService blocking = Executors.newSingleThreadExecutor(r -> new Thread(r, "blocking"));
+        try {
+            FeatureExecutors executors = FeatureExecutors.builder(blocking).build();
+            String caller = Thread.currentThread().getName();
+
+            assertEquals("blocking", threadName(executors, tool(ExecutionModel.DEFAULT, false)));
+            assertEquals(caller, threadName(executors, tool(ExecutionModel.DEFAULT, true)));
+            assertEquals("blocking", threadName(executors, tool(ExecutionModel.BLOCKING, true)));
+            assertEquals(caller, threadName(executors, tool(ExecutionModel.NON_BLOCKING, false)));
+
+            String virtual = threadName(executors, tool(ExecutionModel.VIRTUAL_THREAD, false));
+            if (FeatureExecutors.virtualThreadsSupported()) {
+                assertTrue(virtual.startsWith("mcp-feature-"), virtual);
+            } else {
+                assertEquals("blocking", virtual);
+            }
+            FeatureExecutors platformOnly = FeatureExecutors.builder(blocking).setVirtualThreads(false).build();
+            assertEquals("blocking", threadName(platformOnly, tool(ExecutionModel.VIRTUAL_THREAD, false)));
+        } finally {
+            blocking.shutdown();
+        }
+
+        // a shut down executor rejects the call
+        CompletableFuture<Object> rejected = FeatureExecutors.builder(blocking).build()
+                                                             .invoke(tool(ExecutionModel.BLOCKING, false), null, null)
+                                                             .toCompletableFuture();
+        assertInstanceOf(RejectedExecutionException.class, assertThrows(ExecutionException.class, rejected::get).getCause());
+    }
+
+    private static String threadName(FeatureExecutors executors, FeatureMetadata feature) throws Exception {
+        return (String) executors.invoke(feature, null, null).toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    private static FeatureMetadata tool(ExecutionModel model, boolean asynchronous) {
+        FeatureMetadata.Builder builder = FeatureMetadata.builder(Kind.TOOL, "tool", "com.example.Server", "tool")
+                                                         .setExecutionModel(model)
+                                                         .setInvoker(id -> (instance, context) -> Thread.currentThread().getName(), 0);
+        if (asynchronous) {
+            builder.setReturnType("java.util.concurrent.CompletionStage<java.lang.String>")
+                   .setResultType("java.lang.String");
+        }
+        return builder.build();
+    }
+}
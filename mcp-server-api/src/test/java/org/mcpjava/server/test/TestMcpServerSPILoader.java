@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.spi.McpServerSPI;
+import org.mcpjava.server.spi.McpServerSPILoader;
+
+/**
+ * Test {@link McpServerSPILoader} resolution and registration
+ */
+public class TestMcpServerSPILoader {
+
+    private final ClassLoader appLoader = TestMcpServerSPILoader.class.getClassLoader();
+    private final ClassLoader deployment1 = new URLClassLoader(new URL[0], appLoader);
+    private final ClassLoader deployment2 = new URLClassLoader(new URL[0], appLoader);
+    private final ClassLoader child = new URLClassLoader(new URL[0], deployment1);
+
+    @AfterEach
+    public void cleanUp() {
+        McpServerSPILoader.unregister(deployment1);
+        McpServerSPILoader.unregister(deployment2);
+    }
+
+    @Test
+    public void testNoImplementation() throws Exception {
+        assertThrows(IllegalStateException.class, () -> withContext(deployment1, McpServerSPILoader::getSPI));
+    }
+
+    @Test
+    public void testPerClassLoader() throws Exception {
+        McpServerSPI spi1 = stub();
+        McpServerSPI spi2 = stub();
+        McpServerSPILoader.register(deployment1, spi1);
+        McpServerSPILoader.register(deployment2, spi2);
+
+        assertSame(spi1, withContext(deployment1, McpServerSPILoader::getSPI));
+        assertSame(spi2, withContext(deployment2, McpServerSPILoader::getSPI));
+        assertSame(spi1, withContext(child, McpServerSPILoader::getSPI));
+        assertSame(spi1, withContext(deployment1, McpServerSPILoader::getSPI));
+
+        McpServerSPI replacement = stub();
+        McpServerSPILoader.register(deployment1, replacement);
+        assertSame(replacement, withContext(deployment1, McpServerSPILoader::getSPI));
+        assertSame(replacement, withContext(child, McpServerSPILoader::getSPI));
+
+        McpServerSPILoader.unregister(deployment1);
+        assertThrows(IllegalStateException.class, () -> withContext(deployment1, McpServerSPILoader::getSPI));
+        assertSame(spi2, withContext(deployment2, McpServerSPILoader::getSPI));
+    }
+
+    private static McpServerSPI stub() {
+        return (McpServerSPI) Proxy.newProxyInstance(McpServerSPI.class.getClassLoader(),
+                                                     new Class<?>[] { McpServerSPI.class },
+                                                     (proxy, method, args) -> {
+                                                         throw new UnsupportedOperationException();
+                                                     });
+    }
+
+    private static <T> T withContext(ClassLoader loader, Callable<T> action) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            return action.call();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.FeatureType;
+import org.mcpjava.server.MetaField;
+import org.mcpjava.server.Role;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.spi.index.PagedFeatureList;
+
+/**
+ * Test {@link PagedFeatureList} pages, cursors and serialization
+ */
+public class TestPagedFeatureList {
+
+    @Test
+    public void testPages() {
+        List<FeatureMetadata> features = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            features.add(resource("r" + i));
+        }
+        features.add(FeatureMetadata.builder(Kind.TOOL, "tool", "com.example.Server", "tool").build());
+
+        PagedFeatureList list = PagedFeatureList.builder(FeatureType.RESOURCE).setPageSize(2).build(features);
+        assertEquals(5, list.features().size());
+        assertEquals(3, list.pageCount());
+
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            PagedFeatureList.Page page = list.page(cursor);
+            page.features().forEach(f -> names.add(f.name()));
+            cursor = page.nextCursor().orElse(null);
+        } while (cursor != null);
+        assertEquals(List.of("r0", "r1", "r2", "r3", "r4"), names);
+
+        String second = list.page(null).nextCursor().orElseThrow();
+        assertEquals("{\"resources\":[{\"uri\":\"file:///r2\",\"name\":\"r2\"},{\"uri\":\"file:///r3\",\"name\":\"r3\"}],"
+                + "\"nextCursor\":\"" + list.page(second).nextCursor().orElseThrow() + "\"}",
+                     list.page(second).json());
+        assertThrows(IllegalArgumentException.class, () -> list.page("bogus"));
+
+        // Unchanged features keep the list and its cursors
+        assertSame(list, list.update(new ArrayList<>(features)));
+
+        features.add(resource("r5"));
+        PagedFeatureList updated = list.update(features);
+        assertNotSame(list, updated);
+        assertEquals(6, updated.features().size());
+        assertThrows(IllegalArgumentException.class, () -> updated.page(second));
+
+        PagedFeatureList empty = PagedFeatureList.builder(FeatureType.RESOURCE_TEMPLATE).build(List.of());
+        assertEquals("{\"resourceTemplates\":[]}", empty.page(null).json());
+        assertTrue(empty.page(null).nextCursor().isEmpty());
+
+        assertThrows(IllegalStateException.class, () -> PagedFeatureList.builder(FeatureType.TOOL).build(features));
+    }
+
+    @Test
+    public void testEntry() {
+        FeatureMetadata template = FeatureMetadata.builder(Kind.RESOURCE_TEMPLATE, "file", "com.example.Server", "file")
+                                                  .setUri("file:///{path}")
+                                                  .setDescription("A \"file\"\n")
+                                                  .setMimeType("text/plain")
+                                                  .setResourceAnnotations(new FeatureMetadata.ResourceAnnotations(List.of(Role.USER, Role.ASSISTANT),
+                                                                                                                  "", 0.5))
+                                                  .addMetaField("example.com/version", MetaField.Type.INT, "2")
+                                                  .addMetaField("label", MetaField.Type.STRING, "x")
+                                                  .build();
+        PagedFeatureList list = PagedFeatureList.builder(FeatureType.RESOURCE_TEMPLATE).build(List.of(template));
+        assertEquals("{\"resourceTemplates\":[{\"uriTemplate\":\"file:///{path}\",\"name\":\"file\","
+                + "\"description\":\"A \\\"file\\\"\\n\",\"mimeType\":\"text/plain\","
+                + "\"annotations\":{\"audience\":[\"user\",\"assistant\"],\"priority\":0.5},"
+                + "\"_meta\":{\"example.com/version\":2,\"label\":\"x\"}}]}",
+                     list.page(null).json());
+        assertEquals(list.page(null).json().length(), list.page(null).jsonBuffer().remaining());
+
+        FeatureMetadata json = FeatureMetadata.builder(Kind.RESOURCE, "a", "com.example.Server", "a")
+                                              .setUri("file:///a")
+                                              .addMetaField("tags", MetaField.Type.JSON, "{\"tags\": [\"a\", 1.5e3, true, null]}")
+                                              .addMetaField("flag", MetaField.Type.BOOLEAN, "false")
+                                              .build();
+        assertEquals("{\"resources\":[{\"uri\":\"file:///a\",\"name\":\"a\","
+                + "\"_meta\":{\"tags\":{\"tags\": [\"a\", 1.5e3, true, null]},\"flag\":false}}]}",
+                     PagedFeatureList.builder(FeatureType.RESOURCE).build(List.of(json)).page(null).json());
+    }
+
+    @Test
+    public void testInvalidEntry() {
+        for (String[] field : new String[][] { { "INT", "1.5" }, { "INT", "" }, { "BOOLEAN", "yes" }, { "JSON", "{\"a\":}" },
+                                              { "JSON", "[1,]" }, { "JSON", "\"a\" \"b\"" }, { "JSON", "[".repeat(1000) + "]".repeat(1000) } }) {
+            FeatureMetadata resource = FeatureMetadata.builder(Kind.RESOURCE, "a", "com.example.Server", "a")
+                                                      .setUri("file:///a")
+                                                      .addMetaField("x", MetaField.Type.valueOf(field[0]), field[1])
+                                                      .build();
+            assertThrows(IllegalArgumentException.class, () -> PagedFeatureList.builder(FeatureType.RESOURCE).build(List.of(resource)),
+                         field[1]);
+        }
+
+        FeatureMetadata priority = FeatureMetadata.builder(Kind.RESOURCE, "a", "com.example.Server", "a")
+                                                  .setUri("file:///a")
+                                                  .setResourceAnnotations(new FeatureMetadata.ResourceAnnotations(List.of(), "",
+                                                                                                                  Double.POSITIVE_INFINITY))
+                                                  .build();
+        assertThrows(IllegalArgumentException.class, () -> PagedFeatureList.builder(FeatureType.RESOURCE).build(List.of(priority)));
+    }
+
+    private static FeatureMetadata resource(String name) {
+        return FeatureMetadata.builder(Kind.RESOURCE, name, "com.example.Server", name).setUri("file:///" + name).build();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.resources.TextResourceContents;
+import org.mcpjava.server.spi.cache.ResourceCache;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+
+/**
+ * Test {@link ResourceCache} loading, eviction, expiry and invalidation
+ */
+public class TestResourceCache {
+
+    @Test
+    public void testGetOrLoad() throws Exception {
+        ResourceCache cache = ResourceCache.builder().build();
+        AtomicInteger loads = new AtomicInteger();
+        ResourceResponse first = cache.getOrLoad("file:///a", null, () -> response("file:///a", "a" + loads.incrementAndGet()));
+        ResourceResponse second = cache.getOrLoad("file:///a", null, () -> response("file:///a", "a" + loads.incrementAndGet()));
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(Optional.of(first), cache.get("file:///a"));
+        assertEquals(ResourceCache.defaultWeight(first), cache.weight());
+
+        assertThrows(IllegalStateException.class, () -> cache.getOrLoad("file:///b", null, () -> {
+            throw new IllegalStateException();
+        }));
+        assertTrue(cache.get("file:///b").isEmpty());
+
+        FeatureMetadata uncached = FeatureMetadata.builder(Kind.RESOURCE, "a", "com.example.Server", "a").build();
+        cache.getOrLoad(uncached, "file:///c", () -> response("file:///c", "c"));
+        assertTrue(cache.get("file:///c").isEmpty());
+
+        FeatureMetadata cached = FeatureMetadata.builder(Kind.RESOURCE, "a", "com.example.Server", "a")
+                                                .setCache(new FeatureMetadata.CacheSettings(Optional.empty()))
+                                                .build();
+        cache.getOrLoad(cached, "file:///c", () -> response("file:///c", "c"));
+        assertTrue(cache.get("file:///c").isPresent());
+    }
+
+    @Test
+    public void testEviction() {
+        ResourceCache cache = ResourceCache.builder().setMaximumSize(3).build();
+        cache.put("file:///1", response("file:///1", "1"), null);
+        cache.put("file:///2", response("file:///2", "2"), null);
+        cache.put("file:///3", response("file:///3", "3"), null);
+        // Read entries get a second chance
+        assertTrue(cache.get("file:///1").isPresent());
+        cache.put("file:///4", response("file:///4", "4"), null);
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.get("file:///1").isPresent());
+        assertTrue(cache.get("file:///2").isEmpty());
+        assertTrue(cache.get("file:///4").isPresent());
+
+        ResourceCache weighted = ResourceCache.builder()
+                                              .setMaximumWeight(10)
+                                              .setWeigher(r -> ((TextResourceContents) r.getContents().get(0)).text().length())
+                                              .build();
+        weighted.put("file:///1", response("file:///1", "12345"), null);
+        weighted.put("file:///2", response("file:///2", "1234"), null);
+        assertEquals(9, weighted.weight());
+        weighted.put("file:///3", response("file:///3", "123"), null);
+        assertEquals(7, weighted.weight());
+        assertTrue(weighted.get("file:///1").isEmpty());
+
+        // Too heavy to cache at all
+        weighted.put("file:///2", response("file:///2", "12345678901"), null);
+        assertTrue(weighted.get("file:///2").isEmpty());
+        assertEquals(3, weighted.weight());
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        ResourceCache cache = ResourceCache.builder().build();
+        cache.put("file:///a", response("file:///a", "a"), Duration.ofMillis(1));
+        cache.put("file:///b", response("file:///b", "b"), Duration.ofDays(1));
+        Thread.sleep(20);
+        assertTrue(cache.get("file:///a").isEmpty());
+        assertTrue(cache.get("file:///b").isPresent());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testInvalidation() {
+        ResourceCache cache = ResourceCache.builder().build();
+        cache.put("file:///a", response("file:///a", "a"), null);
+        cache.put("file:///b", response("file:///b", "b"), null);
+
+        assertFalse(cache.invalidate("file:///a", Instant.now().minusSeconds(60)));
+        assertTrue(cache.get("file:///a").isPresent());
+        assertTrue(cache.invalidate("file:///a", Instant.now().plusSeconds(60)));
+        assertTrue(cache.get("file:///a").isEmpty());
+
+        assertTrue(cache.invalidate("file:///b"));
+        assertFalse(cache.invalidate("file:///b"));
+
+        cache.put("file:///a", response("file:///a", "a"), null);
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+    }
+
+    @Test
+    public void testInvalidatedWhileLoading() throws Exception {
+        ResourceCache cache = ResourceCache.builder().build();
+        ResourceResponse loaded = cache.getOrLoad("file:///a", null, () -> {
+            cache.invalidate("file:///a");
+            return response("file:///a", "a");
+        });
+        assertEquals("a", ((TextResourceContents) loaded.getContents().get(0)).text());
+        assertTrue(cache.get("file:///a").isEmpty());
+        assertEquals(0, cache.weight());
+
+        // Invalidating other URIs does not affect the load
+        cache.getOrLoad("file:///a", null, () -> {
+            cache.invalidate("file:///b");
+            cache.invalidate("file:///c", Instant.now());
+            return response("file:///a", "a");
+        });
+        assertTrue(cache.get("file:///a").isPresent());
+
+        // Only changes made after the load started discard it
+        cache.invalidate("file:///a");
+        cache.getOrLoad("file:///a", null, () -> {
+            cache.invalidate("file:///a", Instant.now().minusSeconds(60));
+            return response("file:///a", "a");
+        });
+        assertTrue(cache.get("file:///a").isPresent());
+        cache.invalidate("file:///a");
+        cache.getOrLoad("file:///a", null, () -> {
+            cache.invalidate("file:///a", Instant.now().plusSeconds(60));
+            return response("file:///a", "a");
+        });
+        assertTrue(cache.get("file:///a").isEmpty());
+
+        cache.getOrLoad("file:///b", null, () -> {
+            cache.invalidateAll();
+            return response("file:///b", "b");
+        });
+        assertTrue(cache.get("file:///b").isEmpty());
+    }
+
+    private static ResourceResponse response(String uri, String text) {
+        return new Response(List.of(new Text(uri, text)));
+    }
+
+    private record Text(String uri, String text) implements TextResourceContents {
+        @Override
+        public Optional<String> mimeType() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+
+    private record Response(List<ResourceContents> getContents) implements ResourceResponse {
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+}
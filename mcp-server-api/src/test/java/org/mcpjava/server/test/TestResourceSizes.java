@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.FeatureType;
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.resources.TextResourceContents;
+import org.mcpjava.server.spi.cache.ResourceCache;
+import org.mcpjava.server.spi.cache.ResourceSizes;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.spi.index.PagedFeatureList;
+
+/**
+ * Test {@link ResourceSizes} computation and warm-up
+ */
+public class TestResourceSizes {
+
+    @Test
+    public void testSizes() throws Exception {
+        FeatureMetadata computed = resource("computed").setComputeSize(true).build();
+        FeatureMetadata declared = resource("declared").setComputeSize(true).setSize(7).build();
+        FeatureMetadata unknown = resource("unknown").build();
+        List<FeatureMetadata> features = List.of(computed, declared, unknown);
+
+        ResourceSizes sizes = new ResourceSizes();
+        assertEquals(-1, sizes.size(computed));
+        assertEquals(7, sizes.size(declared));
+
+        AtomicInteger reads = new AtomicInteger();
+        ResourceSizes.Reader reader = feature -> {
+            reads.incrementAndGet();
+            return response(feature.uri().orElseThrow(), "héllo €😀");
+        };
+        sizes.warmUp(features, reader, Runnable::run).get();
+        assertEquals(1, reads.get());
+        assertEquals("héllo €😀".getBytes(StandardCharsets.UTF_8).length,
+                     sizes.size(computed));
+        assertEquals(-1, sizes.size(unknown));
+
+        // Known sizes are not computed again
+        sizes.warmUp(features, reader, Runnable::run).get();
+        assertEquals(1, reads.get());
+        assertEquals(sizes.size(computed), sizes.record(computed, response("file:///computed", "changed")));
+
+        sizes.invalidate("file:///computed");
+        assertEquals(7, sizes.record(computed, response("file:///computed", "changed")));
+
+        PagedFeatureList list = PagedFeatureList.builder(FeatureType.RESOURCE).setSizes(sizes::size).build(List.of(computed));
+        assertEquals("{\"resources\":[{\"uri\":\"file:///computed\",\"name\":\"computed\",\"size\":7}]}", list.page(null).json());
+        sizes.invalidate("file:///computed");
+        assertEquals("{\"resources\":[{\"uri\":\"file:///computed\",\"name\":\"computed\"}]}", list.rebuild().page(null).json());
+    }
+
+    @Test
+    public void testUnreadText() {
+        // A surrogate pair split between chunks of the reader
+        String text = "a".repeat(8191) + "😀";
+        ResourceResponse read = new Response(List.of(new Streamed("file:///read", text, -1)));
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length, ResourceSizes.sizeOf(read));
+        assertEquals(64 + 64 + 2 * "file:///read".length(), ResourceCache.defaultWeight(read));
+
+        ResourceResponse known = new Response(List.of(new Streamed("file:///known", null, 42)));
+        assertEquals(42, ResourceSizes.sizeOf(known));
+
+        ResourceResponse failing = new Response(List.of(new Streamed("file:///failing", null, -1)));
+        assertThrows(UncheckedIOException.class, () -> ResourceSizes.sizeOf(failing));
+        FeatureMetadata computed = resource("failing").setComputeSize(true).build();
+        assertEquals(-1, new ResourceSizes().record(computed, failing));
+    }
+
+    private static FeatureMetadata.Builder resource(String name) {
+        return FeatureMetadata.builder(Kind.RESOURCE, name, "com.example.Server", name).setUri("file:///" + name);
+    }
+
+    private static ResourceResponse response(String uri, String text) {
+        return new Response(List.of(new Text(uri, text)));
+    }
+
+    private record Text(String uri, String text) implements TextResourceContents {
+        @Override
+        public Optional<String> mimeType() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+
+    /**
+     * Text which is read from a source, and never as a {@code String}
+     */
+    private record Streamed(String uri, String source, long utf8Length) implements TextResourceContents {
+        @Override
+        public String text() {
+            throw new UnsupportedOperationException("Text is not materialized");
+        }
+
+        @Override
+        public Reader textReader() throws IOException {
+            if (source == null) {
+                throw new IOException("unavailable");
+            }
+            return new StringReader(source);
+        }
+
+        @Override
+        public OptionalLong knownUtf8Length() {
+            return utf8Length == -1 ? OptionalLong.empty() : OptionalLong.of(utf8Length);
+        }
+
+        @Override
+        public long textWeight() {
+            return 0;
+        }
+
+        @Override
+        public Optional<String> mimeType() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+
+    private record Response(List<ResourceContents> getContents) implements ResourceResponse {
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.spi.cache.ResourceCache;
+import org.mcpjava.server.spi.subscription.ResourceSubscriptions;
+
+/**
+ * Test {@link ResourceSubscriptions} notifications and coalescing
+ */
+public class TestResourceSubscriptions {
+
+    @Test
+    public void testSubscriptions() {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        ResourceSubscriptions<String> subscriptions = ResourceSubscriptions.<String> builder((s, uri) -> sent.add(s + " " + uri))
+                                                                           .build();
+        assertTrue(subscriptions.subscribe("file:///a", "s1"));
+        assertFalse(subscriptions.subscribe("file:///a", "s1"));
+        assertTrue(subscriptions.subscribe("file:///a", "s2"));
+        assertTrue(subscriptions.subscribe("file:///b", "s1"));
+        assertEquals(2, subscriptions.subscriberCount("file:///a"));
+
+        subscriptions.publish("file:///a");
+        subscriptions.publish("file:///c");
+        assertEquals(List.of("s1 file:///a", "s2 file:///a"), sent.stream().sorted().toList());
+
+        sent.clear();
+        assertTrue(subscriptions.unsubscribe("file:///a", "s2"));
+        assertFalse(subscriptions.unsubscribe("file:///a", "s2"));
+        subscriptions.unsubscribeAll("s1");
+        assertFalse(subscriptions.hasSubscribers("file:///a"));
+        assertFalse(subscriptions.hasSubscribers("file:///b"));
+        subscriptions.publish("file:///a");
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void testCacheInvalidation() {
+        ResourceCache cache = ResourceCache.builder().build();
+        List<String> sent = new CopyOnWriteArrayList<>();
+        ResourceSubscriptions<String> subscriptions = ResourceSubscriptions.<String> builder((s, uri) -> sent.add(s + " " + uri))
+                                                                           .setCache(cache)
+                                                                           .build();
+        cache.put("file:///a", new Response(List.of()), null);
+
+        // The cached response is invalidated even though no session has subscribed
+        subscriptions.publish("file:///a");
+        assertTrue(cache.get("file:///a").isEmpty());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void testCoalescing() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            List<String> sent = new CopyOnWriteArrayList<>();
+            ResourceSubscriptions<String> subscriptions = ResourceSubscriptions.<String> builder((s, uri) -> sent.add(s + " " + uri))
+                                                                               .setCoalescingWindow(Duration.ofMillis(200))
+                                                                               .setScheduler(scheduler)
+                                                                               .build();
+            subscriptions.subscribe("file:///a", "s1");
+            subscriptions.subscribe("file:///a", "s2");
+            for (int i = 0; i < 1000; i++) {
+                subscriptions.publish("file:///a");
+            }
+            assertTrue(sent.isEmpty());
+
+            // Wait for the scheduled notification to be sent
+            scheduler.schedule(() -> null, 300, TimeUnit.MILLISECONDS).get();
+            assertEquals(List.of("s1 file:///a", "s2 file:///a"), sent.stream().sorted().toList());
+
+            subscriptions.publish("file:///a");
+            scheduler.schedule(() -> null, 300, TimeUnit.MILLISECONDS).get();
+            assertEquals(4, sent.size());
+
+            // Changes are sent immediately once the scheduler rejects them
+            scheduler.shutdownNow();
+            subscriptions.publish("file:///a");
+            subscriptions.publish("file:///a");
+            assertEquals(8, sent.size());
+        } finally {
+            scheduler.shutdownNow();
+        }
+
+        assertThrows(IllegalStateException.class,
+                     () -> ResourceSubscriptions.builder((s, uri) -> {}).setCoalescingWindow(Duration.ofSeconds(1)).build());
+    }
+
+    private record Response(List<ResourceContents> getContents) implements ResourceResponse {
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+}
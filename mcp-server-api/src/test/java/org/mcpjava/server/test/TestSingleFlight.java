@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.spi.execution.SingleFlight;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * Test that {@link SingleFlight} shares concurrent identical tool calls
+ */
+public class TestSingleFlight {
+
+    private static final Cancellation.Result NOT_REQUESTED = result(false);
+
+    private static final Cancellation.Result REQUESTED = result(true);
+
+    private static final Cancellation NEVER = () -> NOT_REQUESTED;
+
+    private final List<CompletableFuture<ToolResponse>> started = new ArrayList<>();
+    private final List<Cancellation> cancellations = new ArrayList<>();
+
+    @Test
+    public void testCoalesce() throws Exception {
+        SingleFlight singleFlight = SingleFlight.create();
+        FeatureMetadata search = tool(true);
+        CompletableFuture<ToolResponse> first = call(singleFlight, search, Map.of("q", "a", "limit", 10), NEVER);
+        CompletableFuture<ToolResponse> second = call(singleFlight, search, Map.of("limit", 10.0, "q", "a"), NEVER);
+        CompletableFuture<ToolResponse> other = call(singleFlight, search, Map.of("q", "b"), NEVER);
+        assertEquals(2, started.size());
+        assertEquals(2, singleFlight.inFlight());
+
+        ToolResponse response = new Response(List.of(), false);
+        started.get(0).complete(response);
+        assertSame(response, first.get());
+        assertSame(response, second.get());
+        assertFalse(other.isDone());
+        assertEquals(1, singleFlight.inFlight());
+
+        // a completed call is not shared with later calls
+        call(singleFlight, search, Map.of("q", "a", "limit", 10), NEVER);
+        assertEquals(3, started.size());
+
+        // calls of tools which are not idempotent are always made
+        FeatureMetadata update = tool(false);
+        call(singleFlight, update, Map.of("q", "a"), NEVER);
+        call(singleFlight, update, Map.of("q", "a"), NEVER);
+        assertEquals(5, started.size());
+        assertSame(NEVER, cancellations.get(4));
+    }
+
+    @Test
+    public void testCancellation() {
+        SingleFlight singleFlight = SingleFlight.create();
+        FeatureMetadata search = tool(true);
+        boolean[] requested = { false };
+        Cancellation client = () -> requested[0] ? REQUESTED : NEVER.check();
+        CompletableFuture<ToolResponse> first = call(singleFlight, search, Map.of("q", "a"), client);
+        CompletableFuture<ToolResponse> second = call(singleFlight, search, Map.of("q", "a"), NEVER);
+        Cancellation shared = cancellations.get(0);
+
+        // one caller cancelling is not enough
+        requested[0] = true;
+        assertFalse(shared.check().isRequested());
+        second.cancel(false);
+        assertTrue(shared.check().isRequested());
+        assertFalse(first.isDone());
+
+        // when every caller has cancelled its stage, the next call starts again
+        first.cancel(false);
+        assertEquals(0, singleFlight.inFlight());
+        call(singleFlight, search, Map.of("q", "a"), NEVER);
+        assertEquals(2, started.size());
+        assertFalse(cancellations.get(1).check().isRequested());
+
+        // when every caller has cancelled through its cancellation, the execution is aborted
+        requested[0] = true;
+        CompletableFuture<ToolResponse> aborted = call(singleFlight, search, Map.of("q", "b"), client);
+        assertTrue(cancellations.get(2).check().isRequested());
+        assertEquals(1, singleFlight.inFlight());
+        call(singleFlight, search, Map.of("q", "b"), NEVER);
+        assertEquals(4, started.size());
+        assertFalse(aborted.isDone());
+    }
+
+    @Test
+    public void testCallThrowsError() throws Exception {
+        SingleFlight singleFlight = SingleFlight.create();
+        FeatureMetadata search = tool(true);
+        CompletableFuture<ToolResponse> failed = singleFlight.call(search, "s", Map.of("q", "a"), NEVER, c -> {
+            throw new ExceptionInInitializerError();
+        }).toCompletableFuture();
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(ExceptionInInitializerError.class, e.getCause());
+        assertEquals(0, singleFlight.inFlight());
+
+        // a later identical call does not join the failed one
+        CompletableFuture<ToolResponse> next = call(singleFlight, search, Map.of("q", "a"), NEVER);
+        ToolResponse response = new Response(List.of(), false);
+        started.get(0).complete(response);
+        assertSame(response, next.get());
+    }
+
+    @Test
+    public void testScope() {
+        SingleFlight singleFlight = SingleFlight.create();
+        FeatureMetadata search = tool(true);
+        call(singleFlight, search, "s1", Map.of("q", "a"));
+        call(singleFlight, search, "s2", Map.of("q", "a"));
+        assertEquals(2, started.size());
+
+        // calls outside a session are not coalesced
+        call(singleFlight, search, null, Map.of("q", "a"));
+        call(singleFlight, search, null, Map.of("q", "a"));
+        assertEquals(4, started.size());
+
+        // tools with the same name in another class are different tools
+        FeatureMetadata other = FeatureMetadata.builder(Kind.TOOL, "search", "com.example.Other", "search")
+                                               .setToolAnnotations(new FeatureMetadata.ToolAnnotations("", true, false, true, false))
+                                               .build();
+        call(singleFlight, other, "s1", Map.of("q", "a"));
+        assertEquals(5, started.size());
+
+        // tools whose cached results are shared by all sessions share their calls too
+        FeatureMetadata shared = FeatureMetadata.builder(Kind.TOOL, "search", "com.example.Shared", "search")
+                                                .setToolAnnotations(new FeatureMetadata.ToolAnnotations("", true, false, true, false))
+                                                .setCache(new FeatureMetadata.CacheSettings(Optional.empty()))
+                                                .build();
+        call(singleFlight, shared, "s1", Map.of("q", "a"));
+        call(singleFlight, shared, "s2", Map.of("q", "a"));
+        call(singleFlight, shared, null, Map.of("q", "a"));
+        assertEquals(6, started.size());
+    }
+
+    private CompletableFuture<ToolResponse> call(SingleFlight singleFlight, FeatureMetadata tool, String sessionId,
+                                                 Map<String, ?> arguments) {
+        return singleFlight.call(tool, sessionId, arguments, NEVER, c -> {
+            CompletableFuture<ToolResponse> call = new CompletableFuture<>();
+            started.add(call);
+            cancellations.add(c);
+            return call;
+        }).toCompletableFuture();
+    }
+
+    private CompletableFuture<ToolResponse> call(SingleFlight singleFlight, FeatureMetadata tool, Map<String, ?> arguments,
+                                                 Cancellation cancellation) {
+        return singleFlight.call(tool, "s", arguments, cancellation, c -> {
+            CompletableFuture<ToolResponse> call = new CompletableFuture<>();
+            started.add(call);
+            cancellations.add(c);
+            return call;
+        }).toCompletableFuture();
+    }
+
+    private static FeatureMetadata tool(boolean idempotent) {
+        return FeatureMetadata.builder(Kind.TOOL, "search", "com.example.Server", "search")
+                              .setToolAnnotations(new FeatureMetadata.ToolAnnotations("", true, false, idempotent, false))
+                              .build();
+    }
+
+    private static Cancellation.Result result(boolean requested) {
+        return new Cancellation.Result() {
+            @Override
+            public boolean isRequested() {
+                return requested;
+            }
+
+            @Override
+            public Optional<String> reason() {
+                return Optional.empty();
+            }
+        };
+    }
+
+    private record Response(List<ContentBlock> content, boolean isError) implements ToolResponse {
+        @Override
+        public Optional<Object> structuredContent() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.Cached;
+import org.mcpjava.server.content.Annotations;
+import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.content.TextContent;
+import org.mcpjava.server.spi.cache.ToolResultCache;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.spi.index.ParameterMetadata;
+import org.mcpjava.server.spi.json.CanonicalJson;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * Test {@link ToolResultCache} keys, scopes and invalidation
+ */
+public class TestToolResultCache {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void testCanonicalArguments() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("b", List.of(1.50, "x\n"));
+        nested.put("a", null);
+        nested.put("c", Map.of("z", true, "y", new BigDecimal("1E+2")));
+        assertEquals("{\"b\":[1.5,\"x\\n\"],\"c\":{\"y\":100,\"z\":true}}", CanonicalJson.toString(nested));
+
+        // Non-finite numbers don't collide with strings, and large exponents stay short
+        assertEquals("[NaN,Infinity,-Infinity,\"NaN\"]",
+                     CanonicalJson.toString(List.of(Double.NaN, Double.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, "NaN")));
+        assertEquals("1e999999999", CanonicalJson.toString(new BigDecimal("1e999999999")));
+        assertEquals("15e-41", CanonicalJson.toString(new BigDecimal("1.50e-40")));
+        assertEquals("1e33", CanonicalJson.toString(BigInteger.TEN.pow(33)));
+        assertEquals(CanonicalJson.toString(BigInteger.TEN.pow(32)), CanonicalJson.toString(1e32));
+
+        FeatureMetadata tool = tool(Cached.Scope.SHARED);
+        assertEquals("{\"query\":\"rain\"}",
+                     ToolResultCache.canonicalArguments(tool, Map.of("query", "rain", "days", 3.0)));
+        assertEquals("{\"days\":4,\"query\":\"rain\"}",
+                     ToolResultCache.canonicalArguments(tool, Map.of("days", 4L, "query", "rain")));
+    }
+
+    @Test
+    public void testGetOrCall() throws Exception {
+        ToolResultCache cache = ToolResultCache.builder().build();
+        FeatureMetadata tool = tool(Cached.Scope.SHARED);
+        ToolResponse first = call(cache, tool, "s1", Map.of("query", "rain"));
+        assertSame(first, call(cache, tool, "s2", Map.of("query", "rain", "days", 3)));
+        assertEquals(1, calls.get());
+        assertEquals(ToolResultCache.defaultWeight(first), cache.weight());
+
+        call(cache, tool, "s1", Map.of("query", "snow"));
+        assertEquals(2, calls.get());
+
+        // error results are not cached
+        ToolResponse error = new Response(List.of(new Text("failed")), true);
+        cache.getOrCall(tool, null, Map.of("query", "hail"), () -> CompletableFuture.completedFuture(error));
+        assertTrue(cache.get(tool, null, Map.of("query", "hail")).isEmpty());
+
+        // a call which returns no stage fails without leaving its load behind
+        NullPointerException e = assertThrows(NullPointerException.class,
+                                              () -> cache.getOrCall(tool, null, Map.of("query", "fog"), () -> null));
+        assertEquals("call returned null", e.getMessage());
+        call(cache, tool, null, Map.of("query", "fog"));
+        assertTrue(cache.get(tool, null, Map.of("query", "fog")).isPresent());
+
+        // tools without @Cached are always called
+        FeatureMetadata uncached = FeatureMetadata.builder(Kind.TOOL, "forecast", "com.example.Server", "forecast").build();
+        call(cache, uncached, null, Map.of());
+        call(cache, uncached, null, Map.of());
+        assertEquals(5, calls.get());
+
+        assertEquals(3, cache.invalidate("forecast"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+    }
+
+    @Test
+    public void testSessionScope() throws Exception {
+        ToolResultCache cache = ToolResultCache.builder().build();
+        FeatureMetadata tool = tool(Cached.Scope.SESSION);
+        ToolResponse first = call(cache, tool, "s1", Map.of("query", "rain"));
+        assertSame(first, call(cache, tool, "s1", Map.of("query", "rain")));
+        call(cache, tool, "s2", Map.of("query", "rain"));
+        assertEquals(2, calls.get());
+
+        // calls outside a session are not cached
+        call(cache, tool, null, Map.of("query", "rain"));
+        call(cache, tool, null, Map.of("query", "rain"));
+        assertEquals(4, calls.get());
+
+        assertEquals(1, cache.invalidateSession("s1"));
+        assertTrue(cache.get(tool, "s1", Map.of("query", "rain")).isEmpty());
+        assertTrue(cache.get(tool, "s2", Map.of("query", "rain")).isPresent());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        ToolResultCache cache = ToolResultCache.builder().build();
+        FeatureMetadata tool = tool(Cached.Scope.SHARED);
+        // A tool with the same name, declared for another server configuration
+        FeatureMetadata other = FeatureMetadata.builder(Kind.TOOL, "forecast", "com.example.OtherServer", "forecast")
+                                               .addServer("other")
+                                               .setCache(new FeatureMetadata.CacheSettings(Optional.empty()))
+                                               .build();
+        ToolResponse result = call(cache, tool, null, Map.of("query", "rain"));
+        assertNotSame(result, call(cache, other, null, Map.of("query", "rain")));
+        assertEquals(2, cache.size());
+
+        assertEquals(1, cache.invalidate(other));
+        assertSame(result, cache.get(tool, null, Map.of("query", "rain")).orElseThrow());
+
+        // Invalidating a tool while it is called discards only the results of that tool
+        cache.getOrCall(other, null, Map.of("query", "snow"), () -> {
+            cache.invalidate(tool);
+            return CompletableFuture.completedFuture(new Response(List.of(new Text("snow")), false));
+        });
+        assertTrue(cache.get(other, null, Map.of("query", "snow")).isPresent());
+        cache.getOrCall(other, null, Map.of("query", "hail"), () -> {
+            cache.invalidate(other);
+            return CompletableFuture.completedFuture(new Response(List.of(new Text("hail")), false));
+        });
+        assertTrue(cache.get(other, null, Map.of("query", "hail")).isEmpty());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        ToolResultCache cache = ToolResultCache.builder().setMaximumSize(2).build();
+        FeatureMetadata tool = tool(Cached.Scope.SHARED);
+        call(cache, tool, null, Map.of("query", "1"));
+        call(cache, tool, null, Map.of("query", "2"));
+        assertTrue(cache.get(tool, null, Map.of("query", "1")).isPresent());
+        call(cache, tool, null, Map.of("query", "3"));
+        assertEquals(2, cache.size());
+        assertTrue(cache.get(tool, null, Map.of("query", "1")).isPresent());
+        assertTrue(cache.get(tool, null, Map.of("query", "2")).isEmpty());
+
+        ToolResultCache light = ToolResultCache.builder().setMaximumWeight(10).build();
+        call(light, tool, null, Map.of("query", "1"));
+        assertEquals(0, light.size());
+    }
+
+    private ToolResponse call(ToolResultCache cache, FeatureMetadata tool, String session, Map<String, ?> arguments)
+            throws Exception {
+        CompletionStage<ToolResponse> result = cache.getOrCall(tool, session, arguments, () -> {
+            Text text = new Text("result " + calls.incrementAndGet());
+            return CompletableFuture.completedFuture(new Response(List.of(text), false));
+        });
+        return result.toCompletableFuture().get();
+    }
+
+    private static FeatureMetadata tool(Cached.Scope scope) {
+        return FeatureMetadata.builder(Kind.TOOL, "forecast", "com.example.Server", "forecast")
+                              .addParameter(new ParameterMetadata("query", "java.lang.String", ParameterMetadata.Kind.ARGUMENT,
+                                                                  Optional.empty(), Optional.empty(), true, Optional.empty()))
+                              .addParameter(new ParameterMetadata("days", "int", ParameterMetadata.Kind.ARGUMENT,
+                                                                  Optional.empty(), Optional.empty(), false, Optional.of("3")))
+                              .setCache(new FeatureMetadata.CacheSettings(Optional.of(Duration.ofMinutes(5)), scope))
+                              .build();
+    }
+
+    private record Text(String text) implements TextContent {
+        @Override
+        public Optional<Annotations> annotations() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+
+    private record Response(List<ContentBlock> content, boolean isError) implements ToolResponse {
+        @Override
+        public Optional<Object> structuredContent() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+}
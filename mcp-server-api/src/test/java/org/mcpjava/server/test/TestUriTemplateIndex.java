@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.spi.index.UriTemplateIndex;
+import org.mcpjava.server.spi.index.UriTemplateIndex.Match;
+
+/**
+ * Test {@link UriTemplateIndex} matching and binding
+ */
+public class TestUriTemplateIndex {
+
+    @Test
+    public void testMatch() {
+        UriTemplateIndex<String> index = UriTemplateIndex.<String> builder()
+                                                         .add("db:///{database}/tables/{table}", "table")
+                                                         .add("db:///{database}/tables", "tables")
+                                                         .add("db:///main/tables/{table}", "main-table")
+                                                         .add("file:///{name}.{ext}", "file")
+                                                         .add("api:///{version}/users/{userId}", "user", Arrays.asList("userId", null, "version"))
+                                                         .build();
+        assertEquals(5, index.size());
+
+        Match<String> table = index.match("db:///sales/tables/orders").orElseThrow();
+        assertEquals("table", table.value());
+        assertEquals("db:///{database}/tables/{table}", table.uriTemplate());
+        assertEquals("sales", table.variable(0));
+        assertEquals("orders", table.variable(1));
+        assertEquals(Optional.of("orders"), table.variable("table"));
+        assertEquals(Optional.empty(), table.variable("missing"));
+
+        // literals take precedence over variables
+        assertEquals("main-table", index.match("db:///main/tables/orders").orElseThrow().value());
+        assertEquals("tables", index.match("db:///main/tables").orElseThrow().value());
+
+        // variables don't match reserved characters or empty values
+        assertTrue(index.match("db:///a/b/tables/orders").isEmpty());
+        assertTrue(index.match("db:///sales/tables/").isEmpty());
+        assertTrue(index.match("other:///sales").isEmpty());
+
+        // variables match as much as possible, and are percent-decoded
+        Match<String> file = index.match("file:///my%20notes.tar.gz").orElseThrow();
+        assertEquals("my notes.tar", file.variable("name").orElseThrow());
+        assertEquals("gz", file.variable("ext").orElseThrow());
+
+        Match<String> user = index.match("api:///v2/users/caf%C3%A9").orElseThrow();
+        assertEquals("café", user.argument(0));
+        assertNull(user.argument(1));
+        assertEquals("v2", user.argument(2));
+        assertNull(user.argument(3));
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> UriTemplateIndex.builder().add("file:///{+path}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> UriTemplateIndex.builder().add("file:///{path", "x"));
+        assertThrows(IllegalArgumentException.class, () -> UriTemplateIndex.builder().add("file:///{a,b}", "x"));
+        assertThrows(IllegalArgumentException.class, () -> UriTemplateIndex.builder().add("file:///{a}", "x", List.of("b")));
+        UriTemplateIndex.Builder<String> duplicate = UriTemplateIndex.<String> builder()
+                                                                     .add("file:///{a}", "x")
+                                                                     .add("file:///{b}", "y");
+        assertThrows(IllegalArgumentException.class, duplicate::build);
+    }
+}
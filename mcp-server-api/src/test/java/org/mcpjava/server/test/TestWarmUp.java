@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.ContentEncoder;
+import org.mcpjava.server.McpRequest;
+import org.mcpjava.server.completion.CompletionContext;
+import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.progress.Progress;
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.resources.TextResourceContents;
+import org.mcpjava.server.spi.cache.ResourceCache;
+import org.mcpjava.server.spi.cache.ResourceSizes;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.spi.index.InvocationContext;
+import org.mcpjava.server.spi.startup.WarmUp;
+
+/**
+ * Test the {@link WarmUp} phase
+ */
+public class TestWarmUp {
+
+    @Test
+    public void testWarmUp() throws Exception {
+        FeatureMetadata cached = resource("cached").setWarmUp(true)
+                                                   .setCache(new FeatureMetadata.CacheSettings(Optional.empty()))
+                                                   .build();
+        FeatureMetadata sized = resource("sized").setComputeSize(true).build();
+        FeatureMetadata failing = resource("failing").setWarmUp(true).build();
+        FeatureMetadata lazy = resource("lazy").build();
+        FeatureMetadata tool = FeatureMetadata.builder(Kind.TOOL, "tool", "com.example.Server", "tool").build();
+
+        Set<String> reads = ConcurrentHashMap.newKeySet();
+        ResourceSizes.Reader reader = feature -> {
+            String uri = feature.uri().orElseThrow();
+            reads.add(uri);
+            if (feature == failing) {
+                throw new IOException("unavailable");
+            }
+            return response(uri, "hello");
+        };
+        AtomicInteger encoded = new AtomicInteger();
+        ContentEncoder<String> encoder = new ContentEncoder<>() {
+            @Override
+            public ContentBlock encode(String object) {
+                encoded.incrementAndGet();
+                return null;
+            }
+
+            @Override
+            public Class<String> getType() {
+                return String.class;
+            }
+        };
+
+        ResourceCache cache = ResourceCache.builder().build();
+        ResourceSizes sizes = new ResourceSizes();
+        // Failed tasks are reported to the handler of the thread which ran them
+        List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4, task -> {
+            Thread thread = new Thread(task);
+            thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+            return thread;
+        });
+        try {
+            WarmUp warmUp = WarmUp.builder(List.of(cached, sized, failing, lazy, tool))
+                                  .setExecutor(executor)
+                                  .setParallelism(2)
+                                  .setResourceReader(reader)
+                                  .setCache(cache)
+                                  .setSizes(sizes)
+                                  .addEncoder(encoder, "sample")
+                                  .build();
+            assertFalse(warmUp.isReady());
+            CompletableFuture<Void> done = warmUp.start();
+            assertSame(done, warmUp.start());
+            done.get(10, TimeUnit.SECONDS);
+            assertTrue(warmUp.isReady());
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(Set.of("file:///cached", "file:///sized", "file:///failing"), reads);
+        assertTrue(cache.get("file:///cached").isPresent());
+        assertTrue(cache.get("file:///sized").isEmpty());
+        assertEquals(5, sizes.size(sized));
+        assertEquals(1, encoded.get());
+        assertEquals(1, uncaught.size());
+        assertInstanceOf(IOException.class, uncaught.get(0));
+    }
+
+    @Test
+    public void testSampleCall() {
+        FeatureMetadata tool = FeatureMetadata.builder(Kind.TOOL, "echo", "com.example.Server", "echo")
+                                              .setInvoker(id -> (instance, context) -> context.argument(0) + "!", 0)
+                                              .build();
+        FeatureMetadata async = FeatureMetadata.builder(Kind.TOOL, "later", "com.example.Server", "later")
+                                               .setInvoker(id -> (instance, context) -> CompletableFuture.completedFuture("later"), 0)
+                                               .build();
+        FeatureMetadata noInvoker = FeatureMetadata.builder(Kind.TOOL, "private", "com.example.Server", "private").build();
+        List<Object> results = new ArrayList<>();
+        WarmUp warmUp = WarmUp.builder(List.of(tool, async, noInvoker))
+                              .addSampleCall(tool, null, new Context("sample"), results::add)
+                              .addSampleCall(async, null, new Context(), results::add)
+                              .addSampleCall(noInvoker, null, new Context(), results::add)
+                              .build();
+        warmUp.start();
+        assertTrue(warmUp.isReady());
+        assertEquals(List.of("sample!", "later"), results);
+    }
+
+    @Test
+    public void testCallingThread() {
+        AtomicInteger runs = new AtomicInteger();
+        WarmUp warmUp = WarmUp.builder(List.of()).addTask(runs::incrementAndGet).addTask(runs::incrementAndGet).build();
+        warmUp.start();
+        assertTrue(warmUp.isReady());
+        assertEquals(2, runs.get());
+
+        // Errors, such as those of class initialization, don't stop the warm-up
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        List<Throwable> uncaught = new ArrayList<>();
+        thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+        try {
+            WarmUp failing = WarmUp.builder(List.of()).addTask(() -> {
+                throw new ExceptionInInitializerError();
+            }).addTask(() -> {
+                throw new NoClassDefFoundError();
+            }).addTask(runs::incrementAndGet).build();
+            failing.start();
+            assertTrue(failing.isReady());
+            assertEquals(3, runs.get());
+            assertEquals(2, uncaught.size());
+            assertInstanceOf(ExceptionInInitializerError.class, uncaught.get(0));
+            assertInstanceOf(NoClassDefFoundError.class, uncaught.get(1));
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+
+        WarmUp empty = WarmUp.builder(List.of()).build();
+        assertEquals(0, empty.taskCount());
+        assertTrue(empty.start().isDone());
+    }
+
+    private static FeatureMetadata.Builder resource(String name) {
+        return FeatureMetadata.builder(Kind.RESOURCE, name, "com.example.Server", name).setUri("file:///" + name);
+    }
+
+    private static ResourceResponse response(String uri, String text) {
+        return new Response(List.of(new Text(uri, text)));
+    }
+
+    /**
+     * Supplies arguments by position. Injected values are {@code null}.
+     */
+    private static final class Context implements InvocationContext {
+
+        private final Object[] arguments;
+
+        Context(Object... arguments) {
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Object argument(int position) {
+            return arguments[position];
+        }
+
+        @Override
+        public McpRequest request() {
+            return null;
+        }
+
+        @Override
+        public Cancellation cancellation() {
+            return null;
+        }
+
+        @Override
+        public Progress progress() {
+            return null;
+        }
+
+        @Override
+        public CompletionContext completionContext() {
+            return null;
+        }
+    }
+
+    private record Text(String uri, String text) implements TextResourceContents {
+        @Override
+        public Optional<String> mimeType() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+
+    private record Response(List<ResourceContents> getContents) implements ResourceResponse {
+        @Override
+        public Map<String, Object> metadata() {
+            return Map.of();
+        }
+    }
+}
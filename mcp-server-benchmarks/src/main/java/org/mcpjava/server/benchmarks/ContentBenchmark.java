@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mcpjava.server.completion.CompletionResult;
+import org.mcpjava.server.content.ImageContent;
+import org.mcpjava.server.content.TextContent;
+import org.mcpjava.server.resources.BlobResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.tools.ToolResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures creating the objects returned by feature methods
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentBenchmark {
+
+    @Param({ "1024", "65536" })
+    public int binarySize;
+
+    private String text;
+    private List<String> values;
+    private byte[] data;
+    private ByteBuffer directData;
+
+    @Setup
+    public void setUp() {
+        text = "The weather today is sunny";
+        values = List.of("alpha", "beta", "gamma", "delta");
+        data = new byte[binarySize];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        directData = ByteBuffer.allocateDirect(binarySize).put(data).flip();
+    }
+
+    @Benchmark
+    public TextContent textContent() {
+        return TextContent.of(text);
+    }
+
+    @Benchmark
+    public ToolResponse textToolResponse() {
+        return ToolResponse.ofText(text);
+    }
+
+    @Benchmark
+    public ToolResponse builtToolResponse() {
+        return ToolResponse.builder()
+                           .addTextContent(text)
+                           .putMetadata("source", "benchmark")
+                           .build();
+    }
+
+    @Benchmark
+    public CompletionResult completionResult() {
+        return CompletionResult.newResult(values, 10);
+    }
+
+    @Benchmark
+    public ImageContent imageContent() {
+        return ImageContent.of(data, "image/png");
+    }
+
+    @Benchmark
+    public ImageContent imageContentFromDirectBuffer() {
+        return ImageContent.of(directData, "image/png");
+    }
+
+    @Benchmark
+    public ResourceResponse blobResourceResponse() {
+        return ResourceResponse.of("file:///data.bin", data, "application/octet-stream");
+    }
+
+    @Benchmark
+    public BlobResourceContents builtBlobResourceContents() {
+        return BlobResourceContents.builder("file:///data.bin", data)
+                                   .setMimeType("application/octet-stream")
+                                   .build();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.mcpjava.server.progress.ProgressToken;
+import org.mcpjava.server.progress.ProgressTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link ProgressTracker} advance methods.
+ * <p>
+ * Trackers are created by the runtime rather than the SPI, so this uses a tracker which only
+ * accumulates progress, measuring the cost of the default methods of the interface.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProgressBenchmark {
+
+    private final AccumulatingTracker tracker = new AccumulatingTracker();
+
+    @Benchmark
+    public BigDecimal advanceDefaultStep() {
+        tracker.advanceAndForget();
+        return tracker.progress();
+    }
+
+    @Benchmark
+    public BigDecimal advanceLong() {
+        tracker.advanceAndForget(3L);
+        return tracker.progress();
+    }
+
+    @Benchmark
+    public BigDecimal advanceDouble() {
+        tracker.advanceAndForget(0.5d);
+        return tracker.progress();
+    }
+
+    private static final class AccumulatingTracker implements ProgressTracker {
+        private BigDecimal progress = BigDecimal.ZERO;
+
+        @Override
+        public ProgressToken token() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void advanceAndForget(BigDecimal value) {
+            progress = progress.add(value);
+        }
+
+        @Override
+        public <T> T advance(BigDecimal value) {
+            advanceAndForget(value);
+            return null;
+        }
+
+        @Override
+        public BigDecimal progress() {
+            return progress;
+        }
+
+        @Override
+        public Optional<BigDecimal> total() {
+            return Optional.empty();
+        }
+
+        @Override
+        public BigDecimal step() {
+            return BigDecimal.ONE;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.mcpjava.server.spi.index.UriTemplateIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures matching a URI against a {@link UriTemplateIndex}, which should not depend on the
+ * number of templates
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UriTemplateBenchmark {
+
+    @Param({ "10", "1000" })
+    public int templates;
+
+    private UriTemplateIndex<Integer> index;
+    private String uri;
+
+    @Setup
+    public void setUp() {
+        UriTemplateIndex.Builder<Integer> builder = UriTemplateIndex.builder();
+        for (int i = 0; i < templates; i++) {
+            builder.add("tenant" + i + ":///{database}/tables/{table}", i);
+        }
+        index = builder.build();
+        uri = "tenant" + (templates / 2) + ":///sales/tables/orders";
+    }
+
+    @Benchmark
+    public Optional<UriTemplateIndex.Match<Integer>> match() {
+        return index.match(uri);
+    }
+
+    @Benchmark
+    public String matchAndBind() {
+        return index.match(uri).orElseThrow().variable(1);
+    }
+}
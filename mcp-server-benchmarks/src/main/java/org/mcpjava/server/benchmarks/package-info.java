@@ -0,0 +1,25 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * JMH benchmarks for the operations which MCP servers perform on every request.
+ * <p>
+ * The benchmarks run against whichever {@link org.mcpjava.server.spi.McpServerSPI} is found on the
+ * classpath, the reference implementation by default, so that implementations can be compared
+ * using the same measurements. Build with {@code mvn package} and run
+ * {@code java -jar mcp-server-benchmarks/target/benchmarks.jar}, which enables the GC profiler
+ * to report allocation per operation.
+ */
+package org.mcpjava.server.benchmarks;
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+
+import org.mcpjava.server.spi.index.FeatureMetadata;
+
+/**
+ * A feature method found during processing, together with the metadata read from it
+ *
+ * @param method the annotated method
+ * @param declaringType the class which declares the method
+ * @param metadata the metadata which will be written to the index
+ */
+record FeatureModel(ExecutableElement method, TypeElement declaringType, FeatureMetadata metadata) {
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+import org.mcpjava.server.Bulkhead;
+import org.mcpjava.server.Cached;
+import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.ExecutionModel;
+import org.mcpjava.server.Icons;
+import org.mcpjava.server.McpRequest;
+import org.mcpjava.server.McpServer;
+import org.mcpjava.server.MetaField;
+import org.mcpjava.server.Role;
+import org.mcpjava.server.completion.CompleteArg;
+import org.mcpjava.server.completion.CompletionContext;
+import org.mcpjava.server.progress.Progress;
+import org.mcpjava.server.prompts.PromptArg;
+import org.mcpjava.server.resources.ResourceTemplateArg;
+import org.mcpjava.server.resources.ResourceUpdatePublisher;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.spi.index.ParameterMetadata;
+import org.mcpjava.server.tools.Tool;
+import org.mcpjava.server.tools.ToolArg;
+
+/**
+ * Reads the {@link FeatureMetadata} of an annotated feature method
+ */
+final class FeatureReader {
+
+    /**
+     * Every {@code ELEMENT_NAME} constant in the API has the same value
+     */
+    private static final String ELEMENT_NAME = Tool.ELEMENT_NAME;
+
+    private final Mirrors mirrors;
+    private final Messager messager;
+
+    FeatureReader(Mirrors mirrors, Messager messager) {
+        this.mirrors = mirrors;
+        this.messager = messager;
+    }
+
+    FeatureModel read(Kind kind, ExecutableElement method, AnnotationMirror annotation) {
+        TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+        String methodName = method.getSimpleName().toString();
+
+        FeatureMetadata.Builder builder = FeatureMetadata.builder(kind,
+                                                                  featureName(kind, annotation, methodName),
+                                                                  mirrors.binaryName(declaringType),
+                                                                  methodName);
+        builder.setReturnType(mirrors.typeName(method.getReturnType()));
+        mirrors.typeArgument(method.getReturnType(), CompletionStage.class.getName())
+               .ifPresent(t -> builder.setResultType(mirrors.typeName(t)));
+
+        switch (kind) {
+        case TOOL:
+            readTool(builder, method, annotation);
+            break;
+        case PROMPT:
+            readCommon(builder, annotation);
+            break;
+        case RESOURCE:
+            readCommon(builder, annotation);
+            builder.setUri(mirrors.string(annotation, "uri"));
+            builder.setMimeType(nonEmpty(mirrors.string(annotation, "mimeType")));
+            builder.setSize((long) mirrors.number(annotation, "size"));
+            builder.setComputeSize(mirrors.bool(annotation, "computeSize"));
+            builder.setWarmUp(mirrors.bool(annotation, "warmUp"));
+            readResourceAnnotations(builder, annotation);
+            break;
+        case RESOURCE_TEMPLATE:
+            readCommon(builder, annotation);
+            builder.setUri(mirrors.string(annotation, "uriTemplate"));
+            builder.setMimeType(nonEmpty(mirrors.string(annotation, "mimeType")));
+            readResourceAnnotations(builder, annotation);
+            break;
+        default:
+            // Completion methods only have the name of the completed feature
+            break;
+        }
+
+        for (VariableElement parameter : method.getParameters()) {
+            builder.addParameter(readParameter(kind, parameter));
+        }
+
+        List<String> servers = new ArrayList<>(readServers(builder, method));
+        servers.addAll(readServers(builder, declaringType));
+        if (servers.isEmpty()) {
+            servers.add(McpServer.DEFAULT);
+        }
+
+        for (AnnotationMirror metaField : mirrors.findRepeated(method,
+                                                              MetaField.class.getCanonicalName(),
+                                                              MetaField.MetaFields.class.getCanonicalName())) {
+            builder.addMetaField(mirrors.string(metaField, "prefix") + mirrors.string(metaField, "name"),
+                                 MetaField.Type.valueOf(mirrors.enumConstant(metaField, "type")),
+                                 mirrors.string(metaField, "value"));
+        }
+
+        Optional<AnnotationMirror> icons = mirrors.find(method, Icons.class.getCanonicalName())
+                                                  .or(() -> mirrors.find(declaringType, Icons.class.getCanonicalName()));
+        icons.ifPresent(i -> builder.setIconProvider(mirrors.className(i, "iconProvider")));
+
+        mirrors.find(method, Cached.class.getCanonicalName()).ifPresent(c -> readCache(builder, kind, method, c));
+        readBulkheads(builder, method, servers);
+
+        return new FeatureModel(method, declaringType, builder.build());
+    }
+
+    private String featureName(Kind kind, AnnotationMirror annotation, String methodName) {
+        if (kind == Kind.COMPLETE_PROMPT || kind == Kind.COMPLETE_RESOURCE_TEMPLATE) {
+            return mirrors.string(annotation, "value");
+        }
+        return resolveName(mirrors.string(annotation, "name"), methodName);
+    }
+
+    private void readCommon(FeatureMetadata.Builder builder, AnnotationMirror annotation) {
+        builder.setTitle(nonEmpty(mirrors.string(annotation, "title")));
+        builder.setDescription(nonEmpty(mirrors.string(annotation, "description")));
+        builder.setExecutionModel(ExecutionModel.valueOf(mirrors.enumConstant(annotation, "executionModel")));
+    }
+
+    private void readTool(FeatureMetadata.Builder builder, ExecutableElement method, AnnotationMirror annotation) {
+        readCommon(builder, annotation);
+        if (streamsContent(method)) {
+            builder.setStreaming(true);
+            if (mirrors.bool(annotation, "structuredContent")) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                                      "Tools which stream their content cannot return structured content",
+                                      method, annotation);
+            }
+        }
+        if (mirrors.isExplicit(annotation, "annotations")) {
+            AnnotationMirror hints = mirrors.annotation(annotation, "annotations");
+            builder.setToolAnnotations(new FeatureMetadata.ToolAnnotations(mirrors.string(hints, "title"),
+                                                                           mirrors.bool(hints, "readOnlyHint"),
+                                                                           mirrors.bool(hints, "destructiveHint"),
+                                                                           mirrors.bool(hints, "idempotentHint"),
+                                                                           mirrors.bool(hints, "openWorldHint")));
+        }
+        builder.setStructuredContent(mirrors.bool(annotation, "structuredContent"));
+        String outputSchemaFrom = mirrors.className(annotation, "outputSchemaFrom");
+        if (!outputSchemaFrom.equals(Void.class.getName())) {
+            builder.setOutputSchemaFrom(outputSchemaFrom);
+        }
+    }
+
+    private void readResourceAnnotations(FeatureMetadata.Builder builder, AnnotationMirror annotation) {
+        if (mirrors.isExplicit(annotation, "annotations")) {
+            AnnotationMirror hints = mirrors.annotation(annotation, "annotations");
+            List<Role> audience = mirrors.enumConstants(hints, "audience")
+                                         .stream()
+                                         .map(Role::valueOf)
+                                         .toList();
+            builder.setResourceAnnotations(new FeatureMetadata.ResourceAnnotations(audience,
+                                                                                   mirrors.string(hints, "lastModified"),
+                                                                                   mirrors.number(hints, "priority")));
+        }
+    }
+
+    private void readCache(FeatureMetadata.Builder builder, Kind kind, ExecutableElement method, AnnotationMirror cached) {
+        Cached.Scope scope = Cached.Scope.valueOf(mirrors.enumConstant(cached, "scope"));
+        if (kind == Kind.TOOL) {
+            if (!isCacheableTool(method)) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                                      "@Cached is only supported on tools with readOnlyHint = true and idempotentHint = true,"
+                                              + " which do not stream their content",
+                                      method, cached);
+                return;
+            }
+        } else if (kind != Kind.RESOURCE && kind != Kind.RESOURCE_TEMPLATE) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                                  "@Cached is only supported on @Tool, @Resource and @ResourceTemplate methods",
+                                  method, cached);
+            return;
+        } else if (scope != Cached.Scope.SHARED) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                                  "@Cached scope " + scope + " is only supported on @Tool methods",
+                                  method, cached);
+            return;
+        }
+        String ttl = mirrors.string(cached, "ttl");
+        Optional<Duration> duration = Optional.empty();
+        if (!ttl.isEmpty()) {
+            try {
+                duration = Optional.of(Duration.parse(ttl));
+            } catch (DateTimeParseException e) {
+                duration = Optional.of(Duration.ZERO);
+            }
+            if (duration.get().isNegative() || duration.get().isZero()) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                                      "@Cached ttl must be a positive ISO 8601 duration, such as PT5M: " + ttl,
+                                      method, cached);
+                return;
+            }
+        }
+        builder.setCache(new FeatureMetadata.CacheSettings(duration, scope));
+    }
+
+    /**
+     * Whether the result of a method is a publisher, stream or iterator of content
+     */
+    private boolean streamsContent(ExecutableElement method) {
+        TypeMirror result = mirrors.typeArgument(method.getReturnType(), CompletionStage.class.getName())
+                                   .orElse(method.getReturnType());
+        if (result.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        return mirrors.isSubtype(result, Flow.Publisher.class.getCanonicalName())
+                || mirrors.isSubtype(result, Stream.class.getName())
+                || mirrors.isSubtype(result, Iterator.class.getName());
+    }
+
+    private boolean isCacheableTool(ExecutableElement method) {
+        if (streamsContent(method)) {
+            return false;
+        }
+        AnnotationMirror tool = mirrors.find(method, Tool.class.getCanonicalName()).orElseThrow();
+        if (!mirrors.isExplicit(tool, "annotations")) {
+            return false;
+        }
+        AnnotationMirror hints = mirrors.annotation(tool, "annotations");
+        return mirrors.bool(hints, "readOnlyHint") && mirrors.bool(hints, "idempotentHint");
+    }
+
+    private void readBulkheads(FeatureMetadata.Builder builder, ExecutableElement method, List<String> servers) {
+        Set<String> declared = new HashSet<>();
+        for (AnnotationMirror bulkhead : mirrors.findRepeated(method,
+                                                              Bulkhead.class.getCanonicalName(),
+                                                              Bulkhead.Bulkheads.class.getCanonicalName())) {
+            String server = mirrors.string(bulkhead, "server");
+            int maxConcurrent = (int) mirrors.number(bulkhead, "maxConcurrent");
+            int maxWaiting = (int) mirrors.number(bulkhead, "maxWaiting");
+            String error = null;
+            if (maxConcurrent < 1) {
+                error = "@Bulkhead maxConcurrent must be at least 1: " + maxConcurrent;
+            } else if (maxWaiting < 0) {
+                error = "@Bulkhead maxWaiting must not be negative: " + maxWaiting;
+            } else if (!server.isEmpty() && !servers.contains(server)) {
+                error = "@Bulkhead server is not one the method is bound to: " + server;
+            } else if (!declared.add(server)) {
+                error = server.isEmpty() ? "Duplicate @Bulkhead for all servers" : "Duplicate @Bulkhead for server " + server;
+            }
+            if (error != null) {
+                messager.printMessage(Diagnostic.Kind.ERROR, error, method, bulkhead);
+            } else {
+                builder.addBulkhead(new FeatureMetadata.BulkheadSettings(server, maxConcurrent, maxWaiting));
+            }
+        }
+    }
+
+    private List<String> readServers(FeatureMetadata.Builder builder, Element element) {
+        List<String> result = new ArrayList<>();
+        for (AnnotationMirror server : mirrors.findRepeated(element,
+                                                            McpServer.class.getCanonicalName(),
+                                                            McpServer.McpServers.class.getCanonicalName())) {
+            String name = mirrors.string(server, "value");
+            builder.addServer(name);
+            result.add(name);
+        }
+        return result;
+    }
+
+    private ParameterMetadata readParameter(Kind kind, VariableElement parameter) {
+        TypeMirror type = parameter.asType();
+        String typeName = mirrors.typeName(type);
+        String parameterName = parameter.getSimpleName().toString();
+
+        ParameterMetadata.Kind injected = injectedKind(type);
+        if (injected != null) {
+            return new ParameterMetadata(parameterName, typeName, injected,
+                                         Optional.empty(), Optional.empty(), false, Optional.empty());
+        }
+
+        boolean isString = mirrors.isType(type, String.class.getName());
+        switch (kind) {
+        case TOOL: {
+            Optional<AnnotationMirror> arg = mirrors.find(parameter, ToolArg.class.getCanonicalName());
+            String name = arg.map(a -> resolveName(mirrors.string(a, "name"), parameterName)).orElse(parameterName);
+            Optional<String> description = arg.map(a -> nonEmpty(mirrors.string(a, "description")));
+            Optional<String> defaultValue = arg.map(a -> nonEmpty(mirrors.string(a, "defaultValue")));
+            boolean required = arg.map(a -> mirrors.bool(a, "required")).orElse(true)
+                    && defaultValue.isEmpty()
+                    && !isOptional(type);
+            return new ParameterMetadata(name, typeName, ParameterMetadata.Kind.ARGUMENT,
+                                         Optional.empty(), description, required, defaultValue);
+        }
+        case PROMPT: {
+            if (!isString) {
+                break;
+            }
+            Optional<AnnotationMirror> arg = mirrors.find(parameter, PromptArg.class.getCanonicalName());
+            String name = arg.map(a -> resolveName(mirrors.string(a, "name"), parameterName)).orElse(parameterName);
+            Optional<String> defaultValue = arg.map(a -> nonEmpty(mirrors.string(a, "defaultValue")));
+            boolean required = arg.map(a -> mirrors.bool(a, "required")).orElse(true) && defaultValue.isEmpty();
+            return new ParameterMetadata(name, typeName, ParameterMetadata.Kind.ARGUMENT,
+                                         arg.map(a -> nonEmpty(mirrors.string(a, "title"))),
+                                         arg.map(a -> nonEmpty(mirrors.string(a, "description"))),
+                                         required, defaultValue);
+        }
+        case RESOURCE_TEMPLATE:
+            if (isString) {
+                return argument(parameter, ResourceTemplateArg.class.getCanonicalName(), parameterName, typeName);
+            }
+            break;
+        case COMPLETE_PROMPT:
+        case COMPLETE_RESOURCE_TEMPLATE:
+            if (isString) {
+                return argument(parameter, CompleteArg.class.getCanonicalName(), parameterName, typeName);
+            }
+            break;
+        default:
+            break;
+        }
+        return new ParameterMetadata(parameterName, typeName, ParameterMetadata.Kind.OTHER,
+                                     Optional.empty(), Optional.empty(), false, Optional.empty());
+    }
+
+    /**
+     * Creates a required argument whose annotation only allows the name to be customized
+     */
+    private ParameterMetadata argument(VariableElement parameter, String annotation, String parameterName, String typeName) {
+        String name = mirrors.find(parameter, annotation)
+                             .map(a -> resolveName(mirrors.string(a, "name"), parameterName))
+                             .orElse(parameterName);
+        return new ParameterMetadata(name, typeName, ParameterMetadata.Kind.ARGUMENT,
+                                     Optional.empty(), Optional.empty(), true, Optional.empty());
+    }
+
+    private ParameterMetadata.Kind injectedKind(TypeMirror type) {
+        if (mirrors.isType(type, McpRequest.class.getName())) {
+            return ParameterMetadata.Kind.REQUEST;
+        } else if (mirrors.isType(type, Cancellation.class.getName())) {
+            return ParameterMetadata.Kind.CANCELLATION;
+        } else if (mirrors.isType(type, Progress.class.getName())) {
+            return ParameterMetadata.Kind.PROGRESS;
+        } else if (mirrors.isType(type, CompletionContext.class.getName())) {
+            return ParameterMetadata.Kind.COMPLETION_CONTEXT;
+        } else if (mirrors.isType(type, ResourceUpdatePublisher.class.getName())) {
+            return ParameterMetadata.Kind.RESOURCE_UPDATES;
+        }
+        return null;
+    }
+
+    private boolean isOptional(TypeMirror type) {
+        return mirrors.isType(type, Optional.class.getName())
+                || mirrors.isType(type, OptionalInt.class.getName())
+                || mirrors.isType(type, OptionalLong.class.getName())
+                || mirrors.isType(type, OptionalDouble.class.getName());
+    }
+
+    private static String resolveName(String declared, String elementName) {
+        return declared.equals(ELEMENT_NAME) ? elementName : declared;
+    }
+
+    private static String nonEmpty(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor;
+
+import static org.mcpjava.server.processor.SourceBuilder.literal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.mcpjava.server.Cached;
+import org.mcpjava.server.ExecutionModel;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.MetaFieldValue;
+import org.mcpjava.server.spi.index.ParameterMetadata;
+
+/**
+ * Writes the source of a generated {@link org.mcpjava.server.spi.index.FeatureIndex}
+ */
+final class IndexWriter {
+
+    /**
+     * Number of features built by each generated method, keeps each method well below the JVM
+     * method size limit
+     */
+    static final int FEATURES_PER_METHOD = 32;
+
+    private IndexWriter() {}
+
+    /**
+     * Writes an index
+     *
+     * @param invokers the expression which creates the invoker of each feature that has one
+     * @param schemaPath the directory containing the schema resources
+     * @param schemas the schema resources of each tool
+     */
+    static String write(String packageName, String simpleName, boolean generatedAnnotation, List<FeatureModel> features,
+                        Map<FeatureModel, String> invokers, String schemaPath,
+                        Map<FeatureModel, SchemaGenerator.ToolSchemas> schemas) {
+        SourceBuilder src = new SourceBuilder();
+        if (!packageName.isEmpty()) {
+            src.line("package " + packageName + ";").line();
+        }
+        src.line("import java.time.Duration;")
+           .line("import java.util.ArrayList;")
+           .line("import java.util.List;")
+           .line("import java.util.Optional;")
+           .line()
+           .line("import org.mcpjava.server.Cached;")
+           .line("import org.mcpjava.server.ExecutionModel;")
+           .line("import org.mcpjava.server.MetaField;")
+           .line("import org.mcpjava.server.Role;")
+           .line("import org.mcpjava.server.spi.index.FeatureIndex;")
+           .line("import org.mcpjava.server.spi.index.FeatureInvoker;")
+           .line("import org.mcpjava.server.spi.index.FeatureMetadata;")
+           .line("import org.mcpjava.server.spi.index.FeatureMetadata.Kind;")
+           .line("import org.mcpjava.server.spi.index.JsonSchemaResources;")
+           .line("import org.mcpjava.server.spi.index.ParameterMetadata;")
+           .line();
+        if (generatedAnnotation) {
+            src.line("@javax.annotation.processing.Generated(\"" + McpFeatureProcessor.class.getName() + "\")");
+        }
+        src.open("public final class " + simpleName + " implements FeatureIndex {")
+           .line();
+        // SCHEMAS and INVOKERS are used by createFeatures(), so must be initialized before FEATURES
+        if (!schemas.isEmpty()) {
+            src.line("private static final JsonSchemaResources SCHEMAS = new JsonSchemaResources(" + simpleName + ".class, "
+                    + literal(schemaPath) + ");")
+               .line();
+        }
+        if (!invokers.isEmpty()) {
+            src.line("private static final FeatureInvoker.Factory INVOKERS = new Invokers();")
+               .line();
+        }
+        src.line("private static final List<FeatureMetadata> FEATURES = createFeatures();")
+           .line()
+           .line("@Override")
+           .open("public List<FeatureMetadata> features() {")
+           .line("return FEATURES;")
+           .close("}")
+           .line();
+
+        int chunks = (features.size() + FEATURES_PER_METHOD - 1) / FEATURES_PER_METHOD;
+        src.open("private static List<FeatureMetadata> createFeatures() {")
+           .line("List<FeatureMetadata> features = new ArrayList<>(" + features.size() + ");");
+        for (int i = 0; i < chunks; i++) {
+            src.line("addFeatures" + i + "(features);");
+        }
+        src.line("return List.copyOf(features);")
+           .close("}");
+
+        for (int i = 0; i < chunks; i++) {
+            src.line().open("private static void addFeatures" + i + "(List<FeatureMetadata> features) {");
+            int end = Math.min(features.size(), (i + 1) * FEATURES_PER_METHOD);
+            for (int j = i * FEATURES_PER_METHOD; j < end; j++) {
+                FeatureModel feature = features.get(j);
+                writeFeature(src, feature.metadata(), schemas.get(feature), invokers.containsKey(feature) ? j : -1);
+            }
+            src.close("}");
+        }
+
+        if (!invokers.isEmpty()) {
+            writeInvokers(src, features, invokers);
+        }
+
+        src.close("}");
+        return src.toString();
+    }
+
+    /**
+     * Writes the factory which creates invokers on first use. Features are identified by their
+     * position in the index.
+     */
+    private static void writeInvokers(SourceBuilder src, List<FeatureModel> features, Map<FeatureModel, String> invokers) {
+        src.line()
+           .open("private static final class Invokers implements FeatureInvoker.Factory {")
+           .line("@Override")
+           .open("public FeatureInvoker create(int id) {")
+           .line("switch (id) {");
+        for (int i = 0; i < features.size(); i++) {
+            String invoker = invokers.get(features.get(i));
+            if (invoker != null) {
+                src.line("case " + i + ":")
+                   .line("    return " + invoker + ";");
+            }
+        }
+        src.line("default:")
+           .line("    throw new IllegalArgumentException(\"Unknown feature \" + id);")
+           .line("}")
+           .close("}")
+           .close("}");
+    }
+
+    private static void writeFeature(SourceBuilder src, FeatureMetadata feature, SchemaGenerator.ToolSchemas schemas,
+                                     int invokerId) {
+        src.open("features.add(FeatureMetadata.builder(Kind." + feature.kind() + ", "
+                + literal(feature.name()) + ", "
+                + literal(feature.declaringClass()) + ", "
+                + literal(feature.methodName()) + ")");
+        feature.title().ifPresent(v -> src.line(".setTitle(" + literal(v) + ")"));
+        feature.description().ifPresent(v -> src.line(".setDescription(" + literal(v) + ")"));
+        feature.uri().ifPresent(v -> src.line(".setUri(" + literal(v) + ")"));
+        feature.mimeType().ifPresent(v -> src.line(".setMimeType(" + literal(v) + ")"));
+        if (feature.size() != -1) {
+            src.line(".setSize(" + feature.size() + "L)");
+        }
+        if (feature.computeSize()) {
+            src.line(".setComputeSize(true)");
+        }
+        if (feature.warmUp()) {
+            src.line(".setWarmUp(true)");
+        }
+        if (feature.executionModel() != ExecutionModel.DEFAULT) {
+            src.line(".setExecutionModel(ExecutionModel." + feature.executionModel() + ")");
+        }
+        src.line(".setReturnType(" + literal(feature.returnType()) + ")");
+        if (feature.asynchronous()) {
+            src.line(".setResultType(" + literal(feature.resultType()) + ")");
+        }
+        for (ParameterMetadata parameter : feature.parameters()) {
+            src.line(".addParameter(new ParameterMetadata("
+                    + literal(parameter.name()) + ", "
+                    + literal(parameter.type()) + ", "
+                    + "ParameterMetadata.Kind." + parameter.kind() + ", "
+                    + optional(parameter.title()) + ", "
+                    + optional(parameter.description()) + ", "
+                    + parameter.required() + ", "
+                    + optional(parameter.defaultValue()) + "))");
+        }
+        for (String server : feature.servers()) {
+            src.line(".addServer(" + literal(server) + ")");
+        }
+        for (MetaFieldValue metaField : feature.metaFields()) {
+            src.line(".addMetaField(" + literal(metaField.key()) + ", MetaField.Type." + metaField.type() + ", "
+                    + literal(metaField.value()) + ")");
+        }
+        feature.iconProvider().ifPresent(v -> src.line(".setIconProvider(" + literal(v) + ")"));
+        feature.toolAnnotations().ifPresent(a -> src.line(".setToolAnnotations(new FeatureMetadata.ToolAnnotations("
+                + literal(a.title()) + ", "
+                + a.readOnlyHint() + ", "
+                + a.destructiveHint() + ", "
+                + a.idempotentHint() + ", "
+                + a.openWorldHint() + "))"));
+        if (feature.structuredContent()) {
+            src.line(".setStructuredContent(true)");
+        }
+        if (feature.streaming()) {
+            src.line(".setStreaming(true)");
+        }
+        feature.outputSchemaFrom().ifPresent(v -> src.line(".setOutputSchemaFrom(" + literal(v) + ")"));
+        feature.resourceAnnotations().ifPresent(a -> src.line(".setResourceAnnotations(new FeatureMetadata.ResourceAnnotations("
+                + "List.of(" + a.audience().stream().map(r -> "Role." + r).collect(Collectors.joining(", ")) + "), "
+                + literal(a.lastModified()) + ", "
+                + a.priority() + "))"));
+        feature.cache().ifPresent(c -> src.line(".setCache(new FeatureMetadata.CacheSettings("
+                + c.ttl().map(t -> "Optional.of(Duration.ofSeconds(" + t.getSeconds() + "L, " + t.getNano() + "))")
+                       .orElse("Optional.empty()")
+                + (c.scope() == Cached.Scope.SHARED ? "" : ", Cached.Scope." + c.scope())
+                + "))"));
+        for (FeatureMetadata.BulkheadSettings bulkhead : feature.bulkheads()) {
+            src.line(".addBulkhead(new FeatureMetadata.BulkheadSettings(" + literal(bulkhead.server()) + ", "
+                    + bulkhead.maxConcurrent() + ", " + bulkhead.maxWaiting() + "))");
+        }
+        if (schemas != null) {
+            src.line(".setInputSchema(" + schema(schemas.input(), schemas.inputDefinitions()) + ")");
+            if (schemas.output() != null) {
+                src.line(".setOutputSchema(" + schema(schemas.output(), schemas.outputDefinitions()) + ")");
+            }
+        }
+        if (invokerId != -1) {
+            src.line(".setInvoker(INVOKERS, " + invokerId + ")");
+        }
+        src.line(".build());")
+           .outdent();
+    }
+
+    private static String schema(String name, List<String> definitions) {
+        StringBuilder sb = new StringBuilder("SCHEMAS.schema(").append(literal(name));
+        for (String definition : definitions) {
+            sb.append(", ").append(literal(definition));
+        }
+        return sb.append(')').toString();
+    }
+
+    private static String optional(Optional<String> value) {
+        return value.map(v -> "Optional.of(" + literal(v) + ")").orElse("Optional.empty()");
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import org.mcpjava.server.spi.index.ParameterMetadata;
+
+/**
+ * Writes the source of a generated {@link org.mcpjava.server.spi.index.FeatureInvoker}.
+ * <p>
+ * One invoker class is generated for each class which declares features, in the same package so
+ * that package-private methods can be called. Each feature is called from its own small method so
+ * that the dispatching {@code switch} stays small enough to be compiled and inlined however many
+ * features the class declares.
+ */
+final class InvokerWriter {
+
+    /**
+     * Suffix appended to the name of the declaring class to name the invoker
+     */
+    static final String SUFFIX = "_McpInvoker";
+
+    private InvokerWriter() {}
+
+    /**
+     * Returns whether a generated invoker in the package of the declaring class can call the
+     * feature method
+     */
+    static boolean canInvoke(FeatureModel feature, Mirrors mirrors) {
+        if (feature.method().getModifiers().contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        for (Element e = feature.declaringType(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement type = (TypeElement) e;
+            if (type.getModifiers().contains(Modifier.PRIVATE)
+                    || (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)) {
+                return false;
+            }
+        }
+        for (TypeMirror thrown : feature.method().getThrownTypes()) {
+            if (!mirrors.isSubtype(thrown, Exception.class.getName()) && !mirrors.isSubtype(thrown, Error.class.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String write(String packageName, String simpleName, boolean generatedAnnotation, List<FeatureModel> features,
+                        Mirrors mirrors) {
+        SourceBuilder src = new SourceBuilder();
+        if (!packageName.isEmpty()) {
+            src.line("package " + packageName + ";").line();
+        }
+        src.line("import org.mcpjava.server.spi.index.FeatureInvoker;")
+           .line("import org.mcpjava.server.spi.index.InvocationContext;")
+           .line();
+        if (generatedAnnotation) {
+            src.line("@javax.annotation.processing.Generated(\"" + McpFeatureProcessor.class.getName() + "\")");
+        }
+        src.line("@SuppressWarnings({ \"rawtypes\", \"unchecked\" })")
+           .open("public final class " + simpleName + " implements FeatureInvoker {")
+           .line()
+           .line("private final int id;")
+           .line()
+           .open("public " + simpleName + "(int id) {")
+           .line("this.id = id;")
+           .close("}")
+           .line()
+           .line("@Override")
+           .open("public Object invoke(Object instance, InvocationContext context) throws Exception {")
+           .line("switch (id) {");
+        for (int i = 0; i < features.size(); i++) {
+            src.line("case " + i + ":")
+               .line("    return invoke" + i + "(instance, context);");
+        }
+        src.line("default:")
+           .line("    throw new IllegalStateException(\"Unknown feature \" + id);")
+           .line("}")
+           .close("}");
+
+        for (int i = 0; i < features.size(); i++) {
+            src.line();
+            writeFeature(src, i, features.get(i), mirrors);
+        }
+
+        src.close("}");
+        return src.toString();
+    }
+
+    private static void writeFeature(SourceBuilder src, int id, FeatureModel feature, Mirrors mirrors) {
+        ExecutableElement method = feature.method();
+        String target = method.getModifiers().contains(Modifier.STATIC)
+                ? mirrors.erasedTypeName(feature.declaringType().asType())
+                : "((" + mirrors.erasedTypeName(feature.declaringType().asType()) + ") instance)";
+
+        StringJoiner args = new StringJoiner(", ", "(", ")");
+        List<ParameterMetadata> parameters = feature.metadata().parameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            args.add(argument(i, parameters.get(i).kind(), method.getParameters().get(i).asType(), mirrors));
+        }
+        String call = target + "." + method.getSimpleName() + args;
+
+        src.open("private static Object invoke" + id + "(Object instance, InvocationContext context) throws Exception {");
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            src.line(call + ";")
+               .line("return null;");
+        } else {
+            src.line("return " + call + ";");
+        }
+        src.close("}");
+    }
+
+    private static String argument(int position, ParameterMetadata.Kind kind, TypeMirror type, Mirrors mirrors) {
+        switch (kind) {
+        case REQUEST:
+            return "context.request()";
+        case CANCELLATION:
+            return "context.cancellation()";
+        case PROGRESS:
+            return "context.progress()";
+        case COMPLETION_CONTEXT:
+            return "context.completionContext()";
+        case RESOURCE_UPDATES:
+            return "context.resourceUpdates()";
+        default:
+            break;
+        }
+        switch (type.getKind()) {
+        case INT:
+            return "context.intArgument(" + position + ")";
+        case LONG:
+            return "context.longArgument(" + position + ")";
+        case DOUBLE:
+            return "context.doubleArgument(" + position + ")";
+        case BOOLEAN:
+            return "context.booleanArgument(" + position + ")";
+        case BYTE:
+            return "(Byte) context.argument(" + position + ")";
+        case SHORT:
+            return "(Short) context.argument(" + position + ")";
+        case CHAR:
+            return "(Character) context.argument(" + position + ")";
+        case FLOAT:
+            return "(Float) context.argument(" + position + ")";
+        default:
+            return "(" + mirrors.erasedTypeName(type) + ") context.argument(" + position + ")";
+        }
+    }
+}
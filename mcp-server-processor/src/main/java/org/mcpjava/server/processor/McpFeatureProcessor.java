@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import org.mcpjava.server.completion.CompletePrompt;
+import org.mcpjava.server.completion.CompleteResourceTemplate;
+import org.mcpjava.server.prompts.Prompt;
+import org.mcpjava.server.resources.Resource;
+import org.mcpjava.server.resources.ResourceTemplate;
+import org.mcpjava.server.spi.index.FeatureIndex;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.spi.index.JsonSchemaResources;
+import org.mcpjava.server.tools.Tool;
+
+/**
+ * Generates a {@link FeatureIndex} containing every feature method in the compiled sources.
+ * <p>
+ * The generated index is named {@code McpFeatureIndex} and placed in the package of the first
+ * class (by name) which declares a feature. The name can be set with the {@value #INDEX_CLASS_OPTION}
+ * processor option, which is recommended when several modules use the same package. The index is
+ * registered in {@code META-INF/services} so that it can be found with
+ * {@link FeatureIndex#loadFeatures(ClassLoader)}.
+ * <p>
+ * A {@link org.mcpjava.server.spi.index.FeatureInvoker FeatureInvoker} is also generated for each
+ * class which declares features, named after the class with the suffix {@code _McpInvoker}. It calls
+ * the feature methods directly, without reflection. Private methods, and methods of private or
+ * local classes, cannot be called from generated code and have no invoker.
+ * <p>
+ * The input and output schemas of tools are generated as minified JSON resources in
+ * {@value #SCHEMA_DIRECTORY}{@code <index class name>/}, with the definitions of classes shared
+ * between tools, and loaded on demand through {@link FeatureMetadata#inputSchema()} and
+ * {@link FeatureMetadata#outputSchema()}.
+ * <p>
+ * This is an aggregating processor: it must see all feature methods of a module in the same
+ * compilation.
+ */
+@SupportedOptions(McpFeatureProcessor.INDEX_CLASS_OPTION)
+public class McpFeatureProcessor extends AbstractProcessor {
+
+    /**
+     * Processor option which sets the fully qualified name of the generated index class
+     */
+    public static final String INDEX_CLASS_OPTION = "mcp.index.class";
+
+    /**
+     * The simple name of the generated index class if {@value #INDEX_CLASS_OPTION} is not set
+     */
+    public static final String DEFAULT_INDEX_NAME = "McpFeatureIndex";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + FeatureIndex.class.getName();
+
+    /**
+     * The directory containing the schemas of each index, in a subdirectory named after the index
+     */
+    static final String SCHEMA_DIRECTORY = "META-INF/mcp/schemas/";
+
+    private static final Map<String, Kind> KINDS = new LinkedHashMap<>();
+    static {
+        KINDS.put(Tool.class.getCanonicalName(), Kind.TOOL);
+        KINDS.put(Prompt.class.getCanonicalName(), Kind.PROMPT);
+        KINDS.put(Resource.class.getCanonicalName(), Kind.RESOURCE);
+        KINDS.put(ResourceTemplate.class.getCanonicalName(), Kind.RESOURCE_TEMPLATE);
+        KINDS.put(CompletePrompt.class.getCanonicalName(), Kind.COMPLETE_PROMPT);
+        KINDS.put(CompleteResourceTemplate.class.getCanonicalName(), Kind.COMPLETE_RESOURCE_TEMPLATE);
+    }
+
+    private final Set<String> generatedIndexes = new LinkedHashSet<>();
+    private Mirrors mirrors;
+    private FeatureReader reader;
+    private boolean generatedAnnotation;
+
+    /**
+     * Creates a new processor. Called by the compiler.
+     */
+    public McpFeatureProcessor() {}
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        mirrors = new Mirrors(processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+        reader = new FeatureReader(mirrors, processingEnv.getMessager());
+        generatedAnnotation = processingEnv.getElementUtils()
+                                           .getTypeElement("javax.annotation.processing.Generated") != null;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return KINDS.keySet();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        List<FeatureModel> features = new ArrayList<>();
+        for (TypeElement annotation : annotations) {
+            Kind kind = KINDS.get(annotation.getQualifiedName().toString());
+            if (kind == null) {
+                continue;
+            }
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.METHOD) {
+                    continue;
+                }
+                ExecutableElement method = (ExecutableElement) element;
+                AnnotationMirror mirror = mirrors.find(method, annotation.getQualifiedName().toString()).orElseThrow();
+                features.add(reader.read(kind, method, mirror));
+            }
+        }
+
+        if (!features.isEmpty()) {
+            features.sort(Comparator.comparing((FeatureModel f) -> f.metadata().declaringClass())
+                                    .thenComparingInt(f -> f.declaringType().getEnclosedElements().indexOf(f.method()))
+                                    .thenComparing(f -> f.metadata().kind()));
+            String indexName = indexName(features);
+            String schemaPath = SCHEMA_DIRECTORY + indexName + "/";
+            writeIndex(indexName, features, writeInvokers(features), schemaPath, writeSchemas(features, schemaPath));
+        }
+        return false;
+    }
+
+    /**
+     * Writes an invoker for each class which declares features
+     *
+     * @return the expression which creates the invoker of each feature that has one
+     */
+    private Map<FeatureModel, String> writeInvokers(List<FeatureModel> features) {
+        Map<TypeElement, List<FeatureModel>> byType = new LinkedHashMap<>();
+        for (FeatureModel feature : features) {
+            if (InvokerWriter.canInvoke(feature, mirrors)) {
+                byType.computeIfAbsent(feature.declaringType(), t -> new ArrayList<>()).add(feature);
+            }
+        }
+
+        Map<FeatureModel, String> invokers = new HashMap<>();
+        for (Map.Entry<TypeElement, List<FeatureModel>> entry : byType.entrySet()) {
+            TypeElement type = entry.getKey();
+            String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+            String binaryName = mirrors.binaryName(type);
+            String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                    .replace('$', '_') + InvokerWriter.SUFFIX;
+            String invokerName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+            String source = InvokerWriter.write(packageName, simpleName, generatedAnnotation, entry.getValue(), mirrors);
+            try {
+                JavaFileObject file = processingEnv.getFiler().createSourceFile(invokerName, type);
+                try (Writer writer = file.openWriter()) {
+                    writer.write(source);
+                }
+            } catch (IOException e) {
+                error("Unable to write feature invoker " + invokerName + ": " + e);
+                continue;
+            }
+            List<FeatureModel> typeFeatures = entry.getValue();
+            for (int i = 0; i < typeFeatures.size(); i++) {
+                invokers.put(typeFeatures.get(i), "new " + invokerName + "(" + i + ")");
+            }
+        }
+        return invokers;
+    }
+
+    /**
+     * Writes the input and output schemas of each tool, and the definitions they share
+     *
+     * @return the schema resources of each tool
+     */
+    private Map<FeatureModel, SchemaGenerator.ToolSchemas> writeSchemas(List<FeatureModel> features, String schemaPath) {
+        SchemaGenerator generator = new SchemaGenerator(mirrors);
+        Map<FeatureModel, SchemaGenerator.ToolSchemas> schemas = new HashMap<>();
+        Set<String> definitions = new TreeSet<>();
+        for (int i = 0; i < features.size(); i++) {
+            FeatureModel feature = features.get(i);
+            if (feature.metadata().kind() != Kind.TOOL) {
+                continue;
+            }
+            Map<String, Object> input = generator.inputSchema(feature);
+            List<String> inputDefinitions = generator.definitionsOf(input);
+            String inputName = i + ".input.json";
+            writeResource(schemaPath + inputName, Json.write(input), feature.declaringType());
+
+            Optional<Map<String, Object>> output = generator.outputSchema(feature);
+            String outputName = null;
+            List<String> outputDefinitions = List.of();
+            if (output.isPresent()) {
+                outputDefinitions = generator.definitionsOf(output.get());
+                outputName = i + ".output.json";
+                writeResource(schemaPath + outputName, Json.write(output.get()), feature.declaringType());
+            }
+
+            definitions.addAll(inputDefinitions);
+            definitions.addAll(outputDefinitions);
+            schemas.put(feature, new SchemaGenerator.ToolSchemas(inputName, inputDefinitions, outputName, outputDefinitions));
+        }
+
+        Element[] originatingElements = features.stream()
+                                                .map(FeatureModel::declaringType)
+                                                .distinct()
+                                                .toArray(Element[]::new);
+        for (String key : definitions) {
+            writeResource(schemaPath + JsonSchemaResources.DEFINITIONS + key + ".json",
+                          Json.write(generator.definitions().get(key)),
+                          originatingElements);
+        }
+        return schemas;
+    }
+
+    private void writeResource(String path, String content, Element... originatingElements) {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path,
+                                                                      originatingElements);
+            try (Writer writer = file.openWriter()) {
+                writer.write(content);
+            }
+        } catch (IOException e) {
+            error("Unable to write " + path + ": " + e);
+        }
+    }
+
+    private void writeIndex(String indexName, List<FeatureModel> features, Map<FeatureModel, String> invokers,
+                            String schemaPath, Map<FeatureModel, SchemaGenerator.ToolSchemas> schemas) {
+        int lastDot = indexName.lastIndexOf('.');
+        String packageName = lastDot == -1 ? "" : indexName.substring(0, lastDot);
+        String simpleName = indexName.substring(lastDot + 1);
+
+        String source = IndexWriter.write(packageName, simpleName, generatedAnnotation, features, invokers,
+                                          schemaPath, schemas);
+
+        Element[] originatingElements = features.stream()
+                                                .map(FeatureModel::declaringType)
+                                                .distinct()
+                                                .toArray(Element[]::new);
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(indexName, originatingElements);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+            generatedIndexes.add(indexName);
+        } catch (IOException e) {
+            error("Unable to write feature index " + indexName + ": " + e);
+        }
+    }
+
+    /**
+     * Returns the name of the index to generate in this round. If features are found in more than
+     * one round, each round gets its own index.
+     */
+    private String indexName(List<FeatureModel> features) {
+        String option = processingEnv.getOptions().get(INDEX_CLASS_OPTION);
+        String name;
+        if (option != null && !option.isBlank()) {
+            name = option.trim();
+        } else {
+            String packageName = processingEnv.getElementUtils()
+                                              .getPackageOf(features.get(0).declaringType())
+                                              .getQualifiedName()
+                                              .toString();
+            name = packageName.isEmpty() ? DEFAULT_INDEX_NAME : packageName + "." + DEFAULT_INDEX_NAME;
+        }
+        if (generatedIndexes.isEmpty()) {
+            return name;
+        }
+        return name + (generatedIndexes.size() + 1);
+    }
+
+    private void writeServiceFile() {
+        if (generatedIndexes.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String index : generatedIndexes) {
+                    writer.write(index);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            error("Unable to write " + SERVICE_FILE + ": " + e);
+        }
+    }
+
+    private void error(String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message);
+    }
+}
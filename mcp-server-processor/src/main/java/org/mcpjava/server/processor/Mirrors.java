@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Helpers for reading annotation values and rendering types without loading classes.
+ * <p>
+ * Annotation values are read from {@link AnnotationMirror}s because
+ * {@link Element#getAnnotation(Class)} cannot return {@code Class} values at compile time.
+ */
+final class Mirrors {
+
+    private final Elements elements;
+    private final Types types;
+
+    Mirrors(Elements elements, Types types) {
+        this.elements = elements;
+        this.types = types;
+    }
+
+    Elements elements() {
+        return elements;
+    }
+
+    Types types() {
+        return types;
+    }
+
+    /**
+     * Finds the annotation of the given type directly present on an element
+     */
+    Optional<AnnotationMirror> find(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (qualifiedName(mirror).equals(annotationType)) {
+                return Optional.of(mirror);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds all instances of a repeatable annotation on an element, whether they're present directly
+     * or through their container annotation
+     */
+    List<AnnotationMirror> findRepeated(Element element, String annotationType, String containerType) {
+        List<AnnotationMirror> result = new ArrayList<>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            String name = qualifiedName(mirror);
+            if (name.equals(annotationType)) {
+                result.add(mirror);
+            } else if (name.equals(containerType)) {
+                result.addAll(annotations(mirror, "value"));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether a value was explicitly given for an annotation member
+     */
+    boolean isExplicit(AnnotationMirror mirror, String member) {
+        for (ExecutableElement key : mirror.getElementValues().keySet()) {
+            if (key.getSimpleName().contentEquals(member)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    String string(AnnotationMirror mirror, String member) {
+        return (String) value(mirror, member);
+    }
+
+    boolean bool(AnnotationMirror mirror, String member) {
+        return (Boolean) value(mirror, member);
+    }
+
+    double number(AnnotationMirror mirror, String member) {
+        return ((Number) value(mirror, member)).doubleValue();
+    }
+
+    /**
+     * Reads an enum-valued member and returns the name of the constant
+     */
+    String enumConstant(AnnotationMirror mirror, String member) {
+        return ((VariableElement) value(mirror, member)).getSimpleName().toString();
+    }
+
+    /**
+     * Reads a {@code Class}-valued member and returns the binary name of the class
+     */
+    String className(AnnotationMirror mirror, String member) {
+        return binaryName(type(mirror, member));
+    }
+
+    /**
+     * Reads a {@code Class}-valued member
+     */
+    TypeMirror type(AnnotationMirror mirror, String member) {
+        return (TypeMirror) value(mirror, member);
+    }
+
+    AnnotationMirror annotation(AnnotationMirror mirror, String member) {
+        return (AnnotationMirror) value(mirror, member);
+    }
+
+    List<AnnotationMirror> annotations(AnnotationMirror mirror, String member) {
+        List<AnnotationMirror> result = new ArrayList<>();
+        for (Object value : array(mirror, member)) {
+            result.add((AnnotationMirror) value);
+        }
+        return result;
+    }
+
+    /**
+     * Reads an enum array member and returns the names of the constants
+     */
+    List<String> enumConstants(AnnotationMirror mirror, String member) {
+        List<String> result = new ArrayList<>();
+        for (Object value : array(mirror, member)) {
+            result.add(((VariableElement) value).getSimpleName().toString());
+        }
+        return result;
+    }
+
+    private List<Object> array(AnnotationMirror mirror, String member) {
+        List<Object> result = new ArrayList<>();
+        for (Object value : (List<?>) value(mirror, member)) {
+            result.add(((AnnotationValue) value).getValue());
+        }
+        return result;
+    }
+
+    private Object value(AnnotationMirror mirror, String member) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = elements.getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(member)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalArgumentException("No member " + member + " on " + mirror);
+    }
+
+    /**
+     * Returns whether the erasure of {@code type} is the named class
+     */
+    boolean isType(TypeMirror type, String qualifiedName) {
+        TypeMirror erased = types.erasure(type);
+        return erased.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().contentEquals(qualifiedName);
+    }
+
+    /**
+     * Returns whether {@code type} is a subtype of the named class
+     */
+    boolean isSubtype(TypeMirror type, String qualifiedName) {
+        TypeElement element = elements.getTypeElement(qualifiedName);
+        return element != null && types.isSubtype(type, types.erasure(element.asType()));
+    }
+
+    /**
+     * Returns the type argument of {@code type} for the named generic supertype with a single type
+     * parameter, for example {@code String} for a {@code CompletableFuture<String>} and
+     * {@code java.util.concurrent.CompletionStage}. Raw and unbounded types give {@code Object}.
+     */
+    Optional<TypeMirror> typeArgument(TypeMirror type, String qualifiedName) {
+        if (type.getKind() != TypeKind.DECLARED || !isSubtype(type, qualifiedName)) {
+            return Optional.empty();
+        }
+        if (isType(type, qualifiedName)) {
+            List<? extends TypeMirror> args = ((DeclaredType) type).getTypeArguments();
+            TypeMirror arg = args.size() == 1 ? args.get(0) : null;
+            if (arg != null && arg.getKind() == TypeKind.WILDCARD) {
+                arg = ((WildcardType) arg).getExtendsBound();
+            }
+            return Optional.of(arg != null ? arg : elements.getTypeElement(Object.class.getName()).asType());
+        }
+        for (TypeMirror supertype : types.directSupertypes(type)) {
+            Optional<TypeMirror> arg = typeArgument(supertype, qualifiedName);
+            if (arg.isPresent()) {
+                return arg;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Renders the erasure of a type as a canonical name, suitable for use in a cast
+     */
+    String erasedTypeName(TypeMirror type) {
+        return typeName(types.erasure(type));
+    }
+
+    /**
+     * Returns the binary name of a class or interface type, e.g. {@code com.example.Outer$Inner}
+     */
+    String binaryName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return binaryName((TypeElement) ((DeclaredType) erased).asElement());
+        }
+        return erased.toString();
+    }
+
+    String binaryName(TypeElement type) {
+        return elements.getBinaryName(type).toString();
+    }
+
+    /**
+     * Renders a type as a canonical name including type arguments, omitting any type annotations.
+     * Type variables are rendered as their erasure.
+     */
+    String typeName(TypeMirror type) {
+        switch (type.getKind()) {
+        case DECLARED: {
+            DeclaredType declared = (DeclaredType) type;
+            StringBuilder sb = new StringBuilder(((TypeElement) declared.asElement()).getQualifiedName());
+            List<? extends TypeMirror> args = declared.getTypeArguments();
+            if (!args.isEmpty()) {
+                sb.append('<');
+                for (int i = 0; i < args.size(); i++) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    sb.append(typeName(args.get(i)));
+                }
+                sb.append('>');
+            }
+            return sb.toString();
+        }
+        case ARRAY:
+            return typeName(((ArrayType) type).getComponentType()) + "[]";
+        case WILDCARD: {
+            WildcardType wildcard = (WildcardType) type;
+            if (wildcard.getExtendsBound() != null) {
+                return "? extends " + typeName(wildcard.getExtendsBound());
+            }
+            if (wildcard.getSuperBound() != null) {
+                return "? super " + typeName(wildcard.getSuperBound());
+            }
+            return "?";
+        }
+        case TYPEVAR:
+            return typeName(types.erasure(type));
+        default:
+            if (type.getKind().isPrimitive() || type.getKind() == TypeKind.VOID) {
+                return type.getKind().name().toLowerCase(Locale.ROOT);
+            }
+            return types.erasure(type).toString();
+        }
+    }
+
+    private static String qualifiedName(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+}
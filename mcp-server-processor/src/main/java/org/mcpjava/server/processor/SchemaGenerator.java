@@ -0,0 +1,425 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionStage;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+
+import org.mcpjava.server.spi.index.JsonSchemaResources;
+import org.mcpjava.server.spi.index.ParameterMetadata;
+import org.mcpjava.server.tools.Tool;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * Generates the JSON schemas of tools.
+ * <p>
+ * Records and other classes are described once in a shared definition and referenced with
+ * {@code $ref}. Records are described by their components, other classes by their public fields
+ * and getters. Other classes from the {@code java} and {@code javax} packages which have no known
+ * JSON representation accept any value.
+ * <p>
+ * A generator is used for a single index, so that all the tools in the index share definitions.
+ */
+final class SchemaGenerator {
+
+    private static final String DEFS = "#/$defs/";
+
+    /**
+     * Schemas of the classes which are represented by a JSON value other than an object
+     */
+    private static final Map<String, Map<String, Object>> VALUE_TYPES = new HashMap<>();
+    static {
+        for (String type : List.of("java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long",
+                                   "java.math.BigInteger", "java.util.concurrent.atomic.AtomicInteger",
+                                   "java.util.concurrent.atomic.AtomicLong")) {
+            VALUE_TYPES.put(type, valueType("integer", null));
+        }
+        for (String type : List.of("java.lang.Float", "java.lang.Double", "java.math.BigDecimal")) {
+            VALUE_TYPES.put(type, valueType("number", null));
+        }
+        VALUE_TYPES.put("java.lang.Boolean", valueType("boolean", null));
+        for (String type : List.of("java.lang.String", "java.lang.CharSequence", "java.lang.Character",
+                                   "java.time.LocalDateTime", "java.time.LocalTime", "java.time.YearMonth",
+                                   "java.time.Year", "java.time.Period")) {
+            VALUE_TYPES.put(type, valueType("string", null));
+        }
+        for (String type : List.of("java.time.Instant", "java.time.OffsetDateTime", "java.time.ZonedDateTime",
+                                   "java.util.Date")) {
+            VALUE_TYPES.put(type, valueType("string", "date-time"));
+        }
+        VALUE_TYPES.put("java.time.LocalDate", valueType("string", "date"));
+        VALUE_TYPES.put("java.time.OffsetTime", valueType("string", "time"));
+        VALUE_TYPES.put("java.time.Duration", valueType("string", "duration"));
+        VALUE_TYPES.put("java.util.UUID", valueType("string", "uuid"));
+        VALUE_TYPES.put("java.net.URI", valueType("string", "uri"));
+        VALUE_TYPES.put("java.net.URL", valueType("string", "uri"));
+        VALUE_TYPES.put(OptionalInt.class.getName(), valueType("integer", null));
+        VALUE_TYPES.put(OptionalLong.class.getName(), valueType("integer", null));
+        VALUE_TYPES.put(OptionalDouble.class.getName(), valueType("number", null));
+    }
+
+    private final Mirrors mirrors;
+    private final Map<String, Map<String, Object>> definitions = new LinkedHashMap<>();
+
+    SchemaGenerator(Mirrors mirrors) {
+        this.mirrors = mirrors;
+    }
+
+    /**
+     * Generates the input schema of a tool from its arguments
+     */
+    Map<String, Object> inputSchema(FeatureModel feature) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+        List<ParameterMetadata> parameters = feature.metadata().parameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            ParameterMetadata parameter = parameters.get(i);
+            if (parameter.kind() != ParameterMetadata.Kind.ARGUMENT) {
+                continue;
+            }
+            Map<String, Object> property = schema(feature.method().getParameters().get(i).asType());
+            parameter.description().ifPresent(d -> property.put("description", d));
+            parameter.defaultValue().flatMap(d -> defaultValue(property.get("type"), d))
+                     .ifPresent(d -> property.put("default", d));
+            properties.put(parameter.name(), property);
+            if (parameter.required()) {
+                required.add(parameter.name());
+            }
+        }
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        if (!required.isEmpty()) {
+            schema.put("required", required);
+        }
+        return schema;
+    }
+
+    /**
+     * Generates the output schema of a tool, if it returns structured content or declares
+     * {@link Tool#outputSchemaFrom()}. MCP requires output schemas to describe objects, so there
+     * is no output schema if the type is not represented by a JSON object.
+     */
+    Optional<Map<String, Object>> outputSchema(FeatureModel feature) {
+        TypeMirror type = null;
+        Optional<AnnotationMirror> tool = mirrors.find(feature.method(), Tool.class.getCanonicalName());
+        if (tool.isPresent()) {
+            TypeMirror from = mirrors.type(tool.get(), "outputSchemaFrom");
+            if (!mirrors.isType(from, Void.class.getName())) {
+                type = from;
+            }
+        }
+        if (type == null) {
+            TypeMirror returnType = feature.method().getReturnType();
+            // asynchronous tools are described by the result their stage completes with
+            returnType = mirrors.typeArgument(returnType, CompletionStage.class.getName()).orElse(returnType);
+            if (!feature.metadata().structuredContent()
+                    || returnType.getKind() == TypeKind.VOID
+                    || mirrors.isType(returnType, Void.class.getName())
+                    || mirrors.isType(returnType, ToolResponse.class.getName())) {
+                return Optional.empty();
+            }
+            type = returnType;
+        }
+
+        Map<String, Object> schema = schema(type);
+        Object ref = schema.get("$ref");
+        if (ref != null) {
+            // the root of an output schema must be an object, so inline the definition
+            return Optional.of(new LinkedHashMap<>(definitions.get(((String) ref).substring(DEFS.length()))));
+        }
+        return "object".equals(schema.get("type")) ? Optional.of(schema) : Optional.empty();
+    }
+
+    /**
+     * Returns the keys of every definition referenced by a schema, directly or indirectly
+     */
+    List<String> definitionsOf(Map<String, Object> schema) {
+        Set<String> result = new TreeSet<>();
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(schema);
+        while (!pending.isEmpty()) {
+            Object value = pending.pop();
+            if (value instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    if ("$ref".equals(entry.getKey())) {
+                        String key = ((String) entry.getValue()).substring(DEFS.length());
+                        if (result.add(key)) {
+                            pending.push(definitions.get(key));
+                        }
+                    } else {
+                        pending.push(entry.getValue());
+                    }
+                }
+            } else if (value instanceof List) {
+                ((List<?>) value).forEach(pending::push);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Returns the definitions generated so far, by key
+     */
+    Map<String, Map<String, Object>> definitions() {
+        return definitions;
+    }
+
+    /**
+     * Returns a new, mutable schema for a type
+     */
+    private Map<String, Object> schema(TypeMirror type) {
+        switch (type.getKind()) {
+        case BOOLEAN:
+            return schemaOf("type", "boolean");
+        case BYTE:
+        case SHORT:
+        case INT:
+        case LONG:
+            return schemaOf("type", "integer");
+        case FLOAT:
+        case DOUBLE:
+            return schemaOf("type", "number");
+        case CHAR:
+            return schemaOf("type", "string");
+        case ARRAY: {
+            TypeMirror component = ((ArrayType) type).getComponentType();
+            if (component.getKind() == TypeKind.BYTE) {
+                Map<String, Object> schema = schemaOf("type", "string");
+                schema.put("contentEncoding", "base64");
+                return schema;
+            }
+            Map<String, Object> schema = schemaOf("type", "array");
+            schema.put("items", schema(component));
+            return schema;
+        }
+        case TYPEVAR:
+            return schema(mirrors.types().erasure(type));
+        case WILDCARD: {
+            TypeMirror bound = ((WildcardType) type).getExtendsBound();
+            return bound == null ? new LinkedHashMap<>() : schema(bound);
+        }
+        case DECLARED:
+            return declaredSchema((DeclaredType) type);
+        default:
+            return new LinkedHashMap<>();
+        }
+    }
+
+    private Map<String, Object> declaredSchema(DeclaredType type) {
+        TypeElement element = (TypeElement) type.asElement();
+        String name = element.getQualifiedName().toString();
+        Map<String, Object> known = VALUE_TYPES.get(name);
+        if (known != null) {
+            return new LinkedHashMap<>(known);
+        }
+        List<? extends TypeMirror> args = type.getTypeArguments();
+        if (name.equals(Optional.class.getName())) {
+            return args.isEmpty() ? new LinkedHashMap<>() : schema(args.get(0));
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            List<String> constants = new ArrayList<>();
+            for (Element enclosed : element.getEnclosedElements()) {
+                if (enclosed.getKind() == ElementKind.ENUM_CONSTANT) {
+                    constants.add(enclosed.getSimpleName().toString());
+                }
+            }
+            Map<String, Object> schema = schemaOf("type", "string");
+            schema.put("enum", constants);
+            return schema;
+        }
+        if (mirrors.isSubtype(type, Map.class.getName())) {
+            Map<String, Object> schema = schemaOf("type", "object");
+            schema.put("additionalProperties", args.size() == 2 ? schema(args.get(1)) : Map.of());
+            return schema;
+        }
+        if (mirrors.isSubtype(type, Iterable.class.getName())) {
+            Map<String, Object> schema = schemaOf("type", "array");
+            schema.put("items", args.size() == 1 ? schema(args.get(0)) : Map.of());
+            if (mirrors.isSubtype(type, Set.class.getName())) {
+                schema.put("uniqueItems", true);
+            }
+            return schema;
+        }
+        if (name.startsWith("java.") || name.startsWith("javax.") || element.getKind() == ElementKind.INTERFACE) {
+            return new LinkedHashMap<>();
+        }
+
+        String key = JsonSchemaResources.definitionKey(mirrors.typeName(type));
+        if (!definitions.containsKey(key)) {
+            // register before describing the properties, so that recursive types refer to themselves
+            Map<String, Object> definition = new LinkedHashMap<>();
+            definitions.put(key, definition);
+            definition.putAll(objectSchema(type, element));
+        }
+        return schemaOf("$ref", DEFS + key);
+    }
+
+    private Map<String, Object> objectSchema(DeclaredType type, TypeElement element) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+        if (element.getKind() == ElementKind.RECORD) {
+            for (RecordComponentElement component : ElementFilter.recordComponentsIn(element.getEnclosedElements())) {
+                TypeMirror componentType = memberType(type, component.getAccessor());
+                properties.put(component.getSimpleName().toString(), schema(componentType));
+                if (componentType.getKind().isPrimitive()) {
+                    required.add(component.getSimpleName().toString());
+                }
+            }
+        } else {
+            for (TypeElement t : hierarchy(element)) {
+                for (Element member : t.getEnclosedElements()) {
+                    if (!member.getModifiers().contains(Modifier.PUBLIC) || member.getModifiers().contains(Modifier.STATIC)) {
+                        continue;
+                    }
+                    if (member.getKind() == ElementKind.FIELD) {
+                        properties.putIfAbsent(member.getSimpleName().toString(),
+                                               schema(mirrors.types().asMemberOf(type, member)));
+                    } else if (member.getKind() == ElementKind.METHOD) {
+                        ExecutableElement method = (ExecutableElement) member;
+                        String property = propertyName(method);
+                        if (property != null) {
+                            properties.putIfAbsent(property, schema(memberType(type, method)));
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> schema = schemaOf("type", "object");
+        schema.put("properties", properties);
+        if (!required.isEmpty()) {
+            schema.put("required", required);
+        }
+        return schema;
+    }
+
+    /**
+     * Returns a class and its superclasses outside the JDK, superclasses first
+     */
+    private List<TypeElement> hierarchy(TypeElement element) {
+        List<TypeElement> result = new ArrayList<>();
+        TypeElement current = element;
+        while (current != null && !current.getQualifiedName().toString().startsWith("java.")) {
+            result.add(0, current);
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the property name of a JavaBeans getter, or {@code null} if the method is not a getter
+     */
+    private static String propertyName(ExecutableElement method) {
+        if (!method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+            return null;
+        }
+        String name = method.getSimpleName().toString();
+        String property;
+        if (name.startsWith("get") && name.length() > 3) {
+            property = name.substring(3);
+        } else if (name.startsWith("is") && name.length() > 2 && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            property = name.substring(2);
+        } else {
+            return null;
+        }
+        if (property.length() > 1 && Character.isUpperCase(property.charAt(1))) {
+            return property;
+        }
+        return property.substring(0, 1).toLowerCase(Locale.ROOT) + property.substring(1);
+    }
+
+    private TypeMirror memberType(DeclaredType type, ExecutableElement method) {
+        return ((ExecutableType) mirrors.types().asMemberOf(type, method)).getReturnType();
+    }
+
+    /**
+     * Converts a {@code defaultValue} to the JSON type of its parameter. Values which cannot be
+     * converted are omitted.
+     */
+    private static Optional<Object> defaultValue(Object type, String value) {
+        if ("string".equals(type)) {
+            return Optional.of(value);
+        }
+        if ("boolean".equals(type) && (value.equals("true") || value.equals("false"))) {
+            return Optional.of(Boolean.valueOf(value));
+        }
+        if ("integer".equals(type) || "number".equals(type)) {
+            try {
+                return Optional.of(new BigDecimal(value.trim()));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Map<String, Object> valueType(String type, String format) {
+        Map<String, Object> schema = schemaOf("type", type);
+        if (format != null) {
+            schema.put("format", format);
+        }
+        return schema;
+    }
+
+    private static Map<String, Object> schemaOf(String key, Object value) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put(key, value);
+        return schema;
+    }
+
+    /**
+     * The schema resources of a tool
+     *
+     * @param input the name of the input schema resource
+     * @param inputDefinitions the definitions referenced by the input schema
+     * @param output the name of the output schema resource, or {@code null}
+     * @param outputDefinitions the definitions referenced by the output schema
+     */
+    record ToolSchemas(String input, List<String> inputDefinitions, String output, List<String> outputDefinitions) {
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor;
+
+/**
+ * Minimal helper for writing indented Java source
+ */
+final class SourceBuilder {
+
+    private static final String INDENT = "    ";
+
+    private final StringBuilder sb = new StringBuilder();
+    private int indent;
+
+    /**
+     * Appends a line at the current indentation level
+     */
+    SourceBuilder line(String line) {
+        if (!line.isEmpty()) {
+            sb.append(INDENT.repeat(indent));
+        }
+        sb.append(line).append('\n');
+        return this;
+    }
+
+    /**
+     * Appends an empty line
+     */
+    SourceBuilder line() {
+        return line("");
+    }
+
+    /**
+     * Appends a line which opens a block and increases the indentation level
+     */
+    SourceBuilder open(String line) {
+        line(line);
+        indent++;
+        return this;
+    }
+
+    /**
+     * Decreases the indentation level and appends a line which closes a block
+     */
+    SourceBuilder close(String line) {
+        indent--;
+        return line(line);
+    }
+
+    /**
+     * Decreases the indentation level without appending a line
+     */
+    SourceBuilder outdent() {
+        indent--;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+
+    /**
+     * Returns a Java string literal with the given value, or {@code null} if the value is
+     * {@code null}
+     */
+    static String literal(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                sb.append("\\\"");
+                break;
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            default:
+                if (c < 0x20 || c > 0x7e) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
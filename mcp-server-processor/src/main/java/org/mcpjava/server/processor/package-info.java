@@ -0,0 +1,24 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Annotation processor which generates build-time artifacts for MCP server features.
+ * <p>
+ * Add this module to the annotation processor path of a project which declares features to have
+ * {@link org.mcpjava.server.processor.McpFeatureProcessor} generate a
+ * {@link org.mcpjava.server.spi.index.FeatureIndex}.
+ */
+package org.mcpjava.server.processor;
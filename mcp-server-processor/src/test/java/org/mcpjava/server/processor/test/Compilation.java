@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor.test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.mcpjava.server.processor.McpFeatureProcessor;
+
+/**
+ * Compiles test sources with {@link McpFeatureProcessor} and loads the result
+ */
+public class Compilation {
+
+    private final List<JavaFileObject> sources = new ArrayList<>();
+    private final List<String> options = new ArrayList<>();
+
+    /**
+     * Adds a source file
+     *
+     * @param className the fully qualified name of the top level class
+     * @param source the source code
+     * @return this compilation
+     */
+    public Compilation addSource(String className, String source) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        sources.add(new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Adds a compiler option
+     *
+     * @param option the option
+     * @return this compilation
+     */
+    public Compilation addOption(String option) {
+        options.add(option);
+        return this;
+    }
+
+    /**
+     * Compiles the sources
+     *
+     * @return the result of the compilation
+     */
+    public Result compile() {
+        try {
+            Path output = Files.createTempDirectory("mcp-processor-test");
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            List<String> allOptions = new ArrayList<>(options);
+            allOptions.addAll(List.of("-d", output.toString(),
+                                      "-classpath", System.getProperty("java.class.path")));
+            try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+                JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, allOptions, null, sources);
+                task.setProcessors(List.of(new McpFeatureProcessor()));
+                boolean success = task.call();
+                return new Result(success, output, diagnostics.getDiagnostics());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The result of a compilation
+     *
+     * @param success whether compilation succeeded
+     * @param output the class output directory
+     * @param diagnostics the compiler messages
+     */
+    public record Result(boolean success, Path output, List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+
+        /**
+         * Returns the error messages reported by the compiler
+         *
+         * @return the error messages, one per line
+         */
+        public String errors() {
+            return diagnostics.stream()
+                              .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                              .map(d -> (d.getSource() == null ? "" : d.getSource().getName() + ":" + d.getLineNumber() + ": ")
+                                      + d.getMessage(Locale.ROOT))
+                              .collect(Collectors.joining("\n"));
+        }
+
+        /**
+         * Creates a classloader which loads the compiled classes
+         *
+         * @return the new classloader
+         */
+        public ClassLoader classLoader() {
+            try {
+                return new URLClassLoader(new URL[] { output.toUri().toURL() }, Compilation.class.getClassLoader());
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Reads a file generated in the class output directory
+         *
+         * @param path the relative path of the file
+         * @return the file content
+         */
+        public String readOutput(String path) {
+            try {
+                return Files.readString(output.resolve(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.Cached;
+import org.mcpjava.server.ExecutionModel;
+import org.mcpjava.server.McpServer;
+import org.mcpjava.server.MetaField;
+import org.mcpjava.server.Role;
+import org.mcpjava.server.spi.index.FeatureIndex;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.FeatureMetadata.Kind;
+import org.mcpjava.server.spi.index.MetaFieldValue;
+import org.mcpjava.server.spi.index.ParameterMetadata;
+
+/**
+ * Test the generated {@link FeatureIndex}
+ */
+public class TestFeatureIndex {
+
+    static final String SERVER = """
+            package com.example;
+
+            import java.util.List;
+            import java.util.Optional;
+            import org.mcpjava.server.*;
+            import org.mcpjava.server.completion.*;
+            import org.mcpjava.server.progress.*;
+            import org.mcpjava.server.prompts.*;
+            import org.mcpjava.server.resources.*;
+            import org.mcpjava.server.tools.*;
+
+            @McpServer("weather")
+            @Icons(iconProvider = ExampleServer.Provider.class)
+            public class ExampleServer {
+
+                @Tool(description = "Adds \\"numbers\\"", annotations = @Tool.Annotations(readOnlyHint = true, idempotentHint = true))
+                @Cached(ttl = "PT1M", scope = Cached.Scope.SESSION)
+                @MetaField(prefix = "example.com/", name = "version", type = MetaField.Type.INT, value = "2")
+                @McpServer("admin")
+                @Bulkhead(maxConcurrent = 2, maxWaiting = 4)
+                @Bulkhead(server = "admin", maxConcurrent = 1)
+                public int add(@ToolArg(name = "a", description = "First") int a,
+                               @ToolArg(defaultValue = "1") int b,
+                               Optional<String> label,
+                               Cancellation cancellation) {
+                    return a + b;
+                }
+
+                @Cached(ttl = "PT5M")
+                @Resource(uri = "config://settings", mimeType = "application/json", size = 42,
+                          annotations = @Resource.Annotations(audience = Role.USER, priority = 0.5))
+                public String settings(ResourceUpdatePublisher updates) {
+                    return "{}";
+                }
+
+                @Cached
+                @ResourceTemplate(name = "file", uriTemplate = "file:///{path}")
+                public String file(@ResourceTemplateArg(name = "path") String p, McpRequest request) {
+                    return p;
+                }
+
+                @Prompt(title = "Greeting")
+                public String greet(@PromptArg(name = "name", required = false) String n, Progress progress) {
+                    return n;
+                }
+
+                @CompletePrompt("greet")
+                public List<String> completeName(@CompleteArg(name = "name") String partial, CompletionContext context) {
+                    return List.of(partial);
+                }
+
+                public static class Provider implements IconProvider {
+                    public List<Icon> getIcons(FeatureType type, String name) {
+                        return List.of();
+                    }
+                }
+            }
+            """;
+
+    @Test
+    public void testFeatureIndex() {
+        Compilation.Result result = new Compilation().addSource("com.example.ExampleServer", SERVER).compile();
+        assertTrue(result.success(), result.errors());
+        assertEquals("com.example.McpFeatureIndex\n",
+                     result.readOutput("META-INF/services/" + FeatureIndex.class.getName()));
+
+        List<FeatureMetadata> features = FeatureIndex.loadFeatures(result.classLoader());
+        assertEquals(5, features.size());
+
+        FeatureMetadata add = features.get(0);
+        assertEquals(Kind.TOOL, add.kind());
+        assertEquals("add", add.name());
+        assertEquals("com.example.ExampleServer", add.declaringClass());
+        assertEquals(Optional.of("Adds \"numbers\""), add.description());
+        assertEquals("int", add.returnType());
+        assertEquals(List.of("admin", "weather"), add.servers());
+        assertEquals(List.of(new MetaFieldValue("example.com/version", MetaField.Type.INT, "2")), add.metaFields());
+        assertEquals(Optional.of("com.example.ExampleServer$Provider"), add.iconProvider());
+        assertEquals(new FeatureMetadata.CacheSettings(Optional.of(Duration.ofMinutes(1)), Cached.Scope.SESSION),
+                     add.cache().orElseThrow());
+        assertTrue(add.toolAnnotations().orElseThrow().readOnlyHint());
+        assertTrue(add.toolAnnotations().orElseThrow().destructiveHint());
+        assertFalse(add.structuredContent());
+        assertEquals(List.of(new FeatureMetadata.BulkheadSettings("", 2, 4), new FeatureMetadata.BulkheadSettings("admin", 1, 0)),
+                     add.bulkheads());
+        assertEquals(1, add.bulkhead("admin").orElseThrow().maxConcurrent());
+        assertEquals(2, add.bulkhead("weather").orElseThrow().maxConcurrent());
+
+        List<ParameterMetadata> params = add.parameters();
+        assertEquals(4, params.size());
+        assertEquals(new ParameterMetadata("a", "int", ParameterMetadata.Kind.ARGUMENT,
+                                           Optional.empty(), Optional.of("First"), true, Optional.empty()),
+                     params.get(0));
+        assertEquals(Optional.of("1"), params.get(1).defaultValue());
+        assertFalse(params.get(1).required());
+        assertEquals("java.util.Optional<java.lang.String>", params.get(2).type());
+        assertFalse(params.get(2).required());
+        assertEquals(ParameterMetadata.Kind.CANCELLATION, params.get(3).kind());
+
+        FeatureMetadata settings = features.get(1);
+        assertEquals(Kind.RESOURCE, settings.kind());
+        assertEquals("settings", settings.name());
+        assertEquals(Optional.of("config://settings"), settings.uri());
+        assertEquals(Optional.of("application/json"), settings.mimeType());
+        assertEquals(42, settings.size());
+        assertEquals(List.of(Role.USER), settings.resourceAnnotations().orElseThrow().audience());
+        assertEquals(0.5, settings.resourceAnnotations().orElseThrow().priority());
+        assertEquals(List.of("weather"), settings.servers());
+        assertEquals(Optional.of(Duration.ofMinutes(5)), settings.cache().orElseThrow().ttl());
+        assertEquals(Cached.Scope.SHARED, settings.cache().orElseThrow().scope());
+        assertEquals(ParameterMetadata.Kind.RESOURCE_UPDATES, settings.parameters().get(0).kind());
+
+        FeatureMetadata file = features.get(2);
+        assertEquals(Kind.RESOURCE_TEMPLATE, file.kind());
+        assertEquals("file", file.name());
+        assertEquals(Optional.of("file:///{path}"), file.uri());
+        assertEquals("path", file.parameters().get(0).name());
+        assertEquals(ParameterMetadata.Kind.REQUEST, file.parameters().get(1).kind());
+        assertTrue(file.resourceAnnotations().isEmpty());
+        assertTrue(file.cache().orElseThrow().ttl().isEmpty());
+
+        FeatureMetadata greet = features.get(3);
+        assertEquals(Kind.PROMPT, greet.kind());
+        assertEquals(Optional.of("Greeting"), greet.title());
+        assertFalse(greet.parameters().get(0).required());
+        assertEquals(ParameterMetadata.Kind.PROGRESS, greet.parameters().get(1).kind());
+
+        FeatureMetadata complete = features.get(4);
+        assertEquals(Kind.COMPLETE_PROMPT, complete.kind());
+        assertEquals("greet", complete.name());
+        assertTrue(complete.kind().featureType().isEmpty());
+        assertEquals("name", complete.parameters().get(0).name());
+        assertEquals(ParameterMetadata.Kind.COMPLETION_CONTEXT, complete.parameters().get(1).kind());
+    }
+
+    @Test
+    public void testIndexClassOption() {
+        Compilation.Result result = new Compilation().addSource("com.example.ExampleServer", SERVER)
+                                                     .addOption("-Amcp.index.class=com.example.index.WeatherIndex")
+                                                     .compile();
+        assertTrue(result.success(), result.errors());
+        assertEquals("com.example.index.WeatherIndex\n",
+                     result.readOutput("META-INF/services/" + FeatureIndex.class.getName()));
+        assertEquals(5, FeatureIndex.loadFeatures(result.classLoader()).size());
+    }
+
+    @Test
+    public void testInvalidCached() {
+        Compilation.Result result = new Compilation().addSource("com.example.Invalid", """
+                package com.example;
+
+                import org.mcpjava.server.Cached;
+                import org.mcpjava.server.resources.Resource;
+                import org.mcpjava.server.tools.Tool;
+
+                public class Invalid {
+                    @Cached(ttl = "5 minutes")
+                    @Resource(uri = "config://settings")
+                    public String settings() {
+                        return "{}";
+                    }
+
+                    @Cached
+                    @Tool(annotations = @Tool.Annotations(readOnlyHint = true))
+                    public String hello() {
+                        return "hello";
+                    }
+
+                    @Cached(scope = Cached.Scope.SESSION)
+                    @Resource(uri = "config://session")
+                    public String session() {
+                        return "{}";
+                    }
+                }
+                """).compile();
+        assertFalse(result.success());
+        assertTrue(result.errors().contains("@Cached ttl must be a positive ISO 8601 duration, such as PT5M: 5 minutes"),
+                   result.errors());
+        assertTrue(result.errors().contains("@Cached is only supported on tools with readOnlyHint = true and idempotentHint = true,"
+                                                   + " which do not stream their content"),
+                   result.errors());
+        assertTrue(result.errors().contains("@Cached scope SESSION is only supported on @Tool methods"), result.errors());
+    }
+
+    @Test
+    public void testInvalidBulkhead() {
+        Compilation.Result result = new Compilation().addSource("com.example.Invalid", """
+                package com.example;
+
+                import org.mcpjava.server.Bulkhead;
+                import org.mcpjava.server.McpServer;
+                import org.mcpjava.server.tools.Tool;
+
+                @McpServer("public")
+                public class Invalid {
+                    @Bulkhead(maxConcurrent = 0)
+                    @Tool
+                    public String none() {
+                        return "none";
+                    }
+
+                    @Bulkhead(server = "admin", maxConcurrent = 1)
+                    @Bulkhead(server = "public", maxConcurrent = 1)
+                    @Bulkhead(server = "public", maxConcurrent = 2)
+                    @Tool
+                    public String hello() {
+                        return "hello";
+                    }
+                }
+                """).compile();
+        assertFalse(result.success());
+        assertTrue(result.errors().contains("@Bulkhead maxConcurrent must be at least 1: 0"), result.errors());
+        assertTrue(result.errors().contains("@Bulkhead server is not one the method is bound to: admin"), result.errors());
+        assertTrue(result.errors().contains("Duplicate @Bulkhead for server public"), result.errors());
+    }
+
+    @Test
+    public void testInvalidStreaming() {
+        Compilation.Result result = new Compilation().addSource("com.example.Invalid", """
+                package com.example;
+
+                import java.util.Iterator;
+                import java.util.concurrent.CompletionStage;
+                import java.util.concurrent.Flow;
+                import org.mcpjava.server.Cached;
+                import org.mcpjava.server.content.ContentBlock;
+                import org.mcpjava.server.tools.Tool;
+
+                public class Invalid {
+                    @Tool(structuredContent = true)
+                    public Flow.Publisher<ContentBlock> search() {
+                        return null;
+                    }
+
+                    @Cached
+                    @Tool(annotations = @Tool.Annotations(readOnlyHint = true, idempotentHint = true))
+                    public CompletionStage<Iterator<ContentBlock>> tail() {
+                        return null;
+                    }
+                }
+                """).compile();
+        assertFalse(result.success());
+        assertTrue(result.errors().contains("Tools which stream their content cannot return structured content"), result.errors());
+        assertTrue(result.errors().contains("which do not stream their content"), result.errors());
+    }
+
+    @Test
+    public void testDefaultServer() {
+        Compilation.Result result = new Compilation().addSource("com.example.Simple", """
+                package com.example;
+
+                import org.mcpjava.server.resources.Resource;
+                import org.mcpjava.server.tools.Tool;
+
+                public class Simple {
+                    @Tool
+                    public String hello() {
+                        return "hello";
+                    }
+
+                    @Resource(uri = "config://hello", computeSize = true, warmUp = true,
+                              executionModel = org.mcpjava.server.ExecutionModel.VIRTUAL_THREAD)
+                    public String helloResource() {
+                        return "hello";
+                    }
+
+                    @Tool
+                    public java.util.stream.Stream<org.mcpjava.server.content.ContentBlock> lines() {
+                        return java.util.stream.Stream.empty();
+                    }
+                }
+                """).compile();
+        assertTrue(result.success(), result.errors());
+        FeatureMetadata hello = FeatureIndex.loadFeatures(result.classLoader()).get(0);
+        assertEquals(List.of(McpServer.DEFAULT), hello.servers());
+        assertTrue(hello.toolAnnotations().isEmpty());
+        assertTrue(hello.bulkheads().isEmpty());
+        assertTrue(hello.description().isEmpty());
+        assertFalse(hello.computeSize());
+        assertFalse(hello.warmUp());
+        FeatureMetadata helloResource = FeatureIndex.loadFeatures(result.classLoader()).get(1);
+        assertTrue(helloResource.computeSize());
+        assertTrue(helloResource.warmUp());
+        assertEquals(ExecutionModel.VIRTUAL_THREAD, helloResource.executionModel());
+        assertEquals(ExecutionModel.DEFAULT, hello.executionModel());
+        assertFalse(hello.streaming());
+        assertTrue(FeatureIndex.loadFeatures(result.classLoader()).get(2).streaming());
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.Cancellation;
+import org.mcpjava.server.McpRequest;
+import org.mcpjava.server.completion.CompletionContext;
+import org.mcpjava.server.progress.Progress;
+import org.mcpjava.server.spi.index.FeatureIndex;
+import org.mcpjava.server.spi.index.FeatureInvoker;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.InvocationContext;
+
+/**
+ * Test the generated {@link FeatureInvoker}s
+ */
+public class TestFeatureInvoker {
+
+    static final String SERVER = """
+            package com.example;
+
+            import java.io.IOException;
+            import java.util.List;
+            import java.util.concurrent.CompletableFuture;
+            import java.util.concurrent.CompletionStage;
+            import org.mcpjava.server.*;
+            import org.mcpjava.server.prompts.*;
+            import org.mcpjava.server.resources.*;
+            import org.mcpjava.server.tools.*;
+
+            class Calculator {
+
+                @Tool
+                int add(int a, long b, @ToolArg(name = "c") Short c, Cancellation cancellation) {
+                    return (int) (a + b + c);
+                }
+
+                @Tool
+                static String join(List<String> values, boolean upper) throws IOException {
+                    String result = String.join(",", values);
+                    return upper ? result.toUpperCase() : result;
+                }
+
+                @Tool
+                public void fail(McpRequest request) throws IOException {
+                    throw new IOException("failed");
+                }
+
+                @Tool
+                private String secret() {
+                    return "secret";
+                }
+
+                @Prompt
+                <T extends CharSequence> String greet(@PromptArg(name = "name") String name) {
+                    return "Hello " + name;
+                }
+
+                @ResourceTemplate(uriTemplate = "file:///users/{id}")
+                CompletionStage<String> user(String id) {
+                    return CompletableFuture.completedFuture("user " + id);
+                }
+
+                public static class Nested {
+                    @Resource(uri = "file:///nested")
+                    public String nested() {
+                        return "nested";
+                    }
+                }
+            }
+            """;
+
+    @Test
+    public void testInvokers() throws Exception {
+        Compilation.Result result = new Compilation().addSource("com.example.Calculator", SERVER).compile();
+        assertTrue(result.success(), result.errors());
+
+        ClassLoader loader = result.classLoader();
+        Map<String, FeatureMetadata> features = FeatureIndex.loadFeatures(loader)
+                                                            .stream()
+                                                            .collect(Collectors.toMap(FeatureMetadata::name, Function.identity()));
+        Object calculator = newInstance(loader, "com.example.Calculator");
+
+        FeatureInvoker add = features.get("add").invoker().orElseThrow();
+        assertSame(add, features.get("add").invoker().orElseThrow());
+        assertEquals(6, add.invoke(calculator, new Context(1, 2L, (short) 3)));
+
+        FeatureInvoker join = features.get("join").invoker().orElseThrow();
+        assertEquals("A,B", join.invoke(null, new Context(List.of("a", "b"), true)));
+
+        FeatureInvoker fail = features.get("fail").invoker().orElseThrow();
+        assertEquals("failed", assertThrows(java.io.IOException.class, () -> fail.invoke(calculator, new Context())).getMessage());
+
+        assertTrue(features.get("secret").invoker().isEmpty());
+
+        FeatureInvoker greet = features.get("greet").invoker().orElseThrow();
+        assertEquals("Hello Bob", greet.invoke(calculator, new Context("Bob")));
+
+        FeatureInvoker nested = features.get("nested").invoker().orElseThrow();
+        assertEquals("nested", nested.invoke(newInstance(loader, "com.example.Calculator$Nested"), new Context()));
+    }
+
+    @Test
+    public void testAsynchronous() throws Exception {
+        Compilation.Result result = new Compilation().addSource("com.example.Calculator", SERVER).compile();
+        assertTrue(result.success(), result.errors());
+
+        ClassLoader loader = result.classLoader();
+        Map<String, FeatureMetadata> features = FeatureIndex.loadFeatures(loader)
+                                                            .stream()
+                                                            .collect(Collectors.toMap(FeatureMetadata::name, Function.identity()));
+        Object calculator = newInstance(loader, "com.example.Calculator");
+
+        FeatureMetadata user = features.get("user");
+        assertTrue(user.asynchronous());
+        assertEquals("java.util.concurrent.CompletionStage<java.lang.String>", user.returnType());
+        assertEquals("java.lang.String", user.resultType());
+        assertEquals("user 7", user.invoker().orElseThrow().invokeAsync(calculator, new Context("7")).toCompletableFuture().get());
+
+        FeatureMetadata add = features.get("add");
+        assertFalse(add.asynchronous());
+        assertEquals("int", add.resultType());
+        assertEquals(6, add.invoker().orElseThrow().invokeAsync(calculator, new Context(1, 2L, (short) 3)).toCompletableFuture().get());
+
+        CompletableFuture<Object> fail = features.get("fail").invoker().orElseThrow().invokeAsync(calculator, new Context())
+                                                 .toCompletableFuture();
+        assertEquals("failed", assertThrows(ExecutionException.class, fail::get).getCause().getMessage());
+    }
+
+    @Test
+    public void testVoidMethod() throws Exception {
+        Compilation.Result result = new Compilation().addSource("com.example.Counter", """
+                package com.example;
+
+                import org.mcpjava.server.tools.Tool;
+
+                public class Counter {
+                    public static int count;
+
+                    @Tool
+                    public static void increment() {
+                        count++;
+                    }
+                }
+                """).compile();
+        assertTrue(result.success(), result.errors());
+
+        ClassLoader loader = result.classLoader();
+        FeatureMetadata increment = FeatureIndex.loadFeatures(loader).get(0);
+        assertNull(increment.invoker().orElseThrow().invoke(null, new Context()));
+        assertEquals(1, loader.loadClass("com.example.Counter").getField("count").getInt(null));
+    }
+
+    private static Object newInstance(ClassLoader loader, String className) throws Exception {
+        var constructor = loader.loadClass(className).getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    /**
+     * Supplies arguments by position. Injected values are {@code null}.
+     */
+    private static final class Context implements InvocationContext {
+
+        private final Object[] arguments;
+
+        Context(Object... arguments) {
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Object argument(int position) {
+            return arguments[position];
+        }
+
+        @Override
+        public McpRequest request() {
+            return null;
+        }
+
+        @Override
+        public Cancellation cancellation() {
+            return null;
+        }
+
+        @Override
+        public Progress progress() {
+            return null;
+        }
+
+        @Override
+        public CompletionContext completionContext() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.processor.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.mcpjava.server.spi.index.FeatureIndex;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.spi.index.JsonSchema;
+
+/**
+ * Test the JSON schemas generated for tools
+ */
+public class TestJsonSchema {
+
+    static final String SERVER = """
+            package com.example;
+
+            import java.time.LocalDate;
+            import java.util.List;
+            import java.util.Map;
+            import java.util.Optional;
+            import java.util.concurrent.CompletableFuture;
+            import java.util.concurrent.CompletionStage;
+            import org.mcpjava.server.Cancellation;
+            import org.mcpjava.server.prompts.Prompt;
+            import org.mcpjava.server.tools.*;
+
+            public class Weather {
+
+                public enum Unit { CELSIUS, FAHRENHEIT }
+
+                public record Location(String name, double latitude, double longitude) {}
+
+                public record Forecast(Location location, LocalDate date, List<Double> temperatures, Unit unit,
+                                       Map<String, String> notes, Forecast previous) {}
+
+                public static class Summary {
+                    public String text;
+
+                    public int getCount() {
+                        return 0;
+                    }
+                }
+
+                @Tool(structuredContent = true)
+                public Forecast forecast(@ToolArg(description = "Where") Location location,
+                                         @ToolArg(defaultValue = "3") int days,
+                                         @ToolArg(defaultValue = "CELSIUS") Unit unit,
+                                         Optional<String> label,
+                                         Cancellation cancellation) {
+                    return null;
+                }
+
+                @Tool(outputSchemaFrom = Summary.class)
+                public ToolResponse summary(Location location, byte[] data) {
+                    return null;
+                }
+
+                @Tool(structuredContent = true)
+                public List<String> names() {
+                    return List.of();
+                }
+
+                @Tool(structuredContent = true)
+                public CompletionStage<Location> locate(String name) {
+                    return null;
+                }
+
+                @Tool(structuredContent = true)
+                public CompletableFuture<Void> refresh() {
+                    return null;
+                }
+
+                @Prompt
+                public String prompt(String value) {
+                    return value;
+                }
+            }
+            """;
+
+    @Test
+    public void testSchemas() {
+        Compilation.Result result = new Compilation().addSource("com.example.Weather", SERVER).compile();
+        assertTrue(result.success(), result.errors());
+
+        Map<String, FeatureMetadata> features = FeatureIndex.loadFeatures(result.classLoader())
+                                                            .stream()
+                                                            .collect(Collectors.toMap(FeatureMetadata::name, Function.identity()));
+
+        String location = "\"com.example.Weather.Location\":{\"type\":\"object\",\"properties\":{"
+                + "\"name\":{\"type\":\"string\"},\"latitude\":{\"type\":\"number\"},\"longitude\":{\"type\":\"number\"}},"
+                + "\"required\":[\"latitude\",\"longitude\"]}";
+
+        JsonSchema forecastInput = features.get("forecast").inputSchema().orElseThrow();
+        assertEquals(List.of("com.example.Weather.Location"), forecastInput.definitions());
+        assertEquals("{\"type\":\"object\",\"properties\":{"
+                + "\"location\":{\"$ref\":\"#/$defs/com.example.Weather.Location\",\"description\":\"Where\"},"
+                + "\"days\":{\"type\":\"integer\",\"default\":3},"
+                + "\"unit\":{\"type\":\"string\",\"enum\":[\"CELSIUS\",\"FAHRENHEIT\"],\"default\":\"CELSIUS\"},"
+                + "\"label\":{\"type\":\"string\"}},"
+                + "\"required\":[\"location\"],"
+                + "\"$defs\":{" + location + "}}",
+                     forecastInput.json());
+        assertSame(forecastInput.json(), forecastInput.json());
+
+        JsonSchema forecastOutput = features.get("forecast").outputSchema().orElseThrow();
+        assertEquals(List.of("com.example.Weather.Forecast", "com.example.Weather.Location"), forecastOutput.definitions());
+        assertTrue(forecastOutput.json().startsWith("{\"type\":\"object\",\"properties\":{"
+                + "\"location\":{\"$ref\":\"#/$defs/com.example.Weather.Location\"},"
+                + "\"date\":{\"type\":\"string\",\"format\":\"date\"},"
+                + "\"temperatures\":{\"type\":\"array\",\"items\":{\"type\":\"number\"}},"
+                + "\"unit\":{\"type\":\"string\",\"enum\":[\"CELSIUS\",\"FAHRENHEIT\"]},"
+                + "\"notes\":{\"type\":\"object\",\"additionalProperties\":{\"type\":\"string\"}},"
+                + "\"previous\":{\"$ref\":\"#/$defs/com.example.Weather.Forecast\"}},"
+                + "\"$defs\":{\"com.example.Weather.Forecast\":"), forecastOutput.json());
+        assertTrue(forecastOutput.json().endsWith("," + location + "}}"), forecastOutput.json());
+
+        FeatureMetadata summary = features.get("summary");
+        assertEquals("{\"type\":\"object\",\"properties\":{"
+                + "\"location\":{\"$ref\":\"#/$defs/com.example.Weather.Location\"},"
+                + "\"data\":{\"type\":\"string\",\"contentEncoding\":\"base64\"}},"
+                + "\"required\":[\"location\",\"data\"],"
+                + "\"$defs\":{" + location + "}}",
+                     summary.inputSchema().orElseThrow().json());
+        assertEquals("{\"type\":\"object\",\"properties\":{\"text\":{\"type\":\"string\"},\"count\":{\"type\":\"integer\"}}}",
+                     summary.outputSchema().orElseThrow().json());
+
+        FeatureMetadata names = features.get("names");
+        assertEquals("{\"type\":\"object\",\"properties\":{}}", names.inputSchema().orElseThrow().json());
+        assertTrue(names.outputSchema().isEmpty());
+
+        // asynchronous tools are described by the result of their stage
+        assertEquals(location.substring(location.indexOf(':') + 1),
+                     features.get("locate").outputSchema().orElseThrow().json());
+        assertTrue(features.get("refresh").outputSchema().isEmpty());
+
+        assertTrue(features.get("prompt").inputSchema().isEmpty());
+
+        // shared definitions are written once
+        assertEquals(location.substring(location.indexOf(':') + 1),
+                     result.readOutput("META-INF/mcp/schemas/com.example.McpFeatureIndex/defs/com.example.Weather.Location.json"));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+import org.mcpjava.server.Role;
+import org.mcpjava.server.content.Annotations;
+
+record AnnotationsImpl(Optional<Set<Role>> audience, OptionalDouble priority, Optional<Instant> lastModified)
+        implements Annotations {
+
+    static final class BuilderImpl implements Annotations.Builder {
+        private Set<Role> audience;
+        private double priority = Double.NaN;
+        private Instant lastModified;
+
+        @Override
+        public Builder setAudience(Role... roles) {
+            this.audience = Flyweights.audience(roles);
+            return this;
+        }
+
+        @Override
+        public Builder setAudience(Set<Role> roles) {
+            this.audience = Flyweights.audience(roles);
+            return this;
+        }
+
+        @Override
+        public Builder setPriority(double priority) {
+            if (!(priority >= 0.0 && priority <= 1.0)) {
+                throw new IllegalArgumentException("priority must be between 0.0 and 1.0: " + priority);
+            }
+            this.priority = priority;
+            return this;
+        }
+
+        @Override
+        public Builder setLastModified(Instant lastModified) {
+            this.lastModified = Objects.requireNonNull(lastModified, "lastModified");
+            return this;
+        }
+
+        @Override
+        public Annotations build() {
+            if (audience != null && Double.isNaN(priority) && lastModified == null) {
+                return Flyweights.audienceAnnotations(audience);
+            }
+            return new AnnotationsImpl(Optional.ofNullable(audience),
+                                       Double.isNaN(priority) ? OptionalDouble.empty() : OptionalDouble.of(priority),
+                                       Optional.ofNullable(lastModified));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Binary data held as the array it was created from, as a read-only view of a buffer, or as its
+ * base64 encoding. Neither arrays nor buffers are copied.
+ * <p>
+ * Data created from base64 is decoded when its bytes are first read, and keeps the encoding.
+ * Other data is encoded on every call to {@link #base64()} unless it {@linkplain #cachingBase64()
+ * caches} the encoding.
+ * <p>
+ * Equality and hash code depend only on the bytes, so data created from an array equals the same
+ * data created from a buffer or base64.
+ */
+final class Binary {
+
+    private final ByteBuffer buffer;
+    private final boolean cacheBase64;
+    private volatile byte[] array;
+    private volatile String base64;
+
+    private Binary(byte[] array, ByteBuffer buffer, String base64, boolean cacheBase64) {
+        this.array = array;
+        this.buffer = buffer;
+        this.base64 = base64;
+        this.cacheBase64 = cacheBase64;
+    }
+
+    static Binary of(byte[] array) {
+        return new Binary(Objects.requireNonNull(array, "data"), null, null, false);
+    }
+
+    /**
+     * Uses the remaining content of a buffer. A heap buffer which covers its whole backing array
+     * is held as the array, so that {@link #array()} doesn't copy it.
+     */
+    static Binary of(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "data");
+        if (buffer.hasArray() && buffer.arrayOffset() + buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+            return new Binary(buffer.array(), null, null, false);
+        }
+        return new Binary(null, buffer.slice().asReadOnlyBuffer(), null, false);
+    }
+
+    /**
+     * Uses base64 encoded data, which is not decoded until its bytes are read
+     */
+    static Binary ofBase64(String base64) {
+        return new Binary(null, null, Objects.requireNonNull(base64, "base64"), true);
+    }
+
+    /**
+     * Returns this data with its base64 encoding memoized
+     */
+    Binary cachingBase64() {
+        return cacheBase64 ? this : new Binary(array, buffer, base64, true);
+    }
+
+    /**
+     * Returns the data as an array, copying it if it was created from a buffer
+     */
+    byte[] array() {
+        byte[] a = array;
+        if (a != null) {
+            return a;
+        }
+        if (buffer != null) {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.duplicate().get(copy);
+            return copy;
+        }
+        a = Base64.getDecoder().decode(base64);
+        array = a;
+        return a;
+    }
+
+    /**
+     * Returns a read-only view of the data with its own position and limit
+     */
+    ByteBuffer buffer() {
+        return buffer != null ? buffer.duplicate() : ByteBuffer.wrap(array()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the base64 encoding of the data, memoizing it if this data caches its encoding
+     */
+    String base64() {
+        String encoded = base64;
+        if (encoded == null) {
+            encoded = encode();
+            if (cacheBase64) {
+                base64 = encoded;
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * Returns the base64 encoding if it is known or cached, otherwise {@code null}
+     */
+    String cachedBase64() {
+        return cacheBase64 ? base64() : null;
+    }
+
+    private String encode() {
+        if (buffer == null) {
+            return Base64.getEncoder().encodeToString(array());
+        }
+        ByteBuffer encoded = Base64.getEncoder().encode(buffer.duplicate());
+        return new String(encoded.array(), encoded.arrayOffset(), encoded.remaining(), StandardCharsets.ISO_8859_1);
+    }
+
+    int length() {
+        byte[] a = array;
+        if (a != null) {
+            return a.length;
+        }
+        if (buffer != null) {
+            return buffer.remaining();
+        }
+        int length = base64.length();
+        int padding = 0;
+        while (padding < 2 && padding < length && base64.charAt(length - 1 - padding) == '=') {
+            padding++;
+        }
+        return length / 4 * 3 - padding;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Binary other)) {
+            return false;
+        }
+        if (buffer == null && other.buffer == null) {
+            return Arrays.equals(array(), other.array());
+        }
+        return buffer().equals(other.buffer());
+    }
+
+    @Override
+    public int hashCode() {
+        if (buffer == null) {
+            return Arrays.hashCode(array());
+        }
+        // same as Arrays.hashCode, which ByteBuffer.hashCode is not
+        int hash = 1;
+        for (int i = buffer.position(), limit = buffer.limit(); i < limit; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return length() + " bytes";
+    }
+}
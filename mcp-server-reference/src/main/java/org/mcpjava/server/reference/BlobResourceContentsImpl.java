@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.mcpjava.server.resources.BlobResourceContents;
+
+record BlobResourceContentsImpl(String uri, Optional<String> mimeType, Binary content, Map<String, Object> metadata)
+        implements BlobResourceContents {
+
+    BlobResourceContentsImpl(String uri, Binary content) {
+        this(Objects.requireNonNull(uri, "uri"), Optional.empty(), content, Map.of());
+    }
+
+    @Override
+    public byte[] blob() {
+        return content.array();
+    }
+
+    @Override
+    public ByteBuffer blobBuffer() {
+        return content.buffer();
+    }
+
+    @Override
+    public int blobLength() {
+        return content.length();
+    }
+
+    @Override
+    public String base64() {
+        return content.base64();
+    }
+
+    @Override
+    public void writeBase64(OutputStream out) throws IOException {
+        String encoded = content.cachedBase64();
+        if (encoded == null) {
+            BlobResourceContents.super.writeBase64(out);
+        } else {
+            out.write(encoded.getBytes(StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    static final class BuilderImpl extends MetaBuilder<BlobResourceContents.Builder> implements BlobResourceContents.Builder {
+        private final String uri;
+        private final Binary content;
+        private String mimeType;
+        private boolean cacheBase64;
+
+        BuilderImpl(String uri, Binary content) {
+            this.uri = Objects.requireNonNull(uri, "uri");
+            this.content = content;
+        }
+
+        @Override
+        public Builder setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+            return this;
+        }
+
+        @Override
+        public Builder setCacheBase64(boolean cacheBase64) {
+            this.cacheBase64 = cacheBase64;
+            return this;
+        }
+
+        @Override
+        public BlobResourceContents build() {
+            return new BlobResourceContentsImpl(uri,
+                                                Optional.ofNullable(mimeType),
+                                                cacheBase64 ? content.cachingBase64() : content,
+                                                buildMetadata());
+        }
+    }
+}
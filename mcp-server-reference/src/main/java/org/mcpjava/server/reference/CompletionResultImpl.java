@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import org.mcpjava.server.completion.CompletionResult;
+
+record CompletionResultImpl(List<String> values, OptionalInt total, Optional<Boolean> hasMore, Map<String, Object> metadata)
+        implements CompletionResult {
+
+    static final class BuilderImpl extends MetaBuilder<CompletionResult.Builder> implements CompletionResult.Builder {
+        private final ListBuilder<String> values = new ListBuilder<>();
+        private int total = -1;
+        private Boolean hasMore;
+
+        @Override
+        public Builder addValue(String value) {
+            values.add(value);
+            return this;
+        }
+
+        @Override
+        public Builder addValues(Collection<String> values) {
+            this.values.addAll(values);
+            return this;
+        }
+
+        @Override
+        public Builder setTotal(int total) {
+            if (total < 0) {
+                throw new IllegalArgumentException("total must not be negative: " + total);
+            }
+            this.total = total;
+            return this;
+        }
+
+        @Override
+        public Builder setHasMore(Boolean hasMore) {
+            this.hasMore = hasMore;
+            return this;
+        }
+
+        @Override
+        public CompletionResult build() {
+            return new CompletionResultImpl(values.build(),
+                                            total == -1 ? OptionalInt.empty() : OptionalInt.of(total),
+                                            Optional.ofNullable(hasMore),
+                                            buildMetadata());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.mcpjava.server.content.Annotations;
+import org.mcpjava.server.content.EmbeddedResource;
+import org.mcpjava.server.resources.ResourceContents;
+
+record EmbeddedResourceImpl(ResourceContents resource, Optional<Annotations> annotations, Map<String, Object> metadata)
+        implements EmbeddedResource {
+
+    static final class BuilderImpl extends MetaBuilder<EmbeddedResource.Builder> implements EmbeddedResource.Builder {
+        private final String uri;
+        private final String text;
+        private final Binary blob;
+        private String mimeType;
+        private Annotations annotations;
+        private Map<String, Object> resourceMetadata;
+
+        /**
+         * Creates a builder for a text or blob resource, exactly one of {@code text} and
+         * {@code blob} must be non-null
+         */
+        BuilderImpl(String uri, String text, Binary blob) {
+            this.uri = Objects.requireNonNull(uri, "uri");
+            this.text = text;
+            this.blob = blob;
+        }
+
+        @Override
+        public Builder setAnnotations(Annotations annotations) {
+            this.annotations = annotations;
+            return this;
+        }
+
+        @Override
+        public Builder setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+            return this;
+        }
+
+        @Override
+        public Builder putResourceMeta(String key, Object value) {
+            Objects.requireNonNull(key, "key");
+            if (resourceMetadata == null) {
+                resourceMetadata = new LinkedHashMap<>(4);
+            }
+            resourceMetadata.put(key, value);
+            return this;
+        }
+
+        @Override
+        public EmbeddedResource build() {
+            Map<String, Object> meta = resourceMetadata == null
+                    ? Map.of()
+                    : Collections.unmodifiableMap(new LinkedHashMap<>(resourceMetadata));
+            ResourceContents resource = text != null
+                    ? new TextResourceContentsImpl(uri, Optional.ofNullable(mimeType), text, meta)
+                    : new BlobResourceContentsImpl(uri, Optional.ofNullable(mimeType), blob, meta);
+            return new EmbeddedResourceImpl(resource, Optional.ofNullable(annotations), buildMetadata());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+import org.mcpjava.server.Role;
+import org.mcpjava.server.content.Annotations;
+import org.mcpjava.server.content.TextContent;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * Shared instances of frequently created objects.
+ * <p>
+ * Audience sets and audience-only annotations are created once for every combination of roles.
+ * Text contents and text responses are shared only for the constant texts {@code ""} and
+ * {@code "OK"}. Other texts create new objects, since tools which return the same response every
+ * time can hold it in a constant themselves.
+ */
+final class Flyweights {
+
+    static final ToolResponse EMPTY_TOOL_RESPONSE = new ToolResponseImpl(List.of(), Optional.empty(), false, Map.of());
+
+    private static final Role[] ROLES = Role.values();
+
+    /**
+     * Audience sets and annotations, indexed by the bit set of role ordinals
+     */
+    private static final Set<Role>[] AUDIENCES;
+    private static final Annotations[] AUDIENCE_ANNOTATIONS;
+
+    static {
+        int combinations = 1 << ROLES.length;
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        Set<Role>[] audiences = new Set[combinations];
+        AUDIENCE_ANNOTATIONS = new Annotations[combinations];
+        for (int bits = 0; bits < combinations; bits++) {
+            EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+            for (Role role : ROLES) {
+                if ((bits & (1 << role.ordinal())) != 0) {
+                    roles.add(role);
+                }
+            }
+            audiences[bits] = Collections.unmodifiableSet(roles);
+            AUDIENCE_ANNOTATIONS[bits] = new AnnotationsImpl(Optional.of(audiences[bits]),
+                                                             OptionalDouble.empty(),
+                                                             Optional.empty());
+        }
+        AUDIENCES = audiences;
+    }
+
+    private static final TextContent EMPTY_TEXT = new TextContentImpl("");
+    private static final TextContent OK_TEXT = new TextContentImpl("OK");
+    private static final ToolResponse EMPTY_TEXT_RESPONSE = textResponse(EMPTY_TEXT, false);
+    private static final ToolResponse OK_RESPONSE = textResponse(OK_TEXT, false);
+    private static final ToolResponse EMPTY_ERROR_RESPONSE = textResponse(EMPTY_TEXT, true);
+    private static final ToolResponse OK_ERROR_RESPONSE = textResponse(OK_TEXT, true);
+
+    private Flyweights() {}
+
+    static Set<Role> audience(Role... roles) {
+        return AUDIENCES[bits(roles)];
+    }
+
+    static Set<Role> audience(Set<Role> roles) {
+        return AUDIENCES[bits(roles)];
+    }
+
+    static Annotations audienceAnnotations(Role... roles) {
+        return AUDIENCE_ANNOTATIONS[bits(roles)];
+    }
+
+    static Annotations audienceAnnotations(Set<Role> roles) {
+        return AUDIENCE_ANNOTATIONS[bits(roles)];
+    }
+
+    private static int bits(Role... roles) {
+        int bits = 0;
+        for (Role role : roles) {
+            bits |= 1 << Objects.requireNonNull(role, "role").ordinal();
+        }
+        return bits;
+    }
+
+    private static int bits(Set<Role> roles) {
+        int bits = 0;
+        for (Role role : roles) {
+            bits |= 1 << Objects.requireNonNull(role, "role").ordinal();
+        }
+        return bits;
+    }
+
+    static TextContent textContent(String text) {
+        return switch (Objects.requireNonNull(text, "text")) {
+            case "" -> EMPTY_TEXT;
+            case "OK" -> OK_TEXT;
+            default -> new TextContentImpl(text);
+        };
+    }
+
+    static ToolResponse textResponse(String text) {
+        return switch (Objects.requireNonNull(text, "text")) {
+            case "" -> EMPTY_TEXT_RESPONSE;
+            case "OK" -> OK_RESPONSE;
+            default -> textResponse(new TextContentImpl(text), false);
+        };
+    }
+
+    static ToolResponse errorResponse(String text) {
+        return switch (Objects.requireNonNull(text, "text")) {
+            case "" -> EMPTY_ERROR_RESPONSE;
+            case "OK" -> OK_ERROR_RESPONSE;
+            default -> textResponse(new TextContentImpl(text), true);
+        };
+    }
+
+    private static ToolResponse textResponse(TextContent content, boolean isError) {
+        return new ToolResponseImpl(List.of(content), Optional.empty(), isError, Map.of());
+    }
+}
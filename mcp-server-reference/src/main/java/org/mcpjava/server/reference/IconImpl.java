@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.mcpjava.server.Icon;
+
+record IconImpl(String src, Optional<String> mimeType, List<String> sizes, Optional<Theme> theme) implements Icon {
+
+    static final String ANY_SIZE = "any";
+
+    static final class BuilderImpl implements Icon.Builder {
+        private final String src;
+        private final ListBuilder<String> sizes = new ListBuilder<>();
+        private boolean anySize;
+        private String mimeType;
+        private Theme theme;
+
+        BuilderImpl(String src) {
+            this.src = Objects.requireNonNull(src, "src");
+        }
+
+        @Override
+        public Builder setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+            return this;
+        }
+
+        @Override
+        public Builder addSize(int width, int height) {
+            if (anySize) {
+                throw new IllegalStateException("addSize cannot be used with setAnySize");
+            }
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Invalid size " + width + "x" + height);
+            }
+            sizes.add(width + "x" + height);
+            return this;
+        }
+
+        @Override
+        public Builder setAnySize() {
+            if (!sizes.isEmpty()) {
+                throw new IllegalStateException("setAnySize cannot be used with addSize");
+            }
+            anySize = true;
+            return this;
+        }
+
+        @Override
+        public Builder setTheme(Theme theme) {
+            this.theme = theme;
+            return this;
+        }
+
+        @Override
+        public Icon build() {
+            return new IconImpl(src,
+                                Optional.ofNullable(mimeType),
+                                anySize ? List.of(ANY_SIZE) : sizes.build(),
+                                Optional.ofNullable(theme));
+        }
+    }
+}
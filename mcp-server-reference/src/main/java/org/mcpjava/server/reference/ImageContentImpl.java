@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.mcpjava.server.content.Annotations;
+import org.mcpjava.server.content.ImageContent;
+
+record ImageContentImpl(Binary content, String mimeType, Optional<Annotations> annotations, Map<String, Object> metadata)
+        implements ImageContent {
+
+    ImageContentImpl(Binary content, String mimeType) {
+        this(content, Objects.requireNonNull(mimeType, "mimeType"), Optional.empty(), Map.of());
+    }
+
+    @Override
+    public byte[] data() {
+        return content.array();
+    }
+
+    @Override
+    public ByteBuffer dataBuffer() {
+        return content.buffer();
+    }
+
+    @Override
+    public int dataLength() {
+        return content.length();
+    }
+
+    @Override
+    public String base64() {
+        return content.base64();
+    }
+
+    static final class BuilderImpl extends MetaBuilder<ImageContent.Builder> implements ImageContent.Builder {
+        private final Binary content;
+        private final String mimeType;
+        private Annotations annotations;
+        private boolean cacheBase64;
+
+        BuilderImpl(Binary content, String mimeType) {
+            this.content = content;
+            this.mimeType = Objects.requireNonNull(mimeType, "mimeType");
+        }
+
+        @Override
+        public Builder setAnnotations(Annotations annotations) {
+            this.annotations = annotations;
+            return this;
+        }
+
+        @Override
+        public Builder setCacheBase64(boolean cacheBase64) {
+            this.cacheBase64 = cacheBase64;
+            return this;
+        }
+
+        @Override
+        public ImageContent build() {
+            return new ImageContentImpl(cacheBase64 ? content.cachingBase64() : content, mimeType, Optional.ofNullable(annotations), buildMetadata());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Accumulates the elements of an immutable list.
+ * <p>
+ * Empty and single element lists use the compact {@link List#of()} implementations. Longer lists
+ * are shared with the built object, and copied if more elements are added afterwards.
+ *
+ * @param <E> the element type
+ */
+final class ListBuilder<E> {
+
+    private ArrayList<E> elements;
+    private List<E> view;
+
+    void add(E element) {
+        Objects.requireNonNull(element, "element");
+        owned(1).add(element);
+    }
+
+    void addAll(Collection<? extends E> elements) {
+        for (E element : elements) {
+            Objects.requireNonNull(element, "element");
+        }
+        owned(elements.size()).addAll(elements);
+    }
+
+    boolean isEmpty() {
+        return elements == null || elements.isEmpty();
+    }
+
+    List<E> build() {
+        if (elements == null || elements.isEmpty()) {
+            return List.of();
+        }
+        if (elements.size() == 1) {
+            return List.of(elements.get(0));
+        }
+        if (view == null) {
+            view = Collections.unmodifiableList(elements);
+        }
+        return view;
+    }
+
+    private ArrayList<E> owned(int additional) {
+        if (elements == null) {
+            elements = new ArrayList<>(Math.max(4, additional));
+        } else if (view != null) {
+            elements = new ArrayList<>(elements);
+            view = null;
+        }
+        return elements;
+    }
+}
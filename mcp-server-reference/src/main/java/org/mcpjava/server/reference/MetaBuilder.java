@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.mcpjava.server.MetaCarrier;
+
+/**
+ * Base class for builders of {@link MetaCarrier}s.
+ * <p>
+ * The metadata map is shared with the built object, and copied if the builder is modified
+ * afterwards.
+ *
+ * @param <THIS> the builder interface
+ */
+abstract class MetaBuilder<THIS extends MetaCarrier.Builder<THIS>> implements MetaCarrier.Builder<THIS> {
+
+    private Map<String, Object> metadata;
+    private Map<String, Object> view;
+
+    @Override
+    public THIS putMetadata(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        if (metadata == null) {
+            metadata = new LinkedHashMap<>(4);
+        } else if (view != null) {
+            metadata = new LinkedHashMap<>(metadata);
+            view = null;
+        }
+        metadata.put(key, value);
+        return self();
+    }
+
+    @Override
+    public THIS setMetadata(Map<String, Object> metadata) {
+        this.metadata = metadata.isEmpty() ? null : new LinkedHashMap<>(metadata);
+        this.view = null;
+        return self();
+    }
+
+    /**
+     * Returns the metadata for a built object
+     *
+     * @return an unmodifiable view of the metadata
+     */
+    final Map<String, Object> buildMetadata() {
+        if (metadata == null) {
+            return Map.of();
+        }
+        if (view == null) {
+            view = Collections.unmodifiableMap(metadata);
+        }
+        return view;
+    }
+
+    @SuppressWarnings("unchecked")
+    final THIS self() {
+        return (THIS) this;
+    }
+}
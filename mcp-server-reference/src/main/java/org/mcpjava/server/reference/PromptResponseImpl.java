@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.mcpjava.server.Role;
+import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.prompts.PromptMessage;
+import org.mcpjava.server.prompts.PromptResponse;
+
+record PromptResponseImpl(Optional<String> description, List<PromptMessage> messages, Map<String, Object> metadata)
+        implements PromptResponse {
+
+    record PromptMessageImpl(Role role, ContentBlock content) implements PromptMessage {
+    }
+
+    static final class BuilderImpl extends MetaBuilder<PromptResponse.Builder> implements PromptResponse.Builder {
+        private final ListBuilder<PromptMessage> messages = new ListBuilder<>();
+        private String description;
+
+        @Override
+        public Builder setDescription(String description) {
+            this.description = description;
+            return this;
+        }
+
+        @Override
+        public Builder addMessage(Role role, ContentBlock content) {
+            messages.add(new PromptMessageImpl(role, content));
+            return this;
+        }
+
+        @Override
+        public PromptResponse build() {
+            return new PromptResponseImpl(Optional.ofNullable(description), messages.build(), buildMetadata());
+        }
+    }
+}
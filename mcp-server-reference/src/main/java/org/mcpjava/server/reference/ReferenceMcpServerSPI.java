@@ -0,0 +1,343 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.Flow;
+
+import org.mcpjava.server.Icon;
+import org.mcpjava.server.Role;
+import org.mcpjava.server.completion.CompletionResult;
+import org.mcpjava.server.content.Annotations;
+import org.mcpjava.server.content.AudioContent;
+import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.content.EmbeddedResource;
+import org.mcpjava.server.content.ImageContent;
+import org.mcpjava.server.content.ResourceLink;
+import org.mcpjava.server.content.TextContent;
+import org.mcpjava.server.content.TextSource;
+import org.mcpjava.server.prompts.PromptResponse;
+import org.mcpjava.server.resources.BlobResourceContents;
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.resources.TextResourceContents;
+import org.mcpjava.server.spi.McpServerSPI;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * Reference implementation of {@link McpServerSPI}.
+ * <p>
+ * The convenience factory methods create their objects directly rather than through a builder,
+ * so the common {@code TextContent.of}, {@code ToolResponse.ofText} and {@code ResourceResponse.of}
+ * calls allocate only the objects they return.
+ */
+public class ReferenceMcpServerSPI implements McpServerSPI {
+
+    /**
+     * Creates the SPI, normally called by {@link java.util.ServiceLoader}
+     */
+    public ReferenceMcpServerSPI() {
+    }
+
+    @Override
+    public CompletionResult.Builder completeResultBuilder() {
+        return new CompletionResultImpl.BuilderImpl();
+    }
+
+    @Override
+    public CompletionResult newCompleteResult(List<String> values) {
+        List<String> copy = List.copyOf(values);
+        return new CompletionResultImpl(copy, OptionalInt.of(copy.size()), Optional.of(Boolean.FALSE), Map.of());
+    }
+
+    @Override
+    public CompletionResult newIncompleteResult(List<String> values) {
+        return new CompletionResultImpl(List.copyOf(values), OptionalInt.empty(), Optional.of(Boolean.TRUE), Map.of());
+    }
+
+    @Override
+    public CompletionResult newResult(List<String> values, int total) {
+        if (total < values.size()) {
+            throw new IllegalArgumentException();
+        }
+        return new CompletionResultImpl(List.copyOf(values),
+                                        OptionalInt.of(total),
+                                        Optional.of(total > values.size()),
+                                        Map.of());
+    }
+
+    @Override
+    public TextContent.Builder textContentBuilder(String text) {
+        return new TextContentImpl.BuilderImpl(text);
+    }
+
+    @Override
+    public TextContent newTextContent(String text) {
+        return Flyweights.textContent(text);
+    }
+
+    @Override
+    public TextContent.Builder textContentBuilder(CharSequence text) {
+        return new TextContentImpl.BuilderImpl(Text.of(text));
+    }
+
+    @Override
+    public TextContent.Builder utf8TextContentBuilder(ByteBuffer utf8) {
+        return new TextContentImpl.BuilderImpl(Text.ofUtf8(utf8));
+    }
+
+    @Override
+    public TextContent.Builder textContentBuilder(TextSource source) {
+        return new TextContentImpl.BuilderImpl(Text.of(source));
+    }
+
+    @Override
+    public AudioContent.Builder audioContentBuilder(byte[] data, String mimeType) {
+        return new AudioContentImpl.BuilderImpl(Binary.of(data), mimeType);
+    }
+
+    @Override
+    public AudioContent newAudioContent(byte[] data, String mimeType) {
+        return new AudioContentImpl(Binary.of(data), mimeType);
+    }
+
+    @Override
+    public AudioContent.Builder audioContentBuilderFromBase64(String base64, String mimeType) {
+        return new AudioContentImpl.BuilderImpl(Binary.ofBase64(base64), mimeType);
+    }
+
+    @Override
+    public AudioContent.Builder audioContentBuilder(ByteBuffer data, String mimeType) {
+        return new AudioContentImpl.BuilderImpl(Binary.of(data), mimeType);
+    }
+
+    @Override
+    public AudioContent newAudioContent(ByteBuffer data, String mimeType) {
+        return new AudioContentImpl(Binary.of(data), mimeType);
+    }
+
+    @Override
+    public ImageContent.Builder imageContentBuilder(byte[] data, String mimeType) {
+        return new ImageContentImpl.BuilderImpl(Binary.of(data), mimeType);
+    }
+
+    @Override
+    public ImageContent newImageContent(byte[] data, String mimeType) {
+        return new ImageContentImpl(Binary.of(data), mimeType);
+    }
+
+    @Override
+    public ImageContent.Builder imageContentBuilderFromBase64(String base64, String mimeType) {
+        return new ImageContentImpl.BuilderImpl(Binary.ofBase64(base64), mimeType);
+    }
+
+    @Override
+    public ImageContent.Builder imageContentBuilder(ByteBuffer data, String mimeType) {
+        return new ImageContentImpl.BuilderImpl(Binary.of(data), mimeType);
+    }
+
+    @Override
+    public ImageContent newImageContent(ByteBuffer data, String mimeType) {
+        return new ImageContentImpl(Binary.of(data), mimeType);
+    }
+
+    @Override
+    public EmbeddedResource.Builder textEmbeddedResourceBuilder(String text, String uri) {
+        return new EmbeddedResourceImpl.BuilderImpl(uri, Objects.requireNonNull(text, "text"), null);
+    }
+
+    @Override
+    public EmbeddedResource.Builder blobEmbeddedResourceBuilder(byte[] data, String uri) {
+        return new EmbeddedResourceImpl.BuilderImpl(uri, null, Binary.of(data));
+    }
+
+    @Override
+    public EmbeddedResource.Builder blobEmbeddedResourceBuilder(ByteBuffer data, String uri) {
+        return new EmbeddedResourceImpl.BuilderImpl(uri, null, Binary.of(data));
+    }
+
+    @Override
+    public EmbeddedResource.Builder blobEmbeddedResourceBuilderFromBase64(String base64, String uri) {
+        return new EmbeddedResourceImpl.BuilderImpl(uri, null, Binary.ofBase64(base64));
+    }
+
+    @Override
+    public ResourceLink.Builder resourceLinkBuilder(String name, String uri) {
+        return new ResourceLinkImpl.BuilderImpl(name, uri);
+    }
+
+    @Override
+    public Annotations.Builder annotationsBuilder() {
+        return new AnnotationsImpl.BuilderImpl();
+    }
+
+    @Override
+    public Annotations newAudienceAnnotations(Role... roles) {
+        return Flyweights.audienceAnnotations(roles);
+    }
+
+    @Override
+    public PromptResponse.Builder promptResponseBuilder() {
+        return new PromptResponseImpl.BuilderImpl();
+    }
+
+    @Override
+    public PromptResponse newPromptResponse(Role role, ContentBlock content) {
+        return new PromptResponseImpl(Optional.empty(),
+                                      List.of(new PromptResponseImpl.PromptMessageImpl(role, content)),
+                                      Map.of());
+    }
+
+    @Override
+    public ResourceResponse.Builder resourceResponseBuilder() {
+        return new ResourceResponseImpl.BuilderImpl();
+    }
+
+    @Override
+    public ResourceResponse resourceTextResponse(String uri, String text) {
+        return new ResourceResponseImpl(new TextResourceContentsImpl(uri, text));
+    }
+
+    @Override
+    public ResourceResponse resourceTextResponse(String uri, String text, String mimeType) {
+        return new ResourceResponseImpl(new TextResourceContentsImpl(Objects.requireNonNull(uri, "uri"),
+                                                                     Optional.ofNullable(mimeType),
+                                                                     Objects.requireNonNull(text, "text"),
+                                                                     Map.of()));
+    }
+
+    @Override
+    public ResourceResponse resourceBlobResponse(String uri, byte[] data) {
+        return new ResourceResponseImpl(new BlobResourceContentsImpl(uri, Binary.of(data)));
+    }
+
+    @Override
+    public ResourceResponse resourceBlobResponse(String uri, byte[] data, String mimeType) {
+        return resourceBlobResponse(uri, Binary.of(data), mimeType);
+    }
+
+    @Override
+    public ResourceResponse resourceBlobResponse(String uri, ByteBuffer data, String mimeType) {
+        return resourceBlobResponse(uri, Binary.of(data), mimeType);
+    }
+
+    private static ResourceResponse resourceBlobResponse(String uri, Binary data, String mimeType) {
+        return new ResourceResponseImpl(new BlobResourceContentsImpl(Objects.requireNonNull(uri, "uri"),
+                                                                     Optional.ofNullable(mimeType),
+                                                                     data,
+                                                                     Map.of()));
+    }
+
+    @Override
+    public ResourceResponse streamingResourceResponse(Flow.Publisher<? extends ResourceContents> contents) {
+        return new StreamingResourceResponseImpl(contents);
+    }
+
+    @Override
+    public TextResourceContents newTextResourceContents(String uri, String text) {
+        return new TextResourceContentsImpl(uri, text);
+    }
+
+    @Override
+    public TextResourceContents.Builder textResourceContentsBuilder(String uri, String text) {
+        return new TextResourceContentsImpl.BuilderImpl(uri, text);
+    }
+
+    @Override
+    public TextResourceContents.Builder textResourceContentsBuilder(String uri, CharSequence text) {
+        return new TextResourceContentsImpl.BuilderImpl(uri, Text.of(text));
+    }
+
+    @Override
+    public TextResourceContents.Builder utf8TextResourceContentsBuilder(String uri, ByteBuffer utf8) {
+        return new TextResourceContentsImpl.BuilderImpl(uri, Text.ofUtf8(utf8));
+    }
+
+    @Override
+    public TextResourceContents.Builder textResourceContentsBuilder(String uri, TextSource source) {
+        return new TextResourceContentsImpl.BuilderImpl(uri, Text.of(source));
+    }
+
+    @Override
+    public BlobResourceContents newBlobResourceContent(String uri, byte[] data) {
+        return new BlobResourceContentsImpl(uri, Binary.of(data));
+    }
+
+    @Override
+    public BlobResourceContents.Builder blobResourceContentsBuilder(String uri, byte[] data) {
+        return new BlobResourceContentsImpl.BuilderImpl(uri, Binary.of(data));
+    }
+
+    @Override
+    public BlobResourceContents newBlobResourceContent(String uri, ByteBuffer data) {
+        return new BlobResourceContentsImpl(uri, Binary.of(data));
+    }
+
+    @Override
+    public BlobResourceContents.Builder blobResourceContentsBuilder(String uri, ByteBuffer data) {
+        return new BlobResourceContentsImpl.BuilderImpl(uri, Binary.of(data));
+    }
+
+    @Override
+    public BlobResourceContents.Builder blobResourceContentsBuilderFromBase64(String uri, String base64) {
+        return new BlobResourceContentsImpl.BuilderImpl(uri, Binary.ofBase64(base64));
+    }
+
+    @Override
+    public ToolResponse.Builder toolResponseBuilder() {
+        return new ToolResponseImpl.BuilderImpl();
+    }
+
+    @Override
+    public ToolResponse emptyToolResponse() {
+        return Flyweights.EMPTY_TOOL_RESPONSE;
+    }
+
+    @Override
+    public ToolResponse newTextToolResponse(String text) {
+        return Flyweights.textResponse(text);
+    }
+
+    @Override
+    public ToolResponse newErrorToolResponse(String error) {
+        return Flyweights.errorResponse(error);
+    }
+
+    @Override
+    public ToolResponse newStructuredToolResponse(Object structuredContent) {
+        return new ToolResponseImpl(List.of(), Optional.ofNullable(structuredContent), false, Map.of());
+    }
+
+    @Override
+    public ToolResponse streamingToolResponse(Flow.Publisher<? extends ContentBlock> content) {
+        return new StreamingToolResponseImpl(content);
+    }
+
+    @Override
+    public Icon.Builder iconBuilder(String uri) {
+        return new IconImpl.BuilderImpl(uri);
+    }
+
+    @Override
+    public Icon newIcon(String uri, String mimeType) {
+        return new IconImpl(Objects.requireNonNull(uri, "uri"), Optional.ofNullable(mimeType), List.of(), Optional.empty());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import org.mcpjava.server.content.Annotations;
+import org.mcpjava.server.content.ResourceLink;
+
+record ResourceLinkImpl(String name,
+                        String title,
+                        String uri,
+                        Optional<String> description,
+                        Optional<String> mimeType,
+                        Optional<Annotations> annotations,
+                        OptionalLong size,
+                        Map<String, Object> metadata)
+        implements ResourceLink {
+
+    static final class BuilderImpl extends MetaBuilder<ResourceLink.Builder> implements ResourceLink.Builder {
+        private final String name;
+        private final String uri;
+        private String title;
+        private String description;
+        private String mimeType;
+        private Annotations annotations;
+        private long size = -1;
+
+        BuilderImpl(String name, String uri) {
+            this.name = Objects.requireNonNull(name, "name");
+            this.uri = Objects.requireNonNull(uri, "uri");
+        }
+
+        @Override
+        public Builder setTitle(String title) {
+            this.title = title;
+            return this;
+        }
+
+        @Override
+        public Builder setDescription(String description) {
+            this.description = description;
+            return this;
+        }
+
+        @Override
+        public Builder setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+            return this;
+        }
+
+        @Override
+        public Builder setAnnotations(Annotations annotations) {
+            this.annotations = annotations;
+            return this;
+        }
+
+        @Override
+        public Builder setSize(long size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("size must not be negative: " + size);
+            }
+            this.size = size;
+            return this;
+        }
+
+        @Override
+        public ResourceLink build() {
+            return new ResourceLinkImpl(name,
+                                        title == null ? name : title,
+                                        uri,
+                                        Optional.ofNullable(description),
+                                        Optional.ofNullable(mimeType),
+                                        Optional.ofNullable(annotations),
+                                        size == -1 ? OptionalLong.empty() : OptionalLong.of(size),
+                                        buildMetadata());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.List;
+import java.util.Map;
+
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+
+record ResourceResponseImpl(List<ResourceContents> contents, Map<String, Object> metadata) implements ResourceResponse {
+
+    ResourceResponseImpl(ResourceContents contents) {
+        this(List.of(contents), Map.of());
+    }
+
+    @Override
+    public List<ResourceContents> getContents() {
+        return contents;
+    }
+
+    static final class BuilderImpl extends MetaBuilder<ResourceResponse.Builder> implements ResourceResponse.Builder {
+        private final ListBuilder<ResourceContents> contents = new ListBuilder<>();
+
+        @Override
+        public Builder addContents(ResourceContents contents) {
+            this.contents.add(contents);
+            return this;
+        }
+
+        @Override
+        public ResourceResponse build() {
+            return new ResourceResponseImpl(contents.build(), buildMetadata());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import org.mcpjava.server.content.Annotations;
+import org.mcpjava.server.content.TextContent;
+
+/**
+ * Text content created from a character sequence, UTF-8 bytes or a text source, whose text is
+ * written without being converted to a {@code String}
+ */
+record StreamedTextContentImpl(Text content, Optional<Annotations> annotations, Map<String, Object> metadata)
+        implements TextContent {
+
+    @Override
+    public String text() {
+        return content.string();
+    }
+
+    @Override
+    public Reader textReader() throws IOException {
+        return content.reader();
+    }
+
+    @Override
+    public void writeJsonString(Appendable out) throws IOException {
+        content.writeJson(out);
+    }
+
+    @Override
+    public OptionalLong knownUtf8Length() {
+        return content.knownUtf8Length();
+    }
+
+    @Override
+    public long textWeight() {
+        return content.weight();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.spi.flow.Publishers;
+
+/**
+ * A resource response whose contents are produced by a publisher. The contents are only collected
+ * if {@link #getContents()} is called, after which they are kept, so that a publisher which
+ * supports a single subscription is not subscribed to again.
+ */
+final class StreamingResourceResponseImpl implements ResourceResponse {
+    private final Flow.Publisher<? extends ResourceContents> publisher;
+    private volatile List<ResourceContents> contents;
+
+    StreamingResourceResponseImpl(Flow.Publisher<? extends ResourceContents> publisher) {
+        this.publisher = Objects.requireNonNull(publisher, "contents");
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // Publishers only produce elements, so a publisher of a subtype is safe
+    public Flow.Publisher<ResourceContents> contentsPublisher() {
+        List<ResourceContents> collected = contents;
+        return collected == null ? (Flow.Publisher<ResourceContents>) publisher : Publishers.fromList(collected);
+    }
+
+    @Override
+    public List<ResourceContents> getContents() {
+        List<ResourceContents> result = contents;
+        if (result == null) {
+            synchronized (this) {
+                result = contents;
+                if (result == null) {
+                    result = Publishers.<ResourceContents> collect(publisher).toCompletableFuture().join();
+                    contents = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> metadata() {
+        return Map.of();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingResourceResponseImpl[publisher=" + publisher + "]";
+    }
+}
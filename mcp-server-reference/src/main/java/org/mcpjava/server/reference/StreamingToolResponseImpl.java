@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Flow;
+
+import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.spi.flow.Publishers;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * A tool response whose content is produced by a publisher. The content is only collected if
+ * {@link #content()} is called, after which it is kept, so that a publisher which supports a single
+ * subscription is not subscribed to again.
+ */
+final class StreamingToolResponseImpl implements ToolResponse {
+    private final Flow.Publisher<? extends ContentBlock> publisher;
+    private volatile List<ContentBlock> content;
+
+    StreamingToolResponseImpl(Flow.Publisher<? extends ContentBlock> publisher) {
+        this.publisher = Objects.requireNonNull(publisher, "content");
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // Publishers only produce elements, so a publisher of a subtype is safe
+    public Flow.Publisher<ContentBlock> contentPublisher() {
+        List<ContentBlock> collected = content;
+        return collected == null ? (Flow.Publisher<ContentBlock>) publisher : Publishers.fromList(collected);
+    }
+
+    @Override
+    public List<ContentBlock> content() {
+        List<ContentBlock> result = content;
+        if (result == null) {
+            synchronized (this) {
+                result = content;
+                if (result == null) {
+                    result = Publishers.<ContentBlock> collect(publisher).toCompletableFuture().join();
+                    content = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Object> structuredContent() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean isError() {
+        return false;
+    }
+
+    @Override
+    public Map<String, Object> metadata() {
+        return Map.of();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingToolResponseImpl[publisher=" + publisher + "]";
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+import org.mcpjava.server.content.TextSource;
+import org.mcpjava.server.spi.json.JsonStrings;
+
+/**
+ * Text held as a character sequence, as a read-only view of UTF-8 encoded bytes, or as a source
+ * which is read each time the text is used. Neither sequences nor buffers are copied, and the
+ * text is only converted to a {@code String} when {@link #string()} is called.
+ */
+final class Text {
+
+    private final CharSequence chars;
+    private final ByteBuffer utf8;
+    private final TextSource source;
+
+    private Text(CharSequence chars, ByteBuffer utf8, TextSource source) {
+        this.chars = chars;
+        this.utf8 = utf8;
+        this.source = source;
+    }
+
+    static Text of(CharSequence chars) {
+        return new Text(Objects.requireNonNull(chars, "text"), null, null);
+    }
+
+    /**
+     * Uses the remaining content of a buffer
+     */
+    static Text ofUtf8(ByteBuffer utf8) {
+        return new Text(null, Objects.requireNonNull(utf8, "utf8").slice().asReadOnlyBuffer(), null);
+    }
+
+    static Text of(TextSource source) {
+        return new Text(null, null, Objects.requireNonNull(source, "source"));
+    }
+
+    /**
+     * Returns all the text, reading it from its source if necessary
+     *
+     * @throws UncheckedIOException if the source cannot be read
+     */
+    String string() {
+        if (chars != null) {
+            return chars.toString();
+        }
+        if (utf8 != null) {
+            return StandardCharsets.UTF_8.decode(utf8.duplicate()).toString();
+        }
+        StringBuilder text = new StringBuilder();
+        char[] chunk = new char[8192];
+        try (Reader reader = source.open()) {
+            int length;
+            while ((length = reader.read(chunk)) != -1) {
+                text.append(chunk, 0, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read text", e);
+        }
+        return text.toString();
+    }
+
+    OptionalLong knownUtf8Length() {
+        return utf8 != null ? OptionalLong.of(utf8.remaining()) : OptionalLong.empty();
+    }
+
+    /**
+     * The memory held by the characters or bytes, which is none for a source
+     */
+    long weight() {
+        if (chars != null) {
+            return 2L * chars.length();
+        }
+        return utf8 != null ? utf8.remaining() : 0;
+    }
+
+    Reader reader() throws IOException {
+        if (chars != null) {
+            return new CharSequenceReader(chars);
+        }
+        if (utf8 != null) {
+            return new InputStreamReader(new BufferInputStream(utf8.duplicate()), StandardCharsets.UTF_8);
+        }
+        return source.open();
+    }
+
+    void writeJson(Appendable out) throws IOException {
+        if (chars != null) {
+            JsonStrings.write(chars, out);
+        } else {
+            try (Reader reader = reader()) {
+                JsonStrings.write(reader, out);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (chars != null) {
+            return "Text[" + chars.length() + " chars]";
+        }
+        return utf8 != null ? "Text[" + utf8.remaining() + " UTF-8 bytes]" : "Text[" + source + "]";
+    }
+
+    /**
+     * Reads a character sequence without copying it
+     */
+    private static final class CharSequenceReader extends Reader {
+        private final CharSequence chars;
+        private int position;
+
+        CharSequenceReader(CharSequence chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, buffer.length);
+            if (position >= chars.length()) {
+                return -1;
+            }
+            int count = Math.min(length, chars.length() - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = chars.charAt(position++);
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release
+        }
+    }
+
+    /**
+     * Reads a buffer without copying it
+     */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
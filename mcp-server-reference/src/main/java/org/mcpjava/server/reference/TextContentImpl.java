@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.mcpjava.server.content.Annotations;
+import org.mcpjava.server.content.TextContent;
+
+record TextContentImpl(String text, Optional<Annotations> annotations, Map<String, Object> metadata) implements TextContent {
+
+    TextContentImpl(String text) {
+        this(Objects.requireNonNull(text, "text"), Optional.empty(), Map.of());
+    }
+
+    static final class BuilderImpl extends MetaBuilder<TextContent.Builder> implements TextContent.Builder {
+        private final String text;
+        private final Text content;
+        private Annotations annotations;
+
+        BuilderImpl(String text) {
+            this.text = Objects.requireNonNull(text, "text");
+            this.content = null;
+        }
+
+        BuilderImpl(Text content) {
+            this.text = null;
+            this.content = content;
+        }
+
+        @Override
+        public Builder setAnnotations(Annotations annotations) {
+            this.annotations = annotations;
+            return this;
+        }
+
+        @Override
+        public TextContent build() {
+            if (content != null) {
+                return new StreamedTextContentImpl(content, Optional.ofNullable(annotations), buildMetadata());
+            }
+            return new TextContentImpl(text, Optional.ofNullable(annotations), buildMetadata());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.mcpjava.server.resources.TextResourceContents;
+
+record TextResourceContentsImpl(String uri, Optional<String> mimeType, String text, Map<String, Object> metadata)
+        implements TextResourceContents {
+
+    TextResourceContentsImpl(String uri, String text) {
+        this(Objects.requireNonNull(uri, "uri"), Optional.empty(), Objects.requireNonNull(text, "text"), Map.of());
+    }
+
+    static final class BuilderImpl extends MetaBuilder<TextResourceContents.Builder> implements TextResourceContents.Builder {
+        private final String uri;
+        private final String text;
+        private final Text content;
+        private String mimeType;
+
+        BuilderImpl(String uri, String text) {
+            this.uri = Objects.requireNonNull(uri, "uri");
+            this.text = Objects.requireNonNull(text, "text");
+            this.content = null;
+        }
+
+        BuilderImpl(String uri, Text content) {
+            this.uri = Objects.requireNonNull(uri, "uri");
+            this.text = null;
+            this.content = content;
+        }
+
+        @Override
+        public Builder setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+            return this;
+        }
+
+        @Override
+        public TextResourceContents build() {
+            if (content != null) {
+                return new StreamedTextResourceContentsImpl(uri, Optional.ofNullable(mimeType), content, buildMetadata());
+            }
+            return new TextResourceContentsImpl(uri, Optional.ofNullable(mimeType), text, buildMetadata());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.tools.ToolResponse;
+
+record ToolResponseImpl(List<ContentBlock> content, Optional<Object> structuredContent, boolean isError,
+                        Map<String, Object> metadata)
+        implements ToolResponse {
+
+    static final class BuilderImpl extends MetaBuilder<ToolResponse.Builder> implements ToolResponse.Builder {
+        private final ListBuilder<ContentBlock> content = new ListBuilder<>();
+        private Object structuredContent;
+        private boolean isError;
+
+        @Override
+        public Builder addContent(ContentBlock content) {
+            this.content.add(content);
+            return this;
+        }
+
+        @Override
+        public Builder addTextContent(String textContent) {
+            this.content.add(Flyweights.textContent(textContent));
+            return this;
+        }
+
+        @Override
+        public Builder setStructuredContent(Object structuredContent) {
+            this.structuredContent = structuredContent;
+            return this;
+        }
+
+        @Override
+        public Builder setError(boolean isError) {
+            this.isError = isError;
+            return this;
+        }
+
+        @Override
+        public ToolResponse build() {
+            return new ToolResponseImpl(content.build(), Optional.ofNullable(structuredContent), isError, buildMetadata());
+        }
+    }
+}
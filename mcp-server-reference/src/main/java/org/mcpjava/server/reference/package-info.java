@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Reference implementation of {@link org.mcpjava.server.spi.McpServerSPI}.
+ * <p>
+ * All data objects are immutable records. Builders hand their collections to the objects they
+ * build instead of copying them, and only copy if they are modified after {@code build()} is
+ * called. Byte arrays and buffers passed to builders and factory methods are not copied, so
+ * callers must not modify their content afterwards. Binary content created from a buffer, including
+ * a direct buffer, is held as a read-only view and is only copied if it is read as an array.
+ * <p>
+ * The implementation is registered with {@link java.util.ServiceLoader}. Users should not use
+ * this package directly.
+ */
+package org.mcpjava.server.reference;
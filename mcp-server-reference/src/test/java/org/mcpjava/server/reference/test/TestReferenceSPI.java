@@ -0,0 +1,526 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mcpjava.server.reference.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mcpjava.server.Icon;
+import org.mcpjava.server.Role;
+import org.mcpjava.server.completion.CompletionResult;
+import org.mcpjava.server.content.Annotations;
+import org.mcpjava.server.content.AudioContent;
+import org.mcpjava.server.content.ContentBlock;
+import org.mcpjava.server.content.EmbeddedResource;
+import org.mcpjava.server.content.ImageContent;
+import org.mcpjava.server.content.TextContent;
+import org.mcpjava.server.reference.ReferenceMcpServerSPI;
+import org.mcpjava.server.resources.BlobResourceContents;
+import org.mcpjava.server.resources.ResourceContents;
+import org.mcpjava.server.resources.ResourceResponse;
+import org.mcpjava.server.resources.TextResourceContents;
+import org.mcpjava.server.spi.McpServerSPILoader;
+import org.mcpjava.server.spi.cache.BlobStore;
+import org.mcpjava.server.spi.cache.ResourceCache;
+import org.mcpjava.server.spi.cache.ResourceSizes;
+import org.mcpjava.server.spi.cache.ToolResultCache;
+import org.mcpjava.server.spi.execution.FeatureBulkheads;
+import org.mcpjava.server.spi.flow.Publishers;
+import org.mcpjava.server.spi.index.FeatureMetadata;
+import org.mcpjava.server.tools.ToolResponse;
+
+/**
+ * Test {@link ReferenceMcpServerSPI} through the static factory methods of the API
+ */
+public class TestReferenceSPI {
+
+    @Test
+    public void testServiceLoader() {
+        assertInstanceOf(ReferenceMcpServerSPI.class, McpServerSPILoader.getSPI());
+    }
+
+    @Test
+    public void testFactories() {
+        ToolResponse text = ToolResponse.ofText("hello");
+        assertEquals(List.of(TextContent.of("hello")), text.content());
+        assertFalse(text.isError());
+        assertEquals(text, ToolResponse.builder().addTextContent("hello").build());
+
+        assertTrue(ToolResponse.ofError("failed").isError());
+        assertEquals(Optional.of(42), ToolResponse.ofStructured(42).structuredContent());
+
+        ResourceResponse resource = ResourceResponse.of("file:///a.txt", "text", "text/plain");
+        TextResourceContents contents = (TextResourceContents) resource.getContents().get(0);
+        assertEquals(Optional.of("text/plain"), contents.mimeType());
+        assertEquals("text", contents.text());
+
+        ResourceResponse blob = ResourceResponse.of("file:///a.bin", new byte[] { 1, 2 });
+        assertEquals(ResourceResponse.builder()
+                                     .addContents(BlobResourceContents.builder("file:///a.bin", new byte[] { 1, 2 }).build())
+                                     .build(),
+                     blob);
+
+        CompletionResult complete = CompletionResult.newCompleteResult(List.of("a", "b"));
+        assertEquals(OptionalInt.of(2), complete.total());
+        assertEquals(Optional.of(false), complete.hasMore());
+        assertEquals(Optional.of(true), CompletionResult.newResult(List.of("a"), 3).hasMore());
+
+        assertEquals(ImageContent.of(new byte[] { 3 }, "image/png"),
+                     ImageContent.builder(new byte[] { 3 }, "image/png").build());
+    }
+
+    @Test
+    public void testBuilderReuse() {
+        ToolResponse.Builder builder = ToolResponse.builder().addTextContent("a").putMetadata("k", "v");
+        ToolResponse first = builder.build();
+        ToolResponse second = builder.addTextContent("b").putMetadata("k2", "v2").build();
+
+        assertEquals(1, first.content().size());
+        assertEquals(Map.of("k", "v"), first.metadata());
+        assertEquals(2, second.content().size());
+        assertEquals(Map.of("k", "v", "k2", "v2"), second.metadata());
+        assertThrows(UnsupportedOperationException.class, () -> first.content().add(TextContent.of("c")));
+        assertThrows(UnsupportedOperationException.class, () -> first.metadata().put("c", "d"));
+    }
+
+    @Test
+    public void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> Annotations.builder().setPriority(1.5));
+        assertThrows(IllegalArgumentException.class, () -> Annotations.builder().setPriority(Double.NaN));
+        assertThrows(IllegalStateException.class, () -> Icon.builder("icon.png").addSize(16, 16).setAnySize());
+        assertEquals(List.of("any"), Icon.builder("icon.png").setAnySize().build().sizes());
+
+        EmbeddedResource embedded = EmbeddedResource.builder("text", "file:///a.txt")
+                                                    .setMimeType("text/plain")
+                                                    .putResourceMeta("k", "v")
+                                                    .build();
+        assertEquals(Map.of("k", "v"), embedded.resource().metadata());
+    }
+
+    @Test
+    public void testByteBuffer() {
+        byte[] bytes = { 0, 1, 2, 3, 4, 5 };
+
+        // a heap buffer covering its whole array is used as the array
+        assertSame(bytes, ImageContent.of(ByteBuffer.wrap(bytes), "image/png").data());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(8);
+        direct.put(new byte[] { 9, 9, 1, 2, 3, 4, 5, 9 }).position(2).limit(7);
+        AudioContent audio = AudioContent.of(direct, "audio/wav");
+        direct.clear();
+
+        ByteBuffer view = audio.dataBuffer();
+        assertTrue(view.isReadOnly());
+        assertTrue(view.isDirect());
+        assertEquals(5, view.remaining());
+        view.get();
+        assertEquals(5, audio.dataBuffer().remaining());
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5 }, audio.data());
+
+        BlobResourceContents fromBuffer = BlobResourceContents.of("file:///a.bin", ByteBuffer.wrap(bytes, 1, 5));
+        BlobResourceContents fromArray = BlobResourceContents.of("file:///a.bin", new byte[] { 1, 2, 3, 4, 5 });
+        assertEquals(fromArray, fromBuffer);
+        assertEquals(fromArray.hashCode(), fromBuffer.hashCode());
+    }
+
+    @Test
+    public void testMappedFile(@TempDir Path dir) throws IOException {
+        // larger than one base64 chunk and not a multiple of 3
+        byte[] bytes = new byte[100_001];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        Path file = Files.write(dir.resolve("data.bin"), bytes);
+
+        BlobResourceContents blob = BlobResourceContents.of("file:///data.bin", file);
+        assertTrue(blob.blobBuffer().isDirect());
+        assertEquals(bytes.length, blob.blobBuffer().remaining());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        blob.writeBase64(out);
+        assertEquals(Base64.getEncoder().encodeToString(bytes), out.toString(StandardCharsets.US_ASCII));
+
+        EmbeddedResource embedded = EmbeddedResource.builder(file, "file:///data.bin").build();
+        assertEquals(blob, embedded.resource());
+    }
+
+    @Test
+    public void testBase64() throws IOException {
+        byte[] bytes = { 1, 2, 3, 4, 5 };
+        String encoded = Base64.getEncoder().encodeToString(bytes);
+
+        ImageContent image = ImageContent.fromBase64(encoded, "image/png");
+        assertSame(encoded, image.base64());
+        assertArrayEquals(bytes, image.data());
+        assertEquals(ImageContent.of(bytes, "image/png"), image);
+        assertEquals(ImageContent.of(bytes, "image/png").hashCode(), image.hashCode());
+
+        ImageContent uncached = ImageContent.of(bytes, "image/png");
+        assertEquals(encoded, uncached.base64());
+        assertNotSame(uncached.base64(), uncached.base64());
+
+        AudioContent cached = AudioContent.builder(ByteBuffer.allocateDirect(5).put(bytes).flip(), "audio/wav")
+                                          .setCacheBase64(true)
+                                          .build();
+        assertEquals(encoded, cached.base64());
+        assertSame(cached.base64(), cached.base64());
+
+        BlobResourceContents blob = BlobResourceContents.fromBase64("file:///a.bin", encoded);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        blob.writeBase64(out);
+        assertEquals(encoded, out.toString(StandardCharsets.US_ASCII));
+        assertEquals(blob.toString(), BlobResourceContents.of("file:///a.bin", bytes).toString());
+    }
+
+    @Test
+    public void testLargeText(@TempDir Path dir) throws IOException {
+        String text = "line \"one\"\n\ttab \u0001 é😀";
+        String json = "\"line \\\"one\\\"\\n\\ttab \\u0001 é😀\"";
+
+        TextContent sequence = TextContent.builder(new StringBuilder(text)).setAnnotations(Annotations.forAudience(Role.USER)).build();
+        assertEquals(text, sequence.text());
+        assertEquals(Optional.of(Annotations.forAudience(Role.USER)), sequence.annotations());
+        StringBuilder out = new StringBuilder();
+        sequence.writeJsonString(out);
+        assertEquals(json, out.toString());
+
+        ByteBuffer utf8 = ByteBuffer.allocateDirect(64);
+        utf8.put(text.getBytes(StandardCharsets.UTF_8)).flip();
+        TextContent bytes = TextContent.ofUtf8(utf8);
+        assertEquals(text, bytes.text());
+        out.setLength(0);
+        bytes.writeJsonString(out);
+        assertEquals(json, out.toString());
+
+        Path file = dir.resolve("log.txt");
+        Files.writeString(file, text.repeat(2000));
+        TextResourceContents log = TextResourceContents.builder("file:///log.txt", () -> Files.newBufferedReader(file))
+                                                       .setMimeType("text/plain")
+                                                       .build();
+        assertEquals(Optional.of("text/plain"), log.mimeType());
+        out.setLength(0);
+        log.writeJsonString(out);
+        assertEquals("\"" + json.substring(1, json.length() - 1).repeat(2000) + "\"", out.toString());
+        // the source is read again on every use
+        out.setLength(0);
+        log.writeJsonString(out);
+        assertEquals(2 + 2000 * (json.length() - 2), out.length());
+        assertEquals(text.repeat(2000), log.text());
+
+        // Weights and sizes don't read the text
+        assertEquals(0, log.textWeight());
+        assertEquals(2L * text.length(), sequence.textWeight());
+        assertEquals(OptionalLong.of(text.getBytes(StandardCharsets.UTF_8).length), bytes.knownUtf8Length());
+        assertEquals(OptionalLong.empty(), log.knownUtf8Length());
+        assertEquals(2000L * text.getBytes(StandardCharsets.UTF_8).length, ResourceSizes.sizeOf(ResourceResponse.builder().addContents(log).build()));
+
+        TextResourceContents plain = TextResourceContents.of("file:///plain", text);
+        out.setLength(0);
+        plain.writeJsonString(out);
+        assertEquals(json, out.toString());
+    }
+
+    @Test
+    public void testSharedBlobs() throws IOException {
+        BlobStore store = BlobStore.builder().build();
+        byte[] logo = { 1, 2, 3, 4, 5 };
+        BlobStore.Blob blob = store.intern(logo);
+        ImageContent image = blob.imageContent("image/png").build();
+        EmbeddedResource embedded = store.intern(logo.clone()).embeddedResource("file:///logo.png").build();
+        BlobResourceContents contents = blob.resourceContents("file:///logo.png").build();
+
+        // every content uses the encoding held by the store
+        assertSame(blob.base64(), image.base64());
+        assertSame(blob.base64(), ((BlobResourceContents) embedded.resource()).base64());
+        assertSame(blob.base64(), contents.base64());
+        assertArrayEquals(logo, image.data());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        contents.writeBase64(out);
+        assertEquals(blob.base64(), out.toString(StandardCharsets.US_ASCII));
+
+        blob.release();
+        blob.release();
+        assertEquals(0, store.inUse());
+    }
+
+    @Test
+    public void testWeighWithoutDecoding() {
+        // not valid base64, so reading the data would fail
+        String encoded = "@@@@@@@@";
+        ImageContent image = ImageContent.fromBase64(encoded, "image/png");
+        AudioContent audio = AudioContent.fromBase64(encoded, "audio/wav");
+        BlobResourceContents contents = BlobResourceContents.fromBase64("file:///a.bin", encoded);
+        assertEquals(6, image.dataLength());
+        assertEquals(6, audio.dataLength());
+        assertEquals(6, contents.blobLength());
+
+        ToolResponse tool = ToolResponse.builder().addContent(image).addContent(audio).build();
+        assertEquals(64 + 2 * (64 + 6), ToolResultCache.defaultWeight(tool));
+        ResourceResponse resource = ResourceResponse.builder().addContents(contents).build();
+        assertEquals(64 + 64 + 2 * "file:///a.bin".length() + 6, ResourceCache.defaultWeight(resource));
+        assertEquals(6, ResourceSizes.sizeOf(resource));
+        assertThrows(IllegalArgumentException.class, image::data);
+
+        BlobStore.Blob blob = BlobStore.builder().build().intern(new byte[] { 1, 2, 3, 4, 5 });
+        assertEquals(5, blob.imageContent("image/png").build().dataLength());
+        assertEquals(5, blob.resourceContents("file:///logo.png").build().blobLength());
+    }
+
+    @Test
+    public void testStreaming() {
+        List<ResourceContents> parts = List.of(TextResourceContents.of("file:///a", "a"),
+                                               TextResourceContents.of("file:///b", "b"),
+                                               TextResourceContents.of("file:///c", "c"));
+        ResourceResponse response = ResourceResponse.streaming(Publishers.fromList(parts));
+        assertTrue(response.isStreaming());
+        assertFalse(ResourceResponse.of("file:///a", "a").isStreaming());
+
+        // Parts are only produced on demand
+        List<Object> received = new ArrayList<>();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        response.contentsPublisher().subscribe(new Flow.Subscriber<ResourceContents>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(ResourceContents item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                received.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                received.add("complete");
+            }
+        });
+        assertTrue(received.isEmpty());
+        subscription[0].request(2);
+        assertEquals(parts.subList(0, 2), received);
+        subscription[0].request(5);
+        assertEquals(List.of(parts.get(0), parts.get(1), parts.get(2), "complete"), received);
+
+        assertEquals(parts, response.getContents());
+        assertSame(response.getContents(), response.getContents());
+    }
+
+    @Test
+    public void testStreamingFailure() {
+        // An Error from the stream closes it and fails the subscriber
+        boolean[] closed = { false };
+        Stream<ContentBlock> lines = Stream.of("a", "b").<ContentBlock> map(line -> {
+            if (line.equals("b")) {
+                throw new ExceptionInInitializerError();
+            }
+            return TextContent.of(line);
+        }).onClose(() -> closed[0] = true);
+        List<Object> received = new ArrayList<>();
+        ToolResponse.streaming(lines).contentPublisher().subscribe(recorder(received, 0));
+        assertEquals(2, received.size());
+        assertInstanceOf(ExceptionInInitializerError.class, received.get(1));
+        assertTrue(closed[0]);
+
+        // An invalid request made during onNext is signalled after onNext returns
+        for (Flow.Publisher<ContentBlock> publisher : List.of(Publishers.fromList(List.<ContentBlock> of(TextContent.of("a"))),
+                                                              Publishers.fromIterator(List.<ContentBlock> of(TextContent.of("a")).iterator()))) {
+            received.clear();
+            publisher.subscribe(recorder(received, -1));
+            assertEquals(3, received.size());
+            assertEquals("returned", received.get(1));
+            assertInstanceOf(IllegalArgumentException.class, received.get(2));
+        }
+    }
+
+    /**
+     * Records what a subscriber receives, requesting everything, and making a request of
+     * {@code next} during {@code onNext} unless it is zero
+     */
+    private static Flow.Subscriber<ContentBlock> recorder(List<Object> received, long next) {
+        return new Flow.Subscriber<ContentBlock>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ContentBlock item) {
+                received.add(((TextContent) item).text());
+                if (next != 0) {
+                    subscription.request(next);
+                    received.add("returned");
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                received.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                received.add("complete");
+            }
+        };
+    }
+
+    @Test
+    public void testStreamingTool() {
+        List<String> produced = new ArrayList<>();
+        boolean[] closed = { false };
+        Stream<ContentBlock> lines = Stream.of("a", "b", "c", "d")
+                                           .peek(produced::add)
+                                           .<ContentBlock> map(TextContent::of)
+                                           .onClose(() -> closed[0] = true);
+        ToolResponse response = ToolResponse.streaming(lines);
+        assertTrue(response.isStreaming());
+        assertFalse(response.isError());
+        assertFalse(ToolResponse.ofText("a").isStreaming());
+
+        // Blocks are only produced on demand, and the stream is closed on cancellation
+        List<Object> received = new ArrayList<>();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        response.contentPublisher().subscribe(new Flow.Subscriber<ContentBlock>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(ContentBlock item) {
+                received.add(((TextContent) item).text());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                received.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                received.add("complete");
+            }
+        });
+        assertTrue(produced.isEmpty());
+        subscription[0].request(2);
+        assertEquals(List.of("a", "b"), received);
+        assertEquals(List.of("a", "b"), produced);
+        assertFalse(closed[0]);
+        subscription[0].cancel();
+        assertTrue(closed[0]);
+        subscription[0].request(2);
+        assertEquals(List.of("a", "b"), received);
+
+        // A stream can only be subscribed to once
+        Throwable[] failure = new Throwable[1];
+        response.contentPublisher().subscribe(new Flow.Subscriber<ContentBlock>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(ContentBlock item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                failure[0] = throwable;
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertInstanceOf(IllegalStateException.class, failure[0]);
+
+        // An iterator is collected when the content is needed as a list
+        ToolResponse collected = ToolResponse.streaming(List.<ContentBlock> of(TextContent.of("x"), TextContent.of("y")).iterator());
+        assertEquals(List.of(TextContent.of("x"), TextContent.of("y")), collected.content());
+        assertSame(collected.content(), collected.content());
+    }
+
+    @Test
+    public void testFlyweights() {
+        assertSame(ToolResponse.ofText("OK"), ToolResponse.ofText("OK"));
+        assertSame(ToolResponse.ofError("OK"), ToolResponse.ofError("OK"));
+        assertTrue(ToolResponse.ofError("OK").isError());
+        assertSame(TextContent.of("OK"), ToolResponse.ofText("OK").content().get(0));
+        assertSame(ToolResponse.empty(), ToolResponse.empty());
+        assertTrue(ToolResponse.empty().content().isEmpty());
+
+        assertSame(ToolResponse.ofText(""), ToolResponse.ofText(""));
+        assertSame(TextContent.of(""), ToolResponse.ofText("").content().get(0));
+
+        // Other texts are not interned
+        assertNotSame(TextContent.of("hello"), TextContent.of("hello"));
+        assertEquals(ToolResponse.ofText("hello"), ToolResponse.ofText("hello"));
+
+        Annotations user = Annotations.forAudience(Role.USER);
+        assertSame(user, Annotations.builder().setAudience(Role.USER).build());
+        assertSame(user, Annotations.builder().setAudience(Set.of(Role.USER)).build());
+        assertEquals(Optional.of(Set.of(Role.USER)), user.audience());
+        assertSame(Annotations.forAudience(Role.USER, Role.ASSISTANT), Annotations.forAudience(Role.ASSISTANT, Role.USER));
+        assertEquals(0.5, Annotations.builder().setAudience(Role.USER).setPriority(0.5).build().priority().getAsDouble());
+    }
+
+    @Test
+    public void testBulkheadRejectsTool() throws Exception {
+        FeatureMetadata render = FeatureMetadata.builder(FeatureMetadata.Kind.TOOL, "render", "com.example.Server", "render")
+                                                .addBulkhead(new FeatureMetadata.BulkheadSettings("", 1, 0))
+                                                .build();
+        FeatureBulkheads bulkheads = FeatureBulkheads.builder().build();
+        CompletableFuture<Object> running = new CompletableFuture<>();
+        bulkheads.call(render, "s", () -> running);
+
+        ToolResponse rejected = (ToolResponse) bulkheads.call(render, "s", () -> running).toCompletableFuture().get();
+        assertTrue(rejected.isError());
+        assertEquals("Tool render is busy, try again later", ((TextContent) rejected.content().get(0)).text());
+    }
+}